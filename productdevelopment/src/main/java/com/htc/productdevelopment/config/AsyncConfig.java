@@ -0,0 +1,120 @@
+package com.htc.productdevelopment.config;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Executors for work that waits on remote systems.
+ * Jira calls run on a bounded pool so controllers can return CompletableFutures and release
+ * Tomcat request threads while Atlassian responds. Long-running Spring MVC async work
+ * (StreamingResponseBody bodies such as the NDJSON issue stream) has a pool of its own, so open streams
+ * cannot hold the threads CompletableFuture endpoints need. Queued Jira writes have a pool of
+ * their own so a backlog cannot starve request handling, as do notification events so their
+ * writes never compete with Jira calls.
+ */
+@Configuration
+public class AsyncConfig implements WebMvcConfigurer {
+
+    private final ThreadPoolTaskExecutor streamingExecutor;
+
+    public AsyncConfig(@Qualifier("streamingExecutor") ThreadPoolTaskExecutor streamingExecutor) {
+        this.streamingExecutor = streamingExecutor;
+    }
+
+    /**
+     * Bounded pool for blocking Jira calls. A ThreadPoolExecutor only grows past its core size
+     * once the queue is full, so core and max are the same and idle threads time out instead.
+     * When the queue is full the submitting thread runs the call itself, which slows callers
+     * down instead of failing requests. Tasks keep the rate-governor lane of their submitter.
+     */
+    @Bean(name = "jiraExecutor")
+    public static ThreadPoolTaskExecutor jiraExecutor(
+            @Value("${jira.executor.pool-size:32}") int poolSize,
+            @Value("${jira.executor.queue-capacity:200}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setAllowCoreThreadTimeOut(true);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("jira-");
+        executor.setTaskDecorator(JiraRateGovernor::propagateLane);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    /**
+     * Workers applying queued Jira writes from the outbox. Each poll hands at most one operation
+     * per issue to the pool and waits for the batch, so the pool size caps parallel writes.
+     */
+    @Bean(name = "jiraOutboxExecutor")
+    public static ThreadPoolTaskExecutor jiraOutboxExecutor(
+            @Value("${jira.outbox.workers:4}") int workers,
+            @Value("${jira.outbox.batch-size:20}") int batchSize) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(batchSize);
+        executor.setThreadNamePrefix("jira-outbox-");
+        executor.setTaskDecorator(JiraRateGovernor::propagateLane);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    /**
+     * Consumers of notification events, so building notifications does not hold up the request
+     * that caused them. When the queue is full the publishing thread handles the event itself.
+     */
+    @Bean(name = "notificationExecutor")
+    public static ThreadPoolTaskExecutor notificationExecutor(
+            @Value("${notifications.executor.core-size:2}") int coreSize,
+            @Value("${notifications.executor.max-size:4}") int maxSize,
+            @Value("${notifications.executor.queue-capacity:500}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(coreSize);
+        executor.setMaxPoolSize(maxSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("notification-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    /**
+     * Spring MVC async handling: StreamingResponseBody writers that hold a thread for the whole
+     * transfer, up to spring.mvc.async.request-timeout. Core and max are the same for the reason
+     * given on the Jira pool.
+     */
+    @Bean(name = "streamingExecutor")
+    public static ThreadPoolTaskExecutor streamingExecutor(
+            @Value("${streaming.executor.pool-size:16}") int poolSize,
+            @Value("${streaming.executor.queue-capacity:50}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setAllowCoreThreadTimeOut(true);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("stream-");
+        executor.setTaskDecorator(JiraRateGovernor::propagateLane);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(streamingExecutor);
+    }
+}
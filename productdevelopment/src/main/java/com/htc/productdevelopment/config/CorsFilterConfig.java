@@ -27,8 +27,9 @@ public class CorsFilterConfig implements Filter {
         response.setHeader("Access-Control-Allow-Methods", "GET, POST, PUT, DELETE, OPTIONS");
         response.setHeader("Access-Control-Max-Age", "3600");
         response.setHeader("Access-Control-Allow-Headers", 
-            "X-Atlassian-Token, Content-Type, Authorization, X-Requested-With, Accept, Origin, Access-Control-Request-Method, Access-Control-Request-Headers");
+            "X-Atlassian-Token, Content-Type, Authorization, X-Requested-With, Accept, Origin, Prefer, Range, If-Range, If-None-Match, Access-Control-Request-Method, Access-Control-Request-Headers");
         response.setHeader("Access-Control-Allow-Credentials", "true");
+        response.setHeader("Access-Control-Expose-Headers", "X-Jira-Source, X-Jira-Synced-At, X-Jira-Stale, X-Jira-Snapshot-At, Retry-After, Location, Content-Range, Accept-Ranges, Content-Disposition, ETag, X-Next-Cursor");
         
         if ("OPTIONS".equalsIgnoreCase(request.getMethod())) {
             response.setStatus(HttpServletResponse.SC_OK);
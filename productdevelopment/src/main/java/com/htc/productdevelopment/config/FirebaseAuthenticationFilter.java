@@ -0,0 +1,59 @@
+package com.htc.productdevelopment.config;
+
+import com.htc.productdevelopment.dto.AuthenticatedUser;
+import com.htc.productdevelopment.service.FirebaseTokenService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.security.Principal;
+import java.util.Optional;
+
+/**
+ * Resolves the caller from the Firebase ID token once per request and exposes it as the
+ * request's {@link Principal} ({@link AuthenticatedUser}), so controllers can take a Principal
+ * argument instead of verifying the token themselves.
+ * Requests without a valid token pass through unauthenticated; endpoints decide what that means.
+ */
+@Component
+public class FirebaseAuthenticationFilter extends OncePerRequestFilter {
+
+    private final FirebaseTokenService firebaseTokenService;
+
+    public FirebaseAuthenticationFilter(FirebaseTokenService firebaseTokenService) {
+        this.firebaseTokenService = firebaseTokenService;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Optional<AuthenticatedUser> caller = firebaseTokenService.authenticate(request);
+        if (caller.isEmpty()) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        AuthenticatedUser principal = caller.get();
+        chain.doFilter(new HttpServletRequestWrapper(request) {
+            @Override
+            public Principal getUserPrincipal() {
+                return principal;
+            }
+
+            @Override
+            public String getRemoteUser() {
+                return principal.getName();
+            }
+
+            @Override
+            public boolean isUserInRole(String role) {
+                return principal.getRole() != null && principal.getRole().name().equals(role);
+            }
+        }, response);
+    }
+}
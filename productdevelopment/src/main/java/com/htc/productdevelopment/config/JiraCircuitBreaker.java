@@ -0,0 +1,234 @@
+package com.htc.productdevelopment.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Circuit breaker around the Jira client.
+ * The outcomes of the last calls are kept in a sliding window; errors, 5xx answers and calls
+ * slower than the slow-call threshold count as failures. When the failure rate crosses the
+ * threshold the circuit opens and calls fail immediately instead of waiting on read timeouts.
+ * After the open period one probe call is let through (half-open) to decide whether to close.
+ */
+@Component
+public class JiraCircuitBreaker {
+
+    private static final Logger logger = LoggerFactory.getLogger(JiraCircuitBreaker.class);
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    /**
+     * Thrown instead of calling Jira while the circuit is open
+     */
+    public static class CircuitOpenException extends IOException {
+        public CircuitOpenException(String message) {
+            super(message);
+        }
+    }
+
+    @Value("${jira.circuit.window-size:20}")
+    private int windowSize;
+
+    @Value("${jira.circuit.min-calls:10}")
+    private int minCalls;
+
+    @Value("${jira.circuit.failure-rate-threshold:0.5}")
+    private double failureRateThreshold;
+
+    @Value("${jira.circuit.slow-call-ms:10000}")
+    private long slowCallMillis;
+
+    @Value("${jira.circuit.open-duration-ms:30000}")
+    private long openDurationMillis;
+
+    private final Object lock = new Object();
+    private boolean[] window;
+    private int windowIndex;
+    private int windowCount;
+    private State state = State.CLOSED;
+    private long openedAt;
+    private boolean probeInFlight;
+
+    private final LongAdder rejectedCalls = new LongAdder();
+    private final LongAdder timesOpened = new LongAdder();
+
+    /**
+     * Ask permission to call Jira
+     * @throws CircuitOpenException if the circuit is open or a half-open probe is already running
+     */
+    public void beforeCall() throws CircuitOpenException {
+        synchronized (lock) {
+            if (state == State.OPEN && System.currentTimeMillis() - openedAt >= openDurationMillis) {
+                state = State.HALF_OPEN;
+                probeInFlight = false;
+                logger.info("Jira circuit half-open, allowing a probe call");
+            }
+            if (state == State.OPEN || (state == State.HALF_OPEN && probeInFlight)) {
+                rejectedCalls.increment();
+                throw new CircuitOpenException("Jira is unavailable (circuit " + state + "), retry in "
+                        + getRetryAfterSeconds() + " s");
+            }
+            if (state == State.HALF_OPEN) {
+                probeInFlight = true;
+            }
+        }
+    }
+
+    /**
+     * Record the outcome of a call that was let through
+     * @param failed Whether the call failed (I/O error or 5xx)
+     * @param durationMillis How long the call took
+     */
+    public void afterCall(boolean failed, long durationMillis) {
+        boolean failure = failed || durationMillis >= slowCallMillis;
+        synchronized (lock) {
+            if (state == State.HALF_OPEN) {
+                probeInFlight = false;
+                if (failure) {
+                    open();
+                } else {
+                    state = State.CLOSED;
+                    resetWindow();
+                    logger.info("Jira circuit closed after a successful probe");
+                }
+                return;
+            }
+
+            record(failure);
+            if (state == State.CLOSED && windowCount >= minCalls && failureRate() >= failureRateThreshold) {
+                open();
+            }
+        }
+    }
+
+    /**
+     * Release a call that was let through but never reached Jira, e.g. because it timed out
+     * waiting for a rate-limit permit; it does not count towards the failure rate
+     */
+    public void abandonCall() {
+        synchronized (lock) {
+            if (state == State.HALF_OPEN) {
+                probeInFlight = false;
+            }
+        }
+    }
+
+    public State getState() {
+        synchronized (lock) {
+            return state;
+        }
+    }
+
+    /**
+     * Whether calls are currently being short-circuited
+     * @return true while the circuit is open or half-open
+     */
+    public boolean isOpen() {
+        return getState() != State.CLOSED;
+    }
+
+    /**
+     * Seconds until the circuit will allow a probe call, for Retry-After headers
+     * @return Seconds, at least 1
+     */
+    public long getRetryAfterSeconds() {
+        synchronized (lock) {
+            long remaining = openDurationMillis - (System.currentTimeMillis() - openedAt);
+            return Math.max(1, (long) Math.ceil(remaining / 1000.0));
+        }
+    }
+
+    /**
+     * Circuit state gauge and counters
+     * @return Map with state, failure rate, window size and counters
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        synchronized (lock) {
+            stats.put("state", state.name());
+            stats.put("failureRate", failureRate());
+            stats.put("callsInWindow", windowCount);
+            stats.put("retryAfterSeconds", state == State.CLOSED ? 0 : getRetryAfterSeconds());
+        }
+        stats.put("timesOpened", timesOpened.sum());
+        stats.put("rejectedCalls", rejectedCalls.sum());
+        return stats;
+    }
+
+    /**
+     * Whether a failure means Jira could not be reached (open circuit, timeout, connection error,
+     * gateway or 503 answer) rather than Jira rejecting the request
+     * @param throwable The failure, possibly wrapped
+     * @return true if the failure is an availability problem
+     */
+    public static boolean isUnavailable(Throwable throwable) {
+        Throwable current = throwable;
+        while (current != null) {
+            if (current instanceof CircuitOpenException || current instanceof ResourceAccessException
+                    || current instanceof IOException) {
+                return true;
+            }
+            if (current instanceof HttpServerErrorException serverError) {
+                int status = serverError.getStatusCode().value();
+                if (status == 502 || status == 503 || status == 504) {
+                    return true;
+                }
+            }
+            current = current.getCause();
+        }
+        return false;
+    }
+
+    // Caller holds the lock
+    private void open() {
+        state = State.OPEN;
+        openedAt = System.currentTimeMillis();
+        timesOpened.increment();
+        logger.warn("Jira circuit opened (failure rate {} over {} calls), short-circuiting for {} ms",
+                failureRate(), windowCount, openDurationMillis);
+    }
+
+    // Caller holds the lock
+    private void record(boolean failure) {
+        if (window == null) {
+            resetWindow();
+        }
+        window[windowIndex] = failure;
+        windowIndex = (windowIndex + 1) % windowSize;
+        windowCount = Math.min(windowCount + 1, windowSize);
+    }
+
+    // Caller holds the lock
+    private void resetWindow() {
+        window = new boolean[windowSize];
+        windowIndex = 0;
+        windowCount = 0;
+    }
+
+    // Caller holds the lock
+    private double failureRate() {
+        if (window == null || windowCount == 0) {
+            return 0.0;
+        }
+        int failures = 0;
+        for (int i = 0; i < windowCount; i++) {
+            if (window[i]) {
+                failures++;
+            }
+        }
+        return (double) failures / windowCount;
+    }
+}
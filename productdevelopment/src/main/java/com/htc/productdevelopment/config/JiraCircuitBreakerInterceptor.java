@@ -0,0 +1,47 @@
+package com.htc.productdevelopment.config;
+
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+
+/**
+ * Outermost Jira interceptor: consults {@link JiraCircuitBreaker} before a call and reports
+ * the final outcome, after the rate-limit interceptor has done its retries.
+ */
+public class JiraCircuitBreakerInterceptor implements ClientHttpRequestInterceptor {
+
+    private final JiraCircuitBreaker circuitBreaker;
+
+    public JiraCircuitBreakerInterceptor(JiraCircuitBreaker circuitBreaker) {
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        circuitBreaker.beforeCall();
+
+        long started = System.currentTimeMillis();
+        try {
+            ClientHttpResponse response = execution.execute(request, body);
+            // Client errors (4xx, including a 429 that outlived its retries) mean Jira is up
+            circuitBreaker.afterCall(response.getStatusCode().is5xxServerError(), callMillis(request, started));
+            return response;
+        } catch (JiraRateGovernor.PermitTimeoutException e) {
+            // Throttled locally; says nothing about Jira's health
+            circuitBreaker.abandonCall();
+            throw e;
+        } catch (IOException e) {
+            circuitBreaker.afterCall(true, callMillis(request, started));
+            throw e;
+        }
+    }
+
+    // Time Jira itself took on the last attempt; permit waits and backoff sleeps are not Jira being slow
+    private long callMillis(HttpRequest request, long started) {
+        Object attemptMillis = request.getAttributes().get(JiraRateLimitInterceptor.ATTEMPT_MILLIS_ATTRIBUTE);
+        return attemptMillis instanceof Long millis ? millis : System.currentTimeMillis() - started;
+    }
+}
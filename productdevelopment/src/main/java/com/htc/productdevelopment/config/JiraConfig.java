@@ -4,8 +4,6 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.client.RestTemplate;
-import org.springframework.boot.web.client.RestTemplateBuilder;
-import java.time.Duration;
 import org.springframework.context.annotation.Profile;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.htc.productdevelopment.service.JiraService;
@@ -48,17 +46,14 @@ public class JiraConfig {
     }
     
     @Bean
-    public RestTemplate restTemplate(RestTemplateBuilder builder) {
-        return builder
-            .setConnectTimeout(Duration.ofSeconds(30))
-            .setReadTimeout(Duration.ofSeconds(30))
-            .build();
+    public RestTemplate restTemplate(JiraRestTemplates jiraRestTemplates) {
+        return jiraRestTemplates.forOperation(JiraRestTemplates.OperationClass.INTERACTIVE);
     }
     
     // Removed objectMapper bean definition to avoid conflict with JacksonConfig
     
     @Bean
-    public JiraService jiraService(RestTemplate restTemplate, ObjectMapper objectMapper) {
-        return new JiraService(this, restTemplate, objectMapper);
+    public JiraService jiraService(JiraRestTemplates jiraRestTemplates, ObjectMapper objectMapper) {
+        return new JiraService(this, jiraRestTemplates, objectMapper);
     }
-}
\ No newline at end of file
+}
@@ -4,6 +4,9 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import lombok.Getter;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Configuration
 @Getter
 public class JiraFieldConfig {
@@ -174,4 +177,65 @@ public class JiraFieldConfig {
     public String getContractDuration() {
         return contractDuration;
     }
-}
\ No newline at end of file
+
+    /**
+     * Field ids requested from Jira for a projection profile, instead of "*all"
+     * @param profile The projection profile
+     * @return List of system and custom field ids
+     */
+    public List<String> fieldsFor(JiraFieldProfile profile) {
+        List<String> fields = new ArrayList<>();
+        switch (profile) {
+            case LIST_VIEW:
+                // The request screens open the list item itself as the selected issue, so the list
+                // carries every field they read, not only the table columns
+                fields.addAll(List.of("summary", "project", "assignee", "issuetype", "status", "priority",
+                        "created", "updated", "reporter", "description", "duedate", "resolution"));
+                fields.addAll(requestFields());
+                fields.addAll(List.of(totalprofit, totaloptimizedcost, contractDuration));
+                fields.addAll(UI_FIELDS);
+                break;
+
+            case DETAIL_VIEW:
+                fields.addAll(fieldsFor(JiraFieldProfile.LIST_VIEW));
+                fields.addAll(List.of("attachment", "labels", "creator"));
+                break;
+
+            case CONTRACT_EXTRACT:
+                fields.addAll(List.of("status", "updated"));
+                fields.addAll(requestFields());
+                fields.add(contractDuration);
+                break;
+
+            case TRANSITION:
+                // LIST_VIEW already covers status, updated, the request fields and the contract duration
+                fields.addAll(fieldsFor(JiraFieldProfile.LIST_VIEW));
+                break;
+        }
+        return fields.stream().distinct().toList();
+    }
+
+    /**
+     * Comma-separated form of {@link #fieldsFor(JiraFieldProfile)} for the "fields" query parameter
+     * @param profile The projection profile
+     * @return Comma-separated field ids
+     */
+    public String fieldsParam(JiraFieldProfile profile) {
+        return String.join(",", fieldsFor(profile));
+    }
+
+    // Custom fields the request screens read that have no property of their own:
+    // free-text assignee (10200, 10201) and vendor contract type (10245)
+    private static final List<String> UI_FIELDS = List.of("customfield_10200", "customfield_10201", "customfield_10245");
+
+    // Custom fields captured on the request form
+    private List<String> requestFields() {
+        return List.of(
+                vendorName, productName, billingType, contractType,
+                requesterName, requesterEmail, department, organization,
+                additionalComment, dueDate, renewalDate,
+                currentLicenseCount, currentUsageCount, currentUnit,
+                newLicenseCount, newUsageCount, newUnit,
+                licenseUpdateType, existingContractId);
+    }
+}
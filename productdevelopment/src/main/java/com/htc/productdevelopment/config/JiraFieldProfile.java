@@ -0,0 +1,20 @@
+package com.htc.productdevelopment.config;
+
+/**
+ * Named field projections for Jira searches and issue fetches.
+ * The field ids for each profile are resolved by {@link JiraFieldConfig#fieldsFor(JiraFieldProfile)}.
+ */
+public enum JiraFieldProfile {
+
+    // Dashboard tables, recent issues, the NDJSON stream, the local issue mirror and the issue opened from a list
+    LIST_VIEW,
+
+    // Single-issue detail and edit screens
+    DETAIL_VIEW,
+
+    // Custom fields needed to build a ContractDetails row when a request completes
+    CONTRACT_EXTRACT,
+
+    // Single fetch before a transition: list fields for the mirror plus contract fields, with transitions expanded
+    TRANSITION
+}
@@ -0,0 +1,116 @@
+package com.htc.productdevelopment.config;
+
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Shared HTTP client for all Jira REST calls.
+ * One pooled Apache HttpClient with bounded per-route connections, keep-alive and
+ * transparent gzip/deflate decompression (enabled by default in HttpClient 5) backs a
+ * RestTemplate per operation class, each with its own connect and read timeouts.
+ * Every template paces and retries its calls through the shared {@link JiraRateGovernor} and
+ * short-circuits them while the shared {@link JiraCircuitBreaker} is open.
+ */
+@Configuration
+@Profile("!test")
+public class JiraHttpClientConfig {
+
+    @Value("${jira.http.max-total:40}")
+    private int maxTotal;
+
+    @Value("${jira.http.max-per-route:20}")
+    private int maxPerRoute;
+
+    @Value("${jira.http.keep-alive-seconds:30}")
+    private long keepAliveSeconds;
+
+    @Value("${jira.http.lease-timeout-ms:5000}")
+    private long leaseTimeoutMs;
+
+    @Value("${jira.rate.max-retries:3}")
+    private int maxRetries;
+
+    @Value("${jira.rate.base-backoff-ms:500}")
+    private long baseBackoffMs;
+
+    @Value("${jira.rate.max-backoff-ms:30000}")
+    private long maxBackoffMs;
+
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager jiraConnectionManager() {
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxTotal)
+                .setMaxConnPerRoute(maxPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofSeconds(10))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(10))
+                        .setTimeToLive(TimeValue.ofMinutes(5))
+                        .build())
+                .build();
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient jiraHttpClient(PoolingHttpClientConnectionManager jiraConnectionManager) {
+        return HttpClients.custom()
+                .setConnectionManager(jiraConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        // Used when Jira does not send a Keep-Alive header
+                        .setConnectionKeepAlive(TimeValue.ofSeconds(keepAliveSeconds))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofSeconds(keepAliveSeconds))
+                .build();
+    }
+
+    @Bean
+    public JiraRestTemplates jiraRestTemplates(CloseableHttpClient jiraHttpClient,
+                                               PoolingHttpClientConnectionManager jiraConnectionManager,
+                                               RestTemplateBuilder builder,
+                                               Environment environment,
+                                               JiraRateGovernor jiraRateGovernor,
+                                               JiraCircuitBreaker jiraCircuitBreaker) {
+        JiraRateLimitInterceptor rateLimitInterceptor = new JiraRateLimitInterceptor(jiraRateGovernor, maxRetries, baseBackoffMs, maxBackoffMs);
+        JiraCircuitBreakerInterceptor circuitBreakerInterceptor = new JiraCircuitBreakerInterceptor(jiraCircuitBreaker);
+
+        Map<JiraRestTemplates.OperationClass, RestTemplate> templates = new EnumMap<>(JiraRestTemplates.OperationClass.class);
+        HttpComponentsClientHttpRequestFactory streamingRequestFactory = null;
+        for (JiraRestTemplates.OperationClass operationClass : JiraRestTemplates.OperationClass.values()) {
+            String prefix = "jira.http." + operationClass.name().toLowerCase(Locale.ROOT);
+            long connectTimeoutMs = environment.getProperty(prefix + ".connect-timeout-ms", Long.class, 5000L);
+            long readTimeoutMs = environment.getProperty(prefix + ".read-timeout-ms", Long.class, 30000L);
+
+            HttpComponentsClientHttpRequestFactory requestFactory = new HttpComponentsClientHttpRequestFactory(jiraHttpClient);
+            requestFactory.setConnectTimeout(Duration.ofMillis(connectTimeoutMs));
+            requestFactory.setReadTimeout(Duration.ofMillis(readTimeoutMs));
+            requestFactory.setConnectionRequestTimeout(Duration.ofMillis(leaseTimeoutMs));
+            if (operationClass == JiraRestTemplates.OperationClass.TRANSFER) {
+                streamingRequestFactory = requestFactory;
+            }
+
+            templates.put(operationClass, builder.requestFactory(() -> requestFactory)
+                    // The breaker sees the outcome after rate-limit retries; the rate limiter must stay last
+                    .interceptors(circuitBreakerInterceptor, rateLimitInterceptor)
+                    .build());
+        }
+        return new JiraRestTemplates(templates, streamingRequestFactory, jiraConnectionManager);
+    }
+}
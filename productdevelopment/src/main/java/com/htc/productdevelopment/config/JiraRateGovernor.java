@@ -0,0 +1,308 @@
+package com.htc.productdevelopment.config;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Client-side rate governor shared by every Jira call.
+ * A token bucket paces requests; its refill rate adapts to Atlassian's X-RateLimit-* headers
+ * (additive increase while Jira has headroom, multiplicative decrease when it is near the limit
+ * or answers 429). Retry-After pauses all lanes. Background work (mirror sync, webhook and
+ * outbox processing, bulk edits, full issue listings and streams) may not spend the reserve kept
+ * for interactive requests, and always yields while an interactive request is waiting.
+ * The lane is per thread; executors running Jira calls copy the submitter's lane into each task
+ * with {@link #propagateLane(Runnable)} as their TaskDecorator.
+ */
+@Component
+public class JiraRateGovernor {
+
+    private static final Logger logger = LoggerFactory.getLogger(JiraRateGovernor.class);
+
+    /**
+     * Priority lane of the Jira calls made by the current thread
+     */
+    public enum Lane {
+        // Requests a user is waiting on: transitions, issue creation, detail pages
+        INTERACTIVE,
+        // Sync, webhook and bulk work that can wait
+        BACKGROUND
+    }
+
+    /**
+     * A unit of work that may throw a checked exception
+     */
+    @FunctionalInterface
+    public interface LaneTask {
+        void run() throws Exception;
+    }
+
+    /**
+     * Thrown when no request permit became available within the lane's maximum wait
+     */
+    public static class PermitTimeoutException extends IOException {
+        public PermitTimeoutException(String message) {
+            super(message);
+        }
+    }
+
+    private static final ThreadLocal<Lane> CURRENT_LANE = ThreadLocal.withInitial(() -> Lane.INTERACTIVE);
+
+    @Value("${jira.rate.max-per-second:10}")
+    private double maxPerSecond;
+
+    @Value("${jira.rate.min-per-second:1}")
+    private double minPerSecond;
+
+    @Value("${jira.rate.burst:20}")
+    private int burst;
+
+    // Share of the bucket background calls must leave for interactive ones
+    @Value("${jira.rate.background-reserve:0.25}")
+    private double backgroundReserve;
+
+    @Value("${jira.rate.interactive-max-wait-ms:15000}")
+    private long interactiveMaxWaitMs;
+
+    @Value("${jira.rate.background-max-wait-ms:120000}")
+    private long backgroundMaxWaitMs;
+
+    private final Object lock = new Object();
+    private double tokens;
+    private double ratePerSecond;
+    private long lastRefillNanos;
+    private long pausedUntilMillis;
+    private int interactiveWaiting;
+
+    private final Map<Lane, LongAdder> acquired = new EnumMap<>(Lane.class);
+    private final Map<Lane, LongAdder> waitedMillis = new EnumMap<>(Lane.class);
+    private final LongAdder throttledResponses = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    @PostConstruct
+    void init() {
+        tokens = burst;
+        ratePerSecond = maxPerSecond;
+        lastRefillNanos = System.nanoTime();
+        for (Lane lane : Lane.values()) {
+            acquired.put(lane, new LongAdder());
+            waitedMillis.put(lane, new LongAdder());
+        }
+    }
+
+    /**
+     * Lane of the current thread
+     * @return The lane Jira calls from this thread are accounted to
+     */
+    public static Lane currentLane() {
+        return CURRENT_LANE.get();
+    }
+
+    /**
+     * Wrap a task so it runs in the lane of the thread submitting it, for use as an executor's TaskDecorator
+     * @param task The task
+     * @return The task bound to the submitter's lane
+     */
+    public static Runnable propagateLane(Runnable task) {
+        Lane lane = CURRENT_LANE.get();
+        return () -> {
+            Lane previous = CURRENT_LANE.get();
+            CURRENT_LANE.set(lane);
+            try {
+                task.run();
+            } finally {
+                CURRENT_LANE.set(previous);
+            }
+        };
+    }
+
+    /**
+     * Run work with its Jira calls in the given lane
+     * @param lane The lane
+     * @param task The work
+     * @throws Exception if the work fails
+     */
+    public static void runInLane(Lane lane, LaneTask task) throws Exception {
+        callInLane(lane, () -> {
+            task.run();
+            return null;
+        });
+    }
+
+    /**
+     * Run work with its Jira calls in the given lane and return its result
+     * @param lane The lane
+     * @param task The work
+     * @return The work's result
+     * @throws Exception if the work fails
+     */
+    public static <T> T callInLane(Lane lane, Callable<T> task) throws Exception {
+        Lane previous = CURRENT_LANE.get();
+        CURRENT_LANE.set(lane);
+        try {
+            return task.call();
+        } finally {
+            CURRENT_LANE.set(previous);
+        }
+    }
+
+    /**
+     * Block until the lane may send one request to Jira
+     * @param lane The lane of the request
+     * @throws PermitTimeoutException if no permit became available within the lane's maximum wait
+     * @throws InterruptedIOException if the thread was interrupted while waiting
+     */
+    public void acquire(Lane lane) throws IOException {
+        long started = System.currentTimeMillis();
+        long deadline = started + (lane == Lane.INTERACTIVE ? interactiveMaxWaitMs : backgroundMaxWaitMs);
+
+        synchronized (lock) {
+            if (lane == Lane.INTERACTIVE) {
+                interactiveWaiting++;
+            }
+            try {
+                while (true) {
+                    refill();
+                    long now = System.currentTimeMillis();
+
+                    if (now >= pausedUntilMillis) {
+                        double floor = lane == Lane.BACKGROUND ? burst * backgroundReserve : 0;
+                        boolean yieldToInteractive = lane == Lane.BACKGROUND && interactiveWaiting > 0;
+                        if (!yieldToInteractive && tokens >= 1 + floor) {
+                            tokens -= 1;
+                            acquired.get(lane).increment();
+                            waitedMillis.get(lane).add(now - started);
+                            return;
+                        }
+                    }
+
+                    if (now >= deadline) {
+                        rejected.increment();
+                        throw new PermitTimeoutException("Jira rate limit: no request permit within "
+                                + (deadline - started) + " ms for " + lane + " call");
+                    }
+
+                    long untilToken = (long) Math.ceil(1000.0 / Math.max(ratePerSecond, minPerSecond));
+                    long untilResume = Math.max(0, pausedUntilMillis - now);
+                    long wait = Math.max(5, Math.min(deadline - now, Math.max(untilToken, untilResume)));
+                    lock.wait(wait);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for a Jira request permit");
+            } finally {
+                if (lane == Lane.INTERACTIVE) {
+                    interactiveWaiting--;
+                }
+                lock.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Adapt the refill rate to a Jira response
+     * @param status The HTTP status
+     * @param headers The response headers
+     */
+    public void onResponse(int status, HttpHeaders headers) {
+        synchronized (lock) {
+            boolean nearLimit = "true".equalsIgnoreCase(headers.getFirst("X-RateLimit-NearLimit"));
+            Long limit = parseLong(headers.getFirst("X-RateLimit-Limit"));
+            Long remaining = parseLong(headers.getFirst("X-RateLimit-Remaining"));
+            if (limit != null && remaining != null && limit > 0 && remaining < limit * 0.2) {
+                nearLimit = true;
+            }
+
+            if (status == 429) {
+                throttledResponses.increment();
+                ratePerSecond = Math.max(minPerSecond, ratePerSecond / 2);
+            } else if (nearLimit) {
+                ratePerSecond = Math.max(minPerSecond, ratePerSecond * 0.75);
+            } else {
+                ratePerSecond = Math.min(maxPerSecond, ratePerSecond + 0.1);
+            }
+
+            // Never hold more local permits than Jira says are left
+            if (remaining != null) {
+                tokens = Math.min(tokens, remaining);
+            }
+        }
+    }
+
+    /**
+     * Stop all lanes until the given delay has passed, e.g. for a Retry-After header
+     * @param delayMillis The pause in milliseconds
+     */
+    public void pause(long delayMillis) {
+        synchronized (lock) {
+            long until = System.currentTimeMillis() + delayMillis;
+            if (until > pausedUntilMillis) {
+                pausedUntilMillis = until;
+                logger.warn("Pausing Jira calls for {} ms", delayMillis);
+            }
+        }
+    }
+
+    public void recordRetry() {
+        retries.increment();
+    }
+
+    /**
+     * Current governor state and counters
+     * @return Map with the refill rate, available tokens, pause and per-lane counters
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        synchronized (lock) {
+            refill();
+            stats.put("ratePerSecond", ratePerSecond);
+            stats.put("tokens", tokens);
+            stats.put("burst", burst);
+            stats.put("pausedForMillis", Math.max(0, pausedUntilMillis - System.currentTimeMillis()));
+            stats.put("interactiveWaiting", interactiveWaiting);
+        }
+        Map<String, Object> lanes = new LinkedHashMap<>();
+        for (Lane lane : Lane.values()) {
+            long count = acquired.get(lane).sum();
+            lanes.put(lane.name(), Map.of(
+                    "acquired", count,
+                    "averageWaitMillis", count == 0 ? 0.0 : (double) waitedMillis.get(lane).sum() / count));
+        }
+        stats.put("lanes", lanes);
+        stats.put("throttledResponses", throttledResponses.sum());
+        stats.put("retries", retries.sum());
+        stats.put("rejected", rejected.sum());
+        return stats;
+    }
+
+    // Caller holds the lock
+    private void refill() {
+        long now = System.nanoTime();
+        double elapsedSeconds = (now - lastRefillNanos) / 1_000_000_000.0;
+        lastRefillNanos = now;
+        tokens = Math.min(burst, tokens + elapsedSeconds * ratePerSecond);
+    }
+
+    private Long parseLong(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
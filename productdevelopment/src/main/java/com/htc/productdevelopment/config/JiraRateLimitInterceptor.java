@@ -0,0 +1,126 @@
+package com.htc.productdevelopment.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Sends every Jira request through {@link JiraRateGovernor} and retries throttled ones.
+ * 429 responses are always retried (Jira did not process the request); 503 responses and I/O
+ * errors only for idempotent methods. The delay is the larger of Retry-After and a jittered
+ * exponential backoff.
+ */
+public class JiraRateLimitInterceptor implements ClientHttpRequestInterceptor {
+
+    private static final Logger logger = LoggerFactory.getLogger(JiraRateLimitInterceptor.class);
+
+    /**
+     * Request attribute holding the duration of the last attempt, without permit waits and backoff
+     */
+    public static final String ATTEMPT_MILLIS_ATTRIBUTE = JiraRateLimitInterceptor.class.getName() + ".attemptMillis";
+
+    private static final Set<HttpMethod> IDEMPOTENT = Set.of(HttpMethod.GET, HttpMethod.HEAD, HttpMethod.PUT, HttpMethod.DELETE);
+
+    private final JiraRateGovernor governor;
+    private final int maxRetries;
+    private final long baseBackoffMs;
+    private final long maxBackoffMs;
+
+    public JiraRateLimitInterceptor(JiraRateGovernor governor, int maxRetries, long baseBackoffMs, long maxBackoffMs) {
+        this.governor = governor;
+        this.maxRetries = maxRetries;
+        this.baseBackoffMs = baseBackoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        JiraRateGovernor.Lane lane = JiraRateGovernor.currentLane();
+        boolean idempotent = IDEMPOTENT.contains(request.getMethod());
+
+        for (int attempt = 0; ; attempt++) {
+            governor.acquire(lane);
+
+            ClientHttpResponse response;
+            long started = System.currentTimeMillis();
+            try {
+                response = execution.execute(request, body);
+                request.getAttributes().put(ATTEMPT_MILLIS_ATTRIBUTE, System.currentTimeMillis() - started);
+            } catch (IOException e) {
+                request.getAttributes().put(ATTEMPT_MILLIS_ATTRIBUTE, System.currentTimeMillis() - started);
+                // Read timeouts are SocketTimeoutExceptions (InterruptedIOException) and are not retried
+                if (!idempotent || attempt >= maxRetries || e instanceof InterruptedIOException) {
+                    throw e;
+                }
+                long delay = backoff(attempt);
+                logger.warn("Jira {} {} failed ({}), retrying in {} ms", request.getMethod(), request.getURI().getPath(), e.getMessage(), delay);
+                governor.recordRetry();
+                sleep(delay);
+                continue;
+            }
+
+            int status = response.getStatusCode().value();
+            governor.onResponse(status, response.getHeaders());
+
+            boolean retryable = status == 429 || (status == 503 && idempotent);
+            if (!retryable || attempt >= maxRetries) {
+                return response;
+            }
+
+            long delay = Math.max(retryAfterMillis(response.getHeaders().getFirst("Retry-After")), backoff(attempt));
+            logger.warn("Jira answered {} to {} {}, retrying in {} ms (attempt {}/{})",
+                    status, request.getMethod(), request.getURI().getPath(), delay, attempt + 1, maxRetries);
+            response.close();
+            governor.recordRetry();
+
+            if (status == 429) {
+                // The limit is per account, so every lane backs off, not just this caller
+                governor.pause(delay);
+            } else {
+                sleep(delay);
+            }
+        }
+    }
+
+    // Equal jitter: uniform between half and all of the capped exponential delay
+    private long backoff(int attempt) {
+        long cap = Math.min(maxBackoffMs, baseBackoffMs * (1L << Math.min(attempt, 16)));
+        return ThreadLocalRandom.current().nextLong(cap / 2, cap + 1);
+    }
+
+    private long retryAfterMillis(String retryAfter) {
+        if (retryAfter == null || retryAfter.isBlank()) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(retryAfter.trim()) * 1000;
+        } catch (NumberFormatException e) {
+            try {
+                ZonedDateTime at = ZonedDateTime.parse(retryAfter.trim(), DateTimeFormatter.RFC_1123_DATE_TIME);
+                return Math.max(0, at.toInstant().toEpochMilli() - System.currentTimeMillis());
+            } catch (Exception ignored) {
+                return 0;
+            }
+        }
+    }
+
+    private void sleep(long millis) throws IOException {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while backing off a Jira request");
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.htc.productdevelopment.config;
+
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.core5.pool.PoolStats;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * RestTemplates for Jira calls, one per operation class, all sharing a single pooled HTTP client.
+ * The operation classes only differ in their timeouts; connections are reused across all of them.
+ */
+public class JiraRestTemplates {
+
+    /**
+     * Kinds of Jira calls with different latency expectations
+     */
+    public enum OperationClass {
+        // Single-issue reads, writes, transitions and metadata
+        INTERACTIVE,
+        // JQL search pages
+        SEARCH,
+        // Attachment uploads and downloads
+        TRANSFER
+    }
+
+    private final Map<OperationClass, RestTemplate> templates;
+    private final ClientHttpRequestFactory streamingRequestFactory;
+    private final PoolingHttpClientConnectionManager connectionManager;
+
+    public JiraRestTemplates(Map<OperationClass, RestTemplate> templates,
+                             ClientHttpRequestFactory streamingRequestFactory,
+                             PoolingHttpClientConnectionManager connectionManager) {
+        this.templates = new EnumMap<>(templates);
+        this.streamingRequestFactory = streamingRequestFactory;
+        this.connectionManager = connectionManager;
+    }
+
+    public RestTemplate forOperation(OperationClass operationClass) {
+        return templates.get(operationClass);
+    }
+
+    /**
+     * Request factory with the TRANSFER timeouts but without interceptors, for request bodies too
+     * large to buffer (interceptors always buffer the body). Callers must go through
+     * {@link JiraRateGovernor} and {@link JiraCircuitBreaker} themselves.
+     * @return The unbuffered request factory
+     */
+    public ClientHttpRequestFactory getStreamingRequestFactory() {
+        return streamingRequestFactory;
+    }
+
+    /**
+     * Snapshot of connection pool usage; "pending" above zero means callers are waiting for a connection
+     * @return Pool statistics
+     */
+    public Map<String, Object> getPoolStats() {
+        PoolStats totals = connectionManager.getTotalStats();
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("leased", totals.getLeased());
+        stats.put("pending", totals.getPending());
+        stats.put("available", totals.getAvailable());
+        stats.put("max", totals.getMax());
+        stats.put("maxPerRoute", connectionManager.getDefaultMaxPerRoute());
+        stats.put("saturation", totals.getMax() > 0 ? (double) totals.getLeased() / totals.getMax() : 0.0);
+
+        Map<String, Object> routes = new HashMap<>();
+        connectionManager.getRoutes().forEach(route -> {
+            PoolStats routeStats = connectionManager.getStats(route);
+            routes.put(route.getTargetHost().toURI(), Map.of(
+                    "leased", routeStats.getLeased(),
+                    "pending", routeStats.getPending(),
+                    "available", routeStats.getAvailable(),
+                    "max", routeStats.getMax()));
+        });
+        stats.put("routes", routes);
+        return stats;
+    }
+}
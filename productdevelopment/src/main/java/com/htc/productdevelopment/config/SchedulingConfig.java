@@ -0,0 +1,41 @@
+package com.htc.productdevelopment.config;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+
+/**
+ * Scheduler for the @Scheduled jobs (mirror sync, webhook and outbox draining, unread counter
+ * reconciliation, token cache purge). Each job needs a thread of its own: a mirror sync or
+ * webhook batch can wait minutes for background-lane Jira permits, and must not hold up outbox
+ * draining while it does. Without an explicit scheduler the jobs share whichever one Spring
+ * finds, by default a single thread.
+ */
+@Configuration
+public class SchedulingConfig implements SchedulingConfigurer {
+
+    private final ThreadPoolTaskScheduler jobScheduler;
+
+    public SchedulingConfig(@Qualifier("jobScheduler") ThreadPoolTaskScheduler jobScheduler) {
+        this.jobScheduler = jobScheduler;
+    }
+
+    @Bean(name = "jobScheduler")
+    public static ThreadPoolTaskScheduler jobScheduler(@Value("${scheduling.pool-size:5}") int poolSize) {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(poolSize);
+        scheduler.setThreadNamePrefix("job-");
+        scheduler.setWaitForTasksToCompleteOnShutdown(true);
+        scheduler.setAwaitTerminationSeconds(30);
+        return scheduler;
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        registrar.setTaskScheduler(jobScheduler);
+    }
+}
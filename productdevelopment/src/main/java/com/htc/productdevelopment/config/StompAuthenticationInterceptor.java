@@ -0,0 +1,90 @@
+package com.htc.productdevelopment.config;
+
+import com.htc.productdevelopment.dto.StompUser;
+import com.htc.productdevelopment.repository.JiraOutboxRepository;
+import com.htc.productdevelopment.service.FirebaseTokenService;
+import com.htc.productdevelopment.service.WebSocketSessionRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+
+import java.security.Principal;
+import java.util.List;
+
+/**
+ * Identifies STOMP sessions from the Firebase ID token sent as an "Authorization: Bearer" header
+ * on CONNECT, and registers them for audience routing. Sessions without a valid token stay
+ * anonymous and receive no notifications.
+ * Subscriptions are allow-listed: an identified session may subscribe to its own "/user/queue/..."
+ * destinations and to the status topic of Jira operations its user queued, nothing else. That keeps
+ * clients off the topics instances use among themselves and off other users' resolved queues.
+ */
+@Component
+public class StompAuthenticationInterceptor implements ChannelInterceptor {
+
+    private static final Logger logger = LoggerFactory.getLogger(StompAuthenticationInterceptor.class);
+
+    // Patterns the brokers expand (Ant patterns on the simple broker, "*" and "#" on RabbitMQ) and path tricks
+    private static final List<String> FORBIDDEN_IN_DESTINATION = List.of("*", "#", "{", "..");
+
+    private final FirebaseTokenService firebaseTokenService;
+    private final WebSocketSessionRegistry sessionRegistry;
+    private final JiraOutboxRepository outboxRepository;
+
+    public StompAuthenticationInterceptor(FirebaseTokenService firebaseTokenService, WebSocketSessionRegistry sessionRegistry,
+                                          JiraOutboxRepository outboxRepository) {
+        this.firebaseTokenService = firebaseTokenService;
+        this.sessionRegistry = sessionRegistry;
+        this.outboxRepository = outboxRepository;
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getCommand() == null) {
+            return message;
+        }
+
+        if (StompCommand.CONNECT.equals(accessor.getCommand())) {
+            firebaseTokenService.resolveUser(accessor.getFirstNativeHeader("Authorization"))
+                .map(StompUser::new)
+                .ifPresent(user -> {
+                    accessor.setUser(user);
+                    sessionRegistry.register(accessor.getSessionId(), user);
+                    logger.debug("STOMP session {} connected as {}", accessor.getSessionId(), user);
+                });
+        } else if (StompCommand.SUBSCRIBE.equals(accessor.getCommand())) {
+            String destination = accessor.getDestination();
+            if (!canSubscribe(accessor.getUser(), destination)) {
+                logger.warn("Rejected subscription of STOMP session {} to {}", accessor.getSessionId(), destination);
+                throw new MessageDeliveryException("Subscribing to " + destination + " is not allowed");
+            }
+        }
+        return message;
+    }
+
+    boolean canSubscribe(Principal principal, String destination) {
+        if (!(principal instanceof StompUser user) || destination == null
+                || FORBIDDEN_IN_DESTINATION.stream().anyMatch(destination::contains)) {
+            return false;
+        }
+        if (destination.startsWith(WebSocketConfig.USER_QUEUE_PREFIX)) {
+            return destination.length() > WebSocketConfig.USER_QUEUE_PREFIX.length();
+        }
+        if (destination.startsWith(WebSocketConfig.JIRA_OPERATIONS_PREFIX)) {
+            String operationId = destination.substring(WebSocketConfig.JIRA_OPERATIONS_PREFIX.length());
+            return !operationId.isEmpty() && !operationId.contains("/")
+                && outboxRepository.findByOperationId(operationId)
+                    .map(operation -> user.getUserId().equals(operation.getRequestedBy()))
+                    .orElse(false);
+        }
+        return false;
+    }
+}
@@ -28,6 +28,7 @@ public class WebConfig implements WebMvcConfigurer {
             .allowedOrigins(urlConfig.getAllowedOrigins())
             .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
             .allowedHeaders("*")
+            .exposedHeaders("X-Jira-Source", "X-Jira-Synced-At", "X-Jira-Stale", "X-Jira-Snapshot-At", "Retry-After", "Location", "Content-Range", "Accept-Ranges", "Content-Disposition", "ETag", "X-Next-Cursor")
             .allowCredentials(true);
     }
 }
\ No newline at end of file
@@ -1,27 +1,108 @@
 package com.htc.productdevelopment.config;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.messaging.simp.config.StompBrokerRelayRegistration;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
 
+/**
+ * STOMP over WebSocket. By default messages go through the in-process simple broker, which only
+ * reaches clients connected to this instance. With websocket.broker.relay.enabled every instance
+ * relays to one external STOMP broker (RabbitMQ with the STOMP plugin, ActiveMQ Artemis), so a
+ * message sent on any node reaches subscribers on all of them.
+ * Notifications go to "/user/queue/notifications" of the users they are meant for; sessions are
+ * identified at CONNECT by {@link StompAuthenticationInterceptor}, which also decides what clients
+ * may subscribe to. The brokers serve "/queue" only because user destinations resolve to it;
+ * clients reach it through "/user/queue/..." and cannot subscribe to it directly.
+ */
 @Configuration
 @EnableWebSocketMessageBroker
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    private static final Logger logger = LoggerFactory.getLogger(WebSocketConfig.class);
+
+    /**
+     * Notifications to be routed to their audience; every instance subscribes through the relay
+     */
+    public static final String NOTIFICATION_ROUTING_DESTINATION = "/topic/notification-routing";
+
+    private static final String USER_DESTINATION_BROADCAST = "/topic/unresolved-user-destination";
+    private static final String USER_REGISTRY_BROADCAST = "/topic/simp-user-registry";
+
+    /**
+     * The current user's own queues ("/user/queue/notifications", "/user/queue/unread-count")
+     */
+    static final String USER_QUEUE_PREFIX = "/user/queue/";
+
+    /**
+     * Status of one queued Jira operation, followed by the user who queued it
+     */
+    public static final String JIRA_OPERATIONS_PREFIX = "/topic/jira-operations/";
+
+    @Value("${websocket.broker.relay.enabled:false}")
+    private boolean relayEnabled;
+
+    @Value("${websocket.broker.relay.host:localhost}")
+    private String relayHost;
+
+    @Value("${websocket.broker.relay.port:61613}")
+    private int relayPort;
+
+    @Value("${websocket.broker.relay.virtual-host:}")
+    private String relayVirtualHost;
+
+    @Value("${websocket.broker.relay.login:guest}")
+    private String relayLogin;
+
+    @Value("${websocket.broker.relay.passcode:guest}")
+    private String relayPasscode;
+
+    private final StompAuthenticationInterceptor stompAuthenticationInterceptor;
+
+    public WebSocketConfig(StompAuthenticationInterceptor stompAuthenticationInterceptor) {
+        this.stompAuthenticationInterceptor = stompAuthenticationInterceptor;
+    }
+
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
         // Allow direct WebSocket connections (for STOMP.js)
         registry.addEndpoint("/ws").setAllowedOriginPatterns("*");
-        
+
         // Also allow SockJS fallback
         registry.addEndpoint("/ws").setAllowedOriginPatterns("*").withSockJS();
     }
 
     @Override
     public void configureMessageBroker(MessageBrokerRegistry registry) {
-        registry.enableSimpleBroker("/topic");
+        if (relayEnabled) {
+            logger.info("Relaying STOMP destinations to broker at {}:{}", relayHost, relayPort);
+            StompBrokerRelayRegistration relay = registry.enableStompBrokerRelay("/topic", "/queue")
+                .setRelayHost(relayHost)
+                .setRelayPort(relayPort)
+                .setClientLogin(relayLogin)
+                .setClientPasscode(relayPasscode)
+                .setSystemLogin(relayLogin)
+                .setSystemPasscode(relayPasscode)
+                // Share connected users between instances, so user destinations resolve on any node
+                .setUserDestinationBroadcast(USER_DESTINATION_BROADCAST)
+                .setUserRegistryBroadcast(USER_REGISTRY_BROADCAST);
+            if (!relayVirtualHost.isBlank()) {
+                relay.setVirtualHost(relayVirtualHost);
+            }
+        } else {
+            registry.enableSimpleBroker("/topic", "/queue");
+        }
         registry.setApplicationDestinationPrefixes("/app");
     }
-}
\ No newline at end of file
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.interceptors(stompAuthenticationInterceptor);
+    }
+}
@@ -6,6 +6,7 @@ import com.htc.productdevelopment.model.Department;
 import com.htc.productdevelopment.repository.UserRepository;
 import com.htc.productdevelopment.service.UserService;
 import com.htc.productdevelopment.service.FirebaseSyncService;
+import com.htc.productdevelopment.service.FirebaseTokenService;
 import com.htc.productdevelopment.service.InvitationService;
 import com.htc.productdevelopment.service.OrganizationService;
 import org.springframework.http.ResponseEntity;
@@ -20,7 +21,6 @@ import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.auth.FirebaseToken;
 import com.google.firebase.auth.FirebaseAuthException;
 
@@ -42,6 +42,7 @@ public class AuthController {
     private final UserRepository userRepository;
     private final InvitationService invitationService;
     private final OrganizationService organizationService;
+    private final FirebaseTokenService firebaseTokenService;
     
     /**
      * Constructor to initialize dependencies
@@ -50,12 +51,15 @@ public class AuthController {
      * @param userRepository Repository for database operations
      * @param invitationService Service for invitation operations
      * @param organizationService Service for organization operations
+     * @param firebaseTokenService Service for cached Firebase ID token verification
      */
-    public AuthController(UserService userService, FirebaseSyncService firebaseSyncService, UserRepository userRepository, InvitationService invitationService, OrganizationService organizationService) {
+    public AuthController(UserService userService, FirebaseSyncService firebaseSyncService, UserRepository userRepository, InvitationService invitationService, OrganizationService organizationService,
+                          FirebaseTokenService firebaseTokenService) {
         this.userService = userService;
         this.firebaseSyncService = firebaseSyncService;
         this.userRepository = userRepository;
         this.invitationService = invitationService;
+        this.firebaseTokenService = firebaseTokenService;
         this.organizationService = organizationService;
     }
     
@@ -83,7 +87,7 @@ public class AuthController {
             String idToken = authorizationHeader.substring(7); // Remove "Bearer " prefix
             
             // Verify Firebase ID token
-            FirebaseToken decodedToken = FirebaseAuth.getInstance().verifyIdToken(idToken);
+            FirebaseToken decodedToken = firebaseTokenService.verifyIdToken(idToken);
             String firebaseEmail = decodedToken.getEmail();
             String firebaseName = decodedToken.getName() != null ? decodedToken.getName() : "";
             String firebaseUid = decodedToken.getUid();
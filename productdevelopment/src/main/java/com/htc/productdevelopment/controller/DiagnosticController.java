@@ -7,6 +7,13 @@ import com.google.firebase.auth.ListUsersPage;
 import com.htc.productdevelopment.model.User;
 import com.htc.productdevelopment.repository.UserRepository;
 import com.htc.productdevelopment.service.FirebaseSyncService;
+import com.htc.productdevelopment.service.JiraAttachmentCache;
+import com.htc.productdevelopment.service.JiraService;
+import com.htc.productdevelopment.service.NotificationEventListener;
+import com.htc.productdevelopment.service.WebSocketSessionRegistry;
+import com.htc.productdevelopment.config.JiraRestTemplates;
+import com.htc.productdevelopment.config.JiraRateGovernor;
+import com.htc.productdevelopment.config.JiraCircuitBreaker;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -24,10 +31,105 @@ public class DiagnosticController {
     
     private final UserRepository userRepository;
     private final FirebaseSyncService firebaseSyncService;
+    private final JiraService jiraService;
+    private final JiraRestTemplates jiraRestTemplates;
+    private final JiraRateGovernor jiraRateGovernor;
+    private final JiraCircuitBreaker jiraCircuitBreaker;
+    private final JiraAttachmentCache jiraAttachmentCache;
+    private final NotificationEventListener notificationEventListener;
+    private final WebSocketSessionRegistry webSocketSessionRegistry;
     
-    public DiagnosticController(UserRepository userRepository, FirebaseSyncService firebaseSyncService) {
+    public DiagnosticController(UserRepository userRepository, FirebaseSyncService firebaseSyncService,
+                                JiraService jiraService, JiraRestTemplates jiraRestTemplates,
+                                JiraRateGovernor jiraRateGovernor, JiraCircuitBreaker jiraCircuitBreaker,
+                                JiraAttachmentCache jiraAttachmentCache,
+                                NotificationEventListener notificationEventListener,
+                                WebSocketSessionRegistry webSocketSessionRegistry) {
         this.userRepository = userRepository;
         this.firebaseSyncService = firebaseSyncService;
+        this.jiraService = jiraService;
+        this.jiraRestTemplates = jiraRestTemplates;
+        this.jiraRateGovernor = jiraRateGovernor;
+        this.jiraCircuitBreaker = jiraCircuitBreaker;
+        this.jiraAttachmentCache = jiraAttachmentCache;
+        this.notificationEventListener = notificationEventListener;
+        this.webSocketSessionRegistry = webSocketSessionRegistry;
+    }
+    
+    /**
+     * Connection pool usage of the shared Jira HTTP client
+     */
+    @GetMapping("/jira-http-pool")
+    public ResponseEntity<?> checkJiraHttpPool() {
+        return ResponseEntity.ok(jiraRestTemplates.getPoolStats());
+    }
+
+    /**
+     * Refill rate, available permits and per-lane counters of the Jira rate governor
+     */
+    @GetMapping("/jira-rate-governor")
+    public ResponseEntity<?> checkJiraRateGovernor() {
+        return ResponseEntity.ok(jiraRateGovernor.getStats());
+    }
+
+    /**
+     * Circuit breaker state gauge (CLOSED, OPEN, HALF_OPEN) and failure counters for Jira calls
+     */
+    @GetMapping("/jira-circuit")
+    public ResponseEntity<?> checkJiraCircuit() {
+        return ResponseEntity.ok(jiraCircuitBreaker.getStats());
+    }
+
+    /**
+     * Hit/miss counters of the per-issue Jira cache, per service method
+     */
+    @GetMapping("/jira-issue-cache")
+    public ResponseEntity<?> checkJiraIssueCache() {
+        return ResponseEntity.ok(jiraService.getIssueCacheStats());
+    }
+
+    /**
+     * Size, hit/miss and eviction counters of the on-disk Jira attachment cache
+     */
+    @GetMapping("/jira-attachment-cache")
+    public ResponseEntity<?> checkJiraAttachmentCache() {
+        return ResponseEntity.ok(jiraAttachmentCache.getStats());
+    }
+    
+    /**
+     * Compare payload size and parse time of the legacy "*all" issue fetch against each
+     * Jira field projection profile, using a real issue as the fixture
+     */
+    @GetMapping("/jira-projections/{issueKey}")
+    public ResponseEntity<?> benchmarkJiraProjections(@PathVariable String issueKey) {
+        logger.info("Benchmarking Jira field projections for issue {}", issueKey);
+        
+        try {
+            List<Map<String, Object>> results = jiraService.benchmarkIssueProjections(issueKey);
+            logger.info("Jira projection benchmark completed: {}", results);
+            return ResponseEntity.ok(results);
+        } catch (Exception e) {
+            logger.error("Error benchmarking Jira projections: {}", e.getMessage(), e);
+            Map<String, Object> response = new HashMap<>();
+            response.put("error", e.getMessage());
+            return ResponseEntity.status(500).body(response);
+        }
+    }
+    
+    /**
+     * Throughput and queueing of the notification event executor
+     */
+    @GetMapping("/notification-events")
+    public ResponseEntity<?> checkNotificationEvents() {
+        return ResponseEntity.ok(notificationEventListener.getStats());
+    }
+    
+    /**
+     * Authenticated WebSocket sessions on this instance and the audiences they are indexed under
+     */
+    @GetMapping("/websocket-sessions")
+    public ResponseEntity<?> checkWebSocketSessions() {
+        return ResponseEntity.ok(webSocketSessionRegistry.getStats());
     }
     
     @GetMapping("/firebase-status")
@@ -1,27 +1,49 @@
 package com.htc.productdevelopment.controller;
 
 import com.fasterxml.jackson.databind.JsonNode;
-
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 import com.htc.productdevelopment.model.ContractAttachment;
 import com.htc.productdevelopment.model.ContractDetails;
 import com.htc.productdevelopment.model.ContractProposal;
+import com.htc.productdevelopment.model.JiraIssue;
+import com.htc.productdevelopment.model.JiraOutboxOperation;
 import com.htc.productdevelopment.model.JiraProject;
+import com.htc.productdevelopment.config.JiraCircuitBreaker;
 import com.htc.productdevelopment.config.JiraFieldConfig;
+import com.htc.productdevelopment.config.JiraRateGovernor;
+import com.htc.productdevelopment.event.IssueTransitionedEvent;
+import com.htc.productdevelopment.event.RequestCreatedEvent;
 import com.htc.productdevelopment.model.Proposal;
 import com.htc.productdevelopment.model.User;
 import com.htc.productdevelopment.repository.ContractAttachmentRepository;
 import com.htc.productdevelopment.repository.ContractDetailsRepository;
 import com.htc.productdevelopment.repository.ContractProposalRepository;
+import com.htc.productdevelopment.dto.AuthenticatedUser;
 import com.htc.productdevelopment.dto.ContractCompletedRequest;
 import com.htc.productdevelopment.dto.ContractDTO;
 import com.htc.productdevelopment.dto.VendorDetailsDTO;
 import com.htc.productdevelopment.service.JiraService;
+import com.htc.productdevelopment.service.JiraIssueSyncService;
+import com.htc.productdevelopment.service.JiraAsyncService;
+import com.htc.productdevelopment.service.JiraSnapshotStore;
+import com.htc.productdevelopment.service.JiraAttachmentCache;
+import com.htc.productdevelopment.service.JiraOutboxService;
 import com.htc.productdevelopment.service.ContractDetailsService;
 import com.htc.productdevelopment.service.VendorDetailsService;
 import com.htc.productdevelopment.service.ProposalService;
@@ -29,22 +51,25 @@ import com.htc.productdevelopment.service.ContractAttachmentService;
 import com.htc.productdevelopment.service.ContractProposalService;
 import com.htc.productdevelopment.service.NotificationService;
 import com.htc.productdevelopment.service.UserService;
+import com.htc.productdevelopment.service.FirebaseTokenService;
 import java.security.Principal;
 
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.CacheControl;
 import org.springframework.http.MediaType;
-import org.springframework.web.context.request.RequestContextHolder;
-import org.springframework.web.context.request.ServletRequestAttributes;
-import jakarta.servlet.http.HttpServletRequest;
-import com.google.firebase.auth.FirebaseAuth;
-import com.google.firebase.auth.FirebaseToken;
+import jakarta.servlet.http.HttpServletResponse;
 
 
 
 
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 
@@ -92,6 +117,37 @@ public class JiraController {
     @Autowired
     private ContractAttachmentService contractAttachmentService;
 
+    @Autowired
+    private JiraIssueSyncService jiraIssueSyncService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JiraAsyncService jiraAsyncService;
+
+    @Autowired
+    private JiraCircuitBreaker jiraCircuitBreaker;
+
+    @Autowired
+    private JiraOutboxService jiraOutboxService;
+
+    @Autowired
+    private JiraAttachmentCache jiraAttachmentCache;
+
+    @Autowired
+    private FirebaseTokenService firebaseTokenService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    // Jira attachment ids in stored file URLs (Jira's content URL or our proxy URLs)
+    private static final java.util.regex.Pattern JIRA_ATTACHMENT_URL =
+            java.util.regex.Pattern.compile("(?:/attachment/content/|/contracts/attachments/)(\\d+)(?:/content)?(?:[?#].*)?$");
+
+    @Value("${jira.bulk.max-items:500}")
+    private int bulkMaxItems;
+
     public JiraController(JiraService jiraService,
                           ContractDetailsService contractDetailsService,
                           VendorDetailsService vendorDetailsService,
@@ -108,39 +164,128 @@ public class JiraController {
     }
     
     private User getCurrentUserFromToken() {
+        return firebaseTokenService.getCurrentUser().orElse(null);
+    }
+
+    private static RequestCreatedEvent requestCreated(String issueKey, User creator) {
+        return new RequestCreatedEvent(issueKey, creator.getId(), creator.getDepartmentId(),
+                creator.getOrganizationId(), creator.getName());
+    }
+
+    private Long getCurrentUserId() {
+        User user = getCurrentUserFromToken();
+        return user != null ? user.getId() : null;
+    }
+
+    /**
+     * Whether the client asked for the write to be queued (RFC 7240 "Prefer: respond-async")
+     * @param prefer The Prefer header
+     * @return true if the client will poll or listen for the outcome
+     */
+    private boolean prefersAsync(String prefer) {
+        return prefer != null && prefer.toLowerCase().contains("respond-async");
+    }
+
+    /**
+     * 202 answer for a Jira write queued in the outbox, pointing at its status
+     * @param operation The queued operation
+     * @return 202 response with the operation status and a Location header
+     */
+    private ResponseEntity<?> queued(JiraOutboxOperation operation) {
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/jira/operations/" + operation.getOperationId()))
+                .body(jiraOutboxService.toStatus(operation));
+    }
+
+    /**
+     * Queue a Jira write that could not be sent right now instead of losing it
+     * @param enqueue Queues the operation
+     * @param message What could not be done, used if queueing fails too
+     * @return 202 with the operation, or 503 if it could not be queued
+     */
+    private ResponseEntity<?> queueInstead(Callable<JiraOutboxOperation> enqueue, String message) {
         try {
-            System.out.println("Getting current user from token");
-            // Get the current HTTP request
-            ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder.currentRequestAttributes();
-            HttpServletRequest request = attributes.getRequest();
-            
-            // Get the Authorization header
-            String authHeader = request.getHeader("Authorization");
-            System.out.println("Auth header: " + authHeader);
-            
-            if (authHeader != null && authHeader.startsWith("Bearer ")) {
-                String idToken = authHeader.substring(7); // Remove "Bearer " prefix
-                System.out.println("ID token extracted");
-                
-                // Verify the Firebase ID token
-                FirebaseToken decodedToken = FirebaseAuth.getInstance().verifyIdToken(idToken);
-                String uid = decodedToken.getUid();
-                System.out.println("Decoded UID: " + uid);
-                
-                // Look up user in database
-                Optional<User> userOpt = userService.getUserByUid(uid);
-                System.out.println("User found in database: " + userOpt.isPresent());
-                return userOpt.orElse(null);
+            JiraOutboxOperation operation = enqueue.call();
+            logger.info("Jira unavailable, queued {} operation {} instead", operation.getOperationType(), operation.getOperationId());
+            return queued(operation);
+        } catch (Exception e) {
+            logger.error("Failed to queue Jira operation", e);
+            return jiraUnavailable(message);
+        }
+    }
+
+    /**
+     * 503 answer for a Jira call that failed because Jira is unreachable or the circuit is open,
+     * so clients can tell an outage from a rejected request and retry later
+     * @param message What could not be done
+     * @return 503 response, with Retry-After while the circuit is open
+     */
+    private ResponseEntity<?> jiraUnavailable(String message) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE);
+        if (jiraCircuitBreaker.isOpen()) {
+            builder.header(HttpHeaders.RETRY_AFTER, String.valueOf(jiraCircuitBreaker.getRetryAfterSeconds()));
+        }
+        return builder.body(Map.of("message", message + ": Jira is currently unavailable, please try again later",
+                "jiraUnavailable", true));
+    }
+
+    /**
+     * Last good copy of an issue, from the snapshot store or else the local mirror, marked stale
+     * @param issueIdOrKey The issue ID or key
+     * @return The stale issue response, or null if no copy is available
+     */
+    private ResponseEntity<?> staleIssue(String issueIdOrKey) {
+        try {
+            JsonNode payload;
+            Instant capturedAt;
+            JiraSnapshotStore.Snapshot<JsonNode> snapshot = jiraService.getIssueSnapshot(issueIdOrKey);
+            if (snapshot != null) {
+                payload = snapshot.getValue();
+                capturedAt = snapshot.getCapturedAt();
             } else {
-                System.out.println("No valid Authorization header found");
+                Optional<JiraIssue> mirrored = jiraIssueSyncService.findIssue(issueIdOrKey);
+                if (mirrored.isEmpty()) {
+                    return null;
+                }
+                payload = objectMapper.readTree(mirrored.get().getPayload());
+                capturedAt = mirrored.get().getSyncedAt();
+            }
+            if (!payload.isObject()) {
+                return null;
+            }
+
+            ObjectNode stale = ((ObjectNode) payload).deepCopy();
+            stale.put("stale", true);
+            ResponseEntity.BodyBuilder builder = ResponseEntity.ok().header("X-Jira-Stale", "true");
+            if (capturedAt != null) {
+                builder.header("X-Jira-Snapshot-At", capturedAt.toString());
             }
+            return builder.body(stale);
         } catch (Exception e) {
-            // Log the error but don't throw it
-            System.err.println("Error getting current user from token: " + e.getMessage());
-            e.printStackTrace();
+            logger.warn("No stale copy of Jira issue {} could be served: {}", issueIdOrKey, e.getMessage());
+            return null;
         }
-        
-        return null;
+    }
+
+    /**
+     * Issue listing served from the local mirror
+     * @param scope The caller's issue scope
+     * @param stale Whether Jira is unavailable, so the listing may be behind
+     * @return The listing response
+     */
+    private ResponseEntity<?> mirroredIssues(JiraService.IssueScope scope, boolean stale) {
+        String issues = jiraIssueSyncService.listIssues(scope);
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("X-Jira-Source", "mirror");
+        Instant syncedAt = jiraIssueSyncService.getLastSuccessfulSync();
+        if (syncedAt != null) {
+            builder.header("X-Jira-Synced-At", syncedAt.toString());
+        }
+        if (stale) {
+            builder.header("X-Jira-Stale", "true");
+        }
+        return builder.body(issues);
     }
 
 
@@ -161,6 +306,25 @@ public class JiraController {
         }
     }
 
+    /**
+     * Drop cached Jira metadata (fields, issue types, createmeta, projects) so the next request reloads it
+     * @return Success or error response, 401 without a verified token or 403 for non-admins
+     */
+    @PostMapping("/metadata/cache/evict")
+    public ResponseEntity<?> evictMetadataCaches(Principal principal) {
+        ResponseEntity<?> denied = requireAdmin(principal);
+        if (denied != null) {
+            return denied;
+        }
+        try {
+            jiraService.evictMetadataCaches();
+            return ResponseEntity.ok(Map.of("message", "Jira metadata cache cleared"));
+        } catch (Exception e) {
+            logger.error("Error clearing Jira metadata cache", e);
+            return ResponseEntity.internalServerError().body(Map.of("message", "Failed to clear metadata cache: " + e.getMessage()));
+        }
+    }
+
     /**
      * Get all Jira projects
      * @return List of all Jira projects
@@ -174,6 +338,14 @@ public class JiraController {
             return ResponseEntity.ok(projects);
         } catch (Exception e) {
             logger.error("Error fetching all Jira projects", e);
+            JiraSnapshotStore.Snapshot<List<JiraProject>> snapshot = jiraService.getProjectsSnapshot();
+            if (snapshot != null && JiraCircuitBreaker.isUnavailable(e)) {
+                logger.info("Jira unavailable, returning {} projects from snapshot taken at {}", snapshot.getValue().size(), snapshot.getCapturedAt());
+                return ResponseEntity.ok()
+                        .header("X-Jira-Stale", "true")
+                        .header("X-Jira-Snapshot-At", snapshot.getCapturedAt().toString())
+                        .body(snapshot.getValue());
+            }
             return ResponseEntity.internalServerError().build();
         }
     }
@@ -243,43 +415,164 @@ public class JiraController {
 
     /**
      * Get all issues across all projects with role-based filtering
-     * @return All issues from all projects
+     * @return All issues visible to the authenticated caller, or 401 without a verified token
      */
     @GetMapping("/issues")
     public ResponseEntity<?> getAllIssues(
             @RequestParam(required = false) String userRole,
             @RequestParam(required = false) Long userOrganizationId,
             @RequestParam(required = false) Long userDepartmentId,
-            @RequestParam(required = false) String userEmail){
+            @RequestParam(required = false) String userEmail,
+            Principal principal){
         try {
-            logger.info("Received request for all issues across all projects with user context - Role: {}, Organization ID: {}, Department ID: {}", 
-                userRole, userOrganizationId, userDepartmentId);
-            
-            // Add debug logging to see what values are actually received
-            if (userRole == null) {
-                logger.warn("User role is null");
+            JiraService.IssueScope scope = issueScope(principal);
+            if (scope == null) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("message", "Authentication required"));
             }
-            if (userOrganizationId == null) {
-                logger.warn("User organization ID is null");
-            }
-            if (userDepartmentId == null) {
-                logger.warn("User department ID is null");
+            
+            // Serve from the local mirror once it has synced; the watermark tells the client how fresh it is
+            if (jiraIssueSyncService.isReady()) {
+                logger.info("Returning all issues from local mirror");
+                return mirroredIssues(scope, jiraCircuitBreaker.isOpen());
             }
             
-            JsonNode allIssues = jiraService.getAllIssues(userRole, userOrganizationId, userDepartmentId, userEmail);
+            JsonNode allIssues;
+            try {
+                allIssues = jiraService.getAllIssues(scope);
+            } catch (Exception e) {
+                // The mirror has not synced since startup but may still hold issues from before a restart
+                if (!JiraCircuitBreaker.isUnavailable(e) || !jiraIssueSyncService.hasIssues()) {
+                    throw e;
+                }
+                logger.warn("Jira unavailable ({}), returning all issues from local mirror", e.getMessage());
+                return mirroredIssues(scope, true);
+            }
             logger.info("Returning all issues");
             // Return the issues array directly instead of the full response
             if (allIssues.has("issues")) {
-                return ResponseEntity.ok(allIssues.get("issues"));
+                return ResponseEntity.ok().header("X-Jira-Source", "live").body(allIssues.get("issues"));
             } else {
-                return ResponseEntity.ok(allIssues);
+                return ResponseEntity.ok().header("X-Jira-Source", "live").body(allIssues);
             }
         } catch (Exception e) {
             logger.error("Error fetching all issues", e);
+            if (JiraCircuitBreaker.isUnavailable(e)) {
+                return jiraUnavailable("Failed to fetch all issues");
+            }
             return ResponseEntity.internalServerError().body(Map.of("message", "Failed to fetch all issues: " + e.getMessage()));
         }
     }
 
+    /**
+     * Issue scope of the caller, from their own verified role, organization and department.
+     * The user* query parameters are still accepted from older clients but never widen or set the scope.
+     * @return The scope, or null when the request carries no verified token
+     */
+    private JiraService.IssueScope issueScope(Principal principal) {
+        if (principal instanceof AuthenticatedUser caller) {
+            logger.info("Resolving issue scope for authenticated user {} ({})", caller.getName(), caller.getRole());
+            return jiraService.resolveIssueScope(caller);
+        }
+        logger.warn("Rejected issue listing without a verified token");
+        return null;
+    }
+
+    /**
+     * Gate for operational endpoints that act on shared state rather than the caller's own data
+     * @return null when the caller is a verified admin or super admin, otherwise the 401 or 403 response to return
+     */
+    private ResponseEntity<?> requireAdmin(Principal principal) {
+        if (!(principal instanceof AuthenticatedUser caller)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("message", "Authentication required"));
+        }
+        if (caller.getRole() != User.Role.ADMIN && caller.getRole() != User.Role.SUPER_ADMIN) {
+            logger.warn("Rejected admin operation from {} ({})", caller.getName(), caller.getRole());
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("message", "Admin role required"));
+        }
+        return null;
+    }
+
+    /**
+     * Stream all issues visible to the caller as NDJSON (one issue per line).
+     * Jira is paged with its nextPageToken cursor and each page is written and flushed
+     * before the next is fetched, so memory use is bounded by the page size.
+     * @param pageSize Number of issues fetched from Jira per page (max 100)
+     * @return Streaming NDJSON body, or 401 without a verified token
+     */
+    @GetMapping(value = "/issues/stream", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> streamIssues(
+            @RequestParam(required = false) String userRole,
+            @RequestParam(required = false) Long userOrganizationId,
+            @RequestParam(required = false) Long userDepartmentId,
+            @RequestParam(required = false) String userEmail,
+            @RequestParam(defaultValue = "100") int pageSize,
+            Principal principal) {
+        logger.info("Received request to stream issues");
+
+        JiraService.IssueScope scope = issueScope(principal);
+        if (scope == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        int boundedPageSize = Math.max(1, Math.min(pageSize, 100));
+
+        StreamingResponseBody body = outputStream -> {
+            // Set when writing to the client fails, i.e. the client went away rather than Jira
+            AtomicBoolean clientGone = new AtomicBoolean(false);
+            try {
+                int total = jiraService.searchScopedIssues(scope, boundedPageSize, issues -> {
+                    try {
+                        for (JsonNode issue : issues) {
+                            outputStream.write(objectMapper.writeValueAsBytes(issue));
+                            outputStream.write('\n');
+                        }
+                        outputStream.flush();
+                    } catch (IOException e) {
+                        clientGone.set(true);
+                        throw e;
+                    }
+                });
+                logger.info("Streamed {} issues", total);
+            } catch (Exception e) {
+                if (clientGone.get()) {
+                    logger.info("Client disconnected while streaming issues: {}", e.getMessage());
+                    return;
+                }
+                // Headers are already committed, so the failure is reported as a final NDJSON line
+                logger.error("Error streaming issues", e);
+                outputStream.write(objectMapper.writeValueAsBytes(Map.of("error", "Failed to stream issues: " + e.getMessage())));
+                outputStream.write('\n');
+                outputStream.flush();
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(body);
+    }
+
+    /**
+     * Run an incremental sync of the local issue mirror immediately
+     * @return Number of issues written and the new freshness watermark, 401 without a verified token or 403 for non-admins
+     */
+    @PostMapping("/issues/sync")
+    public ResponseEntity<?> syncIssues(Principal principal) {
+        ResponseEntity<?> denied = requireAdmin(principal);
+        if (denied != null) {
+            return denied;
+        }
+        try {
+            logger.info("Received request to sync the local Jira issue mirror");
+            int written = jiraIssueSyncService.syncNow();
+            Map<String, Object> result = new HashMap<>();
+            result.put("written", written);
+            result.put("syncedAt", jiraIssueSyncService.getLastSuccessfulSync());
+            return ResponseEntity.ok(result);
+        } catch (Exception e) {
+            logger.error("Error syncing local Jira issue mirror", e);
+            return ResponseEntity.internalServerError().body(Map.of("message", "Failed to sync issues: " + e.getMessage()));
+        }
+    }
+
     /**
      * Get all fields from Jira
      * @return The fields from Jira
@@ -377,9 +670,15 @@ public class JiraController {
             logger.info("Received request to create new Jira issue with data: {}", issueData);
             JsonNode createdIssue = jiraService.createIssue(issueData);
             logger.info("Issue created successfully: {}", createdIssue);
+            if (createdIssue != null && createdIssue.has("key")) {
+                jiraIssueSyncService.refreshIssue(createdIssue.get("key").asText());
+            }
             return ResponseEntity.ok(createdIssue);
         } catch (Exception e) {
             logger.error("Error creating Jira issue with data: {}", issueData, e);
+            if (JiraCircuitBreaker.isUnavailable(e)) {
+                return jiraUnavailable("Failed to create issue");
+            }
             // Provide more detailed error information to the frontend
             String errorMessage = "Failed to create issue: " + e.getMessage();
             if (e.getCause() != null && e.getCause().getMessage() != null) {
@@ -403,6 +702,9 @@ public class JiraController {
             return ResponseEntity.ok(createdProject);
         } catch (Exception e) {
             logger.error("Error creating Jira project", e);
+            if (JiraCircuitBreaker.isUnavailable(e)) {
+                return jiraUnavailable("Failed to create project");
+            }
             return ResponseEntity.internalServerError().body(Map.of("message", "Failed to create project: " + e.getMessage()));
         }
     }
@@ -421,6 +723,9 @@ public class JiraController {
             return ResponseEntity.ok(response);
         } catch (Exception e) {
             logger.error("Error deleting Jira project with key: {}", projectKey, e);
+            if (JiraCircuitBreaker.isUnavailable(e)) {
+                return jiraUnavailable("Failed to delete project");
+            }
             return ResponseEntity.internalServerError().body(Map.of("message", "Failed to delete project: " + e.getMessage()));
         }
     }
@@ -436,9 +741,13 @@ public class JiraController {
             logger.info("Received request to delete Jira issue with ID/Key: {}", issueIdOrKey);
             JsonNode response = jiraService.deleteIssue(issueIdOrKey);
             logger.info("Issue deleted successfully: {}", issueIdOrKey);
+            jiraIssueSyncService.evictIssue(issueIdOrKey);
             return ResponseEntity.ok(response);
         } catch (Exception e) {
             logger.error("Error deleting Jira issue with ID/Key: {}", issueIdOrKey, e);
+            if (JiraCircuitBreaker.isUnavailable(e)) {
+                return jiraUnavailable("Failed to delete issue");
+            }
             return ResponseEntity.internalServerError().body(Map.of("message", "Failed to delete issue: " + e.getMessage()));
         }
     }
@@ -449,16 +758,22 @@ public class JiraController {
      * @return The Jira issue details
      */
     @GetMapping("/issues/{issueIdOrKey}")
-    public ResponseEntity<?> getIssueByIdOrKey(@PathVariable String issueIdOrKey) {
-        try {
-            logger.info("Received request for Jira issue with ID/Key: {}", issueIdOrKey);
-            JsonNode issue = jiraService.getIssueByIdOrKey(issueIdOrKey);
-            logger.info("Returning issue: {}", issueIdOrKey);
-            return ResponseEntity.ok(issue);
-        } catch (Exception e) {
-            logger.error("Error fetching Jira issue with ID/Key: {}", issueIdOrKey, e);
-            return ResponseEntity.internalServerError().body(Map.of("message", "Failed to fetch issue: " + e.getMessage()));
-        }
+    public CompletableFuture<ResponseEntity<?>> getIssueByIdOrKey(@PathVariable String issueIdOrKey) {
+        logger.info("Received request for Jira issue with ID/Key: {}", issueIdOrKey);
+        return jiraAsyncService.getIssueByIdOrKey(issueIdOrKey)
+                .<ResponseEntity<?>>thenApply(issue -> {
+                    logger.info("Returning issue: {}", issueIdOrKey);
+                    return ResponseEntity.ok(issue);
+                })
+                .exceptionally(ex -> {
+                    Throwable e = JiraAsyncService.unwrap(ex);
+                    logger.error("Error fetching Jira issue with ID/Key: {}", issueIdOrKey, e);
+                    if (JiraCircuitBreaker.isUnavailable(e)) {
+                        ResponseEntity<?> stale = staleIssue(issueIdOrKey);
+                        return stale != null ? stale : jiraUnavailable("Failed to fetch issue");
+                    }
+                    return ResponseEntity.internalServerError().body(Map.of("message", "Failed to fetch issue: " + e.getMessage()));
+                });
     }
     
     /**
@@ -467,16 +782,18 @@ public class JiraController {
      * @return The comments for the issue
      */
     @GetMapping("/issues/{issueIdOrKey}/comments")
-    public ResponseEntity<?> getIssueComments(@PathVariable String issueIdOrKey) {
-        try {
-            logger.info("Received request for comments of Jira issue: {}", issueIdOrKey);
-            JsonNode comments = jiraService.getIssueComments(issueIdOrKey);
-            logger.info("Returning comments for issue: {}", issueIdOrKey);
-            return ResponseEntity.ok(comments);
-        } catch (Exception e) {
-            logger.error("Error fetching comments for issue: {}", issueIdOrKey, e);
-            return ResponseEntity.internalServerError().body(Map.of("message", "Failed to fetch comments: " + e.getMessage()));
-        }
+    public CompletableFuture<ResponseEntity<?>> getIssueComments(@PathVariable String issueIdOrKey) {
+        logger.info("Received request for comments of Jira issue: {}", issueIdOrKey);
+        return jiraAsyncService.getIssueComments(issueIdOrKey)
+                .<ResponseEntity<?>>thenApply(comments -> {
+                    logger.info("Returning comments for issue: {}", issueIdOrKey);
+                    return ResponseEntity.ok(comments);
+                })
+                .exceptionally(ex -> {
+                    Throwable e = JiraAsyncService.unwrap(ex);
+                    logger.error("Error fetching comments for issue: {}", issueIdOrKey, e);
+                    return ResponseEntity.internalServerError().body(Map.of("message", "Failed to fetch comments: " + e.getMessage()));
+                });
     }
     
     /**
@@ -504,14 +821,24 @@ public class JiraController {
      * @return The updated issue
      */
     @PutMapping("/issues/{issueIdOrKey}")
-    public ResponseEntity<?> updateIssue(@PathVariable String issueIdOrKey, @RequestBody Map<String, Object> issueData) {
+    public ResponseEntity<?> updateIssue(@PathVariable String issueIdOrKey, @RequestBody Map<String, Object> issueData,
+                                         @RequestHeader(value = "Prefer", required = false) String prefer) {
         try {
+            if (prefersAsync(prefer)) {
+                return queued(jiraOutboxService.enqueueUpdateIssue(issueIdOrKey, issueData, getCurrentUserId()));
+            }
             logger.info("Received request to update Jira issue: {}", issueIdOrKey);
             JsonNode updatedIssue = jiraService.updateIssue(issueIdOrKey, issueData);
             logger.info("Issue updated successfully: {}", issueIdOrKey);
+            jiraIssueSyncService.refreshIssue(issueIdOrKey);
             return ResponseEntity.ok(updatedIssue);
         } catch (Exception e) {
             logger.error("Error updating Jira issue: {}", issueIdOrKey, e);
+            // Field updates are idempotent, so even an update that may have reached Jira can be replayed
+            if (JiraCircuitBreaker.isUnavailable(e)) {
+                return queueInstead(() -> jiraOutboxService.enqueueUpdateIssue(issueIdOrKey, issueData, getCurrentUserId()),
+                        "Failed to update issue");
+            }
             return ResponseEntity.internalServerError().body(Map.of("message", "Failed to update issue: " + e.getMessage()));
         }
     }
@@ -528,55 +855,38 @@ public class JiraController {
     )
     public ResponseEntity<?> uploadAttachment(
             @PathVariable String issueIdOrKey,
-            @RequestPart("file") MultipartFile file
+            @RequestPart("file") MultipartFile file,
+            @RequestHeader(value = "Prefer", required = false) String prefer
     ) {
         try {
             logger.info("📥 Received Jira attachment upload for issue {}", issueIdOrKey);
+            if (prefersAsync(prefer)) {
+                return queued(jiraOutboxService.enqueueAttachment(issueIdOrKey, file.getOriginalFilename(), file.getBytes(), getCurrentUserId()));
+            }
 
-            JsonNode response = jiraService.addAttachmentToIssue(
-                    issueIdOrKey,
-                    file.getBytes(),
-                    file.getOriginalFilename()
-            );
+            // The part is spooled to disk by the servlet container and streamed to Jira from there
+            JiraService.StreamedAttachment upload;
+            try (InputStream content = file.getInputStream()) {
+                upload = jiraService.addAttachmentToIssue(issueIdOrKey, file.getOriginalFilename(), file.getContentType(), content);
+            }
 
             logger.info("📤 Attachment uploaded successfully to Jira!");
             
             // Save attachment metadata to our database
-            if (response != null && response.isArray() && response.size() > 0) {
-                JsonNode attachmentInfo = response.get(0);
-                
-                String fileName = attachmentInfo.has("filename") ? attachmentInfo.get("filename").asText() : file.getOriginalFilename();
-                // Use our own endpoint to serve the file instead of Jira's URL
-                String fileUrl = "/api/jira/contracts/attachments/" + attachmentInfo.get("id").asText() + "/content";
-                long fileSize = attachmentInfo.has("size") ? attachmentInfo.get("size").asLong() : file.getSize();
-                String mimeType = attachmentInfo.has("mimeType") ? attachmentInfo.get("mimeType").asText() : file.getContentType();
-                // Removed fileContent since we're no longer storing attachment content in DB
-                // Jira handles attachment storage
-                
-                logger.info("📎 Saving attachment metadata - fileName: {}, fileSize: {}, mimeType: {}", fileName, fileSize, mimeType);
-                
-                // Save to our database
-                ContractAttachment attachment = new ContractAttachment();
-                attachment.setJiraIssueKey(issueIdOrKey);
-                attachment.setFileName(fileName);
-                attachment.setFileUrl(fileUrl);
-                attachment.setFileSize(fileSize);
-                attachment.setMimeType(mimeType);
-                attachment.setUploadedBy("system");
-                attachment.setStage("CREATION");
-                // Removed setting fileContent since we're not storing it anymore
-                
-                contractAttachmentRepository.save(attachment);
-                
-                logger.info("💾 Attachment metadata saved to database for issue {}", issueIdOrKey);
-            } else {
-                logger.warn("⚠ No attachment response received from Jira for issue {}", issueIdOrKey);
-            }
+            contractAttachmentService.recordJiraAttachment(issueIdOrKey, upload.getJiraResponse(),
+                    file.getOriginalFilename(), upload.getSize(), upload.getMimeType());
 
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(upload.getJiraResponse());
 
         } catch (Exception e) {
             logger.error("❌ Error uploading attachment to Jira", e);
+            if (JiraOutboxService.wasNotSent(e)) {
+                return queueInstead(() -> jiraOutboxService.enqueueAttachment(issueIdOrKey, file.getOriginalFilename(), file.getBytes(), getCurrentUserId()),
+                        "Failed to upload attachment");
+            }
+            if (JiraCircuitBreaker.isUnavailable(e)) {
+                return jiraUnavailable("Failed to upload attachment");
+            }
             return ResponseEntity.status(500)
                     .body(Map.of("error", e.getMessage()));
         }
@@ -591,35 +901,114 @@ public class JiraController {
      * @return The attachments for the issue
      */
     @GetMapping("/issues/{issueIdOrKey}/attachments")
-    public ResponseEntity<?> getIssueAttachments(@PathVariable String issueIdOrKey) {
-        try {
-            logger.info("Received request for attachments of Jira issue: {}", issueIdOrKey);
-            JsonNode attachments = jiraService.getIssueAttachments(issueIdOrKey);
-            logger.info("Returning attachments for issue: {}", issueIdOrKey);
-            return ResponseEntity.ok(attachments);
-        } catch (Exception e) {
-            logger.error("Error fetching attachments for issue: {}", issueIdOrKey, e);
-            return ResponseEntity.internalServerError().body(Map.of("message", "Failed to fetch attachments: " + e.getMessage()));
-        }
+    public CompletableFuture<ResponseEntity<?>> getIssueAttachments(@PathVariable String issueIdOrKey) {
+        logger.info("Received request for attachments of Jira issue: {}", issueIdOrKey);
+        return jiraAsyncService.getIssueAttachments(issueIdOrKey)
+                .<ResponseEntity<?>>thenApply(attachments -> {
+                    logger.info("Returning attachments for issue: {}", issueIdOrKey);
+                    return ResponseEntity.ok(attachments);
+                })
+                .exceptionally(ex -> {
+                    Throwable e = JiraAsyncService.unwrap(ex);
+                    logger.error("Error fetching attachments for issue: {}", issueIdOrKey, e);
+                    return ResponseEntity.internalServerError().body(Map.of("message", "Failed to fetch attachments: " + e.getMessage()));
+                });
     }
     
     /**
-     * Get attachment content by ID
+     * Get attachment content by ID.
+     * Attachments already in the local cache are served from disk with their content hash as ETag
+     * (conditional and Range requests are answered locally). Otherwise the content is streamed from
+     * Jira as it arrives and, for complete responses, written to the cache on the way.
+     * Range requests on a cache miss are passed through to Jira.
      * @param attachmentId The attachment ID
-     * @return The attachment content
+     * @param range Optional Range header
+     * @param ifRange Optional If-Range header
+     * @param response The servlet response the content is copied to on a cache miss
+     * @return The cached content, an error, or null once the content was streamed
      */
     @GetMapping("/attachment/content/{attachmentId}")
-    public ResponseEntity<?> getAttachmentContent(@PathVariable String attachmentId) {
+    public ResponseEntity<?> getAttachmentContent(@PathVariable String attachmentId,
+                                                  @RequestHeader(value = HttpHeaders.RANGE, required = false) String range,
+                                                  @RequestHeader(value = HttpHeaders.IF_RANGE, required = false) String ifRange,
+                                                  HttpServletResponse response) {
+        Optional<JiraAttachmentCache.CachedAttachment> cached = jiraAttachmentCache.get(attachmentId);
+        if (cached.isPresent()) {
+            logger.info("Serving attachment {} from the local cache", attachmentId);
+            return cachedAttachment(cached.get());
+        }
+
+        String[] served = new String[2];
+        OutputStream[] body = new OutputStream[1];
         try {
-            logger.info("Received request for attachment content with ID: {}", attachmentId);
-            byte[] content = jiraService.getAttachmentContent(attachmentId);
-            logger.info("Returning attachment content for ID: {}", attachmentId);
-            return ResponseEntity.ok(content);
+            logger.info("Received request for attachment content with ID: {} (range: {})", attachmentId, range);
+            jiraService.streamAttachmentContent(attachmentId, range, ifRange, (status, headers) -> {
+                response.setStatus(status);
+                headers.forEach((name, values) -> values.forEach(value -> response.addHeader(name, value)));
+                served[0] = headers.getFirst(HttpHeaders.CONTENT_TYPE);
+                served[1] = headers.getFirst(HttpHeaders.CONTENT_DISPOSITION);
+                // Only complete bodies are cached
+                body[0] = status == HttpStatus.OK.value()
+                        ? jiraAttachmentCache.fill(attachmentId, response.getOutputStream())
+                        : response.getOutputStream();
+                return body[0];
+            });
+            if (body[0] instanceof JiraAttachmentCache.Fill fill) {
+                fill.commit(served[0], served[1]);
+            }
+            logger.info("Returned attachment content for ID: {}", attachmentId);
+            return null;
         } catch (Exception e) {
+            if (body[0] instanceof JiraAttachmentCache.Fill fill) {
+                fill.close();
+            }
+            if (response.isCommitted()) {
+                // Part of the file was sent already; the client sees a truncated body
+                logger.warn("Attachment {} stream aborted: {}", attachmentId, e.getMessage());
+                return null;
+            }
             logger.error("Error fetching attachment content for ID: {}", attachmentId, e);
+            response.reset();
+            HttpStatusCodeException upstream = findCause(e, HttpStatusCodeException.class);
+            if (upstream != null && (upstream.getStatusCode().value() == 404 || upstream.getStatusCode().value() == 416)) {
+                String contentRange = upstream.getResponseHeaders() != null
+                        ? upstream.getResponseHeaders().getFirst(HttpHeaders.CONTENT_RANGE) : null;
+                ResponseEntity.BodyBuilder error = ResponseEntity.status(upstream.getStatusCode());
+                if (contentRange != null) {
+                    error.header(HttpHeaders.CONTENT_RANGE, contentRange);
+                }
+                return error.build();
+            }
+            if (JiraCircuitBreaker.isUnavailable(e)) {
+                return jiraUnavailable("Failed to fetch attachment content");
+            }
             return ResponseEntity.internalServerError().body(Map.of("message", "Failed to fetch attachment content: " + e.getMessage()));
         }
     }
+
+    // Spring answers If-None-Match with 304 and Range with 206 for Resource bodies
+    private ResponseEntity<?> cachedAttachment(JiraAttachmentCache.CachedAttachment attachment) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .eTag("\"" + attachment.getSha256() + "\"")
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                .contentType(attachment.getContentType() != null
+                        ? MediaType.parseMediaType(attachment.getContentType())
+                        : MediaType.APPLICATION_OCTET_STREAM);
+        if (attachment.getContentDisposition() != null) {
+            builder.header(HttpHeaders.CONTENT_DISPOSITION, attachment.getContentDisposition());
+        }
+        return builder.body(new FileSystemResource(attachment.getPath()));
+    }
+
+    private static <T extends Throwable> T findCause(Throwable throwable, Class<T> type) {
+        for (Throwable current = throwable; current != null; current = current.getCause()) {
+            if (type.isInstance(current)) {
+                return type.cast(current);
+            }
+        }
+        return null;
+    }
     
     /**
      * Get transitions available for a specific Jira issue
@@ -627,25 +1016,26 @@ public class JiraController {
      * @return The available transitions for the issue
      */
     @GetMapping("/issues/{issueIdOrKey}/transitions")
-    public ResponseEntity<?> getIssueTransitions(@PathVariable String issueIdOrKey) {
-        try {
-            logger.info("Received request for transitions of Jira issue: {}", issueIdOrKey);
-            JsonNode raw = jiraService.getIssueTransitions(issueIdOrKey);
-
-            JsonNode array = raw != null && raw.has("transitions") ? raw.get("transitions") : raw;
-            if (array == null || !array.isArray()) {
-                logger.info("No transitions array present, returning empty array");
-                return ResponseEntity.ok(new com.fasterxml.jackson.databind.node.ArrayNode(
-                        new com.fasterxml.jackson.databind.node.JsonNodeFactory(false)
-                ));
-            }
+    public CompletableFuture<ResponseEntity<?>> getIssueTransitions(@PathVariable String issueIdOrKey) {
+        logger.info("Received request for transitions of Jira issue: {}", issueIdOrKey);
+        return jiraAsyncService.getIssueTransitions(issueIdOrKey)
+                .<ResponseEntity<?>>thenApply(raw -> {
+                    JsonNode array = raw != null && raw.has("transitions") ? raw.get("transitions") : raw;
+                    if (array == null || !array.isArray()) {
+                        logger.info("No transitions array present, returning empty array");
+                        return ResponseEntity.ok(new com.fasterxml.jackson.databind.node.ArrayNode(
+                                new com.fasterxml.jackson.databind.node.JsonNodeFactory(false)
+                        ));
+                    }
 
-            logger.info("Returning {} transitions", array.size());
-            return ResponseEntity.ok(array);
-        } catch (Exception e) {
-            logger.error("Error fetching transitions for issue: {}", issueIdOrKey, e);
-            return ResponseEntity.internalServerError().body(Map.of("message", "Failed to fetch transitions: " + e.getMessage()));
-        }
+                    logger.info("Returning {} transitions", array.size());
+                    return ResponseEntity.ok(array);
+                })
+                .exceptionally(ex -> {
+                    Throwable e = JiraAsyncService.unwrap(ex);
+                    logger.error("Error fetching transitions for issue: {}", issueIdOrKey, e);
+                    return ResponseEntity.internalServerError().body(Map.of("message", "Failed to fetch transitions: " + e.getMessage()));
+                });
     }
     
     /**
@@ -655,110 +1045,81 @@ public class JiraController {
      * @return Success or error response
      */
     @PostMapping("/issues/{issueIdOrKey}/transitions")
-    public ResponseEntity<?> transitionIssue(
+    public CompletableFuture<ResponseEntity<?>> transitionIssue(
             @PathVariable String issueIdOrKey,
             @RequestBody Map<String, Object> transitionData,
+            @RequestHeader(value = "Prefer", required = false) String prefer,
             Principal principal
     ) {
-        try {
-            logger.info("Received request to transition Jira issue: {} with data: {}", issueIdOrKey, transitionData);
+        logger.info("Received request to transition Jira issue: {} with data: {}", issueIdOrKey, transitionData);
 
-            // Accept BOTH:
-            // 1) { "transition": { "id": "123" } }  (Jira standard)
-            // 2) { "transitionId": "123" }          (old FE shape)
-            String transitionId = null;
+        // Accept BOTH:
+        // 1) { "transition": { "id": "123" } }  (Jira standard)
+        // 2) { "transitionId": "123" }          (old FE shape)
+        String transitionId = null;
 
-            Object transitionObj = transitionData.get("transition");
-            if (transitionObj instanceof Map<?, ?> transitionMap) {
-                Object idObj = transitionMap.get("id");
-                if (idObj != null) transitionId = String.valueOf(idObj);
-            }
-            if (transitionId == null) {
-                Object flatId = transitionData.get("transitionId");
-                if (flatId != null) transitionId = String.valueOf(flatId);
-            }
+        Object transitionObj = transitionData.get("transition");
+        if (transitionObj instanceof Map<?, ?> transitionMap) {
+            Object idObj = transitionMap.get("id");
+            if (idObj != null) transitionId = String.valueOf(idObj);
+        }
+        if (transitionId == null) {
+            Object flatId = transitionData.get("transitionId");
+            if (flatId != null) transitionId = String.valueOf(flatId);
+        }
 
-            if (transitionId == null || transitionId.isBlank()) {
-                return ResponseEntity.badRequest().body(Map.of("message", "Transition ID is required"));
-            }
+        if (transitionId == null || transitionId.isBlank()) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body(Map.of("message", "Transition ID is required")));
+        }
+        String requestedTransitionId = transitionId;
 
-            // Get current issue status before transition
-            String fromStatus = jiraService.getIssueStatus(issueIdOrKey);
-            
-            jiraService.transitionIssue(issueIdOrKey, transitionId);
-            logger.info("Issue transitioned successfully: {} -> {}", issueIdOrKey, transitionId);
-            
-            // Get new issue status after transition
-            String toStatus = jiraService.getIssueStatus(issueIdOrKey);
-            
-            // Only create notification if there's an actual status change
-            if (!fromStatus.equalsIgnoreCase(toStatus)) {
-                try {
-                    System.out.println("Creating notification for issue transition: " + issueIdOrKey);
+        // The token is read from the servlet request, so resolve the caller before leaving this thread
+        User statusChangerUser = getCurrentUserFromToken();
+        Long statusChangerId = statusChangerUser != null ? statusChangerUser.getId() : null;
 
-                    // Gather status changer information (best-effort)
-                    String statusChangerName = null;
-                    Long statusChangerId = null;
+        if (prefersAsync(prefer)) {
+            try {
+                return CompletableFuture.completedFuture(queued(jiraOutboxService.enqueueTransition(issueIdOrKey, requestedTransitionId, statusChangerId)));
+            } catch (Exception e) {
+                logger.error("Error queueing transition of issue: {}", issueIdOrKey, e);
+                return CompletableFuture.completedFuture(ResponseEntity.internalServerError().body(Map.of("message", "Failed to queue transition: " + e.getMessage())));
+            }
+        }
 
-                    try {
-                        JsonNode currentUser = jiraService.getCurrentUser();
-                        statusChangerName = currentUser.has("displayName") ? currentUser.get("displayName").asText() : "Unknown User";
-                        System.out.println("Status changer name: " + statusChangerName);
-                    } catch (Exception userLookupEx) {
-                        logger.warn("Could not resolve status changer display name: {}", userLookupEx.getMessage());
+        // One issue fetch (with transitions expanded) and the transition POST on the request path
+        return jiraAsyncService.performTransition(issueIdOrKey, requestedTransitionId)
+                .thenApply(result -> {
+                    logger.info("Issue transitioned successfully: {} -> {}", issueIdOrKey, requestedTransitionId);
+                    // The result payload predates post-functions, so the mirror re-reads the issue off the response path
+                    jiraAsyncService.supply(() -> {
+                        jiraIssueSyncService.refreshIssue(issueIdOrKey);
+                        return null;
+                    });
+
+                    // Only notify if there's an actual status change; notifications are built off this request
+                    if (result.isStatusChanged()) {
+                        eventPublisher.publishEvent(new IssueTransitionedEvent(issueIdOrKey,
+                                result.getFromStatus(), result.getToStatus(), statusChangerId, null));
+                    } else {
+                        logger.info("No status change detected for issue {}: {} -> {}, skipping notification",
+                                issueIdOrKey, result.getFromStatus(), result.getToStatus());
                     }
-
-                    try {
-                        User statusChangerUser = getCurrentUserFromToken();
-                        if (statusChangerUser != null) {
-                            statusChangerId = statusChangerUser.getId();
-                            System.out.println("Status changer user ID: " + statusChangerId);
-                        } else {
-                            System.out.println("Status changer user not found in database");
-                        }
-                    } catch (Exception tokenEx) {
-                        logger.warn("Could not resolve status changer from token: {}", tokenEx.getMessage());
+                    return result;
+                })
+                // Mirror Jira's 204 No Content for success
+                .<ResponseEntity<?>>thenApply(ignored -> ResponseEntity.noContent().build())
+                .exceptionally(ex -> {
+                    Throwable e = JiraAsyncService.unwrap(ex);
+                    logger.error("Error transitioning issue: {}", issueIdOrKey, e);
+                    if (JiraOutboxService.wasNotSent(e)) {
+                        return queueInstead(() -> jiraOutboxService.enqueueTransition(issueIdOrKey, requestedTransitionId, statusChangerId),
+                                "Failed to transition issue");
                     }
-
-                    // Get contract details to populate requester metadata (if available)
-                    Long requesterId = null;
-                    String requesterName = null;
-                    Long requesterDepartmentId = null;
-                    Long requesterOrganizationId = null;
-
-                    try {
-                        ContractDetails contract = contractDetailsService.findByJiraIssueKey(issueIdOrKey);
-                        if (contract != null) {
-                            System.out.println("Contract found for issue: " + issueIdOrKey);
-                            requesterId = contract.getRequester() != null ? contract.getRequester().getId() : null;
-                            requesterName = contract.getRequesterName();
-                            requesterDepartmentId = contract.getRequesterDepartmentId();
-                            requesterOrganizationId = contract.getRequesterOrganizationId();
-                        } else {
-                            System.out.println("No contract found for issue: " + issueIdOrKey);
-                        }
-                    } catch (Exception contractEx) {
-                        logger.warn("Could not fetch contract/requester details for issue {}: {}", issueIdOrKey, contractEx.getMessage());
+                    if (JiraCircuitBreaker.isUnavailable(e)) {
+                        return jiraUnavailable("Failed to transition issue");
                     }
-
-                    System.out.println("Calling createStatusTransitionNotification with requesterId: " + requesterId + ", statusChangerId: " + statusChangerId);
-                    notificationService.createStatusTransitionNotification(
-                        issueIdOrKey, fromStatus, toStatus, requesterId, requesterName,
-                        requesterDepartmentId, requesterOrganizationId, statusChangerId, statusChangerName);
-                } catch (Exception notificationEx) {
-                    System.err.println("Failed to create notification for status transition: " + notificationEx.getMessage());
-                    notificationEx.printStackTrace();
-                }
-            } else {
-                logger.info("No status change detected for issue {}: {} -> {}, skipping notification", issueIdOrKey, fromStatus, toStatus);
-            }
-
-            // Mirror Jira's 204 No Content for success
-            return ResponseEntity.noContent().build();
-        } catch (Exception e) {
-            logger.error("Error transitioning issue: {}", issueIdOrKey, e);
-            return ResponseEntity.internalServerError().body(Map.of("message", "Failed to transition issue: " + e.getMessage()));
-        }
+                    return ResponseEntity.internalServerError().body(Map.of("message", "Failed to transition issue: " + e.getMessage()));
+                });
     }
 
     
@@ -809,38 +1170,110 @@ public class JiraController {
      * @return The created issue
      */
     @PostMapping("/issues/create")
-    public ResponseEntity<?> createIssueJira(@RequestBody Map<String, Object> issueData) {
+    public ResponseEntity<?> createIssueJira(@RequestBody Map<String, Object> issueData,
+                                             @RequestHeader(value = "Prefer", required = false) String prefer) {
         try {
             logger.info("Received request to create new Jira issue with Jira API structure");
+            if (prefersAsync(prefer)) {
+                return queued(jiraOutboxService.enqueueCreateIssue(issueData, getCurrentUserId()));
+            }
             JsonNode createdIssue = jiraService.createIssueJira(issueData);
             logger.info("Issue created successfully with Jira API structure");
+            if (createdIssue != null && createdIssue.has("key")) {
+                jiraIssueSyncService.refreshIssue(createdIssue.get("key").asText());
+            }
 
-            try {
-                // Notify creator/approvers/admins within same org/department
-                User creator = getCurrentUserFromToken();
-                String issueKey = createdIssue != null && createdIssue.has("key") ? createdIssue.get("key").asText() : null;
-                if (issueKey != null && creator != null) {
-                    Long deptId = creator.getDepartmentId();
-                    Long orgId = creator.getOrganizationId();
-                    notificationService.createRequestCreatedNotification(
-                        issueKey,
-                        creator.getId(),
-                        deptId,
-                        orgId,
-                        creator.getName()
-                    );
-                }
-            } catch (Exception notifyEx) {
-                logger.warn("Failed to create notification for new request: {}", notifyEx.getMessage());
+            // Notify creator/approvers/admins within same org/department, off this request
+            User creator = getCurrentUserFromToken();
+            String issueKey = createdIssue != null && createdIssue.has("key") ? createdIssue.get("key").asText() : null;
+            if (issueKey != null && creator != null) {
+                eventPublisher.publishEvent(requestCreated(issueKey, creator));
             }
 
             return ResponseEntity.ok(createdIssue);
         } catch (Exception e) {
             logger.error("Error creating Jira issue with Jira API structure", e);
+            if (JiraOutboxService.wasNotSent(e)) {
+                return queueInstead(() -> jiraOutboxService.enqueueCreateIssue(issueData, getCurrentUserId()),
+                        "Failed to create issue");
+            }
+            if (JiraCircuitBreaker.isUnavailable(e)) {
+                return jiraUnavailable("Failed to create issue");
+            }
             return ResponseEntity.internalServerError().body(Map.of("message", "Failed to create issue: " + e.getMessage()));
         }
     }
     
+    /**
+     * Create many issues at once, sent to Jira in batches of up to 50 issues per request
+     * @param issues Payloads with the same structure as /issues/create
+     * @return Per-item results; 207 when some items failed
+     */
+    @PostMapping("/issues/bulk")
+    public ResponseEntity<?> createIssuesBulk(@RequestBody List<Map<String, Object>> issues) {
+        if (issues.isEmpty() || issues.size() > bulkMaxItems) {
+            return ResponseEntity.badRequest().body(Map.of("message", "Between 1 and " + bulkMaxItems + " issues are required"));
+        }
+        try {
+            logger.info("Received request to bulk create {} Jira issues", issues.size());
+            List<JiraService.BulkItemResult> results = JiraRateGovernor.callInLane(JiraRateGovernor.Lane.BACKGROUND,
+                    () -> jiraService.createIssuesJiraBulk(issues));
+
+            List<String> createdKeys = results.stream()
+                    .filter(JiraService.BulkItemResult::isSuccess)
+                    .map(JiraService.BulkItemResult::getIssueKey)
+                    .toList();
+            if (!createdKeys.isEmpty()) {
+                jiraIssueSyncService.refreshIssues(createdKeys);
+                User creator = getCurrentUserFromToken();
+                if (creator != null) {
+                    for (String issueKey : createdKeys) {
+                        eventPublisher.publishEvent(requestCreated(issueKey, creator));
+                    }
+                }
+            }
+            return bulkResponse(results);
+        } catch (Exception e) {
+            logger.error("Error bulk creating Jira issues", e);
+            return ResponseEntity.internalServerError().body(Map.of("message", "Failed to create issues: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Update fields of many issues at once
+     * @param updates Items with "issueKey" and "fields", as for PUT /issues/{issueKey}
+     * @return Per-item results; 207 when some items failed
+     */
+    @PutMapping("/issues/bulk")
+    public CompletableFuture<ResponseEntity<?>> updateIssuesBulk(@RequestBody List<Map<String, Object>> updates) {
+        if (updates.isEmpty() || updates.size() > bulkMaxItems) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest()
+                    .body(Map.of("message", "Between 1 and " + bulkMaxItems + " updates are required")));
+        }
+        logger.info("Received request to bulk update {} Jira issues", updates.size());
+        return jiraAsyncService.updateIssues(updates)
+                .thenApply(results -> {
+                    List<String> updatedKeys = results.stream()
+                            .filter(JiraService.BulkItemResult::isSuccess)
+                            .map(JiraService.BulkItemResult::getIssueKey)
+                            .toList();
+                    if (!updatedKeys.isEmpty()) {
+                        jiraIssueSyncService.refreshIssues(updatedKeys);
+                    }
+                    return bulkResponse(results);
+                });
+    }
+
+    private ResponseEntity<?> bulkResponse(List<JiraService.BulkItemResult> results) {
+        long failed = results.stream().filter(result -> !result.isSuccess()).count();
+        Map<String, Object> body = Map.of(
+                "total", results.size(),
+                "succeeded", results.size() - failed,
+                "failed", failed,
+                "results", results);
+        return failed == 0 ? ResponseEntity.ok(body) : ResponseEntity.status(HttpStatus.MULTI_STATUS).body(body);
+    }
+
     /**
      * Add a comment to a Jira issue
      * @param issueIdOrKey The issue ID or key
@@ -848,7 +1281,8 @@ public class JiraController {
      * @return The created comment
      */
     @PostMapping("/issues/{issueIdOrKey}/comments")
-    public ResponseEntity<?> addCommentToIssue(@PathVariable String issueIdOrKey, @RequestBody Map<String, Object> commentData, Principal principal) {
+    public ResponseEntity<?> addCommentToIssue(@PathVariable String issueIdOrKey, @RequestBody Map<String, Object> commentData,
+                                               @RequestHeader(value = "Prefer", required = false) String prefer, Principal principal) {
         try {
             logger.info("Received request to add comment to Jira issue: {} with data: {}", issueIdOrKey, commentData);
             
@@ -856,6 +1290,9 @@ public class JiraController {
             if (commentBody == null || commentBody.isEmpty()) {
                 return ResponseEntity.badRequest().body(Map.of("message", "Comment body is required"));
             }
+            if (prefersAsync(prefer)) {
+                return queued(jiraOutboxService.enqueueComment(issueIdOrKey, commentBody, getCurrentUserId()));
+            }
             
             JsonNode response = jiraService.addComment(issueIdOrKey, commentBody);
             logger.info("Comment added successfully to issue: {}", issueIdOrKey);
@@ -889,6 +1326,14 @@ public class JiraController {
             return ResponseEntity.ok(response);
         } catch (Exception e) {
             logger.error("Error adding comment to issue: {}", issueIdOrKey, e);
+            String commentBody = (String) commentData.get("body");
+            if (JiraOutboxService.wasNotSent(e)) {
+                return queueInstead(() -> jiraOutboxService.enqueueComment(issueIdOrKey, commentBody, getCurrentUserId()),
+                        "Failed to add comment");
+            }
+            if (JiraCircuitBreaker.isUnavailable(e)) {
+                return jiraUnavailable("Failed to add comment");
+            }
             return ResponseEntity.internalServerError().body(Map.of("message", "Failed to add comment: " + e.getMessage()));
         }
     }
@@ -1435,9 +1880,7 @@ public ResponseEntity<?> markContractCompleted(@RequestBody ContractCompletedReq
             if (!success) {
                 return ResponseEntity.badRequest().body("Transition failed");
             }
-            
-            // Get the new status after transition
-            currentStatus = jiraService.getIssueStatus(request.getIssueKey());
+            jiraIssueSyncService.refreshIssue(request.getIssueKey());
         }
 
         // ⭐ 3. SAVE CONTRACT DATA
@@ -1724,10 +2167,16 @@ public ResponseEntity<?> getProposalById(@PathVariable Long proposalId) {
     /**
      * Serve attachment file content
      * @param attachmentId The attachment ID
+     * @param range Optional Range header
+     * @param ifRange Optional If-Range header
+     * @param response The servlet response the content is copied to
      * @return The attachment file content
      */
     @GetMapping("/contracts/attachments/{attachmentId}/content")
-    public ResponseEntity<?> getAttachmentContent(@PathVariable Long attachmentId) {
+    public ResponseEntity<?> getAttachmentContent(@PathVariable Long attachmentId,
+                                                  @RequestHeader(value = HttpHeaders.RANGE, required = false) String range,
+                                                  @RequestHeader(value = HttpHeaders.IF_RANGE, required = false) String ifRange,
+                                                  HttpServletResponse response) {
         try {
             ContractAttachment attachment = contractAttachmentRepository.findById(attachmentId)
                     .orElse(null);
@@ -1736,11 +2185,14 @@ public ResponseEntity<?> getProposalById(@PathVariable Long proposalId) {
                 return ResponseEntity.notFound().build();
             }
             
-            // Since we no longer store file content locally, redirect to Jira for the attachment
-            // Extract Jira attachment URL from our fileUrl
+            // Since we no longer store file content locally, the content comes from Jira
             String fileUrl = attachment.getFileUrl();
             if (fileUrl != null && !fileUrl.isEmpty()) {
-                // Redirect to the Jira attachment URL
+                // Jira attachments go through the cached proxy instead of a redirect back to Jira
+                java.util.regex.Matcher jiraAttachment = JIRA_ATTACHMENT_URL.matcher(fileUrl);
+                if (jiraAttachment.find()) {
+                    return getAttachmentContent(jiraAttachment.group(1), range, ifRange, response);
+                }
                 return ResponseEntity.status(HttpStatus.FOUND)
                         .header(HttpHeaders.LOCATION, fileUrl)
                         .build();
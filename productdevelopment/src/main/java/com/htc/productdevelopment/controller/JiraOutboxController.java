@@ -0,0 +1,112 @@
+package com.htc.productdevelopment.controller;
+
+import com.htc.productdevelopment.service.JiraOutboxService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+/**
+ * Status of Jira writes queued in the outbox, for clients polling the operation id they got
+ * with a 202, and dead-letter handling for administrators. A dead operation holds up the later
+ * operations on its issue until it is retried or discarded.
+ * Status changes are also pushed to /topic/jira-operations/{operationId}, which only the user who
+ * queued the operation may subscribe to.
+ */
+@RestController
+@RequestMapping("/api/jira/operations")
+public class JiraOutboxController {
+
+    private static final Logger logger = LoggerFactory.getLogger(JiraOutboxController.class);
+
+    private final JiraOutboxService jiraOutboxService;
+
+    public JiraOutboxController(JiraOutboxService jiraOutboxService) {
+        this.jiraOutboxService = jiraOutboxService;
+    }
+
+    /**
+     * Outbox depth per status
+     * @return Operation counts
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<?> getStats() {
+        try {
+            return ResponseEntity.ok(jiraOutboxService.getStats());
+        } catch (Exception e) {
+            logger.error("Error fetching Jira outbox stats", e);
+            return ResponseEntity.internalServerError().body(Map.of("message", "Failed to fetch outbox stats: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Dead-lettered operations
+     * @param limit Maximum number of operations to return
+     * @return The operations, oldest first
+     */
+    @GetMapping("/dead")
+    public ResponseEntity<?> getDeadOperations(@RequestParam(defaultValue = "50") int limit) {
+        try {
+            return ResponseEntity.ok(jiraOutboxService.getDeadOperations(limit));
+        } catch (Exception e) {
+            logger.error("Error fetching dead Jira operations", e);
+            return ResponseEntity.internalServerError().body(Map.of("message", "Failed to fetch dead operations: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Status of a queued operation
+     * @param operationId The operation id returned with the 202
+     * @return The operation status, or 404
+     */
+    @GetMapping("/{operationId}")
+    public ResponseEntity<?> getOperation(@PathVariable String operationId) {
+        try {
+            return jiraOutboxService.getOperationStatus(operationId)
+                    .<ResponseEntity<?>>map(ResponseEntity::ok)
+                    .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("message", "Unknown operation: " + operationId)));
+        } catch (Exception e) {
+            logger.error("Error fetching Jira operation {}", operationId, e);
+            return ResponseEntity.internalServerError().body(Map.of("message", "Failed to fetch operation: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Requeue a dead-lettered operation
+     * @param operationId The operation id
+     * @return 202 when requeued, 409 when the operation is not dead
+     */
+    @PostMapping("/{operationId}/retry")
+    public ResponseEntity<?> retryOperation(@PathVariable String operationId) {
+        try {
+            if (jiraOutboxService.retryDeadOperation(operationId)) {
+                return ResponseEntity.accepted().body(Map.of("message", "Operation requeued", "operationId", operationId));
+            }
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("message", "Operation is not dead-lettered: " + operationId));
+        } catch (Exception e) {
+            logger.error("Error requeueing Jira operation {}", operationId, e);
+            return ResponseEntity.internalServerError().body(Map.of("message", "Failed to requeue operation: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Discard a dead-lettered operation so the later operations on its issue can run
+     * @param operationId The operation id
+     * @return 200 when discarded, 409 when the operation is not dead
+     */
+    @PostMapping("/{operationId}/discard")
+    public ResponseEntity<?> discardOperation(@PathVariable String operationId) {
+        try {
+            if (jiraOutboxService.discardDeadOperation(operationId)) {
+                return ResponseEntity.ok(Map.of("message", "Operation discarded", "operationId", operationId));
+            }
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("message", "Operation is not dead-lettered: " + operationId));
+        } catch (Exception e) {
+            logger.error("Error discarding Jira operation {}", operationId, e);
+            return ResponseEntity.internalServerError().body(Map.of("message", "Failed to discard operation: " + e.getMessage()));
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.htc.productdevelopment.controller;
+
+import com.htc.productdevelopment.service.JiraWebhookService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.Map;
+
+/**
+ * Receives Jira webhooks (issue_created, issue_updated, comment_created).
+ * Deliveries are only stored here; {@link JiraWebhookService} applies them off the request thread.
+ */
+@RestController
+@RequestMapping("/api/jira/webhook")
+public class JiraWebhookController {
+
+    private static final Logger logger = LoggerFactory.getLogger(JiraWebhookController.class);
+
+    private final JiraWebhookService jiraWebhookService;
+
+    // Shared secret configured on the Jira webhook; when blank, every delivery is rejected
+    @Value("${jira.webhook.secret:}")
+    private String webhookSecret;
+
+    public JiraWebhookController(JiraWebhookService jiraWebhookService) {
+        this.jiraWebhookService = jiraWebhookService;
+    }
+
+    /**
+     * Accept a Jira webhook delivery
+     * @param deliveryId Jira's delivery identifier, identical across retries of the same event
+     * @param signature HMAC-SHA256 signature of the body ("sha256=<hex>")
+     * @param body The raw webhook body
+     * @return 202 when queued, 200 when ignored as a duplicate or unsupported event,
+     *         401 when the signature is missing or wrong, 503 when no secret is configured
+     */
+    @PostMapping
+    public ResponseEntity<?> receive(
+            @RequestHeader(value = "X-Atlassian-Webhook-Identifier", required = false) String deliveryId,
+            @RequestHeader(value = "X-Hub-Signature", required = false) String signature,
+            @RequestBody String body) {
+        try {
+            if (webhookSecret == null || webhookSecret.isBlank()) {
+                logger.warn("Rejected Jira webhook {}: jira.webhook.secret is not configured", deliveryId);
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of("message", "Webhook secret is not configured"));
+            }
+            if (!isSignatureValid(signature, body)) {
+                logger.warn("Rejected Jira webhook {} with invalid signature", deliveryId);
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("message", "Invalid signature"));
+            }
+
+            boolean queued = jiraWebhookService.enqueue(deliveryId, body);
+            if (queued) {
+                return ResponseEntity.accepted().body(Map.of("message", "Event queued"));
+            }
+            return ResponseEntity.ok(Map.of("message", "Event ignored"));
+        } catch (Exception e) {
+            logger.error("Error receiving Jira webhook {}", deliveryId, e);
+            return ResponseEntity.internalServerError().body(Map.of("message", "Failed to receive webhook: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Webhook queue status
+     * @return Number of events waiting to be processed
+     */
+    @GetMapping("/status")
+    public ResponseEntity<?> status() {
+        try {
+            return ResponseEntity.ok(Map.of("pending", jiraWebhookService.getPendingCount()));
+        } catch (Exception e) {
+            logger.error("Error reading Jira webhook queue status", e);
+            return ResponseEntity.internalServerError().body(Map.of("message", "Failed to read webhook status: " + e.getMessage()));
+        }
+    }
+
+    private boolean isSignatureValid(String signature, String body) throws Exception {
+        if (signature == null || !signature.startsWith("sha256=")) {
+            return false;
+        }
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(webhookSecret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        byte[] expected = mac.doFinal(body.getBytes(StandardCharsets.UTF_8));
+        byte[] provided;
+        try {
+            provided = HexFormat.of().parseHex(signature.substring("sha256=".length()));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        return MessageDigest.isEqual(expected, provided);
+    }
+}
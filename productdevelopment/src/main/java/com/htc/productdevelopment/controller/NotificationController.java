@@ -4,16 +4,12 @@ import com.htc.productdevelopment.model.Notification;
 import com.htc.productdevelopment.repository.NotificationRepository;
 import com.htc.productdevelopment.service.NotificationService;
 import com.htc.productdevelopment.service.UserService;
+import com.htc.productdevelopment.service.FirebaseTokenService;
 import com.htc.productdevelopment.model.User;
-import com.google.firebase.auth.FirebaseAuth;
-import com.google.firebase.auth.FirebaseToken;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.context.request.RequestContextHolder;
-import org.springframework.web.context.request.ServletRequestAttributes;
 
-import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.ServletException;
 import java.util.HashMap;
 import java.util.List;
@@ -24,32 +20,12 @@ import java.util.Map;
 public class NotificationController {
     
     private User getCurrentUserFromToken() throws ServletException {
-        try {
-            // Get the current HTTP request
-            ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder.currentRequestAttributes();
-            HttpServletRequest request = attributes.getRequest();
-            
-            // Get the Authorization header
-            String authHeader = request.getHeader("Authorization");
-            
-            if (authHeader != null && authHeader.startsWith("Bearer ")) {
-                String idToken = authHeader.substring(7); // Remove "Bearer " prefix
-                
-                // Verify the Firebase ID token
-                FirebaseToken decodedToken = FirebaseAuth.getInstance().verifyIdToken(idToken);
-                String uid = decodedToken.getUid();
-                
-                // Look up user in database
-                return userService.getUserByUid(uid).orElse(null);
-            }
-        } catch (Exception e) {
-            // Log the error but don't throw it
-            e.printStackTrace();
-        }
-        
-        return null;
+        return firebaseTokenService.getCurrentUser().orElse(null);
     }
     
+    @Autowired
+    private FirebaseTokenService firebaseTokenService;
+    
     @Autowired
     private NotificationService notificationService;
     
@@ -60,24 +36,33 @@ public class NotificationController {
     private NotificationRepository notificationRepository;
     
     /**
-     * Get all notifications (visible to everyone)
+     * Get a page of the caller's notifications, newest first (all notifications without a token).
+     * The cursor of the next page, if any, is returned in the X-Next-Cursor header.
+     * @param before Cursor of the previous page ("&lt;createdAt&gt;,&lt;id&gt;"), omitted for the newest page
+     * @param limit Page size (max 200)
      */
     @GetMapping
-    public ResponseEntity<?> getNotifications() {
+    public ResponseEntity<?> getNotifications(
+            @RequestParam(required = false) String before,
+            @RequestParam(defaultValue = "50") int limit) {
         try {
+            NotificationService.FeedCursor cursor;
+            try {
+                cursor = before != null && !before.isBlank() ? NotificationService.FeedCursor.parse(before) : null;
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+            }
+            
             User currentUser = getCurrentUserFromToken();
-            if (currentUser != null) {
-                List<Notification> notifications = notificationService.getNotificationsForUser(
-                    currentUser.getId(),
-                    currentUser.getRole() != null ? currentUser.getRole().name() : null,
-                    currentUser.getDepartmentId(),
-                    currentUser.getOrganizationId()
-                );
-                return ResponseEntity.ok(notifications);
-            } else {
-                List<Notification> notifications = notificationService.getAllNotifications();
-                return ResponseEntity.ok(notifications);
+            NotificationService.FeedPage page = currentUser != null
+                ? notificationService.getFeedForUser(currentUser.getId(), cursor, limit)
+                : notificationService.getFeed(cursor, limit);
+            
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (page.getNext() != null) {
+                response.header("X-Next-Cursor", page.getNext().toString());
             }
+            return response.body(page.getNotifications());
         } catch (Exception e) {
             Map<String, String> errorResponse = new HashMap<>();
             errorResponse.put("message", "Error fetching notifications: " + e.getMessage());
@@ -94,12 +79,7 @@ public class NotificationController {
             User currentUser = getCurrentUserFromToken();
             int unreadCount;
             if (currentUser != null) {
-                unreadCount = notificationService.countUnreadNotificationsForUser(
-                    currentUser.getId(),
-                    currentUser.getRole() != null ? currentUser.getRole().name() : null,
-                    currentUser.getDepartmentId(),
-                    currentUser.getOrganizationId()
-                );
+                unreadCount = notificationService.countUnreadNotificationsForUser(currentUser.getId());
             } else {
                 unreadCount = notificationService.countAllUnreadNotifications();
             }
@@ -121,7 +101,10 @@ public class NotificationController {
     @PutMapping("/{id}/mark-as-read")
     public ResponseEntity<?> markAsRead(@PathVariable Long id) {
         try {
-            Notification notification = notificationService.markAsRead(id);
+            User currentUser = getCurrentUserFromToken();
+            Notification notification = currentUser != null
+                ? notificationService.markAsRead(id, currentUser.getId())
+                : notificationService.markAsRead(id);
             if (notification == null) {
                 return ResponseEntity.notFound().build();
             }
@@ -141,12 +124,7 @@ public class NotificationController {
         try {
             User currentUser = getCurrentUserFromToken();
             if (currentUser != null) {
-                notificationService.markAllAsRead(
-                    currentUser.getId(),
-                    currentUser.getRole() != null ? currentUser.getRole().name() : null,
-                    currentUser.getDepartmentId(),
-                    currentUser.getOrganizationId()
-                );
+                notificationService.markAllAsRead(currentUser.getId());
             } else {
                 notificationService.markAllAsRead();
             }
@@ -14,10 +14,10 @@ public class WebSocketNotificationController {
     private WebSocketNotificationService webSocketNotificationService;
 
     /**
-     * Endpoint to send test notifications via WebSocket
+     * Endpoint to send test notifications via WebSocket, routed by the notification's recipient fields
      */
     @MessageMapping("/notifications/test")
     public void sendTestNotification(@Payload Notification notification) {
-        webSocketNotificationService.sendNotificationToAll(notification);
+        webSocketNotificationService.sendNotificationToAudience(notification);
     }
 }
\ No newline at end of file
@@ -0,0 +1,73 @@
+package com.htc.productdevelopment.dto;
+
+import com.htc.productdevelopment.model.User;
+
+import java.security.Principal;
+
+/**
+ * The caller of the current request, resolved once from the Firebase ID token by
+ * {@link com.htc.productdevelopment.config.FirebaseAuthenticationFilter}.
+ * Available to controllers as the request's {@link Principal} and everywhere else through
+ * {@link com.htc.productdevelopment.service.FirebaseTokenService#getCurrentUser()}.
+ */
+public class AuthenticatedUser implements Principal {
+
+    private final User user;
+    private final String organizationName;
+    private final String departmentName;
+
+    public AuthenticatedUser(User user) {
+        this.user = user;
+        this.organizationName = user.getOrganization() != null ? user.getOrganization().getName() : null;
+        this.departmentName = user.getDepartment() != null ? user.getDepartment().getName() : null;
+    }
+
+    /**
+     * @return The Firebase UID
+     */
+    @Override
+    public String getName() {
+        return user.getUid();
+    }
+
+    public User getUser() {
+        return user;
+    }
+
+    public Long getId() {
+        return user.getId();
+    }
+
+    public String getEmail() {
+        return user.getEmail();
+    }
+
+    public String getDisplayName() {
+        return user.getName();
+    }
+
+    public User.Role getRole() {
+        return user.getRole();
+    }
+
+    public Long getOrganizationId() {
+        return user.getOrganizationId();
+    }
+
+    public String getOrganizationName() {
+        return organizationName;
+    }
+
+    public Long getDepartmentId() {
+        return user.getDepartmentId();
+    }
+
+    public String getDepartmentName() {
+        return departmentName;
+    }
+
+    @Override
+    public String toString() {
+        return "AuthenticatedUser[" + user.getUid() + ", " + user.getRole() + "]";
+    }
+}
@@ -0,0 +1,54 @@
+package com.htc.productdevelopment.dto;
+
+import com.htc.productdevelopment.model.User;
+
+import java.security.Principal;
+
+/**
+ * The user behind a STOMP session, resolved from the Firebase ID token sent with CONNECT.
+ * Named by the user id, so user destinations ("/user/queue/...") are addressed by user id;
+ * role, department and organization are kept for audience routing.
+ */
+public class StompUser implements Principal {
+
+    private final Long userId;
+    private final String role;
+    private final Long departmentId;
+    private final Long organizationId;
+
+    public StompUser(User user) {
+        this.userId = user.getId();
+        this.role = user.getRole() != null ? user.getRole().name() : null;
+        this.departmentId = user.getDepartmentId();
+        this.organizationId = user.getOrganizationId();
+    }
+
+    /**
+     * @return The user id
+     */
+    @Override
+    public String getName() {
+        return String.valueOf(userId);
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public Long getDepartmentId() {
+        return departmentId;
+    }
+
+    public Long getOrganizationId() {
+        return organizationId;
+    }
+
+    @Override
+    public String toString() {
+        return "StompUser[" + userId + ", " + role + "]";
+    }
+}
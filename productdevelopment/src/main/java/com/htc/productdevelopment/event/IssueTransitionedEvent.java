@@ -0,0 +1,52 @@
+package com.htc.productdevelopment.event;
+
+/**
+ * An issue moved from one status to another.
+ * Carries only what the transition itself knows; the requester (from the contract) and the status
+ * changer's display name are looked up by the consumer.
+ */
+public class IssueTransitionedEvent {
+
+    private final String issueKey;
+    private final String fromStatus;
+    private final String toStatus;
+    private final Long statusChangerId;
+    private final String statusChangerName;
+
+    /**
+     * @param statusChangerName Display name of whoever changed the status, or null to use the Jira API user's
+     */
+    public IssueTransitionedEvent(String issueKey, String fromStatus, String toStatus,
+                                  Long statusChangerId, String statusChangerName) {
+        this.issueKey = issueKey;
+        this.fromStatus = fromStatus;
+        this.toStatus = toStatus;
+        this.statusChangerId = statusChangerId;
+        this.statusChangerName = statusChangerName;
+    }
+
+    public String getIssueKey() {
+        return issueKey;
+    }
+
+    public String getFromStatus() {
+        return fromStatus;
+    }
+
+    public String getToStatus() {
+        return toStatus;
+    }
+
+    public Long getStatusChangerId() {
+        return statusChangerId;
+    }
+
+    public String getStatusChangerName() {
+        return statusChangerName;
+    }
+
+    @Override
+    public String toString() {
+        return "IssueTransitioned[" + issueKey + ": " + fromStatus + " -> " + toStatus + "]";
+    }
+}
@@ -0,0 +1,48 @@
+package com.htc.productdevelopment.event;
+
+/**
+ * A request (Jira issue) was created by a known user.
+ * Published with Spring's ApplicationEventPublisher; notifications are built from it after commit,
+ * off the request thread.
+ */
+public class RequestCreatedEvent {
+
+    private final String issueKey;
+    private final Long creatorId;
+    private final Long departmentId;
+    private final Long organizationId;
+    private final String creatorName;
+
+    public RequestCreatedEvent(String issueKey, Long creatorId, Long departmentId, Long organizationId, String creatorName) {
+        this.issueKey = issueKey;
+        this.creatorId = creatorId;
+        this.departmentId = departmentId;
+        this.organizationId = organizationId;
+        this.creatorName = creatorName;
+    }
+
+    public String getIssueKey() {
+        return issueKey;
+    }
+
+    public Long getCreatorId() {
+        return creatorId;
+    }
+
+    public Long getDepartmentId() {
+        return departmentId;
+    }
+
+    public Long getOrganizationId() {
+        return organizationId;
+    }
+
+    public String getCreatorName() {
+        return creatorName;
+    }
+
+    @Override
+    public String toString() {
+        return "RequestCreated[" + issueKey + "]";
+    }
+}
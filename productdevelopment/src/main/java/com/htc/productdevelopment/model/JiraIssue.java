@@ -1,6 +1,7 @@
 package com.htc.productdevelopment.model;
 
 import jakarta.persistence.*;
+import java.time.Instant;
 import java.time.LocalDate;
 
 @Entity
@@ -44,6 +45,27 @@ public class JiraIssue {
     @Column(name = "due_date")
     private LocalDate dueDate;
     
+    // Mirror columns used for role-filtered listing without a live Jira search
+    @Column(name = "organization")
+    private String organization;
+    
+    @Column(name = "department")
+    private String department;
+    
+    @Column(name = "requester_email")
+    private String requesterEmail;
+    
+    // Jira's own "updated" timestamp; older payloads never replace a row with a newer one
+    @Column(name = "jira_updated")
+    private Instant jiraUpdated;
+    
+    @Column(name = "synced_at")
+    private Instant syncedAt;
+    
+    // Raw search-result JSON for the issue, returned as-is by the listing endpoint
+    @Column(name = "payload", columnDefinition = "TEXT")
+    private String payload;
+    
     // Constructors
     public JiraIssue() {}
     
@@ -160,6 +182,54 @@ public class JiraIssue {
         this.dueDate = dueDate;
     }
     
+    public String getOrganization() {
+        return organization;
+    }
+    
+    public void setOrganization(String organization) {
+        this.organization = organization;
+    }
+    
+    public String getDepartment() {
+        return department;
+    }
+    
+    public void setDepartment(String department) {
+        this.department = department;
+    }
+    
+    public String getRequesterEmail() {
+        return requesterEmail;
+    }
+    
+    public void setRequesterEmail(String requesterEmail) {
+        this.requesterEmail = requesterEmail;
+    }
+    
+    public Instant getJiraUpdated() {
+        return jiraUpdated;
+    }
+    
+    public void setJiraUpdated(Instant jiraUpdated) {
+        this.jiraUpdated = jiraUpdated;
+    }
+    
+    public Instant getSyncedAt() {
+        return syncedAt;
+    }
+    
+    public void setSyncedAt(Instant syncedAt) {
+        this.syncedAt = syncedAt;
+    }
+    
+    public String getPayload() {
+        return payload;
+    }
+    
+    public void setPayload(String payload) {
+        this.payload = payload;
+    }
+    
     @Override
     public String toString() {
         return "JiraIssue{" +
@@ -175,6 +245,9 @@ public class JiraIssue {
                 ", status='" + status + '\'' +
                 ", priority='" + priority + '\'' +
                 ", dueDate=" + dueDate +
+                ", organization='" + organization + '\'' +
+                ", department='" + department + '\'' +
+                ", jiraUpdated=" + jiraUpdated +
                 '}';
     }
 }
\ No newline at end of file
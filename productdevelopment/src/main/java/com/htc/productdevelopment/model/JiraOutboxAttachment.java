@@ -0,0 +1,30 @@
+package com.htc.productdevelopment.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Content of a queued attachment upload, kept apart from the outbox row so polling, status
+ * requests and status pushes never load it. Read only when the upload is applied, and removed
+ * once Jira has the file.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "jira_outbox_attachments")
+public class JiraOutboxAttachment {
+
+    // Id of the jira_outbox row the content belongs to
+    @Id
+    @Column(name = "operation_id")
+    private Long operationId;
+
+    @Column(name = "content", nullable = false)
+    private byte[] content;
+
+    public JiraOutboxAttachment(Long operationId, byte[] content) {
+        this.operationId = operationId;
+        this.content = content;
+    }
+}
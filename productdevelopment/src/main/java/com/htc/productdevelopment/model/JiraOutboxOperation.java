@@ -0,0 +1,93 @@
+package com.htc.productdevelopment.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * A Jira write accepted from a user and stored until a worker has applied it.
+ * Operations sharing an ordering key (the issue key, or the operation itself for creates) are
+ * applied strictly one after another in id order; failed operations are retried with backoff
+ * and end up DEAD when they cannot succeed. A DEAD operation holds up the later operations of its
+ * key until an administrator retries or discards it. Attachment content lives in
+ * {@link JiraOutboxAttachment}.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "jira_outbox")
+public class JiraOutboxOperation {
+
+    public static final String STATUS_PENDING = "PENDING";
+    public static final String STATUS_IN_PROGRESS = "IN_PROGRESS";
+    public static final String STATUS_SUCCEEDED = "SUCCEEDED";
+    public static final String STATUS_DEAD = "DEAD";
+    public static final String STATUS_DISCARDED = "DISCARDED";
+
+    public static final String TYPE_CREATE_ISSUE = "CREATE_ISSUE";
+    public static final String TYPE_UPDATE_ISSUE = "UPDATE_ISSUE";
+    public static final String TYPE_TRANSITION_ISSUE = "TRANSITION_ISSUE";
+    public static final String TYPE_ADD_COMMENT = "ADD_COMMENT";
+    public static final String TYPE_ADD_ATTACHMENT = "ADD_ATTACHMENT";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "operation_id", nullable = false, unique = true)
+    private String operationId;
+
+    @Column(name = "operation_type", nullable = false)
+    private String operationType;
+
+    @Column(name = "ordering_key", nullable = false)
+    private String orderingKey;
+
+    @Column(name = "issue_key")
+    private String issueKey;
+
+    @Column(name = "payload", columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(name = "attachment_name")
+    private String attachmentName;
+
+    @Column(name = "requested_by")
+    private Long requestedBy;
+
+    @Column(name = "status", nullable = false)
+    private String status = STATUS_PENDING;
+
+    @Column(name = "attempts", nullable = false)
+    private Integer attempts = 0;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private Instant nextAttemptAt;
+
+    @Column(name = "locked_at")
+    private Instant lockedAt;
+
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+
+    @Column(name = "result", columnDefinition = "TEXT")
+    private String result;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "completed_at")
+    private Instant completedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        if (createdAt == null) {
+            createdAt = Instant.now();
+        }
+        if (nextAttemptAt == null) {
+            nextAttemptAt = createdAt;
+        }
+    }
+}
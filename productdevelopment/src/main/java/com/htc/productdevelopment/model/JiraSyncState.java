@@ -0,0 +1,34 @@
+package com.htc.productdevelopment.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Progress of a named Jira sync. The cursor only moves when a sync run completes, so writes made
+ * to the mirror between runs (write-through refreshes, webhooks) never skip changes made in Jira.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "jira_sync_state")
+public class JiraSyncState {
+
+    @Id
+    @Column(name = "name")
+    private String name;
+
+    // Newest Jira "updated" timestamp seen by a completed sync run
+    @Column(name = "cursor_updated")
+    private Instant cursorUpdated;
+
+    // Start time of the last completed run
+    @Column(name = "last_completed_at")
+    private Instant lastCompletedAt;
+
+    public JiraSyncState(String name) {
+        this.name = name;
+    }
+}
@@ -0,0 +1,64 @@
+package com.htc.productdevelopment.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * A Jira webhook delivery, stored on receipt and processed later in batches.
+ * The unique event id makes redelivered webhooks a no-op.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "jira_webhook_events")
+public class JiraWebhookEvent {
+
+    public static final String STATUS_PENDING = "PENDING";
+    public static final String STATUS_PROCESSED = "PROCESSED";
+    public static final String STATUS_FAILED = "FAILED";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "event_id", nullable = false, unique = true)
+    private String eventId;
+
+    @Column(name = "event_type")
+    private String eventType;
+
+    @Column(name = "issue_key")
+    private String issueKey;
+
+    @Column(name = "payload", nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(name = "status", nullable = false)
+    private String status = STATUS_PENDING;
+
+    @Column(name = "attempts", nullable = false)
+    private Integer attempts = 0;
+
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+
+    @Column(name = "received_at", nullable = false)
+    private Instant receivedAt;
+
+    @Column(name = "processed_at")
+    private Instant processedAt;
+
+    // Set once the event's notifications and contract writes are done, so a retry does not repeat them
+    @Column(name = "side_effects_applied_at")
+    private Instant sideEffectsAppliedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        if (receivedAt == null) {
+            receivedAt = Instant.now();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.htc.productdevelopment.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One notification in one user's inbox.
+ * Rows are written when the notification is created, one per user its targeting (user, role,
+ * department, organization or everyone) resolves to, so reading an inbox or counting unread
+ * notifications is a lookup by user rather than a match against every notification.
+ * The read flag is per user; {@link Notification#getIsRead()} is only used for unauthenticated callers.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "notification_recipients")
+public class NotificationRecipient {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "notification_id", nullable = false)
+    private Notification notification;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "is_read", nullable = false)
+    private Boolean isRead = false;
+
+    @Column(name = "read_at")
+    private LocalDateTime readAt;
+
+    // Copy of the notification's created_at, so inbox ordering stays within the user's index
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -2,8 +2,12 @@ package com.htc.productdevelopment.repository;
 
 import com.htc.productdevelopment.model.JiraIssue;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -11,8 +15,21 @@ import java.util.Optional;
 public interface JiraIssueRepository extends JpaRepository<JiraIssue, Long> {
     Optional<JiraIssue> findByKey(String key);
     Optional<JiraIssue> findByIssueId(String issueId);
+    List<JiraIssue> findByIssueIdIn(Collection<String> issueIds);
     List<JiraIssue> findByProjectKey(String projectKey);
     List<JiraIssue> findByReporter(String reporter);
     List<JiraIssue> findByAssignee(String assignee);
     List<JiraIssue> findByStatus(String status);
-}
\ No newline at end of file
+
+    // Role-filtered listing; a null parameter means "no restriction" for that column
+    @Query("SELECT j FROM JiraIssue j WHERE " +
+           "(:organization IS NULL OR LOWER(j.organization) = LOWER(:organization)) AND " +
+           "(:department IS NULL OR LOWER(j.department) = LOWER(:department)) AND " +
+           "(:requesterEmail IS NULL OR LOWER(j.requesterEmail) = LOWER(:requesterEmail))")
+    List<JiraIssue> findVisibleIssues(@Param("organization") String organization,
+                                      @Param("department") String department,
+                                      @Param("requesterEmail") String requesterEmail);
+
+    @Transactional
+    void deleteByKey(String key);
+}
@@ -0,0 +1,9 @@
+package com.htc.productdevelopment.repository;
+
+import com.htc.productdevelopment.model.JiraOutboxAttachment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface JiraOutboxAttachmentRepository extends JpaRepository<JiraOutboxAttachment, Long> {
+}
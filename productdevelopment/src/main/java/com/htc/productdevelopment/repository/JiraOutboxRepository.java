@@ -0,0 +1,49 @@
+package com.htc.productdevelopment.repository;
+
+import com.htc.productdevelopment.model.JiraOutboxOperation;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface JiraOutboxRepository extends JpaRepository<JiraOutboxOperation, Long> {
+    Optional<JiraOutboxOperation> findByOperationId(String operationId);
+
+    // Due operations that are first in line for their ordering key; later ones wait until it succeeded
+    // or was discarded, so nothing runs against the state a dead predecessor failed to produce
+    @Query("SELECT o FROM JiraOutboxOperation o WHERE o.status = 'PENDING' AND o.nextAttemptAt <= :now " +
+           "AND NOT EXISTS (SELECT p.id FROM JiraOutboxOperation p WHERE p.orderingKey = o.orderingKey " +
+           "AND p.id < o.id AND p.status IN ('PENDING', 'IN_PROGRESS', 'DEAD')) ORDER BY o.id")
+    List<JiraOutboxOperation> findReady(@Param("now") Instant now, Pageable pageable);
+
+    // Succeeds for exactly one worker (or host), which then owns the operation
+    @Modifying
+    @Transactional
+    @Query("UPDATE JiraOutboxOperation o SET o.status = 'IN_PROGRESS', o.lockedAt = :now " +
+           "WHERE o.id = :id AND o.status = 'PENDING'")
+    int claim(@Param("id") Long id, @Param("now") Instant now);
+
+    // Operations whose worker died (e.g. a restart) go back in line
+    @Modifying
+    @Transactional
+    @Query("UPDATE JiraOutboxOperation o SET o.status = 'PENDING' " +
+           "WHERE o.status = 'IN_PROGRESS' AND o.lockedAt < :cutoff")
+    int releaseStale(@Param("cutoff") Instant cutoff);
+
+    List<JiraOutboxOperation> findByStatusOrderByIdAsc(String status, Pageable pageable);
+
+    long countByStatus(String status);
+
+    // Pending operations held up by a dead predecessor with the same ordering key
+    @Query("SELECT COUNT(o) FROM JiraOutboxOperation o WHERE o.status = 'PENDING' AND EXISTS (" +
+           "SELECT p.id FROM JiraOutboxOperation p WHERE p.orderingKey = o.orderingKey AND p.id < o.id AND p.status = 'DEAD')")
+    long countBlocked();
+}
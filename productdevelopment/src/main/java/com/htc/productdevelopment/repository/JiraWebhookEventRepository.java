@@ -0,0 +1,18 @@
+package com.htc.productdevelopment.repository;
+
+import com.htc.productdevelopment.model.JiraWebhookEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface JiraWebhookEventRepository extends JpaRepository<JiraWebhookEvent, Long> {
+    boolean existsByEventId(String eventId);
+
+    // Oldest first, so events for the same issue are applied in delivery order
+    List<JiraWebhookEvent> findByStatusOrderByIdAsc(String status, Pageable pageable);
+
+    long countByStatus(String status);
+}
@@ -0,0 +1,88 @@
+package com.htc.productdevelopment.repository;
+
+import com.htc.productdevelopment.model.NotificationRecipient;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface NotificationRecipientRepository extends JpaRepository<NotificationRecipient, Long> {
+
+    // Fan notifications out to every user its targeting matches: the recipient user, users with
+    // the recipient role (narrowed by department and/or organization when set), or everyone when
+    // no targeting is set. Returns the user of each inbox row written.
+    @Transactional
+    @Query(value = "INSERT INTO notification_recipients (notification_id, user_id, is_read, created_at) " +
+           "SELECT n.id, u.id, FALSE, n.created_at FROM notifications n JOIN users u ON (" +
+           "u.id = n.recipient_user_id OR " +
+           "(u.role = n.recipient_role " +
+           "AND (n.recipient_department_id IS NULL OR n.recipient_department_id = u.department_id) " +
+           "AND (n.recipient_organization_id IS NULL OR n.recipient_organization_id = u.organization_id)) OR " +
+           "(n.recipient_user_id IS NULL AND n.recipient_role IS NULL " +
+           "AND n.recipient_department_id IS NULL AND n.recipient_organization_id IS NULL)) " +
+           "WHERE n.id IN (:notificationIds) " +
+           "ON CONFLICT (user_id, notification_id) DO NOTHING RETURNING user_id", nativeQuery = true)
+    List<Long> fanOut(@Param("notificationIds") Collection<Long> notificationIds);
+
+    @Query("SELECT r FROM NotificationRecipient r JOIN FETCH r.notification " +
+           "WHERE r.userId = :userId ORDER BY r.createdAt DESC, r.notification.id DESC")
+    List<NotificationRecipient> findInbox(@Param("userId") Long userId);
+
+    // Feed pages are keyset-paginated on (created_at, notification_id), so every page is a range
+    // scan of the user's inbox index no matter how deep it is
+    @Query("SELECT r FROM NotificationRecipient r JOIN FETCH r.notification " +
+           "WHERE r.userId = :userId ORDER BY r.createdAt DESC, r.notification.id DESC")
+    List<NotificationRecipient> findInboxPage(@Param("userId") Long userId, Pageable pageable);
+
+    @Query("SELECT r FROM NotificationRecipient r JOIN FETCH r.notification " +
+           "WHERE r.userId = :userId AND (r.createdAt < :createdAt " +
+           "OR (r.createdAt = :createdAt AND r.notification.id < :notificationId)) " +
+           "ORDER BY r.createdAt DESC, r.notification.id DESC")
+    List<NotificationRecipient> findInboxPageBefore(@Param("userId") Long userId, @Param("createdAt") LocalDateTime createdAt,
+                                                    @Param("notificationId") Long notificationId, Pageable pageable);
+
+    @Query("SELECT r FROM NotificationRecipient r JOIN FETCH r.notification " +
+           "WHERE r.userId = :userId AND r.isRead = false ORDER BY r.createdAt DESC, r.notification.id DESC")
+    List<NotificationRecipient> findUnreadInbox(@Param("userId") Long userId);
+
+    @Query("SELECT r FROM NotificationRecipient r JOIN FETCH r.notification " +
+           "WHERE r.userId = :userId AND r.notification.id = :notificationId")
+    Optional<NotificationRecipient> findInboxEntry(@Param("userId") Long userId, @Param("notificationId") Long notificationId);
+
+    int countByUserIdAndIsReadFalse(Long userId);
+
+    // Users whose inboxes hold any of the notifications
+    @Query("SELECT DISTINCT r.userId FROM NotificationRecipient r WHERE r.notification.id IN :notificationIds")
+    List<Long> findUserIdsByNotificationIds(@Param("notificationIds") Collection<Long> notificationIds);
+
+    // [userId, unread count] for those of the users that have unread notifications
+    @Query("SELECT r.userId, COUNT(r) FROM NotificationRecipient r " +
+           "WHERE r.userId IN :userIds AND r.isRead = false GROUP BY r.userId")
+    List<Object[]> countUnreadByUserIds(@Param("userIds") Collection<Long> userIds);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE NotificationRecipient r SET r.isRead = true, r.readAt = :readAt " +
+           "WHERE r.userId = :userId AND r.notification.id = :notificationId AND r.isRead = false")
+    int markAsRead(@Param("userId") Long userId, @Param("notificationId") Long notificationId, @Param("readAt") LocalDateTime readAt);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE NotificationRecipient r SET r.isRead = true, r.readAt = :readAt " +
+           "WHERE r.userId = :userId AND r.isRead = false")
+    int markAllAsRead(@Param("userId") Long userId, @Param("readAt") LocalDateTime readAt);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM NotificationRecipient r WHERE r.userId = :userId")
+    int deleteInbox(@Param("userId") Long userId);
+}
@@ -1,5 +1,6 @@
 package com.htc.productdevelopment.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.htc.productdevelopment.model.ContractAttachment;
 import com.htc.productdevelopment.model.ContractDetails;
 import com.htc.productdevelopment.model.ContractProposal;
@@ -9,12 +10,16 @@ import com.htc.productdevelopment.repository.ContractProposalRepository;
 
 import org.springframework.stereotype.Service;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.util.List;
 
 @Service
 public class ContractAttachmentService {
 
+    private static final Logger logger = LoggerFactory.getLogger(ContractAttachmentService.class);
+
     @Autowired
     private ContractAttachmentRepository attachmentRepo;
 
@@ -53,6 +58,39 @@ public class ContractAttachmentService {
     }
 
 
+    /**
+     * Save metadata of an attachment just uploaded to a Jira issue; the content stays in Jira
+     * @param issueKey The Jira issue key
+     * @param jiraResponse The array Jira returned for the upload
+     * @param fileName Uploaded file name, used when Jira did not return one
+     * @param fileSize Uploaded size, used when Jira did not return one
+     * @param mimeType Uploaded content type, used when Jira did not return one
+     * @return The saved attachment, or null if Jira returned no attachment
+     */
+    public ContractAttachment recordJiraAttachment(String issueKey, JsonNode jiraResponse,
+                                                   String fileName, long fileSize, String mimeType) {
+        if (jiraResponse == null || !jiraResponse.isArray() || jiraResponse.size() == 0) {
+            logger.warn("No attachment response received from Jira for issue {}", issueKey);
+            return null;
+        }
+        JsonNode attachmentInfo = jiraResponse.get(0);
+
+        ContractAttachment attachment = new ContractAttachment();
+        attachment.setJiraIssueKey(issueKey);
+        attachment.setFileName(attachmentInfo.has("filename") ? attachmentInfo.get("filename").asText() : fileName);
+        // Served through our own endpoint instead of Jira's URL
+        attachment.setFileUrl("/api/jira/contracts/attachments/" + attachmentInfo.get("id").asText() + "/content");
+        attachment.setFileSize(attachmentInfo.has("size") ? attachmentInfo.get("size").asLong() : fileSize);
+        attachment.setMimeType(attachmentInfo.has("mimeType") ? attachmentInfo.get("mimeType").asText() : mimeType);
+        attachment.setUploadedBy("system");
+        attachment.setStage("CREATION");
+
+        ContractAttachment saved = attachmentRepo.save(attachment);
+        logger.info("Attachment metadata saved to database for issue {}: {}", issueKey, saved.getFileName());
+        return saved;
+    }
+
+
     public List<ContractAttachment> getAttachmentsForContract(Long contractId) {
         return attachmentRepo.findByContractId(contractId);
     }
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.htc.productdevelopment.config.JiraFieldConfig;
 import com.htc.productdevelopment.dto.ContractDTO;
 import com.htc.productdevelopment.model.ContractDetails;
+import com.htc.productdevelopment.model.JiraOutboxOperation;
 import com.htc.productdevelopment.repository.ContractDetailsRepository;
 import com.htc.productdevelopment.service.JiraService;
 import org.springframework.context.annotation.Lazy;
@@ -26,11 +27,14 @@ public class ContractDetailsService {
     @Lazy
     private final JiraService jiraService;
     private final JiraFieldConfig jiraFieldConfig;
+    private final JiraOutboxService jiraOutboxService;
 
-    public ContractDetailsService(ContractDetailsRepository contractDetailsRepository, JiraService jiraService, JiraFieldConfig jiraFieldConfig) {
+    public ContractDetailsService(ContractDetailsRepository contractDetailsRepository, JiraService jiraService, JiraFieldConfig jiraFieldConfig,
+                                  @Lazy JiraOutboxService jiraOutboxService) {
         this.contractDetailsRepository = contractDetailsRepository;
         this.jiraService = jiraService;
         this.jiraFieldConfig = jiraFieldConfig;
+        this.jiraOutboxService = jiraOutboxService;
     }
 
     public List<ContractDetails> getAllContracts() {
@@ -513,7 +517,6 @@ public class ContractDetailsService {
             String issueStatus = jiraService.getIssueStatus(issueKey);
             logger.info("Jira issue {} is in status: {}", issueKey, issueStatus);
             
-            boolean isNewlyCreatedContract = false;
             // If contract doesn't exist but Jira issue is in completed status, we should create the contract
             if (contract == null) {
                 if ("Completed".equalsIgnoreCase(issueStatus) || "completed".equalsIgnoreCase(issueStatus)) {
@@ -521,28 +524,10 @@ public class ContractDetailsService {
                     contract = new ContractDetails();
                     contract.setJiraIssueKey(issueKey);
                     contract.setRenewalStatus("completed");
-                    isNewlyCreatedContract = true;
                 } else {
                     logger.warn("Contract not found for issueKey: {} and Jira issue is not completed (status: {}). Only updating Jira custom fields.", issueKey, issueStatus);
                     // Still update Jira custom fields even if contract doesn't exist in DB
-                    if (newLicenseCount != null || totalProfit != null) {
-                        Map<String, Object> updateFields = new HashMap<>();
-                        if (newLicenseCount != null) {
-                            updateFields.put(jiraFieldConfig.getNewLicenseCount(), String.valueOf(newLicenseCount));
-                        }
-                        if (totalProfit != null) {
-                            updateFields.put(jiraFieldConfig.getTotaloptimizedcost(), String.valueOf(totalProfit));
-                        }
-                        
-                        if (!updateFields.isEmpty()) {
-                            try {
-                                jiraService.updateIssue(issueKey, updateFields);
-                                logger.info("Updated Jira custom fields for issueKey: {}", issueKey);
-                            } catch (Exception e) {
-                                logger.warn("Failed to update Jira custom fields for issueKey: {}", issueKey, e);
-                            }
-                        }
-                    }
+                    queueJiraFieldUpdate(issueKey, newLicenseCount, totalProfit);
                     // Return a temporary contract object for the response
                     ContractDetails tempContract = new ContractDetails();
                     tempContract.setJiraIssueKey(issueKey);
@@ -551,41 +536,13 @@ public class ContractDetailsService {
             }
             
             // Update the license count
-            // Skip Jira update if we already did it for a newly created contract in non-completed status
             if (newLicenseCount != null) {
                 contract.setNewLicenseCount(newLicenseCount);
                 logger.info("Updated newLicenseCount to {} for issueKey: {}", newLicenseCount, issueKey);
-                
-                // Update Jira custom field for license count (skip if already done)
-                if (!isNewlyCreatedContract || "Completed".equalsIgnoreCase(issueStatus) || "completed".equalsIgnoreCase(issueStatus)) {
-                    try {
-                        Map<String, Object> updateFields = new HashMap<>();
-                        updateFields.put(jiraFieldConfig.getNewLicenseCount(), String.valueOf(newLicenseCount));
-                        
-                        jiraService.updateIssue(issueKey, updateFields);
-                        logger.info("Updated newLicenseCount in Jira custom field to {} for issueKey: {}", newLicenseCount, issueKey);
-                    } catch (Exception e) {
-                        logger.warn("Failed to update newLicenseCount in Jira custom field for issueKey: {}", issueKey, e);
-                    }
-                }
             }
             
             // Update the total profit if provided
-            // Skip Jira update if we already did it for a newly created contract in non-completed status
             if (totalProfit != null) {
-                // Store the profit in a custom field (skip if already done)
-                if (!isNewlyCreatedContract || "Completed".equalsIgnoreCase(issueStatus) || "completed".equalsIgnoreCase(issueStatus)) {
-                    try {
-                        Map<String, Object> updateFields = new HashMap<>();
-                        updateFields.put(jiraFieldConfig.getTotaloptimizedcost(), String.valueOf(totalProfit));
-                        
-                        jiraService.updateIssue(issueKey, updateFields);
-                        logger.info("Updated total optimized cost in Jira custom field to {} for issueKey: {}", totalProfit, issueKey);
-                    } catch (Exception e) {
-                        logger.warn("Failed to update total optimized cost in Jira custom field for issueKey: {}", issueKey, e);
-                    }
-                }
-                
                 // Also store the optimized cost in the comment field as a backup
                 String additionalComment = contract.getAdditionalComment();
                 if (additionalComment == null) {
@@ -600,6 +557,9 @@ public class ContractDetailsService {
             ContractDetails saved = contractDetailsRepository.save(contract);
             logger.info("Successfully updated contract with ID: {} for issueKey: {}", saved.getId(), issueKey);
             
+            // Mirror the values into the Jira custom fields
+            queueJiraFieldUpdate(issueKey, newLicenseCount, totalProfit);
+            
             return saved;
         } catch (Exception e) {
             logger.error("Error updating license count and profit for issueKey: {}", issueKey, e);
@@ -607,6 +567,29 @@ public class ContractDetailsService {
         }
     }
     
+    /**
+     * Queue the license count and optimized cost custom field update in the Jira outbox, which
+     * retries it until Jira accepts it instead of dropping it on the first failure
+     * @param issueKey The Jira issue key
+     * @param newLicenseCount The new license count (may be null)
+     * @param totalProfit The total optimized cost (may be null)
+     * @throws Exception if the update could not be queued
+     */
+    private void queueJiraFieldUpdate(String issueKey, Integer newLicenseCount, Double totalProfit) throws Exception {
+        Map<String, Object> updateFields = new HashMap<>();
+        if (newLicenseCount != null) {
+            updateFields.put(jiraFieldConfig.getNewLicenseCount(), String.valueOf(newLicenseCount));
+        }
+        if (totalProfit != null) {
+            updateFields.put(jiraFieldConfig.getTotaloptimizedcost(), String.valueOf(totalProfit));
+        }
+        if (updateFields.isEmpty()) {
+            return;
+        }
+        JiraOutboxOperation operation = jiraOutboxService.enqueueUpdateIssue(issueKey, updateFields, null);
+        logger.info("Queued Jira custom field update for issueKey: {} as operation {}", issueKey, operation.getOperationId());
+    }
+    
     /**
      * Mark a contract as having a submitted final quote
      * @param issueKey The Jira issue key
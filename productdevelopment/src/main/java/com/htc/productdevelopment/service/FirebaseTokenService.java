@@ -0,0 +1,183 @@
+package com.htc.productdevelopment.service;
+
+import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.auth.FirebaseAuthException;
+import com.google.firebase.auth.FirebaseToken;
+import com.htc.productdevelopment.dto.AuthenticatedUser;
+import com.htc.productdevelopment.model.User;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Verifies Firebase ID tokens and resolves the calling user.
+ * A verified token is remembered by its SHA-256 hash until it expires, so the signature check
+ * runs once per token rather than once per request; the uid-to-User lookup goes through the
+ * userProfiles cache in {@link UserService}. The resolved caller is kept on the request as an
+ * {@link AuthenticatedUser}, so it is looked up once per request however often it is asked for.
+ */
+@Service
+public class FirebaseTokenService {
+
+    private static final Logger logger = LoggerFactory.getLogger(FirebaseTokenService.class);
+
+    private static final String PRINCIPAL_ATTRIBUTE = FirebaseTokenService.class.getName() + ".principal";
+
+    private static class VerifiedToken {
+        private final FirebaseToken token;
+        private final long expiresAtMillis;
+
+        private VerifiedToken(FirebaseToken token, long expiresAtMillis) {
+            this.token = token;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+    }
+
+    private final UserService userService;
+
+    private final Map<String, VerifiedToken> verifiedTokens = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    @Value("${auth.token-cache.max-entries:10000}")
+    private int maxEntries;
+
+    // Tokens are dropped this long before their exp, so a cached token is never used past it
+    @Value("${auth.token-cache.expiry-skew-ms:30000}")
+    private long expirySkewMillis;
+
+    public FirebaseTokenService(UserService userService) {
+        this.userService = userService;
+    }
+
+    /**
+     * Verify a Firebase ID token, reusing an earlier verification of the same token until it expires
+     * @param idToken The ID token
+     * @return The decoded token
+     * @throws FirebaseAuthException if the token is invalid or expired
+     */
+    public FirebaseToken verifyIdToken(String idToken) throws FirebaseAuthException {
+        String key = hash(idToken);
+        VerifiedToken cached = verifiedTokens.get(key);
+        if (cached != null && cached.expiresAtMillis > System.currentTimeMillis()) {
+            hits.increment();
+            return cached.token;
+        }
+
+        misses.increment();
+        FirebaseToken token = FirebaseAuth.getInstance().verifyIdToken(idToken);
+        long expiresAtMillis = expiresAtMillis(token) - expirySkewMillis;
+        if (expiresAtMillis > System.currentTimeMillis()) {
+            if (verifiedTokens.size() >= maxEntries) {
+                purgeExpiredTokens();
+            }
+            if (verifiedTokens.size() < maxEntries) {
+                verifiedTokens.put(key, new VerifiedToken(token, expiresAtMillis));
+            }
+        }
+        return token;
+    }
+
+    /**
+     * The user behind the Bearer token of the current request, resolved at most once per request
+     * @return The user, or empty if there is no valid token or no matching user
+     */
+    public Optional<User> getCurrentUser() {
+        return getCurrentPrincipal().map(AuthenticatedUser::getUser);
+    }
+
+    /**
+     * The caller of the current request, resolved at most once per request
+     * @return The caller, or empty outside a request or without a valid token and matching user
+     */
+    public Optional<AuthenticatedUser> getCurrentPrincipal() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes servletAttributes)) {
+            return Optional.empty();
+        }
+        return authenticate(servletAttributes.getRequest());
+    }
+
+    /**
+     * Resolve the caller of a request from its Bearer token and remember it on the request
+     * @param request The request
+     * @return The caller, or empty without a valid token and matching user
+     */
+    public Optional<AuthenticatedUser> authenticate(HttpServletRequest request) {
+        Object resolved = request.getAttribute(PRINCIPAL_ATTRIBUTE);
+        if (resolved instanceof Optional<?> memoized) {
+            return memoized.map(AuthenticatedUser.class::cast);
+        }
+
+        Optional<AuthenticatedUser> caller = resolveUser(request.getHeader("Authorization")).map(AuthenticatedUser::new);
+        request.setAttribute(PRINCIPAL_ATTRIBUTE, caller);
+        return caller;
+    }
+
+    /**
+     * Resolve the user for an Authorization header value
+     * @param authHeader The header value ("Bearer &lt;token&gt;")
+     * @return The user, or empty if there is no valid token or no matching user
+     */
+    public Optional<User> resolveUser(String authHeader) {
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return Optional.empty();
+        }
+        try {
+            FirebaseToken token = verifyIdToken(authHeader.substring(7));
+            return userService.getUserByUid(token.getUid());
+        } catch (FirebaseAuthException e) {
+            logger.warn("Rejected Firebase ID token: {}", e.getMessage());
+            return Optional.empty();
+        } catch (Exception e) {
+            logger.error("Error resolving user from Firebase ID token", e);
+            return Optional.empty();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${auth.token-cache.purge-interval-ms:300000}")
+    public void purgeExpiredTokens() {
+        long now = System.currentTimeMillis();
+        verifiedTokens.values().removeIf(token -> token.expiresAtMillis <= now);
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("cachedTokens", verifiedTokens.size());
+        stats.put("hits", hits.sum());
+        stats.put("misses", misses.sum());
+        return stats;
+    }
+
+    private static long expiresAtMillis(FirebaseToken token) {
+        Object exp = token.getClaims().get("exp");
+        return exp instanceof Number seconds ? seconds.longValue() * 1000 : 0;
+    }
+
+    // Only hashes are kept, so a heap dump does not leak usable tokens
+    private static String hash(String idToken) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(idToken.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
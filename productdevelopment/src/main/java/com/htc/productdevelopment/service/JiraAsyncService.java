@@ -0,0 +1,128 @@
+package com.htc.productdevelopment.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.htc.productdevelopment.config.JiraRateGovernor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Non-blocking facade over {@link JiraService}.
+ * Each call runs on the bounded Jira executor and completes a CompletableFuture, so callers can
+ * run independent Jira round trips in parallel and hand the future back to Spring MVC instead
+ * of holding a request thread. Failures complete the future exceptionally with a
+ * CompletionException wrapping the original exception.
+ */
+@Service
+public class JiraAsyncService {
+
+    /**
+     * A blocking call that may throw a checked exception
+     */
+    @FunctionalInterface
+    public interface BlockingCall<T> {
+        T call() throws Exception;
+    }
+
+    private final JiraService jiraService;
+    private final ThreadPoolTaskExecutor jiraExecutor;
+
+    public JiraAsyncService(JiraService jiraService, @Qualifier("jiraExecutor") ThreadPoolTaskExecutor jiraExecutor) {
+        this.jiraService = jiraService;
+        this.jiraExecutor = jiraExecutor;
+    }
+
+    /**
+     * Run any blocking call (Jira or database) on the Jira executor
+     * @param call The blocking call
+     * @return Future completed with the call's result
+     */
+    public <T> CompletableFuture<T> supply(BlockingCall<T> call) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return call.call();
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        }, jiraExecutor);
+    }
+
+    public CompletableFuture<JsonNode> getIssueByIdOrKey(String issueIdOrKey) {
+        return supply(() -> jiraService.getIssueByIdOrKey(issueIdOrKey));
+    }
+
+    public CompletableFuture<String> getIssueStatus(String issueIdOrKey) {
+        return supply(() -> jiraService.getIssueStatus(issueIdOrKey));
+    }
+
+    public CompletableFuture<JsonNode> getIssueComments(String issueIdOrKey) {
+        return supply(() -> jiraService.getIssueComments(issueIdOrKey));
+    }
+
+    public CompletableFuture<JsonNode> getIssueAttachments(String issueIdOrKey) {
+        return supply(() -> jiraService.getIssueAttachments(issueIdOrKey));
+    }
+
+    public CompletableFuture<JsonNode> getIssueTransitions(String issueIdOrKey) {
+        return supply(() -> jiraService.getIssueTransitions(issueIdOrKey));
+    }
+
+    public CompletableFuture<Boolean> transitionIssue(String issueKey, String transitionId) {
+        return supply(() -> jiraService.transitionIssue(issueKey, transitionId));
+    }
+
+    public CompletableFuture<JiraService.TransitionResult> performTransition(String issueKey, String transitionId) {
+        return supply(() -> jiraService.performTransition(issueKey, transitionId));
+    }
+
+    public CompletableFuture<JsonNode> getCurrentUser() {
+        return supply(jiraService::getCurrentUser);
+    }
+
+    /**
+     * Apply field updates to many issues concurrently on the Jira executor. Jira has no synchronous
+     * bulk edit endpoint, so each issue is a separate PUT paced by the rate governor in the background lane.
+     * @param updates Items with "issueKey" and "fields"
+     * @return One result per item, in request order
+     */
+    @SuppressWarnings("unchecked")
+    public CompletableFuture<List<JiraService.BulkItemResult>> updateIssues(List<Map<String, Object>> updates) {
+        List<CompletableFuture<JiraService.BulkItemResult>> futures = new ArrayList<>();
+        for (int i = 0; i < updates.size(); i++) {
+            int index = i;
+            Object issueKey = updates.get(i).get("issueKey");
+            Object fields = updates.get(i).get("fields");
+            if (!(issueKey instanceof String key) || key.isBlank() || !(fields instanceof Map)) {
+                futures.add(CompletableFuture.completedFuture(JiraService.BulkItemResult.failed(index,
+                        issueKey instanceof String ? (String) issueKey : null, "issueKey and fields are required")));
+                continue;
+            }
+            futures.add(supply(() -> JiraRateGovernor.callInLane(JiraRateGovernor.Lane.BACKGROUND,
+                            () -> jiraService.updateIssue(key, (Map<String, Object>) fields)))
+                    .thenApply(response -> JiraService.BulkItemResult.succeeded(index, null, key))
+                    .exceptionally(e -> JiraService.BulkItemResult.failed(index, key, unwrap(e).getMessage())));
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                .thenApply(done -> futures.stream().map(CompletableFuture::join).toList());
+    }
+
+    /**
+     * Unwrap the CompletionException/ExecutionException layers added by future composition
+     * @param throwable The failure passed to exceptionally/handle
+     * @return The original cause
+     */
+    public static Throwable unwrap(Throwable throwable) {
+        Throwable current = throwable;
+        while ((current instanceof CompletionException || current instanceof java.util.concurrent.ExecutionException)
+                && current.getCause() != null) {
+            current = current.getCause();
+        }
+        return current;
+    }
+}
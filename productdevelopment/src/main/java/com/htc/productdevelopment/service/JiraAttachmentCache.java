@@ -0,0 +1,435 @@
+package com.htc.productdevelopment.service;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * On-disk cache of Jira attachment content, so repeated views of the same contract document are
+ * served locally instead of being proxied from Jira each time.
+ * Content is stored once per SHA-256 hash under blobs/; index/ maps each Jira attachment id to
+ * its hash and response headers and survives restarts. Jira attachment content never changes
+ * for a given id, so entries are only dropped by least-recently-used eviction when the cache
+ * exceeds its size limit. The hash doubles as the ETag.
+ */
+@Component
+public class JiraAttachmentCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(JiraAttachmentCache.class);
+
+    /**
+     * A cached attachment and the headers it was served with
+     */
+    public static class CachedAttachment {
+        private final String attachmentId;
+        private final String sha256;
+        private final Path path;
+        private final long size;
+        private final String contentType;
+        private final String contentDisposition;
+
+        public CachedAttachment(String attachmentId, String sha256, Path path, long size,
+                                String contentType, String contentDisposition) {
+            this.attachmentId = attachmentId;
+            this.sha256 = sha256;
+            this.path = path;
+            this.size = size;
+            this.contentType = contentType;
+            this.contentDisposition = contentDisposition;
+        }
+
+        public String getAttachmentId() {
+            return attachmentId;
+        }
+
+        public String getSha256() {
+            return sha256;
+        }
+
+        public Path getPath() {
+            return path;
+        }
+
+        public long getSize() {
+            return size;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getContentDisposition() {
+            return contentDisposition;
+        }
+    }
+
+    /**
+     * Copies a response body to the client and into the cache at the same time.
+     * Call {@link #commit} once the complete body was written; closing without commit discards it.
+     * Cache write failures only disable caching for this response, never the response itself.
+     */
+    public class Fill extends OutputStream {
+        private final String attachmentId;
+        private final OutputStream client;
+        private final Path tempFile;
+        private DigestOutputStream file;
+        private long written;
+
+        private Fill(String attachmentId, OutputStream client, Path tempFile, DigestOutputStream file) {
+            this.attachmentId = attachmentId;
+            this.client = client;
+            this.tempFile = tempFile;
+            this.file = file;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            client.write(b, off, len);
+            if (file == null) {
+                return;
+            }
+            written += len;
+            if (written > maxBytes) {
+                logger.debug("Attachment {} is larger than the cache, not caching it", attachmentId);
+                discard();
+                return;
+            }
+            try {
+                file.write(b, off, len);
+            } catch (IOException e) {
+                logger.warn("Failed to write attachment {} to the cache: {}", attachmentId, e.getMessage());
+                discard();
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            client.flush();
+        }
+
+        /**
+         * Add the written body to the cache
+         * @param contentType The Content-Type it was served with
+         * @param contentDisposition The Content-Disposition it was served with, or null
+         */
+        public void commit(String contentType, String contentDisposition) {
+            if (file == null) {
+                return;
+            }
+            try {
+                file.close();
+                String sha256 = HexFormat.of().formatHex(file.getMessageDigest().digest());
+                file = null;
+                store(attachmentId, sha256, tempFile, written, contentType, contentDisposition);
+            } catch (IOException e) {
+                logger.warn("Failed to cache attachment {}: {}", attachmentId, e.getMessage());
+                discard();
+            }
+        }
+
+        @Override
+        public void close() {
+            discard();
+        }
+
+        private void discard() {
+            if (file != null) {
+                try {
+                    file.close();
+                } catch (IOException ignored) {
+                    // The temp file is deleted below either way
+                }
+                file = null;
+            }
+            deleteQuietly(tempFile);
+        }
+    }
+
+    private static class Entry {
+        private final String sha256;
+        private final long size;
+        private final String contentType;
+        private final String contentDisposition;
+
+        private Entry(String sha256, long size, String contentType, String contentDisposition) {
+            this.sha256 = sha256;
+            this.size = size;
+            this.contentType = contentType;
+            this.contentDisposition = contentDisposition;
+        }
+    }
+
+    @Value("${jira.attachment-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${jira.attachment-cache.dir:${java.io.tmpdir}/jira-attachment-cache}")
+    private Path directory;
+
+    @Value("${jira.attachment-cache.max-size:2GB}")
+    private DataSize maxSize;
+
+    private long maxBytes;
+    private Path blobDirectory;
+    private Path indexDirectory;
+    private Path tempDirectory;
+
+    // Attachment id -> entry, in access order; guarded by this
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    // Blob hash -> number of attachment ids sharing it; guarded by this
+    private final Map<String, Integer> blobReferences = new HashMap<>();
+    private long totalBytes;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    @PostConstruct
+    void init() {
+        maxBytes = maxSize.toBytes();
+        if (!enabled) {
+            return;
+        }
+        blobDirectory = directory.resolve("blobs");
+        indexDirectory = directory.resolve("index");
+        tempDirectory = directory.resolve("tmp");
+        try {
+            Files.createDirectories(blobDirectory);
+            Files.createDirectories(indexDirectory);
+            Files.createDirectories(tempDirectory);
+            loadIndex();
+            logger.info("Jira attachment cache at {}: {} attachments, {} bytes", directory, entries.size(), totalBytes);
+        } catch (IOException e) {
+            logger.error("Jira attachment cache disabled, {} is not usable: {}", directory, e.getMessage());
+            enabled = false;
+        }
+    }
+
+    /**
+     * Look up a cached attachment and mark it recently used
+     * @param attachmentId The Jira attachment id
+     * @return The cached attachment, or empty on a miss
+     */
+    public Optional<CachedAttachment> get(String attachmentId) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        Entry entry;
+        synchronized (this) {
+            entry = entries.get(attachmentId);
+        }
+        Path blob = entry != null ? blobDirectory.resolve(entry.sha256) : null;
+        if (blob == null || !Files.isRegularFile(blob)) {
+            if (entry != null) {
+                // Removed behind our back (e.g. tmp cleanup); fetch it again
+                evict(attachmentId);
+            }
+            misses.increment();
+            return Optional.empty();
+        }
+        hits.increment();
+        return Optional.of(new CachedAttachment(attachmentId, entry.sha256, blob, entry.size, entry.contentType, entry.contentDisposition));
+    }
+
+    /**
+     * Start caching a response body while it is written to the client
+     * @param attachmentId The Jira attachment id
+     * @param client The client output stream
+     * @return A stream writing to both, or the client stream itself when caching is disabled
+     */
+    public OutputStream fill(String attachmentId, OutputStream client) {
+        if (!enabled) {
+            return client;
+        }
+        try {
+            Path tempFile = Files.createTempFile(tempDirectory, "fill-", ".tmp");
+            DigestOutputStream file = new DigestOutputStream(Files.newOutputStream(tempFile), MessageDigest.getInstance("SHA-256"));
+            return new Fill(attachmentId, client, tempFile, file);
+        } catch (IOException | NoSuchAlgorithmException e) {
+            logger.warn("Not caching attachment {}: {}", attachmentId, e.getMessage());
+            return client;
+        }
+    }
+
+    /**
+     * Drop an attachment from the cache, e.g. after it was deleted in Jira
+     * @param attachmentId The Jira attachment id
+     */
+    public void evict(String attachmentId) {
+        if (!enabled) {
+            return;
+        }
+        List<Path> unreferenced = new ArrayList<>();
+        synchronized (this) {
+            Entry entry = entries.remove(attachmentId);
+            if (entry != null) {
+                release(entry, unreferenced);
+            }
+        }
+        deleteQuietly(indexDirectory.resolve(attachmentId + ".properties"));
+        unreferenced.forEach(JiraAttachmentCache::deleteQuietly);
+    }
+
+    public synchronized Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("attachments", entries.size());
+        stats.put("blobs", blobReferences.size());
+        stats.put("bytes", totalBytes);
+        stats.put("maxBytes", maxBytes);
+        stats.put("hits", hits.sum());
+        stats.put("misses", misses.sum());
+        stats.put("evictions", evictions.sum());
+        return stats;
+    }
+
+    private void store(String attachmentId, String sha256, Path tempFile, long size,
+                       String contentType, String contentDisposition) throws IOException {
+        Path blob = blobDirectory.resolve(sha256);
+        if (Files.exists(blob)) {
+            // Same content already cached under another attachment id
+            deleteQuietly(tempFile);
+        } else {
+            Files.move(tempFile, blob, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        Properties index = new Properties();
+        index.setProperty("sha256", sha256);
+        index.setProperty("size", Long.toString(size));
+        if (contentType != null) {
+            index.setProperty("contentType", contentType);
+        }
+        if (contentDisposition != null) {
+            index.setProperty("contentDisposition", contentDisposition);
+        }
+        try (OutputStream out = Files.newOutputStream(indexDirectory.resolve(attachmentId + ".properties"))) {
+            index.store(out, null);
+        }
+
+        List<Path> unreferenced = new ArrayList<>();
+        synchronized (this) {
+            Entry previous = entries.put(attachmentId, new Entry(sha256, size, contentType, contentDisposition));
+            if (previous != null) {
+                release(previous, unreferenced);
+            }
+            if (blobReferences.merge(sha256, 1, Integer::sum) == 1) {
+                totalBytes += size;
+            }
+            evictOverflow(unreferenced);
+        }
+        unreferenced.forEach(JiraAttachmentCache::deleteQuietly);
+        logger.debug("Cached attachment {} ({} bytes, sha256 {})", attachmentId, size, sha256);
+    }
+
+    // Least recently used entries go first; files are deleted by the caller outside the lock
+    private void evictOverflow(List<Path> unreferenced) {
+        Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            Map.Entry<String, Entry> evicted = eldest.next();
+            eldest.remove();
+            release(evicted.getValue(), unreferenced);
+            unreferenced.add(indexDirectory.resolve(evicted.getKey() + ".properties"));
+            evictions.increment();
+        }
+    }
+
+    private void release(Entry entry, List<Path> unreferenced) {
+        Integer remaining = blobReferences.computeIfPresent(entry.sha256, (hash, count) -> count > 1 ? count - 1 : null);
+        if (remaining == null) {
+            totalBytes -= entry.size;
+            unreferenced.add(blobDirectory.resolve(entry.sha256));
+        }
+    }
+
+    // Rebuild the index from disk, oldest first, and remove anything left half-written
+    private void loadIndex() throws IOException {
+        try (DirectoryStream<Path> leftovers = Files.newDirectoryStream(tempDirectory)) {
+            leftovers.forEach(JiraAttachmentCache::deleteQuietly);
+        }
+
+        List<Path> indexFiles = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(indexDirectory, "*.properties")) {
+            files.forEach(indexFiles::add);
+        }
+        indexFiles.sort(Comparator.comparing(JiraAttachmentCache::lastModified));
+
+        for (Path indexFile : indexFiles) {
+            String attachmentId = indexFile.getFileName().toString().replaceFirst("\\.properties$", "");
+            Properties index = new Properties();
+            try (InputStream in = Files.newInputStream(indexFile)) {
+                index.load(in);
+                String sha256 = index.getProperty("sha256");
+                long size = Long.parseLong(index.getProperty("size"));
+                if (sha256 == null || !Files.isRegularFile(blobDirectory.resolve(sha256))) {
+                    deleteQuietly(indexFile);
+                    continue;
+                }
+                entries.put(attachmentId, new Entry(sha256, size, index.getProperty("contentType"), index.getProperty("contentDisposition")));
+                if (blobReferences.merge(sha256, 1, Integer::sum) == 1) {
+                    totalBytes += size;
+                }
+            } catch (IOException | RuntimeException e) {
+                logger.warn("Dropping unreadable attachment cache entry {}: {}", indexFile, e.getMessage());
+                deleteQuietly(indexFile);
+            }
+        }
+
+        try (DirectoryStream<Path> blobs = Files.newDirectoryStream(blobDirectory)) {
+            for (Path blob : blobs) {
+                if (!blobReferences.containsKey(blob.getFileName().toString())) {
+                    deleteQuietly(blob);
+                }
+            }
+        }
+
+        List<Path> unreferenced = new ArrayList<>();
+        evictOverflow(unreferenced);
+        unreferenced.forEach(JiraAttachmentCache::deleteQuietly);
+    }
+
+    private static FileTime lastModified(Path path) {
+        try {
+            return Files.getLastModifiedTime(path);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            logger.warn("Failed to delete {}: {}", path, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.htc.productdevelopment.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Short-lived, per-issue read-through cache for single-issue Jira reads.
+ * Each issue keeps its views (the detail payload, the comments response) together with the
+ * issue's "updated" timestamp. Within the TTL views are served from memory; after it, one
+ * "?fields=updated" call decides whether the views are still current or must be reloaded.
+ * Writes made through this application invalidate the issue explicitly.
+ */
+@Component
+public class JiraIssueCache {
+
+    public static final String VIEW_DETAIL = "detail";
+    public static final String VIEW_COMMENTS = "comments";
+
+    /**
+     * Loads a view or the current "updated" value from Jira
+     */
+    @FunctionalInterface
+    public interface Loader<T> {
+        T load() throws Exception;
+    }
+
+    private static class Entry {
+        private volatile String updated;
+        private volatile long validatedAt;
+        private final Map<String, JsonNode> views = new ConcurrentHashMap<>();
+    }
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    // Per calling method: hits, misses and hits that needed an "updated" round trip
+    private final Map<String, LongAdder> hits = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> misses = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> revalidations = new ConcurrentHashMap<>();
+
+    @Value("${jira.issue-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${jira.issue-cache.ttl-ms:15000}")
+    private long ttlMillis;
+
+    @Value("${jira.issue-cache.max-entries:500}")
+    private int maxEntries;
+
+    /**
+     * Return a cached view of an issue, loading it on a miss or when the issue changed in Jira
+     * @param issueIdOrKey The issue ID or key
+     * @param view The view name (VIEW_DETAIL, VIEW_COMMENTS)
+     * @param method Name of the calling method, used for the hit/miss counters
+     * @param loader Loads the view from Jira
+     * @param updatedLoader Loads the issue's current "updated" value from Jira
+     * @return The view
+     * @throws Exception if a Jira call fails
+     */
+    public JsonNode get(String issueIdOrKey, String view, String method,
+                        Loader<JsonNode> loader, Loader<String> updatedLoader) throws Exception {
+        if (!enabled) {
+            count(misses, method);
+            return loader.load();
+        }
+
+        String cacheKey = normalize(issueIdOrKey);
+        Entry entry = entries.get(cacheKey);
+        if (entry != null) {
+            JsonNode cached = entry.views.get(view);
+            if (cached != null) {
+                if (System.currentTimeMillis() - entry.validatedAt < ttlMillis) {
+                    count(hits, method);
+                    return cached;
+                }
+                String currentUpdated = updatedLoader.load();
+                if (entry.updated != null && Objects.equals(entry.updated, currentUpdated)) {
+                    entry.validatedAt = System.currentTimeMillis();
+                    count(hits, method);
+                    count(revalidations, method);
+                    return cached;
+                }
+                // The issue changed; every view of it is stale
+                entry.views.clear();
+                entry.updated = currentUpdated;
+                entry.validatedAt = System.currentTimeMillis();
+            }
+        }
+
+        count(misses, method);
+        JsonNode loaded = loader.load();
+        store(cacheKey, view, loaded);
+        return loaded;
+    }
+
+    /**
+     * Drop every cached view of an issue
+     * @param issueIdOrKey The issue ID or key
+     */
+    public void invalidate(String issueIdOrKey) {
+        if (issueIdOrKey == null) {
+            return;
+        }
+        Entry entry = entries.remove(normalize(issueIdOrKey));
+        if (entry != null) {
+            // The same entry is indexed by both issue id and key
+            entries.values().removeIf(other -> other == entry);
+        }
+    }
+
+    /**
+     * Hit/miss counters per calling method
+     * @return Map with entries, ttlMillis and per-method hits, misses and revalidations
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> methods = new LinkedHashMap<>();
+        java.util.Set<String> names = new java.util.TreeSet<>();
+        names.addAll(hits.keySet());
+        names.addAll(misses.keySet());
+        for (String name : names) {
+            long hitCount = sum(hits, name);
+            long missCount = sum(misses, name);
+            Map<String, Object> counters = new LinkedHashMap<>();
+            counters.put("hits", hitCount);
+            counters.put("misses", missCount);
+            counters.put("revalidations", sum(revalidations, name));
+            counters.put("hitRatio", hitCount + missCount == 0 ? 0.0 : (double) hitCount / (hitCount + missCount));
+            methods.put(name, counters);
+        }
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("entries", entries.size());
+        stats.put("ttlMillis", ttlMillis);
+        stats.put("methods", methods);
+        return stats;
+    }
+
+    private void store(String cacheKey, String view, JsonNode loaded) {
+        Entry entry = entries.computeIfAbsent(cacheKey, k -> {
+            Entry created = new Entry();
+            created.validatedAt = System.currentTimeMillis();
+            return created;
+        });
+        entry.views.put(view, loaded);
+
+        if (VIEW_DETAIL.equals(view)) {
+            // The detail payload carries the timestamp used for validation and both identifiers
+            entry.updated = loaded.path("fields").path("updated").asText(null);
+            entry.validatedAt = System.currentTimeMillis();
+            if (loaded.hasNonNull("key")) {
+                entries.putIfAbsent(normalize(loaded.get("key").asText()), entry);
+            }
+            if (loaded.hasNonNull("id")) {
+                entries.putIfAbsent(normalize(loaded.get("id").asText()), entry);
+            }
+        }
+
+        if (entries.size() > maxEntries) {
+            evictOldest();
+        }
+    }
+
+    private void evictOldest() {
+        entries.entrySet().stream()
+                .min(Comparator.comparingLong(e -> e.getValue().validatedAt))
+                .ifPresent(oldest -> invalidate(oldest.getKey()));
+    }
+
+    private String normalize(String issueIdOrKey) {
+        return issueIdOrKey.trim().toUpperCase();
+    }
+
+    private void count(Map<String, LongAdder> counters, String method) {
+        counters.computeIfAbsent(method, k -> new LongAdder()).increment();
+    }
+
+    private long sum(Map<String, LongAdder> counters, String method) {
+        LongAdder adder = counters.get(method);
+        return adder != null ? adder.sum() : 0L;
+    }
+}
@@ -0,0 +1,405 @@
+package com.htc.productdevelopment.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.htc.productdevelopment.config.JiraFieldConfig;
+import com.htc.productdevelopment.config.JiraFieldProfile;
+import com.htc.productdevelopment.config.JiraRateGovernor;
+import com.htc.productdevelopment.model.JiraIssue;
+import com.htc.productdevelopment.model.JiraSyncState;
+import com.htc.productdevelopment.repository.JiraIssueRepository;
+import com.htc.productdevelopment.repository.JiraSyncStateRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps a local copy of Request Management issues in the jira_issues table.
+ * Issues are pulled incrementally with "updated >= cursor" JQL pages, where the cursor is the
+ * newest Jira "updated" timestamp seen by the last completed sync run (kept in jira_sync_state),
+ * so dashboard listings can be served from Postgres instead of a live Jira search. Write-through
+ * refreshes and webhooks update rows between runs but never move the cursor, and a payload older
+ * than the mirrored row is ignored. Issues deleted directly in Jira are not detected;
+ * deletions made through this application are removed from the mirror immediately.
+ */
+@Service
+public class JiraIssueSyncService {
+
+    private static final Logger logger = LoggerFactory.getLogger(JiraIssueSyncService.class);
+
+    // Jira timestamps look like 2024-05-01T10:15:30.000+0000
+    private static final DateTimeFormatter JIRA_TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSZ");
+
+    // JQL date literals have minute precision and are interpreted in the API user's time zone
+    private static final DateTimeFormatter JQL_TIMESTAMP = DateTimeFormatter.ofPattern("yyyy/MM/dd HH:mm");
+
+    private static final String SYNC_NAME = "request-management";
+
+    private final JiraService jiraService;
+    private final JiraIssueRepository jiraIssueRepository;
+    private final JiraSyncStateRepository jiraSyncStateRepository;
+    private final JiraFieldConfig jiraFieldConfig;
+    private final ObjectMapper objectMapper;
+
+    @Value("${jira.sync.enabled:true}")
+    private boolean syncEnabled;
+
+    @Value("${jira.sync.page-size:100}")
+    private int pageSize;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    // Start time of the last sync that completed; everything updated before it is mirrored
+    private volatile Instant lastSuccessfulSync;
+
+    private volatile ZoneId jiraZone;
+
+    public JiraIssueSyncService(JiraService jiraService,
+                                JiraIssueRepository jiraIssueRepository,
+                                JiraSyncStateRepository jiraSyncStateRepository,
+                                JiraFieldConfig jiraFieldConfig,
+                                ObjectMapper objectMapper) {
+        this.jiraService = jiraService;
+        this.jiraIssueRepository = jiraIssueRepository;
+        this.jiraSyncStateRepository = jiraSyncStateRepository;
+        this.jiraFieldConfig = jiraFieldConfig;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Periodic incremental sync
+     */
+    @Scheduled(initialDelayString = "${jira.sync.initial-delay-ms:5000}",
+               fixedDelayString = "${jira.sync.interval-ms:60000}")
+    public void scheduledSync() {
+        if (!syncEnabled) {
+            return;
+        }
+        try {
+            syncNow();
+        } catch (Exception e) {
+            logger.warn("Scheduled Jira issue sync failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Pull every issue updated since the current cursor into the mirror
+     * @return Number of issues written, or -1 if a sync was already running
+     * @throws Exception if a Jira page could not be fetched
+     */
+    public int syncNow() throws Exception {
+        if (!running.compareAndSet(false, true)) {
+            logger.info("Jira issue sync already in progress, skipping");
+            return -1;
+        }
+        try {
+            Instant startedAt = Instant.now();
+            JiraSyncState state = jiraSyncStateRepository.findById(SYNC_NAME).orElseGet(() -> new JiraSyncState(SYNC_NAME));
+            Instant cursor = state.getCursorUpdated();
+
+            StringBuilder jql = new StringBuilder("project = \"Request Management\"");
+            if (cursor != null) {
+                // Step back one minute to cover the truncated minute; upserts make the overlap harmless
+                String since = cursor.minus(1, ChronoUnit.MINUTES).atZone(getJiraZone()).format(JQL_TIMESTAMP);
+                jql.append(" AND updated >= \"").append(since).append("\"");
+            }
+            jql.append(" ORDER BY updated ASC");
+
+            logger.info("Syncing Jira issues with JQL: {}", jql);
+
+            // Newest "updated" among the fetched pages; becomes the cursor once every page is in
+            AtomicReference<Instant> newest = new AtomicReference<>(cursor);
+
+            // Bulk pages must not crowd out requests users are waiting on
+            int written = JiraRateGovernor.callInLane(JiraRateGovernor.Lane.BACKGROUND, () ->
+                    jiraService.searchAllIssues(jql.toString(), jiraFieldConfig.fieldsFor(JiraFieldProfile.LIST_VIEW), pageSize, issues -> {
+                        upsertIssues(issues);
+                        for (JsonNode issueNode : issues) {
+                            newest.accumulateAndGet(parseTimestamp(issueNode.path("fields").path("updated").asText(null)), JiraIssueSyncService::later);
+                        }
+                    }));
+
+            state.setCursorUpdated(newest.get());
+            state.setLastCompletedAt(startedAt);
+            jiraSyncStateRepository.save(state);
+            lastSuccessfulSync = startedAt;
+            logger.info("Jira issue sync finished: {} issues written", written);
+            return written;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Re-fetch a single issue into the mirror, used right after writes made through this application
+     * @param issueKey The issue key
+     */
+    public void refreshIssue(String issueKey) {
+        try {
+            JsonNode page = jiraService.searchIssuesPage("key = \"" + issueKey + "\"", jiraFieldConfig.fieldsFor(JiraFieldProfile.LIST_VIEW), 1, null);
+            upsertIssues(page.path("issues"));
+        } catch (Exception e) {
+            logger.warn("Failed to refresh mirrored Jira issue {}: {}", issueKey, e.getMessage());
+        }
+    }
+
+    /**
+     * Re-fetch several issues into the mirror with one search per page, used after bulk writes
+     * @param issueKeys The issue keys
+     */
+    public void refreshIssues(List<String> issueKeys) {
+        for (int from = 0; from < issueKeys.size(); from += pageSize) {
+            List<String> keys = issueKeys.subList(from, Math.min(from + pageSize, issueKeys.size()));
+            try {
+                String jql = "key in (" + String.join(", ", keys.stream().map(key -> "\"" + key + "\"").toList()) + ")";
+                JsonNode page = JiraRateGovernor.callInLane(JiraRateGovernor.Lane.BACKGROUND, () ->
+                        jiraService.searchIssuesPage(jql, jiraFieldConfig.fieldsFor(JiraFieldProfile.LIST_VIEW), keys.size(), null));
+                upsertIssues(page.path("issues"));
+            } catch (Exception e) {
+                logger.warn("Failed to refresh {} mirrored Jira issues: {}", keys.size(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Write an issue payload already fetched by the caller into the mirror, avoiding another Jira call
+     * @param issueNode The issue with at least the LIST_VIEW fields
+     */
+    public void storeIssue(JsonNode issueNode) {
+        try {
+            upsertIssues(objectMapper.createArrayNode().add(issueNode));
+        } catch (Exception e) {
+            logger.warn("Failed to store mirrored Jira issue {}: {}", issueNode.path("key").asText(), e.getMessage());
+        }
+    }
+
+    /**
+     * Write several already-fetched issue payloads into the mirror in one batch
+     * @param issueNodes The issues with at least the LIST_VIEW fields
+     * @throws Exception if the batch could not be written
+     */
+    public void storeIssues(List<JsonNode> issueNodes) throws Exception {
+        upsertIssues(objectMapper.createArrayNode().addAll(issueNodes));
+    }
+
+    /**
+     * Remove an issue from the mirror
+     * @param issueKey The issue key
+     */
+    public void evictIssue(String issueKey) {
+        try {
+            jiraIssueRepository.deleteByKey(issueKey);
+        } catch (Exception e) {
+            logger.warn("Failed to remove mirrored Jira issue {}: {}", issueKey, e.getMessage());
+        }
+    }
+
+    /**
+     * Whether the mirror has completed at least one sync since startup and can serve listings
+     * @return true when listings may be served from Postgres
+     */
+    public boolean isReady() {
+        return syncEnabled && lastSuccessfulSync != null;
+    }
+
+    /**
+     * Freshness watermark: changes made in Jira before this instant are reflected in the mirror
+     * @return The watermark, or null if no sync has completed yet
+     */
+    public Instant getLastSuccessfulSync() {
+        return lastSuccessfulSync;
+    }
+
+    /**
+     * Whether the mirror holds any issues at all, e.g. from a sync before a restart
+     * @return true if listings could be served from Postgres, however old
+     */
+    public boolean hasIssues() {
+        return jiraIssueRepository.count() > 0;
+    }
+
+    /**
+     * Mirrored copy of a single issue, used as a stale fallback while Jira is unavailable
+     * @param issueKey The issue key
+     * @return The mirrored issue with its payload and sync time, if present
+     */
+    public Optional<JiraIssue> findIssue(String issueKey) {
+        return jiraIssueRepository.findByKey(issueKey.trim().toUpperCase())
+                .filter(issue -> issue.getPayload() != null && !issue.getPayload().isEmpty());
+    }
+
+    /**
+     * List mirrored issues visible to the given scope, newest key first
+     * @param scope The caller's issue scope
+     * @return JSON array text with the same shape as the Jira search "issues" array
+     */
+    public String listIssues(JiraService.IssueScope scope) {
+        List<JiraIssue> issues = jiraIssueRepository.findVisibleIssues(
+                scope.getOrganizationName(), scope.getDepartmentName(), scope.getRequesterEmail());
+
+        issues.sort(Comparator.comparingLong((JiraIssue issue) -> keyNumber(issue.getKey())).reversed());
+
+        // Payloads are stored as Jira returned them, so they are concatenated without re-parsing
+        return issues.stream()
+                .map(JiraIssue::getPayload)
+                .filter(payload -> payload != null && !payload.isEmpty())
+                .collect(Collectors.joining(",", "[", "]"));
+    }
+
+    private int upsertIssues(JsonNode issueNodes) throws Exception {
+        if (issueNodes == null || !issueNodes.isArray() || issueNodes.isEmpty()) {
+            return 0;
+        }
+
+        List<String> ids = new ArrayList<>();
+        for (JsonNode issueNode : issueNodes) {
+            ids.add(issueNode.path("id").asText());
+        }
+        Map<String, JiraIssue> existing = new HashMap<>(jiraIssueRepository.findByIssueIdIn(ids).stream()
+                .collect(Collectors.toMap(JiraIssue::getIssueId, Function.identity())));
+
+        Instant now = Instant.now();
+        List<JiraIssue> toSave = new ArrayList<>();
+        for (JsonNode issueNode : issueNodes) {
+            String issueId = issueNode.path("id").asText();
+            JiraIssue issue = existing.computeIfAbsent(issueId, id -> new JiraIssue());
+            Instant updated = parseTimestamp(issueNode.path("fields").path("updated").asText(null));
+            if (isStale(updated, issue.getJiraUpdated())) {
+                logger.debug("Skipping stale payload for Jira issue {} ({} < {})", issueNode.path("key").asText(), updated, issue.getJiraUpdated());
+                continue;
+            }
+            applyIssue(issue, issueNode);
+            issue.setSyncedAt(now);
+            toSave.add(issue);
+        }
+        jiraIssueRepository.saveAll(toSave);
+        return toSave.size();
+    }
+
+    /**
+     * Whether a payload last updated at {@code incoming} is older than the mirrored row
+     */
+    static boolean isStale(Instant incoming, Instant stored) {
+        return incoming != null && stored != null && incoming.isBefore(stored);
+    }
+
+    static Instant later(Instant a, Instant b) {
+        if (a == null) {
+            return b;
+        }
+        return b == null || a.isAfter(b) ? a : b;
+    }
+
+    private void applyIssue(JiraIssue issue, JsonNode issueNode) throws Exception {
+        JsonNode fields = issueNode.path("fields");
+
+        issue.setIssueId(issueNode.path("id").asText());
+        issue.setKey(issueNode.path("key").asText());
+        issue.setSummary(fields.path("summary").asText(null));
+        issue.setDescription(fields.hasNonNull("description") ? fields.get("description").toString() : null);
+        issue.setIssueType(fields.path("issuetype").path("name").asText(null));
+        issue.setProjectKey(fields.path("project").path("key").asText(null));
+        issue.setReporter(fields.path("reporter").path("displayName").asText(null));
+        issue.setAssignee(fields.path("assignee").path("displayName").asText(null));
+        issue.setStatus(fields.path("status").path("name").asText(null));
+        issue.setPriority(fields.path("priority").path("name").asText(null));
+        issue.setDueDate(parseDate(fields.path("duedate").asText(null)));
+
+        issue.setOrganization(textValue(fields, jiraFieldConfig.getOrganization()));
+        issue.setDepartment(textValue(fields, jiraFieldConfig.getDepartment()));
+        issue.setRequesterEmail(textValue(fields, jiraFieldConfig.getRequesterEmail()));
+        issue.setJiraUpdated(parseTimestamp(fields.path("updated").asText(null)));
+
+        issue.setPayload(objectMapper.writeValueAsString(issueNode));
+    }
+
+    private String textValue(JsonNode fields, String fieldId) {
+        if (fieldId == null) {
+            return null;
+        }
+        JsonNode field = fields.path(fieldId);
+        if (field.isMissingNode() || field.isNull()) {
+            return null;
+        }
+        if (field.isValueNode()) {
+            return field.asText();
+        }
+        if (field.has("value")) {
+            return field.get("value").asText();
+        }
+        if (field.has("displayName")) {
+            return field.get("displayName").asText();
+        }
+        return field.toString();
+    }
+
+    static Instant parseTimestamp(String value) {
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        try {
+            return OffsetDateTime.parse(value, JIRA_TIMESTAMP).toInstant();
+        } catch (Exception e) {
+            logger.warn("Unparseable Jira timestamp: {}", value);
+            return null;
+        }
+    }
+
+    private LocalDate parseDate(String value) {
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(value);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private long keyNumber(String key) {
+        if (key == null) {
+            return 0L;
+        }
+        try {
+            return Long.parseLong(key.substring(key.lastIndexOf('-') + 1));
+        } catch (NumberFormatException e) {
+            return 0L;
+        }
+    }
+
+    /**
+     * Time zone JQL date literals are evaluated in, taken from the API user's Jira profile
+     */
+    private ZoneId getJiraZone() {
+        if (jiraZone == null) {
+            try {
+                JsonNode myself = jiraService.getCurrentUser();
+                jiraZone = ZoneId.of(myself.path("timeZone").asText("UTC"));
+            } catch (Exception e) {
+                logger.warn("Could not read Jira user time zone, assuming UTC: {}", e.getMessage());
+                return ZoneOffset.UTC;
+            }
+        }
+        return jiraZone;
+    }
+}
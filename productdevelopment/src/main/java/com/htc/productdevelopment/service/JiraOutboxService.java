@@ -0,0 +1,569 @@
+package com.htc.productdevelopment.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.htc.productdevelopment.config.JiraCircuitBreaker;
+import com.htc.productdevelopment.config.JiraFieldProfile;
+import com.htc.productdevelopment.config.JiraRateGovernor;
+import com.htc.productdevelopment.model.ContractDetails;
+import com.htc.productdevelopment.model.JiraOutboxAttachment;
+import com.htc.productdevelopment.model.JiraOutboxOperation;
+import com.htc.productdevelopment.model.User;
+import com.htc.productdevelopment.repository.ContractDetailsRepository;
+import com.htc.productdevelopment.repository.JiraOutboxAttachmentRepository;
+import com.htc.productdevelopment.repository.JiraOutboxRepository;
+import com.htc.productdevelopment.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+
+import java.net.ConnectException;
+import java.net.UnknownHostException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Durable outbox for Jira writes made on behalf of users.
+ * Writes are stored in jira_outbox and applied by a small worker pool. Operations on the same
+ * issue are applied in the order they were accepted; operations on different issues run in
+ * parallel. Failures caused by Jira being unavailable or throttling are retried with jittered
+ * exponential backoff; everything else, and anything still failing after the maximum number of
+ * attempts, is dead-lettered for an administrator to inspect and retry or discard; until then the
+ * later operations on the same issue wait. Every status change is pushed to
+ * /topic/jira-operations/{operationId}.
+ */
+@Service
+public class JiraOutboxService {
+
+    private static final Logger logger = LoggerFactory.getLogger(JiraOutboxService.class);
+
+    // Repeating these cannot create duplicates in Jira; a transition is only repeated after
+    // checking that the issue has not already reached its target status
+    private static final Set<String> IDEMPOTENT_TYPES = Set.of(
+            JiraOutboxOperation.TYPE_UPDATE_ISSUE, JiraOutboxOperation.TYPE_TRANSITION_ISSUE);
+
+    private final JiraOutboxRepository outboxRepository;
+    private final JiraOutboxAttachmentRepository attachmentRepository;
+    private final JiraService jiraService;
+    private final JiraIssueSyncService jiraIssueSyncService;
+    private final NotificationService notificationService;
+    private final WebSocketNotificationService webSocketNotificationService;
+    private final ContractDetailsRepository contractDetailsRepository;
+    private final ContractAttachmentService contractAttachmentService;
+    private final UserRepository userRepository;
+    private final ObjectMapper objectMapper;
+    private final ThreadPoolTaskExecutor outboxExecutor;
+
+    @Value("${jira.outbox.batch-size:20}")
+    private int batchSize;
+
+    @Value("${jira.outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${jira.outbox.base-backoff-ms:2000}")
+    private long baseBackoffMs;
+
+    @Value("${jira.outbox.max-backoff-ms:300000}")
+    private long maxBackoffMs;
+
+    // An IN_PROGRESS operation older than this lost its worker and is put back in line
+    @Value("${jira.outbox.lease-ms:600000}")
+    private long leaseMs;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    public JiraOutboxService(JiraOutboxRepository outboxRepository,
+                             JiraOutboxAttachmentRepository attachmentRepository,
+                             JiraService jiraService,
+                             JiraIssueSyncService jiraIssueSyncService,
+                             NotificationService notificationService,
+                             WebSocketNotificationService webSocketNotificationService,
+                             ContractDetailsRepository contractDetailsRepository,
+                             ContractAttachmentService contractAttachmentService,
+                             UserRepository userRepository,
+                             ObjectMapper objectMapper,
+                             @Qualifier("jiraOutboxExecutor") ThreadPoolTaskExecutor outboxExecutor) {
+        this.outboxRepository = outboxRepository;
+        this.attachmentRepository = attachmentRepository;
+        this.jiraService = jiraService;
+        this.jiraIssueSyncService = jiraIssueSyncService;
+        this.notificationService = notificationService;
+        this.webSocketNotificationService = webSocketNotificationService;
+        this.contractDetailsRepository = contractDetailsRepository;
+        this.contractAttachmentService = contractAttachmentService;
+        this.userRepository = userRepository;
+        this.objectMapper = objectMapper;
+        this.outboxExecutor = outboxExecutor;
+    }
+
+    /**
+     * Queue the creation of an issue (same payload as createIssueJira)
+     * @param issueData The issue data
+     * @param requestedBy Id of the user who asked for it, used for notifications (may be null)
+     * @return The queued operation
+     * @throws Exception if the payload cannot be serialized
+     */
+    public JiraOutboxOperation enqueueCreateIssue(Map<String, Object> issueData, Long requestedBy) throws Exception {
+        return enqueue(JiraOutboxOperation.TYPE_CREATE_ISSUE, null, issueData, null, null, requestedBy);
+    }
+
+    /**
+     * Queue a field update of an issue
+     * @param issueKey The issue key
+     * @param fields The fields to update
+     * @param requestedBy Id of the user who asked for it (may be null)
+     * @return The queued operation
+     * @throws Exception if the payload cannot be serialized
+     */
+    public JiraOutboxOperation enqueueUpdateIssue(String issueKey, Map<String, Object> fields, Long requestedBy) throws Exception {
+        return enqueue(JiraOutboxOperation.TYPE_UPDATE_ISSUE, issueKey, fields, null, null, requestedBy);
+    }
+
+    /**
+     * Queue a workflow transition of an issue
+     * @param issueKey The issue key
+     * @param transitionId The transition id
+     * @param requestedBy Id of the user who asked for it, used for notifications (may be null)
+     * @return The queued operation
+     * @throws Exception if the payload cannot be serialized
+     */
+    public JiraOutboxOperation enqueueTransition(String issueKey, String transitionId, Long requestedBy) throws Exception {
+        return enqueue(JiraOutboxOperation.TYPE_TRANSITION_ISSUE, issueKey, Map.of("transitionId", transitionId), null, null, requestedBy);
+    }
+
+    /**
+     * Queue a comment on an issue
+     * @param issueKey The issue key
+     * @param commentBody The comment text
+     * @param requestedBy Id of the user who asked for it, used for notifications (may be null)
+     * @return The queued operation
+     * @throws Exception if the payload cannot be serialized
+     */
+    public JiraOutboxOperation enqueueComment(String issueKey, String commentBody, Long requestedBy) throws Exception {
+        return enqueue(JiraOutboxOperation.TYPE_ADD_COMMENT, issueKey, Map.of("body", commentBody), null, null, requestedBy);
+    }
+
+    /**
+     * Queue an attachment upload; the content is kept in the outbox until Jira has it
+     * @param issueKey The issue key
+     * @param fileName The file name
+     * @param content The file content
+     * @param requestedBy Id of the user who asked for it (may be null)
+     * @return The queued operation
+     * @throws Exception if the payload cannot be serialized
+     */
+    @Transactional
+    public JiraOutboxOperation enqueueAttachment(String issueKey, String fileName, byte[] content, Long requestedBy) throws Exception {
+        return enqueue(JiraOutboxOperation.TYPE_ADD_ATTACHMENT, issueKey, null, fileName, content, requestedBy);
+    }
+
+    private JiraOutboxOperation enqueue(String type, String issueKey, Object payload,
+                                        String attachmentName, byte[] attachmentContent, Long requestedBy) throws Exception {
+        JiraOutboxOperation operation = new JiraOutboxOperation();
+        operation.setOperationId(UUID.randomUUID().toString());
+        operation.setOperationType(type);
+        operation.setIssueKey(issueKey);
+        // A create has no issue yet, so it is ordered only against itself
+        operation.setOrderingKey(issueKey != null ? issueKey.trim().toUpperCase() : "create:" + operation.getOperationId());
+        operation.setPayload(payload != null ? objectMapper.writeValueAsString(payload) : null);
+        operation.setAttachmentName(attachmentName);
+        operation.setRequestedBy(requestedBy);
+
+        JiraOutboxOperation saved = outboxRepository.save(operation);
+        if (attachmentContent != null) {
+            attachmentRepository.save(new JiraOutboxAttachment(saved.getId(), attachmentContent));
+        }
+        logger.info("Queued Jira {} operation {} for {}", type, saved.getOperationId(), saved.getOrderingKey());
+        publish(saved);
+        return saved;
+    }
+
+    /**
+     * Current state of an operation
+     * @param operationId The operation id returned when it was queued
+     * @return The operation status, if the operation exists
+     */
+    public Optional<Map<String, Object>> getOperationStatus(String operationId) {
+        return outboxRepository.findByOperationId(operationId).map(this::toStatus);
+    }
+
+    /**
+     * Dead-lettered operations, oldest first
+     * @param limit Maximum number of operations
+     * @return Their statuses
+     */
+    public List<Map<String, Object>> getDeadOperations(int limit) {
+        List<Map<String, Object>> statuses = new ArrayList<>();
+        for (JiraOutboxOperation operation : outboxRepository.findByStatusOrderByIdAsc(
+                JiraOutboxOperation.STATUS_DEAD, PageRequest.of(0, Math.max(1, limit)))) {
+            statuses.add(toStatus(operation));
+        }
+        return statuses;
+    }
+
+    /**
+     * Put a dead-lettered operation back in line with a fresh attempt budget
+     * @param operationId The operation id
+     * @return true if the operation was dead and has been requeued
+     */
+    public boolean retryDeadOperation(String operationId) {
+        Optional<JiraOutboxOperation> found = outboxRepository.findByOperationId(operationId);
+        if (found.isEmpty() || !JiraOutboxOperation.STATUS_DEAD.equals(found.get().getStatus())) {
+            return false;
+        }
+        JiraOutboxOperation operation = found.get();
+        operation.setStatus(JiraOutboxOperation.STATUS_PENDING);
+        operation.setAttempts(0);
+        operation.setNextAttemptAt(Instant.now());
+        operation.setCompletedAt(null);
+        outboxRepository.save(operation);
+        logger.info("Requeued dead Jira operation {}", operationId);
+        publish(operation);
+        return true;
+    }
+
+    /**
+     * Give up on a dead-lettered operation, letting the later operations on its issue run
+     * @param operationId The operation id
+     * @return true if the operation was dead and has been discarded
+     */
+    public boolean discardDeadOperation(String operationId) {
+        Optional<JiraOutboxOperation> found = outboxRepository.findByOperationId(operationId);
+        if (found.isEmpty() || !JiraOutboxOperation.STATUS_DEAD.equals(found.get().getStatus())) {
+            return false;
+        }
+        JiraOutboxOperation operation = found.get();
+        operation.setStatus(JiraOutboxOperation.STATUS_DISCARDED);
+        outboxRepository.save(operation);
+        attachmentRepository.deleteById(operation.getId());
+        logger.info("Discarded dead Jira operation {}", operationId);
+        publish(operation);
+        return true;
+    }
+
+    /**
+     * Outbox depth per status
+     * @return Map of status to operation count, plus pending operations held up by a dead one
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        for (String status : List.of(JiraOutboxOperation.STATUS_PENDING, JiraOutboxOperation.STATUS_IN_PROGRESS,
+                JiraOutboxOperation.STATUS_SUCCEEDED, JiraOutboxOperation.STATUS_DEAD, JiraOutboxOperation.STATUS_DISCARDED)) {
+            stats.put(status, outboxRepository.countByStatus(status));
+        }
+        stats.put("BLOCKED_BY_DEAD", outboxRepository.countBlocked());
+        return stats;
+    }
+
+    /**
+     * Whether a failed Jira call certainly never reached Jira (open circuit, no rate-limit permit,
+     * 429, connection refused), so it can be queued and replayed without risking a duplicate
+     * @param throwable The failure, possibly wrapped
+     * @return true if the request was not processed by Jira
+     */
+    public static boolean wasNotSent(Throwable throwable) {
+        Throwable current = throwable;
+        while (current != null) {
+            if (current instanceof JiraCircuitBreaker.CircuitOpenException
+                    || current instanceof JiraRateGovernor.PermitTimeoutException
+                    || current instanceof ConnectException
+                    || current instanceof UnknownHostException) {
+                return true;
+            }
+            if (current instanceof HttpClientErrorException clientError && clientError.getStatusCode().value() == 429) {
+                return true;
+            }
+            if (current instanceof HttpServerErrorException serverError && serverError.getStatusCode().value() == 503) {
+                return true;
+            }
+            current = current.getCause();
+        }
+        return false;
+    }
+
+    /**
+     * Status view of an operation, as returned to clients and pushed over WebSocket
+     * @param operation The operation
+     * @return Map with id, type, issue key, status, attempts, error and result
+     */
+    public Map<String, Object> toStatus(JiraOutboxOperation operation) {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("operationId", operation.getOperationId());
+        status.put("type", operation.getOperationType());
+        status.put("issueKey", operation.getIssueKey());
+        status.put("status", operation.getStatus());
+        status.put("attempts", operation.getAttempts());
+        status.put("lastError", operation.getLastError());
+        status.put("createdAt", operation.getCreatedAt());
+        status.put("completedAt", operation.getCompletedAt());
+        if (JiraOutboxOperation.STATUS_PENDING.equals(operation.getStatus()) && operation.getAttempts() > 0) {
+            status.put("nextAttemptAt", operation.getNextAttemptAt());
+        }
+        if (operation.getResult() != null) {
+            try {
+                status.put("result", objectMapper.readTree(operation.getResult()));
+            } catch (Exception e) {
+                status.put("result", operation.getResult());
+            }
+        }
+        return status;
+    }
+
+    /**
+     * Claim and apply due operations until none are left
+     */
+    @Scheduled(initialDelayString = "${jira.outbox.initial-delay-ms:5000}",
+               fixedDelayString = "${jira.outbox.poll-interval-ms:1000}")
+    public void processPending() {
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            int released = outboxRepository.releaseStale(Instant.now().minusMillis(leaseMs));
+            if (released > 0) {
+                logger.warn("Released {} Jira outbox operations whose worker did not finish", released);
+            }
+
+            List<JiraOutboxOperation> ready;
+            do {
+                ready = outboxRepository.findReady(Instant.now(), PageRequest.of(0, batchSize));
+                // At most one operation per ordering key is ready at a time, so these can run in parallel
+                List<CompletableFuture<Void>> inFlight = new ArrayList<>();
+                for (JiraOutboxOperation operation : ready) {
+                    if (outboxRepository.claim(operation.getId(), Instant.now()) == 1) {
+                        operation.setStatus(JiraOutboxOperation.STATUS_IN_PROGRESS);
+                        inFlight.add(CompletableFuture.runAsync(() -> execute(operation), outboxExecutor));
+                    }
+                }
+                CompletableFuture.allOf(inFlight.toArray(new CompletableFuture[0])).join();
+            } while (!ready.isEmpty());
+        } catch (Exception e) {
+            logger.warn("Jira outbox processing failed: {}", e.getMessage());
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private void execute(JiraOutboxOperation operation) {
+        operation.setAttempts(operation.getAttempts() + 1);
+        try {
+            JsonNode result = JiraRateGovernor.callInLane(JiraRateGovernor.Lane.BACKGROUND, () -> apply(operation));
+            operation.setStatus(JiraOutboxOperation.STATUS_SUCCEEDED);
+            operation.setResult(result != null ? objectMapper.writeValueAsString(result) : null);
+            operation.setLastError(null);
+            operation.setCompletedAt(Instant.now());
+            logger.info("Applied Jira {} operation {} (attempt {})",
+                    operation.getOperationType(), operation.getOperationId(), operation.getAttempts());
+        } catch (Exception e) {
+            operation.setLastError(e.getMessage());
+            if (isRetryable(operation, e) && operation.getAttempts() < maxAttempts) {
+                long delay = backoff(operation.getAttempts());
+                operation.setStatus(JiraOutboxOperation.STATUS_PENDING);
+                operation.setNextAttemptAt(Instant.now().plusMillis(delay));
+                logger.warn("Jira {} operation {} failed (attempt {}/{}), retrying in {} ms: {}",
+                        operation.getOperationType(), operation.getOperationId(), operation.getAttempts(), maxAttempts, delay, e.getMessage());
+            } else {
+                operation.setStatus(JiraOutboxOperation.STATUS_DEAD);
+                operation.setCompletedAt(Instant.now());
+                logger.error("Jira {} operation {} dead-lettered after {} attempts: {}",
+                        operation.getOperationType(), operation.getOperationId(), operation.getAttempts(), e.getMessage());
+            }
+        }
+
+        try {
+            outboxRepository.save(operation);
+            if (JiraOutboxOperation.STATUS_SUCCEEDED.equals(operation.getStatus())
+                    && JiraOutboxOperation.TYPE_ADD_ATTACHMENT.equals(operation.getOperationType())) {
+                // Jira has the file now
+                attachmentRepository.deleteById(operation.getId());
+            }
+        } catch (Exception e) {
+            // The lease runs out and the operation is picked up again
+            logger.error("Failed to record outcome of Jira operation {}", operation.getOperationId(), e);
+        }
+        publish(operation);
+    }
+
+    private JsonNode apply(JiraOutboxOperation operation) throws Exception {
+        String issueKey = operation.getIssueKey();
+        switch (operation.getOperationType()) {
+            case JiraOutboxOperation.TYPE_CREATE_ISSUE: {
+                Map<String, Object> issueData = objectMapper.readValue(operation.getPayload(), new TypeReference<Map<String, Object>>() {});
+                JsonNode created = jiraService.createIssueJira(issueData);
+                String createdKey = created != null ? created.path("key").asText(null) : null;
+                if (createdKey != null) {
+                    operation.setIssueKey(createdKey);
+                    jiraIssueSyncService.refreshIssue(createdKey);
+                    notifyCreated(createdKey, operation.getRequestedBy());
+                }
+                return created;
+            }
+            case JiraOutboxOperation.TYPE_UPDATE_ISSUE: {
+                Map<String, Object> fields = objectMapper.readValue(operation.getPayload(), new TypeReference<Map<String, Object>>() {});
+                JsonNode updated = jiraService.updateIssue(issueKey, fields);
+                jiraIssueSyncService.refreshIssue(issueKey);
+                return updated;
+            }
+            case JiraOutboxOperation.TYPE_TRANSITION_ISSUE: {
+                ObjectNode payload = (ObjectNode) objectMapper.readTree(operation.getPayload());
+                JiraService.TransitionResult transition = findAppliedTransition(issueKey, payload, operation.getAttempts());
+                if (transition == null) {
+                    transition = jiraService.performTransition(issueKey, payload.path("transitionId").asText(), (fromStatus, toStatus) -> {
+                        // Remember the target before sending, so a retry after a lost answer can tell it went through
+                        payload.put("fromStatus", fromStatus);
+                        payload.put("toStatus", toStatus);
+                        operation.setPayload(objectMapper.writeValueAsString(payload));
+                        outboxRepository.save(operation);
+                    });
+                }
+                // The result payload predates post-functions, so the mirror re-reads the issue
+                jiraIssueSyncService.refreshIssue(issueKey);
+                if (transition.isStatusChanged()) {
+                    notifyTransition(transition, operation.getRequestedBy());
+                }
+                ObjectNode result = objectMapper.createObjectNode();
+                result.put("issueKey", transition.getIssueKey());
+                result.put("fromStatus", transition.getFromStatus());
+                result.put("toStatus", transition.getToStatus());
+                return result;
+            }
+            case JiraOutboxOperation.TYPE_ADD_COMMENT: {
+                String body = objectMapper.readTree(operation.getPayload()).path("body").asText();
+                JsonNode comment = jiraService.addComment(issueKey, body);
+                notifyComment(issueKey, operation.getRequestedBy());
+                return comment;
+            }
+            case JiraOutboxOperation.TYPE_ADD_ATTACHMENT: {
+                byte[] content = attachmentRepository.findById(operation.getId())
+                        .map(JiraOutboxAttachment::getContent)
+                        .orElseThrow(() -> new IllegalStateException("Content of queued attachment " + operation.getOperationId() + " is missing"));
+                JsonNode attachments = jiraService.addAttachmentToIssue(issueKey, content, operation.getAttachmentName());
+                contractAttachmentService.recordJiraAttachment(issueKey, attachments, operation.getAttachmentName(), content.length, null);
+                return attachments;
+            }
+            default:
+                throw new IllegalStateException("Unknown Jira outbox operation type: " + operation.getOperationType());
+        }
+    }
+
+    /**
+     * On a retry, whether an earlier attempt already moved the issue to the transition's target status
+     * @return The transition as it was applied, or null if it still has to be sent
+     */
+    private JiraService.TransitionResult findAppliedTransition(String issueKey, JsonNode payload, int attempts) throws Exception {
+        String toStatus = payload.path("toStatus").asText(null);
+        if (attempts <= 1 || toStatus == null) {
+            return null;
+        }
+        JsonNode issue = jiraService.getIssue(issueKey, JiraFieldProfile.TRANSITION);
+        if (!toStatus.equalsIgnoreCase(issue.path("fields").path("status").path("name").asText(null))) {
+            return null;
+        }
+        logger.info("Jira issue {} is already in {}, an earlier attempt of the transition went through", issueKey, toStatus);
+        if ("Completed".equalsIgnoreCase(toStatus)) {
+            try {
+                jiraService.saveContractDetailsForCompletedIssue(issue);
+            } catch (Exception e) {
+                logger.error("Error saving contract details for issue: {}", issueKey, e);
+            }
+        }
+        return new JiraService.TransitionResult(issueKey, payload.path("fromStatus").asText(null), toStatus, issue);
+    }
+
+    // Creates, comments and uploads are only replayed when Jira certainly did not process them
+    private boolean isRetryable(JiraOutboxOperation operation, Exception e) {
+        if (wasNotSent(e)) {
+            return true;
+        }
+        if (!IDEMPOTENT_TYPES.contains(operation.getOperationType())) {
+            return false;
+        }
+        if (JiraCircuitBreaker.isUnavailable(e)) {
+            return true;
+        }
+        Throwable current = e;
+        while (current != null) {
+            if (current instanceof HttpServerErrorException) {
+                return true;
+            }
+            current = current.getCause();
+        }
+        return false;
+    }
+
+    // Equal jitter: uniform between half and all of the capped exponential delay
+    private long backoff(int attempts) {
+        long cap = Math.min(maxBackoffMs, baseBackoffMs * (1L << Math.min(attempts - 1, 20)));
+        return ThreadLocalRandom.current().nextLong(cap / 2, cap + 1);
+    }
+
+    private void publish(JiraOutboxOperation operation) {
+        try {
+            webSocketNotificationService.sendJiraOperationUpdate(operation.getOperationId(), toStatus(operation));
+        } catch (Exception e) {
+            logger.warn("Failed to push status of Jira operation {}: {}", operation.getOperationId(), e.getMessage());
+        }
+    }
+
+    private void notifyCreated(String issueKey, Long requestedBy) {
+        try {
+            User creator = requestedBy != null ? userRepository.findById(requestedBy).orElse(null) : null;
+            if (creator != null) {
+                notificationService.createRequestCreatedNotification(
+                        issueKey, creator.getId(), creator.getDepartmentId(), creator.getOrganizationId(), creator.getName());
+            }
+        } catch (Exception e) {
+            logger.warn("Failed to create notification for new request {}: {}", issueKey, e.getMessage());
+        }
+    }
+
+    private void notifyTransition(JiraService.TransitionResult transition, Long requestedBy) {
+        try {
+            ContractDetails contract = contractDetailsRepository.findByJiraIssueKey(transition.getIssueKey());
+            String changerName = null;
+            try {
+                changerName = jiraService.getApiUserDisplayName();
+            } catch (Exception e) {
+                logger.warn("Could not resolve status changer display name: {}", e.getMessage());
+            }
+            notificationService.createStatusTransitionNotification(transition.getIssueKey(),
+                    transition.getFromStatus(), transition.getToStatus(), contract, requestedBy, changerName);
+        } catch (Exception e) {
+            logger.warn("Failed to create notification for status transition of {}: {}", transition.getIssueKey(), e.getMessage());
+        }
+    }
+
+    private void notifyComment(String issueKey, Long requestedBy) {
+        try {
+            User commenter = requestedBy != null ? userRepository.findById(requestedBy).orElse(null) : null;
+            String commenterName = commenter != null ? commenter.getName() : "Unknown User";
+            notificationService.sendNotificationToAll(
+                    "New Comment Added",
+                    String.format("%s added a comment to request %s", commenterName, issueKey),
+                    issueKey,
+                    commenterName,
+                    requestedBy);
+        } catch (Exception e) {
+            logger.warn("Failed to create notification for comment on {}: {}", issueKey, e.getMessage());
+        }
+    }
+}
@@ -3,7 +3,12 @@ package com.htc.productdevelopment.service;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.htc.productdevelopment.config.JiraConfig;
+import com.htc.productdevelopment.config.JiraCircuitBreaker;
+import com.htc.productdevelopment.config.JiraRateGovernor;
+import com.htc.productdevelopment.config.JiraRestTemplates;
 import org.springframework.context.annotation.Lazy;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import com.htc.productdevelopment.model.ContractDetails;
 import com.htc.productdevelopment.model.JiraProject;
 import com.htc.productdevelopment.model.Organization;
@@ -18,13 +23,24 @@ import com.htc.productdevelopment.repository.UserRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaTypeFactory;
 import org.springframework.http.RequestEntity;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.converter.FormHttpMessageConverter;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.client.DefaultResponseErrorHandler;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 import com.htc.productdevelopment.config.JiraFieldConfig;
+import com.htc.productdevelopment.config.JiraFieldProfile;
+import com.htc.productdevelopment.dto.AuthenticatedUser;
 import com.htc.productdevelopment.dto.ContractDTO;
+import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -33,23 +49,23 @@ import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
 
+import java.io.BufferedInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.URI;
+import java.net.URLConnection;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Base64;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
-import org.apache.http.HttpResponse;
-import org.apache.http.client.ClientProtocolException;
-import org.apache.http.client.HttpClient;
-import org.apache.http.client.methods.HttpGet;
-import org.apache.http.client.methods.HttpPost;
-import org.apache.http.client.methods.HttpPut;
-import org.apache.http.entity.StringEntity;
-import org.apache.http.impl.client.HttpClients;
-import org.apache.http.util.EntityUtils;
 //import org.json.JSONArray;
 //import org.json.JSONObject;
  
@@ -69,12 +85,29 @@ public class JiraService {
 
     // Logger for tracking service operations
     private static final Logger logger = LoggerFactory.getLogger(JiraService.class);
+
+    // Metadata caches defined in ehcache.xml; sync=true lets one caller load while concurrent callers wait
+    public static final String CACHE_FIELDS = "jiraFields";
+    public static final String CACHE_ISSUE_TYPES = "jiraIssueTypes";
+    public static final String CACHE_CREATE_META = "jiraCreateMeta";
+    public static final String CACHE_PROJECTS = "jiraProjects";
+    public static final String CACHE_REQUEST_MANAGEMENT_PROJECT = "jiraRequestManagementProject";
+
+    private static final String SNAPSHOT_PROJECTS = "projects";
+
+    // Jira rejects /rest/api/3/issue/bulk requests with more issues than this
+    public static final int BULK_CREATE_BATCH_SIZE = 50;
     
     // Configuration for Jira API connection
     private final JiraConfig jiraConfig;
     
-    // HTTP client for making API calls
+    // HTTP clients for making API calls, one per operation class over a shared connection pool
     private final RestTemplate restTemplate;
+    private final RestTemplate searchRestTemplate;
+    private final RestTemplate transferRestTemplate;
+
+    // Uninterceptored TRANSFER client for uploads streamed without buffering
+    private final ClientHttpRequestFactory streamingRequestFactory;
     
     @Autowired
     private ContractDetailsRepository contractDetailsRepository;
@@ -98,6 +131,21 @@ public class JiraService {
     // JSON parser for handling API responses
     private final ObjectMapper objectMapper;
 
+    @Autowired
+    private JiraIssueCache jiraIssueCache;
+
+    @Autowired
+    private JiraSnapshotStore jiraSnapshotStore;
+
+    @Autowired
+    private JiraRateGovernor jiraRateGovernor;
+
+    @Autowired
+    private JiraCircuitBreaker jiraCircuitBreaker;
+
+    // The API account never changes at runtime, so its /myself response is memoized
+    private volatile JsonNode apiUser;
+
     // Add getter for jiraConfig
     public JiraConfig getJiraConfig() {
         return jiraConfig;
@@ -106,12 +154,15 @@ public class JiraService {
     /**
      * Constructor to initialize dependencies
      * @param jiraConfig Configuration for Jira API connection
-     * @param restTemplate HTTP client for making API calls
+     * @param jiraRestTemplates Pooled HTTP clients for making API calls
      * @param objectMapper JSON parser for handling API responses
      */
-    public JiraService(JiraConfig jiraConfig, RestTemplate restTemplate, ObjectMapper objectMapper) {
+    public JiraService(JiraConfig jiraConfig, JiraRestTemplates jiraRestTemplates, ObjectMapper objectMapper) {
         this.jiraConfig = jiraConfig;
-        this.restTemplate = restTemplate;
+        this.restTemplate = jiraRestTemplates.forOperation(JiraRestTemplates.OperationClass.INTERACTIVE);
+        this.searchRestTemplate = jiraRestTemplates.forOperation(JiraRestTemplates.OperationClass.SEARCH);
+        this.transferRestTemplate = jiraRestTemplates.forOperation(JiraRestTemplates.OperationClass.TRANSFER);
+        this.streamingRequestFactory = jiraRestTemplates.getStreamingRequestFactory();
         this.objectMapper = objectMapper;
     }
     
@@ -156,6 +207,7 @@ public class JiraService {
      * Get all Jira projects
      * @return List of all Jira projects
      */
+    @Cacheable(cacheNames = CACHE_PROJECTS, key = "'all'", sync = true)
     public List<JiraProject> getAllProjects() {
         try {
             logger.info("Fetching all Jira projects");
@@ -168,15 +220,25 @@ public class JiraService {
             
             // Parse the response and create project objects
             List<JiraProject> projects = parseProjectsResponse(response);
+            jiraSnapshotStore.put(SNAPSHOT_PROJECTS, projects);
             
             logger.info("Successfully fetched {} projects", projects.size());
             return projects;
         } catch (Exception e) {
             logger.error("Error fetching all Jira projects", e);
-            return List.of(); // Return empty list on error
+            // Thrown rather than returning an empty list, so a failed fetch is never cached
+            throw new RuntimeException("Failed to fetch all Jira projects: " + e.getMessage(), e);
         }
     }
 
+    /**
+     * Drop all cached Jira metadata, e.g. after fields or issue types were changed in Jira
+     */
+    @CacheEvict(cacheNames = {CACHE_FIELDS, CACHE_ISSUE_TYPES, CACHE_CREATE_META, CACHE_PROJECTS, CACHE_REQUEST_MANAGEMENT_PROJECT}, allEntries = true)
+    public void evictMetadataCaches() {
+        logger.info("Evicted cached Jira metadata");
+    }
+
     /**
      * Parse projects response from Jira API
      * @param response The JSON response from Jira API
@@ -218,6 +280,7 @@ public class JiraService {
         }
     }
     
+    @Cacheable(cacheNames = CACHE_REQUEST_MANAGEMENT_PROJECT, key = "'project'", sync = true)
     public JsonNode getRequestManagementProject() {
         String projectKey = jiraConfig.getContractProjectKey(); // We’ll create getter
         String url = jiraConfig.getBaseUrl() + "/rest/api/3/project/" + projectKey;
@@ -229,9 +292,8 @@ public class JiraService {
             url, HttpMethod.GET, entity, String.class
         );
 
-        ObjectMapper mapper = new ObjectMapper();
         try {
-            return mapper.readTree(response.getBody());
+            return objectMapper.readTree(response.getBody());
         } catch (Exception e) {
             throw new RuntimeException("Failed to parse Request Management project details", e);
         }
@@ -294,189 +356,257 @@ public class JiraService {
     }
 
     /**
-     * Get all issues across all projects
-     * @return JsonNode containing all issues
-     * @throws Exception if the API call fails
+     * Visibility scope of a caller over Request Management issues.
+     * A null value means the corresponding restriction does not apply.
      */
-    public JsonNode getAllIssues(String userRole, Long userOrganizationId, Long userDepartmentId, String userEmail)
- throws Exception {
-        try {
-            logger.info("Fetching all issues across all projects with user context - Role: {}, Organization ID: {}, Department ID: {}", 
-                userRole, userOrganizationId, userDepartmentId);
-            
-            // Add detailed logging for debugging
-            logger.info("=== DEBUG INFO ===");
-            logger.info("User Role: {}", userRole);
-            logger.info("User Organization ID: {}", userOrganizationId);
-            logger.info("User Department ID: {}", userDepartmentId);
-            
-            // Build the API URL for searching all issues using the new JQL endpoint
-            String url = jiraConfig.getBaseUrl() + "/rest/api/3/search/jql";
-            
-            // Create the base JQL query
-            StringBuilder jqlBuilder = new StringBuilder("project = \"Request Management\"");
-            
-            // Convert organization and department IDs to names if they exist
-            String organizationName = null;
-            String departmentName = null;
-            
-            if (userOrganizationId != null) {
-                try {
-                    Organization org = organizationService.getOrganizationById(userOrganizationId)
-                            .orElse(null);
-                    if (org != null) {
-                        organizationName = org.getName();
-                        logger.info("Resolved organization ID {} to name: {}", userOrganizationId, organizationName);
-                    } else {
-                        logger.warn("Organization not found for ID: {}", userOrganizationId);
-                    }
-                } catch (Exception e) {
-                    logger.warn("Failed to resolve organization ID {}: {}", userOrganizationId, e.getMessage());
+    public static class IssueScope {
+        private final String organizationName;
+        private final String departmentName;
+        private final String requesterEmail;
+
+        public IssueScope(String organizationName, String departmentName, String requesterEmail) {
+            this.organizationName = organizationName;
+            this.departmentName = departmentName;
+            this.requesterEmail = requesterEmail;
+        }
+
+        public String getOrganizationName() {
+            return organizationName;
+        }
+
+        public String getDepartmentName() {
+            return departmentName;
+        }
+
+        public String getRequesterEmail() {
+            return requesterEmail;
+        }
+    }
+
+    /**
+     * Resolve the issues the authenticated caller may see; organization and department names
+     * come with the principal, so no lookups are needed
+     * @param caller The caller of the current request
+     * @return The resolved issue scope
+     */
+    public IssueScope resolveIssueScope(AuthenticatedUser caller) {
+        String organizationName = caller.getOrganizationName();
+        String departmentName = caller.getDepartmentName();
+        User.Role role = caller.getRole();
+
+        if (role == null) {
+            // Department filtering only applies together with an organization
+            return new IssueScope(organizationName, organizationName != null ? departmentName : null, null);
+        }
+        switch (role) {
+            case SUPER_ADMIN:
+                return new IssueScope(null, null, null);
+            case REQUESTER:
+                return new IssueScope(organizationName, departmentName, caller.getEmail());
+            default:
+                return new IssueScope(organizationName, departmentName, null);
+        }
+    }
+
+    /**
+     * Resolve the issues a user may see from their role and organization/department ids
+     * @param userRole The user's role (SUPER_ADMIN, ADMIN, APPROVER, REQUESTER)
+     * @param userOrganizationId The user's organization id
+     * @param userDepartmentId The user's department id
+     * @param userEmail The user's email, used to restrict requesters to their own requests
+     * @return The resolved issue scope
+     */
+    public IssueScope resolveIssueScope(String userRole, Long userOrganizationId, Long userDepartmentId, String userEmail) {
+        // Convert organization and department IDs to names if they exist
+        String organizationName = null;
+        String departmentName = null;
+        
+        if (userOrganizationId != null) {
+            try {
+                Organization org = organizationService.getOrganizationById(userOrganizationId)
+                        .orElse(null);
+                if (org != null) {
+                    organizationName = org.getName();
+                    logger.info("Resolved organization ID {} to name: {}", userOrganizationId, organizationName);
+                } else {
+                    logger.warn("Organization not found for ID: {}", userOrganizationId);
                 }
+            } catch (Exception e) {
+                logger.warn("Failed to resolve organization ID {}: {}", userOrganizationId, e.getMessage());
             }
-            
-            if (userDepartmentId != null) {
-                try {
-                    Department dept = departmentRepository.findById(userDepartmentId)
-                            .orElse(null);
-                    if (dept != null) {
-                        departmentName = dept.getName();
-                        logger.info("Resolved department ID {} to name: {}", userDepartmentId, departmentName);
-                    } else {
-                        logger.warn("Department not found for ID: {}", userDepartmentId);
-                    }
-                } catch (Exception e) {
-                    logger.warn("Failed to resolve department ID {}: {}", userDepartmentId, e.getMessage());
+        }
+        
+        if (userDepartmentId != null) {
+            try {
+                Department dept = departmentRepository.findById(userDepartmentId)
+                        .orElse(null);
+                if (dept != null) {
+                    departmentName = dept.getName();
+                    logger.info("Resolved department ID {} to name: {}", userDepartmentId, departmentName);
+                } else {
+                    logger.warn("Department not found for ID: {}", userDepartmentId);
                 }
+            } catch (Exception e) {
+                logger.warn("Failed to resolve department ID {}: {}", userDepartmentId, e.getMessage());
             }
-            
-            logger.info("Organization Name: {}", organizationName);
-            logger.info("Department Name: {}", departmentName);
-            
-            // Apply filtering based on user role
-         // Apply filtering based on user role
-            if (userRole != null) {
+        }
+        
+        if (userRole == null) {
+            logger.warn("User role is null, applying default filtering");
+            // Department filtering only applies together with an organization
+            return new IssueScope(organizationName, organizationName != null ? departmentName : null, null);
+        }
 
-                String orgField = jiraFieldConfig.getOrganizationName();   // "Organization"
-                String deptField = jiraFieldConfig.getDepartmentName();    // "Department"
+        switch (userRole) {
+            case "SUPER_ADMIN":
+                logger.info("SUPER_ADMIN → No filtering");
+                return new IssueScope(null, null, null);
 
-                switch (userRole) {
+            case "REQUESTER":
+                logger.info("REQUESTER → Filter by Org + Dept + Requester Email");
+                User requesterUser = null;
+                if (userEmail != null) {
+                    requesterUser = userRepository.findByEmail(userEmail).orElse(null);
+                }
+                String requesterEmail = requesterUser != null ? requesterUser.getEmail() : null;
+                return new IssueScope(organizationName, departmentName, requesterEmail);
 
-                    case "SUPER_ADMIN":
-                        logger.info("SUPER_ADMIN → No filtering");
-                        break;
+            case "ADMIN":
+            case "APPROVER":
+                logger.info("ADMIN/APPROVER → Filter by org + dept");
+                return new IssueScope(organizationName, departmentName, null);
 
-                    case "ADMIN":
-                    case "APPROVER":
-                        logger.info("ADMIN/APPROVER → Filter by org + dept");
+            default:
+                logger.warn("Unknown role → basic filtering");
+                return new IssueScope(organizationName, departmentName, null);
+        }
+    }
 
-                        if (organizationName != null)
-                            jqlBuilder.append(" AND \"").append(orgField).append("\" = \"").append(organizationName).append("\"");
+    /**
+     * Build the Request Management JQL restricted to the given scope
+     * @param scope The caller's issue scope
+     * @return JQL without an ORDER BY clause
+     */
+    private String buildScopedJql(IssueScope scope) {
+        StringBuilder jqlBuilder = new StringBuilder("project = \"Request Management\"");
 
-                        if (departmentName != null)
-                            jqlBuilder.append(" AND \"").append(deptField).append("\" = \"").append(departmentName).append("\"");
+        String orgField = jiraFieldConfig.getOrganizationName();   // "Organization"
+        String deptField = jiraFieldConfig.getDepartmentName();    // "Department"
 
-                        break;
+        if (scope.getOrganizationName() != null)
+            jqlBuilder.append(" AND \"").append(orgField).append("\" = \"").append(scope.getOrganizationName()).append("\"");
 
-                    case "REQUESTER":
-                        logger.info("REQUESTER → Filter by Org + Dept + Requester Email");
+        if (scope.getDepartmentName() != null)
+            jqlBuilder.append(" AND \"").append(deptField).append("\" = \"").append(scope.getDepartmentName()).append("\"");
 
-                        if (organizationName != null)
-                            jqlBuilder.append(" AND \"").append(orgField).append("\" = \"").append(organizationName).append("\"");
+        if (scope.getRequesterEmail() != null)
+            jqlBuilder.append(" AND \"").append(jiraFieldConfig.getRequesterEmail()).append("\" = \"").append(scope.getRequesterEmail()).append("\"");
 
-                        if (departmentName != null)
-                            jqlBuilder.append(" AND \"").append(deptField).append("\" = \"").append(departmentName).append("\"");
+        return jqlBuilder.toString();
+    }
 
-                        // 🔥 Add requester email filter (mandatory for requester role)
-                        String requesterEmailField = jiraFieldConfig.getRequesterEmail();
+    /**
+     * Fetch one page of a JQL search
+     * @param jql The JQL query
+     * @param fields The fields to return for each issue
+     * @param maxResults The page size
+     * @param nextPageToken The cursor returned by the previous page, or null for the first page
+     * @return JsonNode containing "issues" and, when more pages exist, "nextPageToken"
+     * @throws Exception if the API call fails
+     */
+    public JsonNode searchIssuesPage(String jql, List<String> fields, int maxResults, String nextPageToken) throws Exception {
+        String url = jiraConfig.getBaseUrl() + "/rest/api/3/search/jql";
+
+        Map<String, Object> requestBody = new HashMap<>();
+        requestBody.put("jql", jql);
+        requestBody.put("maxResults", maxResults);
+        requestBody.put("fields", fields);
+        if (nextPageToken != null) {
+            requestBody.put("nextPageToken", nextPageToken);
+        }
 
-                        User requesterUser = null;
-                        if (userEmail != null) {
-                            requesterUser = userRepository.findByEmail(userEmail).orElse(null);
-                        }
+        return makeJiraApiCall(url, HttpMethod.POST, requestBody, searchRestTemplate);
+    }
 
-                        if (requesterUser != null && requesterUser.getEmail() != null) {
-                            jqlBuilder.append(" AND \"")
-                                      .append(requesterEmailField)
-                                      .append("\" = \"")
-                                      .append(requesterUser.getEmail())
-                                      .append("\"");
-                        }
+    /**
+     * Callback receiving the "issues" array of one search page
+     */
+    @FunctionalInterface
+    public interface IssuePageHandler {
+        void handle(JsonNode issues) throws Exception;
+    }
 
+    /**
+     * Run a JQL search to completion, following Jira's nextPageToken cursor.
+     * Only one page is held in memory at a time.
+     * @param jql The JQL query
+     * @param fields The fields to return for each issue
+     * @param pageSize The number of issues requested per page
+     * @param handler Receives each page's issues in order
+     * @return Total number of issues handled
+     * @throws Exception if a page could not be fetched or the handler fails
+     */
+    public int searchAllIssues(String jql, List<String> fields, int pageSize, IssuePageHandler handler) throws Exception {
+        int total = 0;
+        String nextPageToken = null;
+        do {
+            JsonNode page = searchIssuesPage(jql, fields, pageSize, nextPageToken);
+            JsonNode issues = page.path("issues");
+            handler.handle(issues);
+            total += issues.size();
+            nextPageToken = page.hasNonNull("nextPageToken") ? page.get("nextPageToken").asText() : null;
+        } while (nextPageToken != null);
+        return total;
+    }
 
+    /**
+     * Stream every issue visible to the scope, newest key first
+     * @param scope The caller's issue scope
+     * @param pageSize The number of issues requested per page
+     * @param handler Receives each page's issues in order
+     * @return Total number of issues handled
+     * @throws Exception if a page could not be fetched or the handler fails
+     */
+    public int searchScopedIssues(IssueScope scope, int pageSize, IssuePageHandler handler) throws Exception {
+        String jql = buildScopedJql(scope) + " ORDER BY key DESC";
+        logger.info("Streaming issues with JQL: {}", jql);
+        // Page after page of reads; yields to interactive calls like any other bulk read
+        return JiraRateGovernor.callInLane(JiraRateGovernor.Lane.BACKGROUND, () ->
+                searchAllIssues(jql, jiraFieldConfig.fieldsFor(JiraFieldProfile.LIST_VIEW), pageSize, handler));
+    }
 
-                    default:
-                        logger.warn("Unknown role → basic filtering");
-                        if (organizationName != null)
-                            jqlBuilder.append(" AND \"").append(orgField).append("\" = \"").append(organizationName).append("\"");
-                        if (departmentName != null)
-                            jqlBuilder.append(" AND \"").append(deptField).append("\" = \"").append(departmentName).append("\"");
-                }
-            
-        
-            } else {
-                logger.warn("User role is null, applying default filtering");
-                // If no user role, apply basic filtering if org/dept are available
-                if (organizationName != null && departmentName != null) {
-                    jqlBuilder.append(" AND \"").append(jiraFieldConfig.getOrganization()).append("\" = \"").append(organizationName).append("\"");
-                    jqlBuilder.append(" AND \"").append(jiraFieldConfig.getDepartment()).append("\" = \"").append(departmentName).append("\"");
-                } else if (organizationName != null) {
-                    jqlBuilder.append(" AND \"").append(jiraFieldConfig.getOrganization()).append("\" = \"").append(organizationName).append("\"");
-                }
-            }
-            
-            jqlBuilder.append(" ORDER BY key DESC");
+    /**
+     * Get all issues across all projects
+     * @return JsonNode containing all issues
+     * @throws Exception if the API call fails
+     */
+    public JsonNode getAllIssues(String userRole, Long userOrganizationId, Long userDepartmentId, String userEmail)
+ throws Exception {
+        logger.info("Fetching all issues across all projects with user context - Role: {}, Organization ID: {}, Department ID: {}", 
+            userRole, userOrganizationId, userDepartmentId);
+        return getAllIssues(resolveIssueScope(userRole, userOrganizationId, userDepartmentId, userEmail));
+    }
+
+    /**
+     * Get all issues within a scope, following Jira's page cursor
+     * @param scope The caller's issue scope
+     * @return JsonNode with the issues and their total
+     * @throws Exception if the API call fails
+     */
+    public JsonNode getAllIssues(IssueScope scope) throws Exception {
+        try {
+            String jql = buildScopedJql(scope) + " ORDER BY key DESC";
             
-            logger.info("Final JQL query: {}", jqlBuilder.toString());
+            logger.info("Final JQL query: {}", jql);
             
-            // Create the request body with JQL and fields
-            Map<String, Object> requestBody = Map.of(
-                "jql", jqlBuilder.toString(),
-                "maxResults", 1000,
-                "fields", List.of(
-                    "*all",
-
-                    "summary",
-                    "project",
-                    "assignee",
-                    "issuetype",
-                    "status",
-                    "priority",
-                    "created",
-                    "updated",
-                    "reporter",
-                    "description",
-                    "duedate",
-
-                    // --- Contract custom fields ---
-                    jiraFieldConfig.getVendorName(),
-                    jiraFieldConfig.getProductName(),
-                    jiraFieldConfig.getBillingType(),
-                    jiraFieldConfig.getContractType(),
-                    jiraFieldConfig.getRequesterName(),
-                    jiraFieldConfig.getRequesterEmail(),
-                    jiraFieldConfig.getDepartment(),
-                    jiraFieldConfig.getAdditionalComment(),
-                    jiraFieldConfig.getDueDate(),
-                    jiraFieldConfig.getRenewalDate(),
-
-                    jiraFieldConfig.getCurrentLicenseCount(),
-                    jiraFieldConfig.getCurrentUsageCount(),
-                    jiraFieldConfig.getCurrentUnit(),
-
-                    jiraFieldConfig.getNewLicenseCount(),
-                    jiraFieldConfig.getNewUsageCount(),
-                    jiraFieldConfig.getNewUnit(),
-
-                    jiraFieldConfig.getLicenseUpdateType(),
-                    jiraFieldConfig.getExistingContractId(),
-                    jiraFieldConfig.getOrganization() // Include organization field
-                )
-
-            );
+            // Follow the cursor so results past the first page are not silently dropped
+            ArrayNode allIssues = objectMapper.createArrayNode();
+            int total = JiraRateGovernor.callInLane(JiraRateGovernor.Lane.BACKGROUND, () ->
+                    searchAllIssues(jql, jiraFieldConfig.fieldsFor(JiraFieldProfile.LIST_VIEW), 100, issues -> issues.forEach(allIssues::add)));
             
-            // Make the API call with POST method
-            JsonNode response = makeJiraApiCall(url, HttpMethod.POST, requestBody);
+            ObjectNode response = objectMapper.createObjectNode();
+            response.set("issues", allIssues);
+            response.put("total", total);
             
             logger.info("Successfully fetched all issues");
             return response;
@@ -506,31 +636,11 @@ public class JiraService {
             // Create the JQL query to get recent issues with a limit of 3
             // Using "project is not EMPTY" as a search restriction to avoid unbounded queries
             // Order by created date descending to get the most recent issues
-            // Include all the fields we need for the frontend, including custom fields
+            // Recent issues are shown and opened like any other list item, so they use the list projection
             Map<String, Object> requestBody = Map.of(
                 "jql", "project is not EMPTY ORDER BY created DESC",
                 "maxResults", 3,
-                "fields", List.of(
-                    "summary", 
-                    "project", 
-                    "assignee", 
-                    "issuetype", 
-                    "status", 
-                    "priority", 
-                    "created", 
-                    "updated", 
-                    "reporter",
-                    "description",
-                    "customfield_10200", 
-                    "customfield_10201",
-                    "labels",
-                    "components",
-                    "versions",
-                    "fixVersions",
-                    "environment",
-                    "duedate",
-                    "timetracking"
-                )
+                "fields", jiraFieldConfig.fieldsFor(JiraFieldProfile.LIST_VIEW)
             );
             
             // Make the API call with POST method
@@ -561,47 +671,7 @@ public class JiraService {
             Map<String, Object> requestBody = Map.of(
                 "jql", "project = \"" + projectKey + "\"",
                 "maxResults", 1000,
-                "fields", List.of(
-                	    "*all",
-
-                	    "summary",
-                	    "project",
-                	    "assignee",
-                	    "issuetype",
-                	    "status",
-                	    "priority",
-                	    "created",
-                	    "updated",
-                	    "reporter",
-                	    "description",
-                	    "duedate",
-
-                	    // --- Contract custom fields ---
-                	    jiraFieldConfig.getVendorName(),
-                	    jiraFieldConfig.getProductName(),
-                	    jiraFieldConfig.getBillingType(),
-                	    jiraFieldConfig.getContractType(),
-                	    jiraFieldConfig.getRequesterName(),
-                	    jiraFieldConfig.getRequesterEmail(),
-                	    jiraFieldConfig.getDepartment(),
-                	    jiraFieldConfig.getAdditionalComment(),
-                	    jiraFieldConfig.getDueDate(),
-                	    jiraFieldConfig.getRenewalDate(),
-
-                	    jiraFieldConfig.getCurrentLicenseCount(),
-                	    jiraFieldConfig.getCurrentUsageCount(),
-                	    jiraFieldConfig.getCurrentUnit(),
-
-                	    jiraFieldConfig.getNewLicenseCount(),
-                	    jiraFieldConfig.getNewUsageCount(),
-                	    jiraFieldConfig.getNewUnit(),
-
-                	    jiraFieldConfig.getLicenseUpdateType(),
-                	    jiraFieldConfig.getExistingContractId(),
-                	    jiraFieldConfig.getOrganization(),
-                	    jiraFieldConfig.getDepartment()
-                	    
-)
+                "fields", jiraFieldConfig.fieldsFor(JiraFieldProfile.LIST_VIEW)
             );
             
             // Make the API call with POST method
@@ -620,6 +690,7 @@ public class JiraService {
      * @return List of fields from Jira
      * @throws Exception if the API call fails
      */
+    @Cacheable(cacheNames = CACHE_FIELDS, key = "'all'", sync = true)
     public JsonNode getFields() throws Exception {
         try {
             logger.info("Fetching fields from Jira");
@@ -669,6 +740,7 @@ public class JiraService {
      * @return List of issue types from Jira
      * @throws Exception if the API call fails
      */
+    @Cacheable(cacheNames = CACHE_ISSUE_TYPES, key = "'all'", sync = true)
     public JsonNode getIssueTypes() throws Exception {
         try {
             logger.info("Fetching issue types from Jira");
@@ -894,6 +966,7 @@ public class JiraService {
             // Make the API call
             JsonNode response = makeJiraApiCall(url, HttpMethod.PUT, requestBody);
             logger.info("Issue updated successfully: {}", issueKey);
+            jiraIssueCache.invalidate(issueKey);
             
             return response;
         } catch (Exception e) {
@@ -945,6 +1018,7 @@ public class JiraService {
      * @return JsonNode containing the response
      * @throws Exception if the API call fails
      */
+    @CacheEvict(cacheNames = {CACHE_PROJECTS, CACHE_CREATE_META}, allEntries = true)
     public JsonNode createProject(Map<String, Object> projectData) throws Exception {
         try {
             logger.info("Creating new Jira project");
@@ -972,6 +1046,19 @@ public class JiraService {
      * @throws Exception if the API call fails
      */
     private JsonNode makeJiraApiCall(String url, HttpMethod method, Object body) throws Exception {
+        return makeJiraApiCall(url, method, body, restTemplate);
+    }
+
+    /**
+     * Make a Jira API call using the client of a specific operation class
+     * @param url The API endpoint URL
+     * @param method The HTTP method to use
+     * @param body The request body (for POST/PUT requests)
+     * @param client The RestTemplate for the operation class (interactive, search or transfer)
+     * @return JsonNode containing the response
+     * @throws Exception if the API call fails
+     */
+    private JsonNode makeJiraApiCall(String url, HttpMethod method, Object body, RestTemplate client) throws Exception {
         // Create authorization header using email and API token
         String credentials = jiraConfig.getEmail() + ":" + jiraConfig.getApiToken();
         String encodedCredentials = Base64.getEncoder().encodeToString(credentials.getBytes(StandardCharsets.UTF_8));
@@ -1027,7 +1114,7 @@ public class JiraService {
         try {
             // Make the API call with timeout
             logger.info("Executing request to Jira API...");
-            ResponseEntity<String> response = restTemplate.exchange(requestEntity, String.class);
+            ResponseEntity<String> response = client.exchange(requestEntity, String.class);
             logger.info("Received response from Jira API: {} {}", response.getStatusCode(), response.getStatusCodeValue());
             
             // Handle empty responses (204 No Content, etc.)
@@ -1064,6 +1151,7 @@ public class JiraService {
      * @return JsonNode containing the response
      * @throws Exception if the API call fails
      */
+    @CacheEvict(cacheNames = {CACHE_PROJECTS, CACHE_CREATE_META}, allEntries = true)
     public JsonNode deleteProject(String projectKey) throws Exception {
         try {
             logger.info("Deleting Jira project with key: {}", projectKey);
@@ -1098,6 +1186,8 @@ public class JiraService {
             // Make the API call
             JsonNode response = makeJiraApiCall(url, HttpMethod.DELETE, null);
             logger.info("Issue deleted successfully: {}", issueIdOrKey);
+            jiraIssueCache.invalidate(issueIdOrKey);
+            jiraSnapshotStore.remove(issueSnapshotKey(issueIdOrKey));
             
             return response;
         } catch (Exception e) {
@@ -1116,12 +1206,12 @@ public class JiraService {
         try {
             logger.info("Fetching Jira issue with ID/Key: {}", issueIdOrKey);
             
-            // Build the API URL for getting a specific issue with all expandable fields and explicitly request all fields including attachment
-            String url = jiraConfig.getBaseUrl() + "/rest/api/3/issue/" + issueIdOrKey + "?expand=renderedFields,names,schema,transitions,operations,editmeta,changelog&fields=*all";
-            
-            // Make the API call
-            JsonNode response = makeJiraApiCall(url, HttpMethod.GET, null);
+            JsonNode response = getCachedIssueDetail(issueIdOrKey, "getIssueByIdOrKey");
             logger.info("Issue fetched successfully: {}", issueIdOrKey);
+            jiraSnapshotStore.put(issueSnapshotKey(issueIdOrKey), response);
+            if (response.hasNonNull("key")) {
+                jiraSnapshotStore.put(issueSnapshotKey(response.get("key").asText()), response);
+            }
             
             return response;
         } catch (Exception e) {
@@ -1130,6 +1220,122 @@ public class JiraService {
         }
     }
     
+    /**
+     * Last good detail payload of an issue, for serving stale data while Jira is unavailable
+     * @param issueIdOrKey The issue ID or key
+     * @return The snapshot, or null if the issue was not read since startup
+     */
+    public JiraSnapshotStore.Snapshot<JsonNode> getIssueSnapshot(String issueIdOrKey) {
+        return jiraSnapshotStore.get(issueSnapshotKey(issueIdOrKey), JsonNode.class);
+    }
+
+    /**
+     * Last good project list, for serving stale data while Jira is unavailable
+     * @return The snapshot, or null if the projects were not read since startup
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public JiraSnapshotStore.Snapshot<List<JiraProject>> getProjectsSnapshot() {
+        JiraSnapshotStore.Snapshot<List> snapshot = jiraSnapshotStore.get(SNAPSHOT_PROJECTS, List.class);
+        return snapshot == null ? null
+                : new JiraSnapshotStore.Snapshot<>((List<JiraProject>) snapshot.getValue(), snapshot.getCapturedAt());
+    }
+
+    private String issueSnapshotKey(String issueIdOrKey) {
+        return "issue:" + issueIdOrKey.trim().toUpperCase();
+    }
+
+    /**
+     * DETAIL_VIEW payload of an issue through the per-issue cache
+     * @param issueIdOrKey The issue ID or key
+     * @param method Name of the calling method, for the cache counters
+     * @return JsonNode containing the issue with detail fields and expanded transitions
+     * @throws Exception if the API call fails
+     */
+    private JsonNode getCachedIssueDetail(String issueIdOrKey, String method) throws Exception {
+        return jiraIssueCache.get(issueIdOrKey, JiraIssueCache.VIEW_DETAIL, method,
+                () -> getIssue(issueIdOrKey, JiraFieldProfile.DETAIL_VIEW),
+                () -> getIssueUpdated(issueIdOrKey));
+    }
+
+    /**
+     * Current "updated" timestamp of an issue, used to validate cached views
+     * @param issueIdOrKey The issue ID or key
+     * @return The updated timestamp as Jira formats it
+     * @throws Exception if the API call fails
+     */
+    private String getIssueUpdated(String issueIdOrKey) throws Exception {
+        String url = jiraConfig.getBaseUrl() + "/rest/api/3/issue/" + issueIdOrKey + "?fields=updated";
+        return makeJiraApiCall(url, HttpMethod.GET, null).path("fields").path("updated").asText(null);
+    }
+
+    /**
+     * Per-issue cache counters
+     * @return Hit/miss counters per calling method
+     */
+    public Map<String, Object> getIssueCacheStats() {
+        return jiraIssueCache.getStats();
+    }
+
+    /**
+     * Get a Jira issue with only the fields of the given projection profile
+     * @param issueIdOrKey The issue ID or key
+     * @param profile The projection profile
+     * @return JsonNode containing the projected issue
+     * @throws Exception if the API call fails
+     */
+    public JsonNode getIssue(String issueIdOrKey, JiraFieldProfile profile) throws Exception {
+        String url = jiraConfig.getBaseUrl() + "/rest/api/3/issue/" + issueIdOrKey + "?" + issueQuery(profile);
+        return makeJiraApiCall(url, HttpMethod.GET, null);
+    }
+
+    /**
+     * Query string used to fetch a single issue for a projection profile
+     * @param profile The projection profile
+     * @return Query string without the leading "?"
+     */
+    private String issueQuery(JiraFieldProfile profile) {
+        String query = "fields=" + jiraFieldConfig.fieldsParam(profile);
+        if (profile == JiraFieldProfile.DETAIL_VIEW || profile == JiraFieldProfile.TRANSITION) {
+            // Transitions are shown next to the issue / resolved before transitioning, so they come back with it
+            query += "&expand=transitions";
+        }
+        return query;
+    }
+
+    /**
+     * Fetch an issue once with the legacy "*all" query and once per projection profile,
+     * reporting payload bytes and JSON parse time for each
+     * @param issueIdOrKey The issue ID or key to measure against
+     * @return One entry per variant with profile, payloadBytes, parseMicros and fieldCount
+     * @throws Exception if an API call fails
+     */
+    public List<Map<String, Object>> benchmarkIssueProjections(String issueIdOrKey) throws Exception {
+        Map<String, String> variants = new java.util.LinkedHashMap<>();
+        variants.put("ALL", "expand=renderedFields,names,schema,transitions,operations,editmeta,changelog&fields=*all");
+        for (JiraFieldProfile profile : JiraFieldProfile.values()) {
+            variants.put(profile.name(), issueQuery(profile));
+        }
+
+        HttpEntity<Void> entity = new HttpEntity<>(createAuthHeaders());
+        List<Map<String, Object>> results = new ArrayList<>();
+        for (Map.Entry<String, String> variant : variants.entrySet()) {
+            String url = jiraConfig.getBaseUrl() + "/rest/api/3/issue/" + issueIdOrKey + "?" + variant.getValue();
+            String body = restTemplate.exchange(url, HttpMethod.GET, entity, String.class).getBody();
+
+            long start = System.nanoTime();
+            JsonNode parsed = objectMapper.readTree(body);
+            long parseMicros = (System.nanoTime() - start) / 1000;
+
+            Map<String, Object> result = new HashMap<>();
+            result.put("profile", variant.getKey());
+            result.put("payloadBytes", body != null ? body.getBytes(StandardCharsets.UTF_8).length : 0);
+            result.put("parseMicros", parseMicros);
+            result.put("fieldCount", parsed.path("fields").size());
+            results.add(result);
+        }
+        return results;
+    }
+
     /**
      * Get a specific field value from a Jira issue
      * @param issueIdOrKey The issue ID or key
@@ -1141,8 +1347,15 @@ public class JiraService {
         try {
             logger.info("Fetching field value {} for issue: {}", fieldId, issueIdOrKey);
             
-            // Get the full issue details
-            JsonNode issue = getIssueByIdOrKey(issueIdOrKey);
+            JsonNode issue;
+            if (jiraFieldConfig.fieldsFor(JiraFieldProfile.DETAIL_VIEW).contains(fieldId)) {
+                // Detail fields are answered from the cached issue
+                issue = getCachedIssueDetail(issueIdOrKey, "getIssueFieldValue");
+            } else {
+                // Request only the one field
+                String url = jiraConfig.getBaseUrl() + "/rest/api/3/issue/" + issueIdOrKey + "?fields=" + fieldId;
+                issue = makeJiraApiCall(url, HttpMethod.GET, null);
+            }
             
             logger.info("Successfully fetched issue details for: {}", issueIdOrKey);
             
@@ -1181,8 +1394,10 @@ public class JiraService {
             // Build the API URL for getting comments
             String url = jiraConfig.getBaseUrl() + "/rest/api/2/issue/" + issueIdOrKey + "/comment";
             
-            // Make the API call
-            JsonNode response = makeJiraApiCall(url, HttpMethod.GET, null);
+            // Make the API call, unless the issue has not changed since the comments were cached
+            JsonNode response = jiraIssueCache.get(issueIdOrKey, JiraIssueCache.VIEW_COMMENTS, "getIssueComments",
+                    () -> makeJiraApiCall(url, HttpMethod.GET, null),
+                    () -> getIssueUpdated(issueIdOrKey));
             logger.info("Comments fetched successfully for issue: {}", issueIdOrKey);
             
             return response;
@@ -1259,8 +1474,9 @@ public JsonNode addAttachmentToIssue(String issueIdOrKey, byte[] fileContent, St
                 RequestEntity.post(uri).headers(headers).body(body);
 
         // Execute
-        ResponseEntity<String> response = restTemplate.exchange(requestEntity, String.class);
+        ResponseEntity<String> response = transferRestTemplate.exchange(requestEntity, String.class);
         logger.info("Response from Jira: {}", response.getBody());
+        jiraIssueCache.invalidate(issueIdOrKey);
 
         // Parse JSON
         String responseBody = response.getBody();
@@ -1274,6 +1490,181 @@ public JsonNode addAttachmentToIssue(String issueIdOrKey, byte[] fileContent, St
     }
 }
 
+
+    /**
+     * Outcome of a streamed attachment upload, with the size and type observed while streaming
+     */
+    public static class StreamedAttachment {
+        private final JsonNode jiraResponse;
+        private final long size;
+        private final String mimeType;
+
+        public StreamedAttachment(JsonNode jiraResponse, long size, String mimeType) {
+            this.jiraResponse = jiraResponse;
+            this.size = size;
+            this.mimeType = mimeType;
+        }
+
+        public JsonNode getJiraResponse() {
+            return jiraResponse;
+        }
+
+        public long getSize() {
+            return size;
+        }
+
+        public String getMimeType() {
+            return mimeType;
+        }
+    }
+
+    /**
+     * Add an attachment to a Jira issue, streaming the content to Jira with chunked transfer encoding
+     * instead of holding it in memory
+     * @param issueIdOrKey The issue ID or key
+     * @param fileName The name of the file
+     * @param contentType The content type declared by the client, or null
+     * @param content The file content; read exactly once
+     * @return Jira's response with the number of bytes sent and the detected mime type
+     * @throws Exception if the API call fails
+     */
+    public StreamedAttachment addAttachmentToIssue(String issueIdOrKey, String fileName, String contentType,
+                                                   InputStream content) throws Exception {
+        try {
+            logger.info("Streaming attachment {} to Jira issue: {}", fileName, issueIdOrKey);
+
+            URI uri = UriComponentsBuilder.fromUriString(jiraConfig.getBaseUrl() + "/rest/api/3/issue/" + issueIdOrKey + "/attachments").build().toUri();
+
+            BufferedInputStream buffered = new BufferedInputStream(content, ATTACHMENT_BUFFER_SIZE);
+            String mimeType = detectMimeType(buffered, fileName, contentType);
+            CountingInputStream counted = new CountingInputStream(buffered);
+
+            // A length of -1 keeps the converter from reading the stream to measure it
+            org.springframework.core.io.InputStreamResource fileResource = new org.springframework.core.io.InputStreamResource(counted) {
+                @Override
+                public String getFilename() {
+                    return fileName;
+                }
+
+                @Override
+                public long contentLength() {
+                    return -1;
+                }
+            };
+            HttpHeaders partHeaders = new HttpHeaders();
+            partHeaders.setContentType(org.springframework.http.MediaType.parseMediaType(mimeType));
+            org.springframework.util.LinkedMultiValueMap<String, Object> body = new org.springframework.util.LinkedMultiValueMap<>();
+            body.add("file", new HttpEntity<>(fileResource, partHeaders));
+
+            ClientHttpRequest request = streamingRequestFactory.createRequest(uri, HttpMethod.POST);
+            request.getHeaders().setBasicAuth(jiraConfig.getEmail(), jiraConfig.getApiToken());
+            request.getHeaders().set("X-Atlassian-Token", "no-check");
+            // The body is written while the request executes, straight from the stream
+            new FormHttpMessageConverter().write(body, org.springframework.http.MediaType.MULTIPART_FORM_DATA, request);
+
+            // Same guards the interceptors apply to buffered calls; no retries since the stream cannot be replayed
+            jiraCircuitBreaker.beforeCall();
+            try {
+                jiraRateGovernor.acquire(JiraRateGovernor.currentLane());
+            } catch (JiraRateGovernor.PermitTimeoutException e) {
+                jiraCircuitBreaker.abandonCall();
+                throw e;
+            }
+
+            ClientHttpResponse response;
+            try {
+                response = request.execute();
+            } catch (IOException e) {
+                if (counted.hasFailed()) {
+                    // The client's upload broke off; says nothing about Jira's health
+                    jiraCircuitBreaker.abandonCall();
+                } else {
+                    jiraCircuitBreaker.afterCall(true, 0);
+                }
+                throw e;
+            }
+
+            try (response) {
+                jiraRateGovernor.onResponse(response.getStatusCode().value(), response.getHeaders());
+                // Upload duration reflects the client's bandwidth and file size, not Jira's latency
+                jiraCircuitBreaker.afterCall(response.getStatusCode().is5xxServerError(), 0);
+                if (response.getStatusCode().isError()) {
+                    new DefaultResponseErrorHandler().handleError(uri, HttpMethod.POST, response);
+                }
+
+                String responseBody = StreamUtils.copyToString(response.getBody(), StandardCharsets.UTF_8);
+                logger.info("Streamed {} bytes to Jira issue {}", counted.getCount(), issueIdOrKey);
+                jiraIssueCache.invalidate(issueIdOrKey);
+
+                JsonNode jiraResponse = responseBody.isEmpty() ? objectMapper.createArrayNode() : objectMapper.readTree(responseBody);
+                return new StreamedAttachment(jiraResponse, counted.getCount(), mimeType);
+            }
+        } catch (Exception e) {
+            logger.error("Error adding attachment to Jira issue: {}", issueIdOrKey, e);
+            throw new Exception("Failed to add attachment to issue " + issueIdOrKey + ": " + e.getMessage(), e);
+        }
+    }
+
+    // Declared type first, then the file name, then the leading bytes (peeked with mark/reset)
+    private static String detectMimeType(BufferedInputStream content, String fileName, String declared) throws IOException {
+        if (declared != null && !declared.isBlank() && !org.springframework.http.MediaType.APPLICATION_OCTET_STREAM_VALUE.equals(declared)) {
+            return declared;
+        }
+        Optional<org.springframework.http.MediaType> byName = MediaTypeFactory.getMediaType(fileName);
+        if (byName.isPresent()) {
+            return byName.get().toString();
+        }
+        String sniffed = URLConnection.guessContentTypeFromStream(content);
+        return sniffed != null ? sniffed : org.springframework.http.MediaType.APPLICATION_OCTET_STREAM_VALUE;
+    }
+
+    /**
+     * Counts the bytes read through it and remembers whether the source failed
+     */
+    private static class CountingInputStream extends FilterInputStream {
+        private long count;
+        private boolean failed;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            try {
+                int b = super.read();
+                if (b != -1) {
+                    count++;
+                }
+                return b;
+            } catch (IOException e) {
+                failed = true;
+                throw e;
+            }
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            try {
+                int read = super.read(b, off, len);
+                if (read > 0) {
+                    count += read;
+                }
+                return read;
+            } catch (IOException e) {
+                failed = true;
+                throw e;
+            }
+        }
+
+        long getCount() {
+            return count;
+        }
+
+        boolean hasFailed() {
+            return failed;
+        }
+    }
     
     /**
      * Get attachments for a Jira issue
@@ -1285,12 +1676,8 @@ public JsonNode addAttachmentToIssue(String issueIdOrKey, byte[] fileContent, St
         try {
             logger.info("Fetching attachments for Jira issue: {}", issueIdOrKey);
             
-            // Build the API URL for getting attachments - explicitly request only the attachment field
-            String url = jiraConfig.getBaseUrl() + "/rest/api/3/issue/" + issueIdOrKey + "?fields=attachment";
-            
-            // Make the API call
-            JsonNode response = makeJiraApiCall(url, HttpMethod.GET, null);
-            logger.info("Full response from Jira for attachments: {}", response);
+            // The attachment field is part of the cached detail payload
+            JsonNode response = getCachedIssueDetail(issueIdOrKey, "getIssueAttachments");
             
             // Extract attachments from the response
             JsonNode fieldsNode = response.get("fields");
@@ -1314,44 +1701,76 @@ public JsonNode addAttachmentToIssue(String issueIdOrKey, byte[] fileContent, St
         }
     }
     
+    // Bytes copied per read when proxying attachment content
+    private static final int ATTACHMENT_BUFFER_SIZE = 8192;
+
+    // Upstream headers a client needs to render, resume or seek within an attachment
+    private static final List<String> ATTACHMENT_RESPONSE_HEADERS = List.of(
+            HttpHeaders.CONTENT_TYPE, HttpHeaders.CONTENT_LENGTH, HttpHeaders.CONTENT_RANGE,
+            HttpHeaders.ACCEPT_RANGES, HttpHeaders.CONTENT_DISPOSITION, HttpHeaders.ETAG, HttpHeaders.LAST_MODIFIED);
+
+    /**
+     * Receives the upstream attachment response before its body is copied
+     */
+    public interface AttachmentResponseHandler {
+        /**
+         * @param status The Jira status (200, or 206 for a range request)
+         * @param headers The pass-through headers (content type, length, range, ...)
+         * @return Where the body is copied to
+         */
+        OutputStream open(int status, HttpHeaders headers) throws IOException;
+    }
+
     /**
-     * Get attachment content by ID
+     * Stream attachment content by ID without holding it in memory
      * @param attachmentId The attachment ID
-     * @return byte array containing the attachment content
-     * @throws Exception if the API call fails
+     * @param range The client's Range header, or null for the whole file
+     * @param ifRange The client's If-Range header, or null
+     * @param handler Called once the response from Jira arrives; the body is copied to the stream it returns
+     * @return Number of bytes copied
+     * @throws Exception if the API call fails before any content was copied
      */
-    public byte[] getAttachmentContent(String attachmentId) throws Exception {
-        try {
-            logger.info("Fetching attachment content for ID: {}", attachmentId);
-            
-            // Build the API URL for getting attachment content
-            String url = jiraConfig.getBaseUrl() + "/rest/api/3/attachment/content/" + attachmentId;
-            
-            // Create authorization header using email and API token
-            String credentials = jiraConfig.getEmail() + ":" + jiraConfig.getApiToken();
-            String encodedCredentials = Base64.getEncoder().encodeToString(credentials.getBytes(StandardCharsets.UTF_8));
-            
-            // Build the URI
-            URI uri = UriComponentsBuilder.fromUriString(url).build().toUri();
-            
-            // Create headers for the request
-            org.springframework.http.HttpHeaders headers = new org.springframework.http.HttpHeaders();
-            headers.set("Authorization", "Basic " + encodedCredentials);
-            headers.set("Accept", "*/*"); // Accept any content type for binary data
-            
-            // Create request entity
-            RequestEntity<?> requestEntity = new RequestEntity<>(headers, HttpMethod.GET, uri);
-            
-            // Make the API call
-            ResponseEntity<byte[]> response = restTemplate.exchange(requestEntity, byte[].class);
-            
-            logger.info("Attachment content fetched successfully for ID: {}", attachmentId);
-            
-            return response.getBody();
-        } catch (Exception e) {
-            logger.error("Error fetching attachment content for ID: {}", attachmentId, e);
-            throw new Exception("Failed to fetch attachment content for ID " + attachmentId + ": " + e.getMessage(), e);
-        }
+    public long streamAttachmentContent(String attachmentId, String range, String ifRange,
+                                        AttachmentResponseHandler handler) throws Exception {
+        logger.info("Streaming attachment content for ID: {}", attachmentId);
+
+        String url = jiraConfig.getBaseUrl() + "/rest/api/3/attachment/content/" + attachmentId;
+        URI uri = UriComponentsBuilder.fromUriString(url).build().toUri();
+
+        Long copied = transferRestTemplate.execute(uri, HttpMethod.GET, request -> {
+            request.getHeaders().setBasicAuth(jiraConfig.getEmail(), jiraConfig.getApiToken());
+            request.getHeaders().set(HttpHeaders.ACCEPT, "*/*"); // Accept any content type for binary data
+            if (range != null && !range.isBlank()) {
+                request.getHeaders().set(HttpHeaders.RANGE, range);
+                if (ifRange != null && !ifRange.isBlank()) {
+                    request.getHeaders().set(HttpHeaders.IF_RANGE, ifRange);
+                }
+            }
+        }, response -> {
+            HttpHeaders headers = new HttpHeaders();
+            for (String name : ATTACHMENT_RESPONSE_HEADERS) {
+                String value = response.getHeaders().getFirst(name);
+                if (value != null) {
+                    headers.set(name, value);
+                }
+            }
+            OutputStream out = handler.open(response.getStatusCode().value(), headers);
+
+            long total = 0;
+            byte[] buffer = new byte[ATTACHMENT_BUFFER_SIZE];
+            try (InputStream in = response.getBody()) {
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    out.write(buffer, 0, read);
+                    total += read;
+                }
+            }
+            out.flush();
+            return total;
+        });
+
+        logger.info("Streamed {} bytes of attachment {}", copied, attachmentId);
+        return copied != null ? copied : 0;
     }
     
     /**
@@ -1384,14 +1803,9 @@ public JsonNode addAttachmentToIssue(String issueIdOrKey, byte[] fileContent, St
         try {
             logger.info("Fetching transitions for Jira issue: {}", issueIdOrKey);
             
-            // Build the API URL for getting transitions
-            String url = jiraConfig.getBaseUrl() + "/rest/api/3/issue/" + issueIdOrKey + "/transitions";
-            
-            // Make the API call
-            JsonNode response = makeJiraApiCall(url, HttpMethod.GET, null);
+            // The detail payload is fetched with expand=transitions, so it carries the same list
+            JsonNode response = getCachedIssueDetail(issueIdOrKey, "getIssueTransitions");
             logger.info("Transitions fetched successfully for issue: {}", issueIdOrKey);
-            logger.info("Raw transitions response type: {}", response.getClass().getName());
-            logger.info("Raw transitions response: {}", response.toString());
             
             JsonNode transitionsNode = response.get("transitions");
 
@@ -1415,115 +1829,187 @@ public JsonNode addAttachmentToIssue(String issueIdOrKey, byte[] fileContent, St
     }
     
     /**
-     * Transition a Jira issue to a new status
-     * @param issueIdOrKey The issue ID or key
+     * Outcome of {@link #performTransition(String, String)}.
+     * The issue payload is the one fetched before the transition, with its status replaced by the transition target.
+     * Its "updated", resolution and any fields set by workflow post-functions are stale, so it must not be
+     * written to the issue mirror; re-fetch the issue for that.
+     */
+    public static class TransitionResult {
+        private final String issueKey;
+        private final String fromStatus;
+        private final String toStatus;
+        private final JsonNode issue;
+
+        public TransitionResult(String issueKey, String fromStatus, String toStatus, JsonNode issue) {
+            this.issueKey = issueKey;
+            this.fromStatus = fromStatus;
+            this.toStatus = toStatus;
+            this.issue = issue;
+        }
+
+        public String getIssueKey() {
+            return issueKey;
+        }
+
+        public String getFromStatus() {
+            return fromStatus;
+        }
+
+        public String getToStatus() {
+            return toStatus;
+        }
+
+        public JsonNode getIssue() {
+            return issue;
+        }
+
+        public boolean isStatusChanged() {
+            return fromStatus == null || !fromStatus.equalsIgnoreCase(toStatus);
+        }
+    }
+
+    /**
+     * Called with the resolved statuses right before a transition is sent to Jira
+     */
+    @FunctionalInterface
+    public interface TransitionSendHandler {
+        void beforeSend(String fromStatus, String toStatus) throws Exception;
+    }
+
+    /**
+     * Transition a Jira issue with two Jira calls: one issue fetch with expanded transitions, which gives the
+     * current status and the target status of the chosen transition, and the transition POST itself.
+     * When the target is Completed the fetched payload is used to save contract details.
+     * @param issueKey The issue key
      * @param transitionId The ID of the transition to execute
-     * @return JsonNode containing the response
-     * @throws Exception if the API call fails
+     * @return The from/to status and the pre-transition payload with the new status
+     * @throws Exception if the transition is not available or an API call fails
      */
-    private static String encodeCredentials(String username, String apiToken) {
-        String credentials = username + ":" + apiToken;
-        return Base64.getEncoder().encodeToString(credentials.getBytes(StandardCharsets.UTF_8));
+    public TransitionResult performTransition(String issueKey, String transitionId) throws Exception {
+        return performTransition(issueKey, transitionId, (fromStatus, toStatus) -> { });
     }
 
-    public boolean transitionIssue(String issueKey, String transitionId) {
-        try {
-            String user = jiraConfig.getEmail();
-            String apiToken = jiraConfig.getApiToken();
-            String url = jiraConfig.getBaseUrl() 
-                    + "/rest/api/3/issue/" + issueKey + "/transitions";
-
-            HttpClient httpClient = HttpClients.createDefault();
-            HttpPost httpPost = new HttpPost(url);
-
-            httpPost.setHeader("Authorization", "Basic " + encodeCredentials(user, apiToken));
-            httpPost.setHeader("Accept", "application/json");
-            httpPost.setHeader("Content-Type", "application/json");
-
-            // 🔥 Using Jackson to build JSON
-            ObjectMapper mapper = new ObjectMapper();
-            ObjectNode root = mapper.createObjectNode();
-            ObjectNode transitionObj = mapper.createObjectNode();
-            transitionObj.put("id", transitionId);
-            root.set("transition", transitionObj);
-
-            httpPost.setEntity(new StringEntity(mapper.writeValueAsString(root)));
-
-            HttpResponse response = httpClient.execute(httpPost);
-            int status = response.getStatusLine().getStatusCode();
-            String responseBody = EntityUtils.toString(response.getEntity());
-
-            logger.info("➡️ TRANSITION CALL → {}", url);
-            logger.info("➡️ PAYLOAD → {}", mapper.writeValueAsString(root));
-            logger.info("⬅️ STATUS = {}", status);
-            logger.info("⬅️ RESPONSE = {}", responseBody);
-
-            if (status == 204 || status == 201) {
-                logger.info("✅ Jira transition SUCCESS → {} -> {}", issueKey, transitionId);
-                
-                // Check if the issue status is now "Completed" and save contract details if so
-                try {
-                    String currentStatus = getIssueStatus(issueKey);
-                    logger.info("Current status after transition: {}", currentStatus);
-                    
-                    if ("Completed".equalsIgnoreCase(currentStatus)) {
-                        logger.info("Issue {} is now completed, checking for contract details to save", issueKey);
-                        
-                        // Get the issue details to extract vendor details
-                        JsonNode issue = getIssueByIdOrKey(issueKey);
-                        JsonNode fields = issue.path("fields");
-                        
-                        // Extract vendor details from custom fields
-                        Map<String, Object> vendorDetails = new HashMap<>();
-                        
-                        // Extract basic information
-                        vendorDetails.put("vendorName", getTextValue(fields, jiraFieldConfig.getVendorName()));
-                        vendorDetails.put("productName", getTextValue(fields, jiraFieldConfig.getProductName()));
-                        vendorDetails.put("vendorContractType", getTextValue(fields, jiraFieldConfig.getBillingType()));
-                        vendorDetails.put("billingType", getTextValue(fields, jiraFieldConfig.getBillingType()));
-                        vendorDetails.put("contractMode", getTextValue(fields, jiraFieldConfig.getContractType()));
-                        vendorDetails.put("requesterName", getTextValue(fields, jiraFieldConfig.getRequesterName()));
-                        vendorDetails.put("requesterMail", getTextValue(fields, jiraFieldConfig.getRequesterEmail()));
-                        vendorDetails.put("department", getTextValue(fields, jiraFieldConfig.getDepartment()));
-                        vendorDetails.put("organization", getTextValue(fields, jiraFieldConfig.getOrganization()));
-                        vendorDetails.put("additionalComment", getTextValue(fields, jiraFieldConfig.getAdditionalComment()));
-                        vendorDetails.put("dueDate", getTextValue(fields, jiraFieldConfig.getDueDate()));
-                        vendorDetails.put("renewalDate", getTextValue(fields, jiraFieldConfig.getRenewalDate()));
-                        vendorDetails.put("currentLicenseCount", getTextValue(fields, jiraFieldConfig.getCurrentLicenseCount()));
-                        vendorDetails.put("currentUsageCount", getTextValue(fields, jiraFieldConfig.getCurrentUsageCount()));
-                        vendorDetails.put("currentUnits", getTextValue(fields, jiraFieldConfig.getCurrentUnit()));
-                        vendorDetails.put("newLicenseCount", getTextValue(fields, jiraFieldConfig.getNewLicenseCount()));
-                        vendorDetails.put("newUsageCount", getTextValue(fields, jiraFieldConfig.getNewUsageCount()));
-                        vendorDetails.put("newUnits", getTextValue(fields, jiraFieldConfig.getNewUnit()));
-                        // Additional fields for RequestSplitView
-                        vendorDetails.put("licenseUpdateType", getTextValue(fields, jiraFieldConfig.getLicenseUpdateType()));
-                        vendorDetails.put("existingContractId", getTextValue(fields, jiraFieldConfig.getExistingContractId()));
-                        vendorDetails.put("contractDuration", getTextValue(fields, jiraFieldConfig.getContractDuration()));
-                        
-                        // Extract issue updated date for completion date calculation
-                        String updatedDate = issue.path("updated").asText();
-                        vendorDetails.put("completionDate", updatedDate);
+    /**
+     * Transition a Jira issue, letting the caller record the target status before the POST is sent
+     * @param issueKey The issue key
+     * @param transitionId The ID of the transition to execute
+     * @param beforeSend Called with the current and the target status once the transition is resolved
+     * @return The from/to status and the pre-transition payload with the new status
+     * @throws Exception if the transition is not available, the handler fails or an API call fails
+     */
+    public TransitionResult performTransition(String issueKey, String transitionId, TransitionSendHandler beforeSend) throws Exception {
+        JsonNode issue = getIssue(issueKey, JiraFieldProfile.TRANSITION);
+        String fromStatus = issue.path("fields").path("status").path("name").asText(null);
+
+        JsonNode transition = null;
+        for (JsonNode candidate : issue.path("transitions")) {
+            if (transitionId.equals(candidate.path("id").asText())) {
+                transition = candidate;
+                break;
+            }
+        }
+        if (transition == null) {
+            throw new Exception("Transition " + transitionId + " is not available for issue " + issueKey + " in status " + fromStatus);
+        }
+        String toStatus = transition.path("to").path("name").asText(null);
+        beforeSend.beforeSend(fromStatus, toStatus);
 
-                        logger.info("Saving contract details for completed issue: {}", issueKey);
-                        saveContractDetailsForCompletedIssue(vendorDetails);
-                    }
-                } catch (Exception e) {
-                    logger.error("Error checking status or saving contract details for issue: {}", issueKey, e);
-                }
-                
-                return true;
-            } else {
-                logger.error("❌ Jira transition FAILED → {} (id={}), status={}, body={}", 
-                             issueKey, transitionId, status, responseBody);
-                return false;
+        String url = jiraConfig.getBaseUrl() + "/rest/api/3/issue/" + issueKey + "/transitions";
+        Map<String, Object> payload = Map.of("transition", Map.of("id", transitionId));
+
+        logger.info("➡️ TRANSITION CALL → {}", url);
+        logger.info("➡️ PAYLOAD → {}", payload);
+
+        // Jira answers 204 No Content on success; any error status surfaces as an exception
+        makeJiraApiCall(url, HttpMethod.POST, payload);
+
+        logger.info("✅ Jira transition SUCCESS → {} -> {} ({} -> {})", issueKey, transitionId, fromStatus, toStatus);
+        jiraIssueCache.invalidate(issueKey);
+
+        // Reflect the new status in the fetched payload instead of reading the issue again
+        ObjectNode updatedIssue = issue.deepCopy();
+        updatedIssue.remove("transitions");
+        if (transition.has("to") && updatedIssue.path("fields").isObject()) {
+            ((ObjectNode) updatedIssue.get("fields")).set("status", transition.get("to"));
+        }
+
+        if ("Completed".equalsIgnoreCase(toStatus)) {
+            try {
+                logger.info("Issue {} is now completed, saving contract details", issueKey);
+                saveContractDetailsForCompletedIssue(extractVendorDetails(updatedIssue));
+            } catch (Exception e) {
+                logger.error("Error saving contract details for issue: {}", issueKey, e);
             }
+        }
 
+        return new TransitionResult(issueKey, fromStatus, toStatus, updatedIssue);
+    }
+
+    /**
+     * Transition a Jira issue to a new status
+     * @param issueKey The issue key
+     * @param transitionId The ID of the transition to execute
+     * @return true if the transition succeeded
+     */
+    public boolean transitionIssue(String issueKey, String transitionId) {
+        try {
+            performTransition(issueKey, transitionId);
+            return true;
         } catch (Exception e) {
             logger.error("❌ Jira transition FAILED with exception", e);
             return false;
         }
     }
 
+    /**
+     * Save contract details for an issue that reached Completed outside {@link #performTransition(String, String)}
+     * @param issue The issue payload with the contract fields
+     */
+    public void saveContractDetailsForCompletedIssue(JsonNode issue) {
+        saveContractDetailsForCompletedIssue(extractVendorDetails(issue));
+    }
+
+    /**
+     * Build the vendor details map used for ContractDetails from an issue fetched with contract fields
+     * @param issue The issue payload
+     * @return Vendor details keyed as saveContractDetailsForCompletedIssue expects
+     */
+    private Map<String, Object> extractVendorDetails(JsonNode issue) {
+        JsonNode fields = issue.path("fields");
+
+        // Extract vendor details from custom fields
+        Map<String, Object> vendorDetails = new HashMap<>();
+
+        // Extract basic information
+        vendorDetails.put("vendorName", getTextValue(fields, jiraFieldConfig.getVendorName()));
+        vendorDetails.put("productName", getTextValue(fields, jiraFieldConfig.getProductName()));
+        vendorDetails.put("vendorContractType", getTextValue(fields, jiraFieldConfig.getBillingType()));
+        vendorDetails.put("billingType", getTextValue(fields, jiraFieldConfig.getBillingType()));
+        vendorDetails.put("contractMode", getTextValue(fields, jiraFieldConfig.getContractType()));
+        vendorDetails.put("requesterName", getTextValue(fields, jiraFieldConfig.getRequesterName()));
+        vendorDetails.put("requesterMail", getTextValue(fields, jiraFieldConfig.getRequesterEmail()));
+        vendorDetails.put("department", getTextValue(fields, jiraFieldConfig.getDepartment()));
+        vendorDetails.put("organization", getTextValue(fields, jiraFieldConfig.getOrganization()));
+        vendorDetails.put("additionalComment", getTextValue(fields, jiraFieldConfig.getAdditionalComment()));
+        vendorDetails.put("dueDate", getTextValue(fields, jiraFieldConfig.getDueDate()));
+        vendorDetails.put("renewalDate", getTextValue(fields, jiraFieldConfig.getRenewalDate()));
+        vendorDetails.put("currentLicenseCount", getTextValue(fields, jiraFieldConfig.getCurrentLicenseCount()));
+        vendorDetails.put("currentUsageCount", getTextValue(fields, jiraFieldConfig.getCurrentUsageCount()));
+        vendorDetails.put("currentUnits", getTextValue(fields, jiraFieldConfig.getCurrentUnit()));
+        vendorDetails.put("newLicenseCount", getTextValue(fields, jiraFieldConfig.getNewLicenseCount()));
+        vendorDetails.put("newUsageCount", getTextValue(fields, jiraFieldConfig.getNewUsageCount()));
+        vendorDetails.put("newUnits", getTextValue(fields, jiraFieldConfig.getNewUnit()));
+        // Additional fields for RequestSplitView
+        vendorDetails.put("licenseUpdateType", getTextValue(fields, jiraFieldConfig.getLicenseUpdateType()));
+        vendorDetails.put("existingContractId", getTextValue(fields, jiraFieldConfig.getExistingContractId()));
+        vendorDetails.put("contractDuration", getTextValue(fields, jiraFieldConfig.getContractDuration()));
+
+        // Extract issue updated date for completion date calculation
+        String updatedDate = issue.path("updated").asText();
+        vendorDetails.put("completionDate", updatedDate);
+        return vendorDetails;
+    }
+
     
     public boolean transitionIssueByKey(String issueKey, String transitionKey) throws Exception {
         logger.info("Received UI transition key: {}", transitionKey);
@@ -1569,12 +2055,46 @@ public JsonNode addAttachmentToIssue(String issueIdOrKey, byte[] fileContent, St
         }
     }
 
+    /**
+     * The API account's /myself response, fetched once and then reused
+     * @return JsonNode containing the API account
+     * @throws Exception if the API call fails
+     */
+    public JsonNode getApiUser() throws Exception {
+        JsonNode user = apiUser;
+        if (user == null) {
+            user = getCurrentUser();
+            apiUser = user;
+        }
+        return user;
+    }
+
+    /**
+     * Display name of the API account
+     * @return The display name, or "Unknown User" if Jira does not report one
+     * @throws Exception if the API call fails
+     */
+    public String getApiUserDisplayName() throws Exception {
+        JsonNode user = getApiUser();
+        return user.has("displayName") ? user.get("displayName").asText() : "Unknown User";
+    }
+
+    /**
+     * Account id of the API account, used to recognise changes this application made itself
+     * @return The account id, or null if Jira does not report one
+     * @throws Exception if the API call fails
+     */
+    public String getApiUserAccountId() throws Exception {
+        return getApiUser().path("accountId").asText(null);
+    }
+
     /**
      * Get metadata for creating issues in Jira
      * @param projectKey Optional project key to filter issue types
      * @return JsonNode containing the create metadata
      * @throws Exception if the API call fails
      */
+    @Cacheable(cacheNames = CACHE_CREATE_META, key = "#projectKey != null ? #projectKey : ''", sync = true)
     public JsonNode getCreateMeta(String projectKey) throws Exception {
         try {
             logger.info("Fetching create metadata for project: {}", projectKey);
@@ -1626,7 +2146,178 @@ public JsonNode addAttachmentToIssue(String issueIdOrKey, byte[] fileContent, St
     public JsonNode createIssueJira(Map<String, Object> issueData) throws Exception {
 
         logger.info("📥 Received payload: {}", issueData);
-        
+
+        Map<String, Object> payload = Map.of("fields", buildContractIssueFields(issueData));
+
+        logger.info("🚀 JIRA PAYLOAD (cleaned) => {}", payload);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBasicAuth(jiraConfig.getEmail(), jiraConfig.getApiToken());
+        headers.set("Content-Type", "application/json");
+
+        HttpEntity<Map<String, Object>> request = new HttpEntity<>(payload, headers);
+
+        String url = jiraConfig.getBaseUrl() + "/rest/api/3/issue";
+        ResponseEntity<String> response = restTemplate.postForEntity(url, request, String.class);
+
+        int status = response.getStatusCode().value();
+        String body = response.getBody();
+
+        logger.info("Jira status: {} body={}", status, body);
+
+        if (status < 200 || status >= 300) {
+            logger.error("❌ JIRA ERROR BODY => {}", body);
+            throw new Exception("Jira error " + status + ": " + body);
+        }
+
+        // ⭐ REMOVED: Do not save contract details immediately when creating an issue
+        // Contract details will only be saved when status is transitioned to "Completed"
+        // saveContractDetails(vendorDetails);
+
+        return (body == null || body.isBlank()) ? objectMapper.createObjectNode() : objectMapper.readTree(body);
+    }
+
+    /**
+     * Outcome of one item of a bulk create or update
+     */
+    public static class BulkItemResult {
+        private final int index;
+        private final boolean success;
+        private final String issueId;
+        private final String issueKey;
+        private final String error;
+
+        private BulkItemResult(int index, boolean success, String issueId, String issueKey, String error) {
+            this.index = index;
+            this.success = success;
+            this.issueId = issueId;
+            this.issueKey = issueKey;
+            this.error = error;
+        }
+
+        public static BulkItemResult succeeded(int index, String issueId, String issueKey) {
+            return new BulkItemResult(index, true, issueId, issueKey, null);
+        }
+
+        public static BulkItemResult failed(int index, String issueKey, String error) {
+            return new BulkItemResult(index, false, null, issueKey, error);
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public boolean isSuccess() {
+            return success;
+        }
+
+        public String getIssueId() {
+            return issueId;
+        }
+
+        public String getIssueKey() {
+            return issueKey;
+        }
+
+        public String getError() {
+            return error;
+        }
+    }
+
+    /**
+     * Create many contract issues (same payload as createIssueJira) through Jira's bulk endpoint,
+     * in batches of at most {@link #BULK_CREATE_BATCH_SIZE} issues per request
+     * @param issueDataList The issue payloads
+     * @return One result per payload, in request order
+     */
+    public List<BulkItemResult> createIssuesJiraBulk(List<Map<String, Object>> issueDataList) {
+        BulkItemResult[] results = new BulkItemResult[issueDataList.size()];
+
+        // Payloads that cannot be mapped to Jira fields fail on their own without a round trip
+        List<Integer> pending = new ArrayList<>();
+        List<Map<String, Object>> issueUpdates = new ArrayList<>();
+        for (int i = 0; i < issueDataList.size(); i++) {
+            try {
+                issueUpdates.add(Map.of("fields", buildContractIssueFields(issueDataList.get(i))));
+                pending.add(i);
+            } catch (Exception e) {
+                results[i] = BulkItemResult.failed(i, null, e.getMessage());
+            }
+        }
+
+        String url = jiraConfig.getBaseUrl() + "/rest/api/3/issue/bulk";
+        for (int from = 0; from < pending.size(); from += BULK_CREATE_BATCH_SIZE) {
+            int to = Math.min(from + BULK_CREATE_BATCH_SIZE, pending.size());
+            List<Integer> batch = pending.subList(from, to);
+
+            JsonNode response;
+            try {
+                response = makeJiraApiCall(url, HttpMethod.POST, Map.of("issueUpdates", issueUpdates.subList(from, to)), searchRestTemplate);
+            } catch (Exception e) {
+                // Jira answers 400 with the same per-element errors when every issue in the batch failed
+                response = bulkErrorResponse(e);
+                if (response == null) {
+                    logger.error("Bulk create of {} issues failed", batch.size(), e);
+                    for (int index : batch) {
+                        results[index] = BulkItemResult.failed(index, null, e.getMessage());
+                    }
+                    continue;
+                }
+            }
+
+            Map<Integer, String> errors = new HashMap<>();
+            for (JsonNode error : response.path("errors")) {
+                errors.put(error.path("failedElementNumber").asInt(), bulkErrorMessage(error));
+            }
+            // Created issues are listed in request order, without the failed elements
+            Iterator<JsonNode> created = response.path("issues").elements();
+            for (int position = 0; position < batch.size(); position++) {
+                int index = batch.get(position);
+                if (errors.containsKey(position)) {
+                    results[index] = BulkItemResult.failed(index, null, errors.get(position));
+                } else if (created.hasNext()) {
+                    JsonNode issue = created.next();
+                    results[index] = BulkItemResult.succeeded(index, issue.path("id").asText(null), issue.path("key").asText(null));
+                } else {
+                    results[index] = BulkItemResult.failed(index, null, "Jira did not report this issue as created");
+                }
+            }
+            logger.info("Bulk created {} of {} issues", batch.size() - errors.size(), batch.size());
+        }
+        return Arrays.asList(results);
+    }
+
+    private JsonNode bulkErrorResponse(Exception e) {
+        Throwable current = e;
+        while (current != null) {
+            if (current instanceof HttpClientErrorException clientError && clientError.getStatusCode().value() == 400) {
+                try {
+                    JsonNode body = objectMapper.readTree(clientError.getResponseBodyAsString());
+                    return body.has("errors") ? body : null;
+                } catch (Exception parseError) {
+                    return null;
+                }
+            }
+            current = current.getCause();
+        }
+        return null;
+    }
+
+    private String bulkErrorMessage(JsonNode error) {
+        JsonNode elementErrors = error.path("elementErrors");
+        List<String> messages = new ArrayList<>();
+        elementErrors.path("errorMessages").forEach(message -> messages.add(message.asText()));
+        elementErrors.path("errors").properties().forEach(field -> messages.add(field.getKey() + ": " + field.getValue().asText()));
+        return messages.isEmpty() ? "Jira error " + error.path("status").asInt() : String.join("; ", messages);
+    }
+
+    /**
+     * Map a createIssueJira payload to the Jira fields of a contract request issue
+     * @param issueData The payload with its vendorDetails
+     * @return The Jira fields
+     */
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> buildContractIssueFields(Map<String, Object> issueData) {
         // Log the vendorDetails specifically to see if organization is present
         Map<String, Object> vendorDetails = (Map<String, Object>) issueData.get("vendorDetails");
         if (vendorDetails != null) {
@@ -1679,35 +2370,7 @@ public JsonNode addAttachmentToIssue(String issueIdOrKey, byte[] fileContent, St
         put(fields, jiraFieldConfig.getExistingContractId(), vendorDetails.get("selectedExistingContractId"));
         put(fields, jiraFieldConfig.getContractDuration(), vendorDetails.get("contractDuration"));
 
-        Map<String, Object> payload = Map.of("fields", fields);
-
-        logger.info("🚀 JIRA PAYLOAD (cleaned) => {}", payload);
-
-        HttpHeaders headers = new HttpHeaders();
-        headers.setBasicAuth(jiraConfig.getEmail(), jiraConfig.getApiToken());
-        headers.set("Content-Type", "application/json");
-
-        HttpEntity<Map<String, Object>> request = new HttpEntity<>(payload, headers);
-
-        String url = jiraConfig.getBaseUrl() + "/rest/api/3/issue";
-        ResponseEntity<String> response = restTemplate.postForEntity(url, request, String.class);
-
-        int status = response.getStatusCodeValue();
-        String body = response.getBody();
-
-        logger.info("Jira status: {} body={}", status, body);
-
-        if (status < 200 || status >= 300) {
-            logger.error("❌ JIRA ERROR BODY => {}", body);
-            throw new Exception("Jira error " + status + ": " + body);
-        }
-
-        // ⭐ REMOVED: Do not save contract details immediately when creating an issue
-        // Contract details will only be saved when status is transitioned to "Completed"
-        // saveContractDetails(vendorDetails);
-
-        ObjectMapper mapper = new ObjectMapper();
-        return (body == null || body.isBlank()) ? mapper.readTree("{}") : mapper.readTree(body);
+        return fields;
     }
 
     /**
@@ -2172,7 +2835,8 @@ public JsonNode addAttachmentToIssue(String issueIdOrKey, byte[] fileContent, St
                 RequestEntity.post(uri).headers(headers).body(body);
             
             // Make the API call
-            ResponseEntity<String> response = restTemplate.exchange(requestEntity, String.class);
+            ResponseEntity<String> response = transferRestTemplate.exchange(requestEntity, String.class);
+            jiraIssueCache.invalidate(issueKey);
             
             // Handle empty responses
             String responseBody = response.getBody();
@@ -2226,6 +2890,7 @@ public JsonNode addAttachmentToIssue(String issueIdOrKey, byte[] fileContent, St
 
             JsonNode response = makeJiraApiCall(url, HttpMethod.POST, requestBody);
             logger.info("Comment added successfully to issue: {}", issueIdOrKey);
+            jiraIssueCache.invalidate(issueIdOrKey);
 
             return response;
         } catch (Exception e) {
@@ -2272,8 +2937,8 @@ public JsonNode addAttachmentToIssue(String issueIdOrKey, byte[] fileContent, St
         try {
             logger.info("Fetching current status for issue: {}", issueIdOrKey);
             
-            // Get the full issue details
-            JsonNode issue = getIssueByIdOrKey(issueIdOrKey);
+            // Status is read from the cached detail payload
+            JsonNode issue = getCachedIssueDetail(issueIdOrKey, "getIssueStatus");
             
             // Extract the status from the fields
             JsonNode fields = issue.path("fields");
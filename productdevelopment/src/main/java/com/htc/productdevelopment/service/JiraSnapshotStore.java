@@ -0,0 +1,86 @@
+package com.htc.productdevelopment.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Last good Jira read results, kept so read endpoints can answer with stale data while Jira is
+ * unreachable or the circuit breaker is open. Unlike the issue and metadata caches, entries are
+ * never invalidated by time; they are only replaced by newer successful reads or evicted when
+ * the store is full (least recently used first).
+ */
+@Component
+public class JiraSnapshotStore {
+
+    /**
+     * A stored value and when it was read from Jira
+     */
+    public static class Snapshot<T> {
+        private final T value;
+        private final Instant capturedAt;
+
+        public Snapshot(T value, Instant capturedAt) {
+            this.value = value;
+            this.capturedAt = capturedAt;
+        }
+
+        public T getValue() {
+            return value;
+        }
+
+        public Instant getCapturedAt() {
+            return capturedAt;
+        }
+    }
+
+    @Value("${jira.snapshot.max-entries:1000}")
+    private int maxEntries;
+
+    private final Map<String, Snapshot<?>> snapshots = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Snapshot<?>> eldest) {
+            return size() > maxEntries;
+        }
+    };
+
+    /**
+     * Record the result of a successful Jira read
+     * @param key The snapshot key, e.g. "issue:KEY-1"
+     * @param value The value read from Jira
+     */
+    public synchronized void put(String key, Object value) {
+        if (value != null) {
+            snapshots.put(key, new Snapshot<>(value, Instant.now()));
+        }
+    }
+
+    /**
+     * Last good value for a key
+     * @param key The snapshot key
+     * @param type The expected value type
+     * @return The snapshot, or null if none was recorded or it has another type
+     */
+    public synchronized <T> Snapshot<T> get(String key, Class<T> type) {
+        Snapshot<?> snapshot = snapshots.get(key);
+        if (snapshot == null || !type.isInstance(snapshot.getValue())) {
+            return null;
+        }
+        return new Snapshot<>(type.cast(snapshot.getValue()), snapshot.getCapturedAt());
+    }
+
+    /**
+     * Drop the snapshot for a key, e.g. after the item was deleted
+     * @param key The snapshot key
+     */
+    public synchronized void remove(String key) {
+        snapshots.remove(key);
+    }
+
+    public synchronized int size() {
+        return snapshots.size();
+    }
+}
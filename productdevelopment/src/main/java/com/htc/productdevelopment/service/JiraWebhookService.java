@@ -0,0 +1,348 @@
+package com.htc.productdevelopment.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.htc.productdevelopment.config.JiraFieldConfig;
+import com.htc.productdevelopment.config.JiraFieldProfile;
+import com.htc.productdevelopment.config.JiraRateGovernor;
+import com.htc.productdevelopment.model.ContractDetails;
+import com.htc.productdevelopment.model.JiraWebhookEvent;
+import com.htc.productdevelopment.model.User;
+import com.htc.productdevelopment.repository.JiraWebhookEventRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Ingests Jira webhooks for issue_created, issue_updated and comment_created.
+ * Deliveries are stored in jira_webhook_events and acknowledged immediately; a scheduled worker
+ * then applies them in batches: mirror upserts, contract capture on Completed and notifications.
+ * Changes made by the Jira API account were already handled inline by this application, so for
+ * those events only the mirror is updated. An event's side effects are recorded as applied as soon
+ * as they complete, so a retry of the event only repeats the mirror write, and the mirror ignores
+ * payloads older than what it holds. Contracts are captured from a fresh read of the issue, never
+ * from the webhook body.
+ */
+@Service
+public class JiraWebhookService {
+
+    private static final Logger logger = LoggerFactory.getLogger(JiraWebhookService.class);
+
+    private static final Set<String> SUPPORTED_EVENTS = Set.of(
+            "jira:issue_created", "jira:issue_updated", "comment_created");
+
+    private final JiraWebhookEventRepository webhookEventRepository;
+    private final JiraIssueSyncService jiraIssueSyncService;
+    private final JiraIssueCache jiraIssueCache;
+    private final JiraService jiraService;
+    private final NotificationService notificationService;
+    private final ContractDetailsService contractDetailsService;
+    private final UserService userService;
+    private final JiraFieldConfig jiraFieldConfig;
+    private final ObjectMapper objectMapper;
+
+    @Value("${jira.webhook.batch-size:100}")
+    private int batchSize;
+
+    @Value("${jira.webhook.max-attempts:3}")
+    private int maxAttempts;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    public JiraWebhookService(JiraWebhookEventRepository webhookEventRepository,
+                              JiraIssueSyncService jiraIssueSyncService,
+                              JiraIssueCache jiraIssueCache,
+                              JiraService jiraService,
+                              NotificationService notificationService,
+                              ContractDetailsService contractDetailsService,
+                              UserService userService,
+                              JiraFieldConfig jiraFieldConfig,
+                              ObjectMapper objectMapper) {
+        this.webhookEventRepository = webhookEventRepository;
+        this.jiraIssueSyncService = jiraIssueSyncService;
+        this.jiraIssueCache = jiraIssueCache;
+        this.jiraService = jiraService;
+        this.notificationService = notificationService;
+        this.contractDetailsService = contractDetailsService;
+        this.userService = userService;
+        this.jiraFieldConfig = jiraFieldConfig;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Store a webhook delivery for asynchronous processing
+     * @param deliveryId The X-Atlassian-Webhook-Identifier header, stable across redeliveries (may be null)
+     * @param body The raw webhook body
+     * @return true if the event was queued, false if it was a duplicate or an unsupported event type
+     * @throws Exception if the body is not valid JSON
+     */
+    public boolean enqueue(String deliveryId, String body) throws Exception {
+        JsonNode payload = objectMapper.readTree(body);
+        String eventType = payload.path("webhookEvent").asText(null);
+        if (eventType == null || !SUPPORTED_EVENTS.contains(eventType)) {
+            logger.info("Ignoring unsupported Jira webhook event: {}", eventType);
+            return false;
+        }
+
+        String eventId = deliveryId != null && !deliveryId.isBlank() ? deliveryId : fallbackEventId(eventType, payload);
+        if (webhookEventRepository.existsByEventId(eventId)) {
+            logger.info("Duplicate Jira webhook {} ignored", eventId);
+            return false;
+        }
+
+        JiraWebhookEvent event = new JiraWebhookEvent();
+        event.setEventId(eventId);
+        event.setEventType(eventType);
+        event.setIssueKey(payload.path("issue").path("key").asText(null));
+        event.setPayload(body);
+        try {
+            webhookEventRepository.save(event);
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent redelivery won the insert
+            logger.info("Duplicate Jira webhook {} ignored", eventId);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Number of queued events not yet processed
+     * @return Pending event count
+     */
+    public long getPendingCount() {
+        return webhookEventRepository.countByStatus(JiraWebhookEvent.STATUS_PENDING);
+    }
+
+    /**
+     * Drain pending events in batches
+     */
+    @Scheduled(initialDelayString = "${jira.webhook.initial-delay-ms:5000}",
+               fixedDelayString = "${jira.webhook.poll-interval-ms:2000}")
+    public void processPending() {
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            List<JiraWebhookEvent> batch;
+            do {
+                batch = webhookEventRepository.findByStatusOrderByIdAsc(
+                        JiraWebhookEvent.STATUS_PENDING, PageRequest.of(0, batchSize));
+                if (!batch.isEmpty()) {
+                    List<JiraWebhookEvent> events = batch;
+                    JiraRateGovernor.runInLane(JiraRateGovernor.Lane.BACKGROUND, () -> processBatch(events));
+                }
+            } while (batch.size() == batchSize);
+        } catch (Exception e) {
+            logger.warn("Jira webhook processing failed: {}", e.getMessage());
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private void processBatch(List<JiraWebhookEvent> batch) {
+        String apiAccountId = resolveApiAccountId();
+
+        // Newest payload per issue key; the mirror is written once for the whole batch
+        Map<String, JsonNode> latestIssues = new LinkedHashMap<>();
+
+        for (JiraWebhookEvent event : batch) {
+            event.setAttempts(event.getAttempts() + 1);
+            try {
+                JsonNode payload = objectMapper.readTree(event.getPayload());
+                JsonNode issue = payload.path("issue");
+                // Cached reads of this issue may predate the change that triggered the webhook
+                jiraIssueCache.invalidate(issue.path("key").asText(null));
+                if (issue.hasNonNull("key") && !"comment_created".equals(event.getEventType())) {
+                    latestIssues.merge(issue.get("key").asText(), projectForMirror(issue), JiraWebhookService::newer);
+                }
+                if (event.getSideEffectsAppliedAt() == null) {
+                    applySideEffects(event.getEventType(), payload, apiAccountId);
+                    event.setSideEffectsAppliedAt(Instant.now());
+                    webhookEventRepository.save(event);
+                }
+                event.setStatus(JiraWebhookEvent.STATUS_PROCESSED);
+                event.setProcessedAt(Instant.now());
+                event.setLastError(null);
+            } catch (Exception e) {
+                logger.warn("Failed to process Jira webhook {}: {}", event.getEventId(), e.getMessage());
+                event.setLastError(e.getMessage());
+                if (event.getAttempts() >= maxAttempts) {
+                    event.setStatus(JiraWebhookEvent.STATUS_FAILED);
+                }
+            }
+        }
+
+        try {
+            if (!latestIssues.isEmpty()) {
+                jiraIssueSyncService.storeIssues(new ArrayList<>(latestIssues.values()));
+            }
+        } catch (Exception e) {
+            // The periodic sync will pick these issues up again
+            logger.warn("Failed to write {} webhook issues to the mirror: {}", latestIssues.size(), e.getMessage());
+        }
+
+        webhookEventRepository.saveAll(batch);
+        logger.info("Processed {} Jira webhook events ({} issues mirrored)", batch.size(), latestIssues.size());
+    }
+
+    private void applySideEffects(String eventType, JsonNode payload, String apiAccountId) throws Exception {
+        JsonNode issue = payload.path("issue");
+        String issueKey = issue.path("key").asText(null);
+
+        JsonNode actor = "comment_created".equals(eventType) ? payload.path("comment").path("author") : payload.path("user");
+        String actorAccountId = actor.path("accountId").asText(null);
+        String actorName = actor.path("displayName").asText("Unknown User");
+        if (issueKey == null || (apiAccountId != null && apiAccountId.equals(actorAccountId))) {
+            return;
+        }
+
+        switch (eventType) {
+            case "jira:issue_created":
+                onIssueCreated(issueKey, issue, actorName);
+                break;
+            case "jira:issue_updated":
+                onIssueUpdated(issueKey, issue, payload.path("changelog"), actorName);
+                break;
+            case "comment_created":
+                notificationService.sendNotificationToAll(
+                        "New Comment Added",
+                        String.format("%s added a comment to request %s", actorName, issueKey),
+                        issueKey,
+                        actorName,
+                        null);
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void onIssueCreated(String issueKey, JsonNode issue, String actorName) {
+        Optional<User> requester = findRequester(issue);
+        notificationService.createRequestCreatedNotification(
+                issueKey,
+                requester.map(User::getId).orElse(null),
+                requester.map(User::getDepartmentId).orElse(null),
+                requester.map(User::getOrganizationId).orElse(null),
+                actorName);
+    }
+
+    private void onIssueUpdated(String issueKey, JsonNode issue, JsonNode changelog, String actorName) throws Exception {
+        for (JsonNode item : changelog.path("items")) {
+            if (!"status".equalsIgnoreCase(item.path("field").asText())) {
+                continue;
+            }
+            String fromStatus = item.path("fromString").asText(null);
+            String toStatus = item.path("toString").asText(null);
+
+            if ("Completed".equalsIgnoreCase(toStatus)) {
+                saveContractIfCompleted(issueKey);
+            }
+
+            Long requesterId = null;
+            String requesterName = null;
+            Long requesterDepartmentId = null;
+            Long requesterOrganizationId = null;
+            ContractDetails contract = contractDetailsService.findByJiraIssueKey(issueKey);
+            if (contract != null) {
+                requesterId = contract.getRequester() != null ? contract.getRequester().getId() : null;
+                requesterName = contract.getRequesterName();
+                requesterDepartmentId = contract.getRequesterDepartmentId();
+                requesterOrganizationId = contract.getRequesterOrganizationId();
+            } else {
+                Optional<User> requester = findRequester(issue);
+                if (requester.isPresent()) {
+                    requesterId = requester.get().getId();
+                    requesterName = requester.get().getName();
+                    requesterDepartmentId = requester.get().getDepartmentId();
+                    requesterOrganizationId = requester.get().getOrganizationId();
+                }
+            }
+
+            notificationService.createStatusTransitionNotification(
+                    issueKey, fromStatus, toStatus, requesterId, requesterName,
+                    requesterDepartmentId, requesterOrganizationId, null, actorName);
+        }
+    }
+
+    /**
+     * Save contract details from the issue as Jira has it now, and only if it is still Completed
+     */
+    private void saveContractIfCompleted(String issueKey) throws Exception {
+        JsonNode current = jiraService.getIssue(issueKey, JiraFieldProfile.CONTRACT_EXTRACT);
+        String status = current.path("fields").path("status").path("name").asText(null);
+        if (!"Completed".equalsIgnoreCase(status)) {
+            logger.info("Issue {} is no longer Completed in Jira ({}), not saving contract details", issueKey, status);
+            return;
+        }
+        logger.info("Issue {} completed in Jira, saving contract details", issueKey);
+        jiraService.saveContractDetailsForCompletedIssue(current);
+    }
+
+    // Of two payloads for the same issue, the one with the later fields.updated
+    private static JsonNode newer(JsonNode current, JsonNode candidate) {
+        Instant currentUpdated = JiraIssueSyncService.parseTimestamp(current.path("fields").path("updated").asText(null));
+        Instant candidateUpdated = JiraIssueSyncService.parseTimestamp(candidate.path("fields").path("updated").asText(null));
+        return JiraIssueSyncService.isStale(candidateUpdated, currentUpdated) ? current : candidate;
+    }
+
+    private Optional<User> findRequester(JsonNode issue) {
+        String fieldId = jiraFieldConfig.getRequesterEmail();
+        String email = fieldId != null ? issue.path("fields").path(fieldId).asText(null) : null;
+        if (email == null || email.isBlank()) {
+            return Optional.empty();
+        }
+        return userService.getUserByEmail(email);
+    }
+
+    /**
+     * Webhook issues carry every field; keep only what the mirror stores so payloads match synced ones
+     */
+    private JsonNode projectForMirror(JsonNode issue) {
+        ObjectNode projected = issue.deepCopy();
+        JsonNode fields = issue.path("fields");
+        ObjectNode keptFields = objectMapper.createObjectNode();
+        Set<String> wanted = new HashSet<>(jiraFieldConfig.fieldsFor(JiraFieldProfile.TRANSITION));
+        fields.fieldNames().forEachRemaining(name -> {
+            if (wanted.contains(name)) {
+                keptFields.set(name, fields.get(name));
+            }
+        });
+        projected.set("fields", keptFields);
+        return projected;
+    }
+
+    private String resolveApiAccountId() {
+        try {
+            return jiraService.getApiUserAccountId();
+        } catch (Exception e) {
+            logger.warn("Could not resolve Jira API account, webhook side effects will not be de-duplicated: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    // Deliveries without an identifier header are keyed on event type, timestamp and the affected entity
+    private String fallbackEventId(String eventType, JsonNode payload) {
+        StringBuilder id = new StringBuilder(eventType)
+                .append(':').append(payload.path("timestamp").asText())
+                .append(':').append(payload.path("issue").path("id").asText());
+        if (payload.has("comment")) {
+            id.append(':').append(payload.path("comment").path("id").asText());
+        }
+        return id.toString();
+    }
+}
@@ -0,0 +1,103 @@
+package com.htc.productdevelopment.service;
+
+import com.htc.productdevelopment.model.Notification;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The notifications of one domain event (a request created, a status transition), one per audience.
+ * Published with {@link NotificationService#publish(NotificationBatch)}, which stores them and fills
+ * the recipients' inboxes together and pushes the notifications and resulting unread counts in a single dispatch.
+ */
+public class NotificationBatch {
+
+    private final String title;
+    private final String issueKey;
+    private final String message;
+    private String fromStatus;
+    private String toStatus;
+    private Long senderUserId;
+    private String senderName;
+
+    private final List<Notification> notifications = new ArrayList<>();
+
+    private NotificationBatch(String title, String issueKey, String message) {
+        this.title = title;
+        this.issueKey = issueKey;
+        this.message = message;
+    }
+
+    /**
+     * Start a batch; every notification in it shares the title, issue key and message
+     */
+    public static NotificationBatch forEvent(String title, String issueKey, String message) {
+        return new NotificationBatch(title, issueKey, message);
+    }
+
+    public NotificationBatch transition(String fromStatus, String toStatus) {
+        this.fromStatus = fromStatus;
+        this.toStatus = toStatus;
+        return this;
+    }
+
+    public NotificationBatch sender(Long senderUserId, String senderName) {
+        this.senderUserId = senderUserId;
+        this.senderName = senderName;
+        return this;
+    }
+
+    /**
+     * Notify one user; department and organization are recorded but do not widen the audience
+     */
+    public NotificationBatch toUser(Long userId, Long departmentId, Long organizationId) {
+        Notification notification = newNotification();
+        notification.setRecipientUserId(userId);
+        notification.setRecipientDepartmentId(departmentId);
+        notification.setRecipientOrganizationId(organizationId);
+        notifications.add(notification);
+        return this;
+    }
+
+    /**
+     * Notify users with a role, narrowed to a department and/or organization when given
+     */
+    public NotificationBatch toRole(String role, Long departmentId, Long organizationId) {
+        Notification notification = newNotification();
+        notification.setRecipientRole(role);
+        notification.setRecipientDepartmentId(departmentId);
+        notification.setRecipientOrganizationId(organizationId);
+        notifications.add(notification);
+        return this;
+    }
+
+    /**
+     * Notify every user
+     */
+    public NotificationBatch toEveryone() {
+        notifications.add(newNotification());
+        return this;
+    }
+
+    public boolean isEmpty() {
+        return notifications.isEmpty();
+    }
+
+    List<Notification> getNotifications() {
+        return Collections.unmodifiableList(notifications);
+    }
+
+    private Notification newNotification() {
+        // Field values are copied when the audience is added, so set the sender and transition first
+        Notification notification = new Notification();
+        notification.setTitle(title);
+        notification.setMessage(message);
+        notification.setIssueKey(issueKey);
+        notification.setFromStatus(fromStatus);
+        notification.setToStatus(toStatus);
+        notification.setSenderUserId(senderUserId);
+        notification.setSenderName(senderName);
+        return notification;
+    }
+}
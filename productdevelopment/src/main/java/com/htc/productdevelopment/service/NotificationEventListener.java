@@ -0,0 +1,112 @@
+package com.htc.productdevelopment.service;
+
+import com.htc.productdevelopment.event.IssueTransitionedEvent;
+import com.htc.productdevelopment.event.RequestCreatedEvent;
+import com.htc.productdevelopment.model.ContractDetails;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Turns domain events into notifications on the bounded notificationExecutor, so the request that
+ * caused an event returns without waiting for contract lookups or notification writes.
+ * Events published inside a transaction are handled after it commits (and dropped on rollback);
+ * events published outside one are handed over right away. When the executor's queue is full the
+ * publishing thread handles the event itself, which shows up as callerRuns in the stats.
+ */
+@Component
+public class NotificationEventListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationEventListener.class);
+
+    private final NotificationService notificationService;
+    private final ContractDetailsService contractDetailsService;
+    private final JiraService jiraService;
+    private final ThreadPoolTaskExecutor notificationExecutor;
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder handled = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder callerRuns = new LongAdder();
+    private final LongAdder totalQueueMillis = new LongAdder();
+    private final AtomicLong maxQueueMillis = new AtomicLong();
+
+    public NotificationEventListener(NotificationService notificationService,
+                                     ContractDetailsService contractDetailsService,
+                                     JiraService jiraService,
+                                     @Qualifier("notificationExecutor") ThreadPoolTaskExecutor notificationExecutor) {
+        this.notificationService = notificationService;
+        this.contractDetailsService = contractDetailsService;
+        this.jiraService = jiraService;
+        this.notificationExecutor = notificationExecutor;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRequestCreated(RequestCreatedEvent event) {
+        submit(event, () -> notificationService.createRequestCreatedNotification(event.getIssueKey(),
+                event.getCreatorId(), event.getDepartmentId(), event.getOrganizationId(), event.getCreatorName()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onIssueTransitioned(IssueTransitionedEvent event) {
+        submit(event, () -> {
+            ContractDetails contract = contractDetailsService.findByJiraIssueKey(event.getIssueKey());
+            String changerName = event.getStatusChangerName();
+            if (changerName == null) {
+                try {
+                    changerName = jiraService.getApiUserDisplayName();
+                } catch (Exception e) {
+                    logger.warn("Could not resolve status changer display name: {}", e.getMessage());
+                }
+            }
+            notificationService.createStatusTransitionNotification(event.getIssueKey(), event.getFromStatus(),
+                    event.getToStatus(), contract, event.getStatusChangerId(), changerName);
+        });
+    }
+
+    private void submit(Object event, Runnable handler) {
+        submitted.increment();
+        long queuedAt = System.nanoTime();
+        notificationExecutor.execute(() -> {
+            long queueMillis = (System.nanoTime() - queuedAt) / 1_000_000;
+            totalQueueMillis.add(queueMillis);
+            maxQueueMillis.accumulateAndGet(queueMillis, Math::max);
+            if (!Thread.currentThread().getName().startsWith(notificationExecutor.getThreadNamePrefix())) {
+                callerRuns.increment();
+            }
+            try {
+                handler.run();
+                handled.increment();
+            } catch (Exception e) {
+                failed.increment();
+                logger.warn("Failed to create notifications for {}: {}", event, e.getMessage(), e);
+            }
+        });
+    }
+
+    public Map<String, Object> getStats() {
+        ThreadPoolExecutor executor = notificationExecutor.getThreadPoolExecutor();
+        long done = handled.sum() + failed.sum();
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("submitted", submitted.sum());
+        stats.put("handled", handled.sum());
+        stats.put("failed", failed.sum());
+        stats.put("callerRuns", callerRuns.sum());
+        stats.put("queued", executor.getQueue().size());
+        stats.put("queueRemainingCapacity", executor.getQueue().remainingCapacity());
+        stats.put("activeThreads", executor.getActiveCount());
+        stats.put("poolSize", executor.getPoolSize());
+        stats.put("avgQueueMillis", done > 0 ? totalQueueMillis.sum() / done : 0);
+        stats.put("maxQueueMillis", maxQueueMillis.get());
+        return stats;
+    }
+}
@@ -1,13 +1,25 @@
 package com.htc.productdevelopment.service;
 
+import com.htc.productdevelopment.model.ContractDetails;
 import com.htc.productdevelopment.model.Notification;
+import com.htc.productdevelopment.model.NotificationRecipient;
+import com.htc.productdevelopment.repository.NotificationRecipientRepository;
 import com.htc.productdevelopment.repository.NotificationRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -15,9 +27,80 @@ public class NotificationService {
     
     private static final Logger logger = LoggerFactory.getLogger(NotificationService.class);
     
+    public static final int FEED_MAX_LIMIT = 200;
+    
+    private static final int OWNER_LOOKUP_BATCH_SIZE = 500;
+    
+    /**
+     * Position in a notification feed: the createdAt and id of the last notification of a page.
+     * Written as "&lt;ISO createdAt&gt;,&lt;id&gt;", with full timestamp precision.
+     */
+    public static class FeedCursor {
+        private final LocalDateTime createdAt;
+        private final Long id;
+        
+        public FeedCursor(LocalDateTime createdAt, Long id) {
+            this.createdAt = createdAt;
+            this.id = id;
+        }
+        
+        /**
+         * @param value A cursor as returned in X-Next-Cursor
+         * @return The cursor
+         * @throws IllegalArgumentException if the value is not a cursor
+         */
+        public static FeedCursor parse(String value) {
+            int comma = value.lastIndexOf(',');
+            if (comma < 0) {
+                throw new IllegalArgumentException("Invalid cursor: " + value);
+            }
+            try {
+                return new FeedCursor(LocalDateTime.parse(value.substring(0, comma).trim()),
+                    Long.parseLong(value.substring(comma + 1).trim()));
+            } catch (DateTimeParseException | NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid cursor: " + value, e);
+            }
+        }
+        
+        @Override
+        public String toString() {
+            return createdAt + "," + id;
+        }
+    }
+    
+    /**
+     * One page of a notification feed, newest first
+     */
+    public static class FeedPage {
+        private final List<Notification> notifications;
+        private final FeedCursor next;
+        
+        private FeedPage(List<Notification> notifications, FeedCursor next) {
+            this.notifications = notifications;
+            this.next = next;
+        }
+        
+        public List<Notification> getNotifications() {
+            return notifications;
+        }
+        
+        /**
+         * @return The cursor of the following page, or null if this is the last page
+         */
+        public FeedCursor getNext() {
+            return next;
+        }
+    }
+    
     @Autowired
     private NotificationRepository notificationRepository;
     
+    @Autowired
+    private NotificationRecipientRepository notificationRecipientRepository;
+    
+    @Autowired
+    private NotificationUnreadCounter notificationUnreadCounter;
+    
     @Autowired
     private WebSocketNotificationService webSocketNotificationService;
     
@@ -52,11 +135,8 @@ public class NotificationService {
         }
         if (!unreadNotifications.isEmpty()) {
             notificationRepository.saveAll(unreadNotifications);
+            pushUnreadCountsToOwners(unreadNotifications.stream().map(Notification::getId).toList());
         }
-        
-        // Broadcast the updated unread count
-        int unreadCount = countAllUnreadNotifications();
-        webSocketNotificationService.sendUnreadCountUpdate(unreadCount);
     }
     
     /**
@@ -64,40 +144,29 @@ public class NotificationService {
      */
     public void deleteAllNotifications() {
         notificationRepository.deleteAll();
+        notificationUnreadCounter.clear();
     }
     
     /**
      * Create a notification for a specific user
      */
+    @Transactional
     public Notification createNotificationForUser(Notification notification, Long userId) {
         notification.setRecipientUserId(userId);
         System.out.println("Creating notification for user ID: " + userId + " with title: " + notification.getTitle());
-        Notification saved = notificationRepository.save(notification);
+        Notification saved = persist(notification);
         System.out.println("Saved notification with ID: " + saved.getId());
         
-        // Broadcast the notification via WebSocket to the specific user
-        webSocketNotificationService.sendNotificationToUser(userId, saved);
-        
-        // Also broadcast the updated unread count to the specific user
-        int unreadCount = notificationRepository.countByRecipientUserIdAndIsReadFalse(userId);
-        webSocketNotificationService.sendUnreadCountUpdateToUser(userId, unreadCount);
-        
         return saved;
     }
     
     /**
      * Create a notification for users with a specific role
      */
+    @Transactional
     public Notification createNotificationForRole(Notification notification, String role) {
         notification.setRecipientRole(role);
-        Notification saved = notificationRepository.save(notification);
-        
-        // Broadcast the notification via WebSocket
-        webSocketNotificationService.sendNotificationToAll(saved);
-        
-        // Also broadcast the updated unread count
-        int unreadCount = countAllUnreadNotifications();
-        webSocketNotificationService.sendUnreadCountUpdate(unreadCount);
+        Notification saved = persist(notification);
         
         return saved;
     }
@@ -105,16 +174,10 @@ public class NotificationService {
     /**
      * Create a notification for users in a specific department
      */
+    @Transactional
     public Notification createNotificationForDepartment(Notification notification, Long departmentId) {
         notification.setRecipientDepartmentId(departmentId);
-        Notification saved = notificationRepository.save(notification);
-        
-        // Broadcast the notification via WebSocket
-        webSocketNotificationService.sendNotificationToAll(saved);
-        
-        // Also broadcast the updated unread count
-        int unreadCount = countAllUnreadNotifications();
-        webSocketNotificationService.sendUnreadCountUpdate(unreadCount);
+        Notification saved = persist(notification);
         
         return saved;
     }
@@ -122,16 +185,10 @@ public class NotificationService {
     /**
      * Create a notification for users in a specific organization
      */
+    @Transactional
     public Notification createNotificationForOrganization(Notification notification, Long organizationId) {
         notification.setRecipientOrganizationId(organizationId);
-        Notification saved = notificationRepository.save(notification);
-        
-        // Broadcast the notification via WebSocket
-        webSocketNotificationService.sendNotificationToAll(saved);
-        
-        // Also broadcast the updated unread count
-        int unreadCount = countAllUnreadNotifications();
-        webSocketNotificationService.sendUnreadCountUpdate(unreadCount);
+        Notification saved = persist(notification);
         
         return saved;
     }
@@ -139,20 +196,14 @@ public class NotificationService {
     /**
      * Create a notification for all users (global notification)
      */
+    @Transactional
     public Notification createGlobalNotification(Notification notification) {
         // Set all recipient fields to null for global notifications
         notification.setRecipientUserId(null);
         notification.setRecipientRole(null);
         notification.setRecipientDepartmentId(null);
         notification.setRecipientOrganizationId(null);
-        Notification saved = notificationRepository.save(notification);
-        
-        // Broadcast the notification via WebSocket
-        webSocketNotificationService.sendNotificationToAll(saved);
-        
-        // Also broadcast the updated unread count
-        int unreadCount = countAllUnreadNotifications();
-        webSocketNotificationService.sendUnreadCountUpdate(unreadCount);
+        Notification saved = persist(notification);
         
         return saved;
     }
@@ -181,6 +232,7 @@ public class NotificationService {
      * Create a status transition notification for all users
      * Sends notifications showing only the issue key and status transition
      */
+    @Transactional
     public void createStatusTransitionNotification(String issueKey, String fromStatus, String toStatus, 
             Long requesterId, String requesterName, Long requesterDepartmentId, Long requesterOrganizationId,
             Long statusChangerId, String statusChangerName) {
@@ -195,109 +247,213 @@ public class NotificationService {
         boolean hasTargeting = requesterDepartmentId != null || requesterOrganizationId != null;
         boolean hasRequester = requesterId != null;
 
+        NotificationBatch batch = NotificationBatch.forEvent("Status Updated", issueKey, message)
+            .transition(fromStatus, toStatus)
+            .sender(statusChangerId, statusChangerName);
+
         // Targeted notifications: requester (if known)
         if (hasRequester) {
-            createTargetedNotification("Status Updated", issueKey,
-                message, fromStatus, toStatus,
-                requesterId, requesterDepartmentId, requesterOrganizationId,
-                null,  // role not needed for direct recipient
-                statusChangerId, statusChangerName);
+            batch.toUser(requesterId, requesterDepartmentId, requesterOrganizationId);
         }
 
         if (hasTargeting) {
-            // Approvers
-            createTargetedNotification("Status Updated", issueKey,
-                message, fromStatus, toStatus,
-                null, requesterDepartmentId, requesterOrganizationId,
-                "APPROVER",
-                statusChangerId, statusChangerName);
-            // Admins
-            createTargetedNotification("Status Updated", issueKey,
-                message, fromStatus, toStatus,
-                null, requesterDepartmentId, requesterOrganizationId,
-                "ADMIN",
-                statusChangerId, statusChangerName);
+            // Approvers and admins of the requester's org/department
+            batch.toRole("APPROVER", requesterDepartmentId, requesterOrganizationId)
+                .toRole("ADMIN", requesterDepartmentId, requesterOrganizationId);
         } else if (!hasRequester) {
             // Fallback to global only if we have no specific targeting and no requester user to notify
-            sendNotificationToAll(
-                "Status Updated",
-                message,
-                issueKey,
-                statusChangerName,
-                statusChangerId
-            );
+            batch.toEveryone();
         }
+        publish(batch);
         logger.info("NOTIFICATION_LOG: Notification saved for issue {} transition from '{}' to '{}'", issueKey, fromStatus, toStatus);
     }
 
+    /**
+     * Create a status transition notification, taking the requester metadata from the contract
+     * @param contract The issue's contract, or null if it has none yet
+     */
+    @Transactional
+    public void createStatusTransitionNotification(String issueKey, String fromStatus, String toStatus,
+            ContractDetails contract, Long statusChangerId, String statusChangerName) {
+        Long requesterId = null;
+        String requesterName = null;
+        Long requesterDepartmentId = null;
+        Long requesterOrganizationId = null;
+
+        if (contract != null) {
+            requesterId = contract.getRequester() != null ? contract.getRequester().getId() : null;
+            requesterName = contract.getRequesterName();
+            requesterDepartmentId = contract.getRequesterDepartmentId();
+            requesterOrganizationId = contract.getRequesterOrganizationId();
+        } else {
+            logger.info("No contract found for issue: {}", issueKey);
+        }
+
+        createStatusTransitionNotification(issueKey, fromStatus, toStatus, requesterId, requesterName,
+            requesterDepartmentId, requesterOrganizationId, statusChangerId, statusChangerName);
+    }
+
     /**
      * Create notifications when a request is created
      */
+    @Transactional
     public void createRequestCreatedNotification(String issueKey, Long creatorId, Long departmentId, Long organizationId, String creatorName) {
         String message = String.format("Request %s has been created", issueKey);
         boolean hasTargeting = departmentId != null || organizationId != null;
         boolean hasCreator = creatorId != null;
 
+        NotificationBatch batch = NotificationBatch.forEvent("Request Created", issueKey, message)
+            .sender(creatorId, creatorName);
+
         // Notify creator (if known)
         if (hasCreator) {
-            createTargetedNotification("Request Created", issueKey, message, null, null,
-                creatorId, departmentId, organizationId, null, creatorId, creatorName);
+            batch.toUser(creatorId, departmentId, organizationId);
         }
 
         if (hasTargeting) {
-            // Notify approvers in same org/department
-            createTargetedNotification("Request Created", issueKey, message, null, null,
-                null, departmentId, organizationId, "APPROVER", creatorId, creatorName);
-            // Notify admins in same org/department
-            createTargetedNotification("Request Created", issueKey, message, null, null,
-                null, departmentId, organizationId, "ADMIN", creatorId, creatorName);
+            // Notify approvers and admins in same org/department
+            batch.toRole("APPROVER", departmentId, organizationId)
+                .toRole("ADMIN", departmentId, organizationId);
         } else if (!hasCreator) {
             // Fallback global only if no creator info to target
-            sendNotificationToAll("Request Created", message, issueKey, creatorName, creatorId);
+            batch.toEveryone();
         }
+        publish(batch);
     }
 
     /**
-     * Persist a targeted notification without broadcasting globally.
+     * Store all notifications of a batch, fill their recipients' inboxes with one statement and,
+     * once committed, push the notifications to their audiences and the new unread counts in one dispatch
+     * @param batch The notifications of one event
      */
-    private void createTargetedNotification(String title, String issueKey, String message, String fromStatus, String toStatus,
-                                            Long recipientUserId, Long recipientDepartmentId, Long recipientOrganizationId,
-                                            String recipientRole, Long senderUserId, String senderName) {
-        Notification notification = new Notification();
-        notification.setTitle(title);
-        notification.setMessage(message);
-        notification.setIssueKey(issueKey);
-        notification.setFromStatus(fromStatus);
-        notification.setToStatus(toStatus);
-        notification.setSenderUserId(senderUserId);
-        notification.setSenderName(senderName);
-        notification.setRecipientUserId(recipientUserId);
-        notification.setRecipientDepartmentId(recipientDepartmentId);
-        notification.setRecipientOrganizationId(recipientOrganizationId);
-        notification.setRecipientRole(recipientRole);
+    @Transactional
+    public void publish(NotificationBatch batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<Notification> saved = notificationRepository.saveAll(batch.getNotifications());
+        List<Long> recipients = notificationRecipientRepository.fanOut(saved.stream().map(Notification::getId).toList());
+        logger.debug("Notification batch of {} delivered to {} inboxes", saved.size(), recipients.size());
+
+        afterCommit(() -> webSocketNotificationService.dispatch(saved, notificationUnreadCounter.increment(recipients)));
+    }
 
-        notificationRepository.save(notification);
+    /**
+     * Save a notification and add it to the inbox of every user its targeting resolves to.
+     * Once committed, the notification is pushed to its audience and the recipients' unread counters are bumped and pushed to them.
+     */
+    private Notification persist(Notification notification) {
+        Notification saved = notificationRepository.save(notification);
+        List<Long> recipients = notificationRecipientRepository.fanOut(List.of(saved.getId()));
+        logger.debug("Notification {} delivered to {} inboxes", saved.getId(), recipients.size());
+
+        // Nothing is pushed until the notification is committed, so a rollback never reaches a client
+        afterCommit(() -> webSocketNotificationService.dispatch(List.of(saved), notificationUnreadCounter.increment(recipients)));
+        return saved;
+    }
+
+    /**
+     * Run an action once the current transaction has committed, or right away outside a transaction
+     */
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+    
+    /**
+     * Get all notifications in a user's inbox, newest first
+     * @param userId The user
+     * @return The notifications, with the user's own read state
+     */
+    public List<Notification> getNotificationsForUser(Long userId) {
+        return notificationRecipientRepository.findInbox(userId).stream()
+            .map(NotificationService::inboxView)
+            .toList();
+    }
+    
+    /**
+     * Get a page of a user's inbox
+     * @param userId The user
+     * @param before Cursor of the previous page, or null for the newest notifications
+     * @param limit Page size, at most {@link #FEED_MAX_LIMIT}
+     * @return The page, with the user's own read state
+     */
+    public FeedPage getFeedForUser(Long userId, FeedCursor before, int limit) {
+        int size = Math.max(1, Math.min(limit, FEED_MAX_LIMIT));
+        // One extra row tells whether there is a next page
+        PageRequest page = PageRequest.of(0, size + 1);
+        List<NotificationRecipient> rows = before == null
+            ? notificationRecipientRepository.findInboxPage(userId, page)
+            : notificationRecipientRepository.findInboxPageBefore(userId, before.createdAt, before.id, page);
+        return feedPage(rows.stream().map(NotificationService::inboxView).toList(), size);
     }
     
     /**
-     * Get all notifications for a user
+     * Get a page of all notifications, for callers without a user
+     * @param before Cursor of the previous page, or null for the newest notifications
+     * @param limit Page size, at most {@link #FEED_MAX_LIMIT}
+     * @return The page
      */
-    public List<Notification> getNotificationsForUser(Long userId, String role, Long departmentId, Long organizationId) {
-        return notificationRepository.findNotificationsForUser(userId, role, departmentId, organizationId);
+    public FeedPage getFeed(FeedCursor before, int limit) {
+        int size = Math.max(1, Math.min(limit, FEED_MAX_LIMIT));
+        PageRequest page = PageRequest.of(0, size + 1);
+        List<Notification> rows = before == null
+            ? notificationRepository.findAllByOrderByCreatedAtDescIdDesc(page)
+            : notificationRepository.findPageBefore(before.createdAt, before.id, page);
+        return feedPage(rows, size);
+    }
+    
+    /**
+     * Refresh the unread counts of the users whose inboxes hold the notifications, each with their own count.
+     * The shared read flag is not part of anyone's count, so nothing is broadcast to everyone.
+     */
+    private void pushUnreadCountsToOwners(Collection<Long> notificationIds) {
+        List<Long> ids = List.copyOf(notificationIds);
+        Map<Long, Integer> unreadCounts = new HashMap<>();
+        for (int from = 0; from < ids.size(); from += OWNER_LOOKUP_BATCH_SIZE) {
+            List<Long> batch = ids.subList(from, Math.min(from + OWNER_LOOKUP_BATCH_SIZE, ids.size()));
+            for (Long userId : notificationRecipientRepository.findUserIdsByNotificationIds(batch)) {
+                unreadCounts.computeIfAbsent(userId, notificationUnreadCounter::get);
+            }
+        }
+        webSocketNotificationService.dispatch(List.of(), unreadCounts);
+    }
+    
+    private static FeedPage feedPage(List<Notification> rows, int size) {
+        if (rows.size() <= size) {
+            return new FeedPage(rows, null);
+        }
+        List<Notification> notifications = rows.subList(0, size);
+        Notification last = notifications.get(size - 1);
+        return new FeedPage(notifications, new FeedCursor(last.getCreatedAt(), last.getId()));
     }
     
     /**
-     * Get unread notifications for a user
+     * Get unread notifications in a user's inbox, newest first
+     * @param userId The user
+     * @return The unread notifications
      */
-    public List<Notification> getUnreadNotificationsForUser(Long userId, String role, Long departmentId, Long organizationId) {
-        return notificationRepository.findUnreadNotificationsForUser(userId, role, departmentId, organizationId);
+    public List<Notification> getUnreadNotificationsForUser(Long userId) {
+        return notificationRecipientRepository.findUnreadInbox(userId).stream()
+            .map(NotificationService::inboxView)
+            .toList();
     }
     
     /**
-     * Count unread notifications for a user
+     * Count unread notifications in a user's inbox
+     * @param userId The user
+     * @return The unread count
      */
-    public int countUnreadNotificationsForUser(Long userId, String role, Long departmentId, Long organizationId) {
-        return notificationRepository.countUnreadNotificationsForUser(userId, role, departmentId, organizationId);
+    public int countUnreadNotificationsForUser(Long userId) {
+        return notificationUnreadCounter.get(userId);
     }
     
     /**
@@ -309,26 +465,36 @@ public class NotificationService {
             Notification notification = notificationOpt.get();
             notification.setIsRead(true);
             Notification saved = notificationRepository.save(notification);
-            
-            // Broadcast the updated unread count
-            int unreadCount = countAllUnreadNotifications();
-            webSocketNotificationService.sendUnreadCountUpdate(unreadCount);
-            
+            pushUnreadCountsToOwners(List.of(notificationId));
             return saved;
         }
         return null;
     }
     
     /**
-     * Mark all notifications as read for a user
+     * Mark a notification as read for one user; other recipients keep their own read state
+     * @param notificationId The notification
+     * @param userId The user
+     * @return The notification as seen by the user, or null if it is not in their inbox
      */
-    public void markAllAsRead(Long userId, String role, Long departmentId, Long organizationId) {
-        List<Notification> notifications = getUnreadNotificationsForUser(userId, role, departmentId, organizationId);
-        for (Notification notification : notifications) {
-            notification.setIsRead(true);
+    public Notification markAsRead(Long notificationId, Long userId) {
+        if (notificationRecipientRepository.markAsRead(userId, notificationId, LocalDateTime.now()) > 0) {
+            notificationUnreadCounter.decrement(userId);
+            webSocketNotificationService.sendUnreadCountUpdateToUser(userId, countUnreadNotificationsForUser(userId));
         }
-        if (!notifications.isEmpty()) {
-            notificationRepository.saveAll(notifications);
+        return notificationRecipientRepository.findInboxEntry(userId, notificationId)
+            .map(NotificationService::inboxView)
+            .orElse(null);
+    }
+    
+    /**
+     * Mark all notifications in a user's inbox as read
+     * @param userId The user
+     */
+    public void markAllAsRead(Long userId) {
+        if (notificationRecipientRepository.markAllAsRead(userId, LocalDateTime.now()) > 0) {
+            notificationUnreadCounter.reset(userId);
+            webSocketNotificationService.sendUnreadCountUpdateToUser(userId, 0);
         }
     }
     
@@ -337,6 +503,7 @@ public class NotificationService {
      */
     public void deleteNotification(Long notificationId) {
         notificationRepository.deleteById(notificationId);
+        notificationUnreadCounter.clear();
     }
     
     /**
@@ -346,16 +513,40 @@ public class NotificationService {
         List<Notification> userNotifications = notificationRepository.findByRecipientUserIdOrderByCreatedAtDesc(userId);
         if (!userNotifications.isEmpty()) {
             notificationRepository.deleteAll(userNotifications);
+            notificationUnreadCounter.clear();
         }
     }
     
     /**
-     * Delete all notifications visible to a user based on their role, department, and organization
+     * Clear a user's inbox; the notifications stay in the inboxes of their other recipients
+     * @param userId The user
      */
-    public void deleteAllNotificationsForUser(Long userId, String role, Long departmentId, Long organizationId) {
-        List<Notification> notifications = getNotificationsForUser(userId, role, departmentId, organizationId);
-        if (!notifications.isEmpty()) {
-            notificationRepository.deleteAll(notifications);
-        }
+    public void deleteAllNotificationsForUser(Long userId) {
+        notificationRecipientRepository.deleteInbox(userId);
+        notificationUnreadCounter.reset(userId);
+    }
+    
+    /**
+     * A detached copy of an inbox entry's notification carrying the user's own read state,
+     * so the shared notification row is never modified
+     */
+    private static Notification inboxView(NotificationRecipient recipient) {
+        Notification source = recipient.getNotification();
+        Notification view = new Notification();
+        view.setId(source.getId());
+        view.setTitle(source.getTitle());
+        view.setMessage(source.getMessage());
+        view.setIssueKey(source.getIssueKey());
+        view.setCreatedAt(source.getCreatedAt());
+        view.setIsRead(recipient.getIsRead());
+        view.setRecipientUserId(source.getRecipientUserId());
+        view.setRecipientRole(source.getRecipientRole());
+        view.setRecipientDepartmentId(source.getRecipientDepartmentId());
+        view.setRecipientOrganizationId(source.getRecipientOrganizationId());
+        view.setSenderUserId(source.getSenderUserId());
+        view.setSenderName(source.getSenderName());
+        view.setFromStatus(source.getFromStatus());
+        view.setToStatus(source.getToStatus());
+        return view;
     }
 }
\ No newline at end of file
@@ -0,0 +1,137 @@
+package com.htc.productdevelopment.service;
+
+import com.htc.productdevelopment.repository.NotificationRecipientRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Unread notification counts per user, kept in memory so reading a count or pushing it over
+ * WebSocket does not query the database.
+ * A user's counter is loaded from notification_recipients the first time it is asked for and
+ * then moved by creates and mark-read; users whose counter is not loaded are left alone.
+ * Counters can drift (a load racing a create, a counter change for a rolled-back write), so
+ * loaded counters are periodically reconciled against the database.
+ */
+@Component
+public class NotificationUnreadCounter {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationUnreadCounter.class);
+
+    private static final int RECONCILE_BATCH_SIZE = 500;
+
+    private final NotificationRecipientRepository notificationRecipientRepository;
+
+    private final Map<Long, AtomicInteger> counters = new ConcurrentHashMap<>();
+
+    @Value("${notifications.unread-counter.max-users:50000}")
+    private int maxUsers;
+
+    public NotificationUnreadCounter(NotificationRecipientRepository notificationRecipientRepository) {
+        this.notificationRecipientRepository = notificationRecipientRepository;
+    }
+
+    /**
+     * Unread count of a user, loaded from the database only if the user has no counter yet
+     * @param userId The user
+     * @return The unread count
+     */
+    public int get(Long userId) {
+        AtomicInteger counter = counters.get(userId);
+        if (counter != null) {
+            return counter.get();
+        }
+        int unread = notificationRecipientRepository.countByUserIdAndIsReadFalse(userId);
+        if (counters.size() < maxUsers) {
+            counter = counters.putIfAbsent(userId, new AtomicInteger(unread));
+            if (counter != null) {
+                return counter.get();
+            }
+        }
+        return unread;
+    }
+
+    /**
+     * Count a new unread notification for each of the users
+     * @param userIds The recipients
+     * @return The new counts of the recipients that have a counter
+     */
+    public Map<Long, Integer> increment(Collection<Long> userIds) {
+        Map<Long, Integer> updated = new HashMap<>();
+        for (Long userId : userIds) {
+            AtomicInteger counter = counters.get(userId);
+            if (counter != null) {
+                updated.put(userId, counter.incrementAndGet());
+            }
+        }
+        return updated;
+    }
+
+    /**
+     * Count one notification of a user as read
+     * @param userId The user
+     */
+    public void decrement(Long userId) {
+        AtomicInteger counter = counters.get(userId);
+        if (counter != null) {
+            counter.updateAndGet(unread -> Math.max(0, unread - 1));
+        }
+    }
+
+    /**
+     * Set a user's count after all of their notifications were read or removed
+     * @param userId The user
+     */
+    public void reset(Long userId) {
+        AtomicInteger counter = counters.get(userId);
+        if (counter != null) {
+            counter.set(0);
+        }
+    }
+
+    /**
+     * Forget all counters, e.g. after notifications were deleted for an unknown set of users
+     */
+    public void clear() {
+        counters.clear();
+    }
+
+    @Scheduled(initialDelayString = "${notifications.unread-counter.reconcile-interval-ms:300000}",
+               fixedDelayString = "${notifications.unread-counter.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        List<Long> userIds = new ArrayList<>(counters.keySet());
+        int corrected = 0;
+        try {
+            for (int from = 0; from < userIds.size(); from += RECONCILE_BATCH_SIZE) {
+                List<Long> batch = userIds.subList(from, Math.min(from + RECONCILE_BATCH_SIZE, userIds.size()));
+                Map<Long, Integer> actual = new HashMap<>();
+                for (Object[] row : notificationRecipientRepository.countUnreadByUserIds(batch)) {
+                    actual.put((Long) row[0], ((Number) row[1]).intValue());
+                }
+                for (Long userId : batch) {
+                    AtomicInteger counter = counters.get(userId);
+                    int unread = actual.getOrDefault(userId, 0);
+                    if (counter != null && counter.getAndSet(unread) != unread) {
+                        corrected++;
+                    }
+                }
+            }
+        } catch (Exception e) {
+            logger.warn("Unread notification counter reconciliation failed: {}", e.getMessage());
+            return;
+        }
+        if (corrected > 0) {
+            logger.info("Reconciled unread notification counters: {} of {} corrected", corrected, userIds.size());
+        }
+    }
+}
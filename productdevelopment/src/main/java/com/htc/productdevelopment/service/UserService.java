@@ -7,6 +7,8 @@ import com.htc.productdevelopment.repository.UserRepository;
 import com.htc.productdevelopment.repository.DepartmentRepository;
 import com.htc.productdevelopment.repository.OrganizationRepository;
 
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -23,6 +25,9 @@ public class UserService {
 
     private static final Logger logger = LoggerFactory.getLogger(UserService.class);
 
+    // uid -> User, read on every authenticated request; evicted by every write below
+    public static final String CACHE_USER_PROFILES = "userProfiles";
+
     private final UserRepository userRepository;
     private final DepartmentRepository departmentRepository;
     private final OrganizationService organizationService;
@@ -67,6 +72,7 @@ public class UserService {
         return userRepository.findAll();
     }
 
+    @Cacheable(value = CACHE_USER_PROFILES, key = "#uid", unless = "#result == null")
     public Optional<User> getUserByUid(String uid) {
         return userRepository.findByUid(uid);
     }
@@ -80,6 +86,7 @@ public class UserService {
     }
 
     // -------------------------------------------------------
+    @CacheEvict(value = CACHE_USER_PROFILES, key = "#uid")
     public User updateUser(String uid, String email, String name) {
         User user = userRepository.findByUid(uid)
                 .orElseThrow(() -> new RuntimeException("User not found with UID: " + uid));
@@ -91,6 +98,7 @@ public class UserService {
     }
 
     // -------------------------------------------------------
+    @CacheEvict(value = CACHE_USER_PROFILES, key = "#uid")
     public User updateUserAvatar(String uid, String avatar) {
         User user = userRepository.findByUid(uid)
                 .orElseThrow(() -> new RuntimeException("User not found with UID: " + uid));
@@ -99,6 +107,7 @@ public class UserService {
         return userRepository.save(user);
     }
 
+    @CacheEvict(value = CACHE_USER_PROFILES, key = "#uid")
     public User updateUserRole(String uid, User.Role role) {
         User user = userRepository.findByUid(uid)
                 .orElseThrow(() -> new RuntimeException("User not found with UID: " + uid));
@@ -159,6 +168,7 @@ public class UserService {
     }
 
     // -------------------------------------------------------
+    @CacheEvict(value = CACHE_USER_PROFILES, key = "#uid")
     public User disableUser(String uid) {
         User user = userRepository.findByUid(uid)
                 .orElseThrow(() -> new RuntimeException("User not found with UID: " + uid));
@@ -167,6 +177,7 @@ public class UserService {
         return userRepository.save(user);
     }
 
+    @CacheEvict(value = CACHE_USER_PROFILES, key = "#uid")
     public User enableUser(String uid) {
         User user = userRepository.findByUid(uid)
                 .orElseThrow(() -> new RuntimeException("User not found with UID: " + uid));
@@ -176,6 +187,7 @@ public class UserService {
     }
 
     // -------------------------------------------------------
+    @CacheEvict(value = CACHE_USER_PROFILES, key = "#uid")
     public void deleteUser(String uid) {
         User user = userRepository.findByUid(uid)
                 .orElseThrow(() -> new RuntimeException("User not found with UID: " + uid));
@@ -186,6 +198,7 @@ public class UserService {
         userRepository.delete(user);
     }
 
+    @CacheEvict(value = CACHE_USER_PROFILES, allEntries = true)
     public void deleteUserById(Long id) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("User not found with ID: " + id));
@@ -228,6 +241,7 @@ public class UserService {
     // -------------------------------------------------------------
     // 2️⃣ Save user in DB
     // -------------------------------------------------------------
+    @CacheEvict(value = CACHE_USER_PROFILES, key = "#uid")
     public User saveUserToDB(String uid,
                              String email,
                              String fullName,
@@ -287,6 +301,7 @@ public class UserService {
     // -------------------------------------------------------------
     // 4️⃣ Create user (for FirebaseSyncService)
     // -------------------------------------------------------------
+    @CacheEvict(value = CACHE_USER_PROFILES, key = "#uid")
     public User createUser(String uid, String email, String name) {
         logger.info("Creating user with UID: {}, email: {}, name: {}", uid, email, name);
         
@@ -349,6 +364,7 @@ public class UserService {
     // -------------------------------------------------------
     // Update by ID (Used in Admin User Management)
     // -------------------------------------------------------
+    @CacheEvict(value = CACHE_USER_PROFILES, allEntries = true)
     public User updateUserById(Long id, User userData) {
         logger.info("Updating user data for ID: {}", id);
 
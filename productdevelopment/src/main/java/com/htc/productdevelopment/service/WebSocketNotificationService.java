@@ -1,41 +1,77 @@
 package com.htc.productdevelopment.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.htc.productdevelopment.config.WebSocketConfig;
 import com.htc.productdevelopment.model.Notification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.messaging.Message;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.broker.AbstractBrokerMessageHandler;
+import org.springframework.messaging.simp.stomp.StompBrokerRelayMessageHandler;
+import org.springframework.messaging.MessageHandler;
 import org.springframework.stereotype.Service;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pushes notifications and unread counts to connected clients.
+ * Notifications are routed to the sessions of the users they are meant for, found through the
+ * {@link WebSocketSessionRegistry}, and delivered on each user's "/user/queue/notifications".
+ * With the broker relay every instance only knows its own sessions, so a notification is first
+ * published to an internal topic that all instances subscribe to, and each routes it locally.
+ */
 @Service
 public class WebSocketNotificationService {
 
+    private static final Logger logger = LoggerFactory.getLogger(WebSocketNotificationService.class);
+
     @Autowired
     private SimpMessagingTemplate messagingTemplate;
 
-    /**
-     * Send a notification to all connected WebSocket clients
-     */
-    public void sendNotificationToAll(Notification notification) {
-        // Send to the /topic/notifications endpoint for all clients
-        messagingTemplate.convertAndSend("/topic/notifications", notification);
+    @Autowired
+    private WebSocketSessionRegistry sessionRegistry;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private boolean relayed;
+
+    @Autowired
+    void subscribeToRoutedNotifications(List<AbstractBrokerMessageHandler> brokerHandlers) {
+        for (AbstractBrokerMessageHandler handler : brokerHandlers) {
+            if (handler instanceof StompBrokerRelayMessageHandler relay) {
+                Map<String, MessageHandler> subscriptions = new HashMap<>(relay.getSystemSubscriptions());
+                subscriptions.put(WebSocketConfig.NOTIFICATION_ROUTING_DESTINATION, this::onRoutedNotification);
+                relay.setSystemSubscriptions(subscriptions);
+                relayed = true;
+            }
+        }
     }
 
     /**
-     * Send notification count update to all connected WebSocket clients
+     * Send a notification to the connected users it is meant for (recipient user, role within
+     * department/organization, or everyone), without reaching anyone else
      */
-    public void sendUnreadCountUpdate(int unreadCount) {
-        // Send to the /topic/unread-count endpoint for all clients
-        messagingTemplate.convertAndSend("/topic/unread-count", 
-            new UnreadCountUpdate(unreadCount));
+    public void sendNotificationToAudience(Notification notification) {
+        if (relayed) {
+            messagingTemplate.convertAndSend(WebSocketConfig.NOTIFICATION_ROUTING_DESTINATION, notification);
+        } else {
+            deliverToAudience(notification);
+        }
     }
 
     /**
      * Send a notification to a specific user
      */
     public void sendNotificationToUser(Long userId, Notification notification) {
-        // Send to the /user/{userId}/notifications endpoint for specific user
+        // Send to the /user/queue/notifications subscription of the user's sessions
         messagingTemplate.convertAndSendToUser(
             userId.toString(), 
-            "/notifications", 
+            "/queue/notifications", 
             notification
         );
     }
@@ -44,14 +80,45 @@ public class WebSocketNotificationService {
      * Send unread count update to a specific user
      */
     public void sendUnreadCountUpdateToUser(Long userId, int unreadCount) {
-        // Send to the /user/{userId}/unread-count endpoint for specific user
+        // Send to the /user/queue/unread-count subscription of the user's sessions
         messagingTemplate.convertAndSendToUser(
             userId.toString(), 
-            "/unread-count", 
+            "/queue/unread-count", 
             new UnreadCountUpdate(unreadCount)
         );
     }
 
+    /**
+     * Push the outcome of one notification batch: each notification goes to its audience, and each
+     * affected user gets their new unread count once, however many of the notifications reached them
+     */
+    public void dispatch(List<Notification> notifications, Map<Long, Integer> unreadCounts) {
+        notifications.forEach(this::sendNotificationToAudience);
+        unreadCounts.forEach(this::sendUnreadCountUpdateToUser);
+    }
+
+    /**
+     * Send a status update of a queued Jira operation to its subscribers
+     */
+    public void sendJiraOperationUpdate(String operationId, Object status) {
+        // Send to the /topic/jira-operations/{operationId} endpoint for the client that queued it
+        messagingTemplate.convertAndSend(WebSocketConfig.JIRA_OPERATIONS_PREFIX + operationId, status);
+    }
+
+    private void deliverToAudience(Notification notification) {
+        for (Long userId : sessionRegistry.usersFor(notification)) {
+            sendNotificationToUser(userId, notification);
+        }
+    }
+
+    private void onRoutedNotification(Message<?> message) {
+        try {
+            deliverToAudience(objectMapper.readValue((byte[]) message.getPayload(), Notification.class));
+        } catch (Exception e) {
+            logger.warn("Failed to route notification from broker: {}", e.getMessage());
+        }
+    }
+
     /**
      * Inner class for unread count updates
      */
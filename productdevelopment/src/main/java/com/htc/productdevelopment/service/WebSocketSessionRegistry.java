@@ -0,0 +1,134 @@
+package com.htc.productdevelopment.service;
+
+import com.htc.productdevelopment.dto.StompUser;
+import com.htc.productdevelopment.model.Notification;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Authenticated STOMP sessions on this instance, indexed by the audiences a notification can target.
+ * A connected user is listed under every audience key its role, department and organization match
+ * (role; role + department; role + organization; role + department + organization), so the users a
+ * notification reaches are found with one lookup instead of by scanning every session.
+ * Sessions are added at CONNECT by the STOMP authentication interceptor and removed on disconnect.
+ */
+@Component
+public class WebSocketSessionRegistry {
+
+    private static final String EVERYONE = "*";
+
+    private final Map<String, StompUser> sessions = new ConcurrentHashMap<>();
+    private final Map<Long, Set<String>> sessionsByUser = new ConcurrentHashMap<>();
+    private final Map<String, Set<Long>> usersByAudience = new ConcurrentHashMap<>();
+
+    public synchronized void register(String sessionId, StompUser user) {
+        sessions.put(sessionId, user);
+        Set<String> userSessions = sessionsByUser.computeIfAbsent(user.getUserId(), id -> ConcurrentHashMap.newKeySet());
+        if (userSessions.isEmpty()) {
+            for (String key : audienceKeys(user)) {
+                usersByAudience.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(user.getUserId());
+            }
+        }
+        userSessions.add(sessionId);
+    }
+
+    public synchronized void unregister(String sessionId) {
+        StompUser user = sessions.remove(sessionId);
+        if (user == null) {
+            return;
+        }
+        Set<String> userSessions = sessionsByUser.get(user.getUserId());
+        if (userSessions != null) {
+            userSessions.remove(sessionId);
+            if (userSessions.isEmpty()) {
+                sessionsByUser.remove(user.getUserId());
+                for (String key : audienceKeys(user)) {
+                    Set<Long> users = usersByAudience.get(key);
+                    if (users != null) {
+                        users.remove(user.getUserId());
+                        if (users.isEmpty()) {
+                            usersByAudience.remove(key);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        unregister(event.getSessionId());
+    }
+
+    /**
+     * Connected users a notification is meant for, by the same rules as the notification inbox:
+     * the recipient user, users with the recipient role (narrowed by department and/or organization),
+     * or everyone when no targeting is set
+     * @param notification The notification
+     * @return User ids with at least one session on this instance
+     */
+    public Set<Long> usersFor(Notification notification) {
+        Long userId = notification.getRecipientUserId();
+        String role = notification.getRecipientRole();
+        if (userId == null && role == null) {
+            if (notification.getRecipientDepartmentId() != null || notification.getRecipientOrganizationId() != null) {
+                return Collections.emptySet();
+            }
+            return usersByAudience.getOrDefault(EVERYONE, Collections.emptySet());
+        }
+
+        Set<Long> users = new HashSet<>();
+        if (userId != null && sessionsByUser.containsKey(userId)) {
+            users.add(userId);
+        }
+        if (role != null) {
+            users.addAll(usersByAudience.getOrDefault(
+                audienceKey(role, notification.getRecipientDepartmentId(), notification.getRecipientOrganizationId()),
+                Collections.emptySet()));
+        }
+        return users;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("sessions", sessions.size());
+        stats.put("users", sessionsByUser.size());
+        stats.put("audiences", usersByAudience.size());
+        return stats;
+    }
+
+    private static List<String> audienceKeys(StompUser user) {
+        if (user.getRole() == null) {
+            return List.of(EVERYONE);
+        }
+        Long departmentId = user.getDepartmentId();
+        Long organizationId = user.getOrganizationId();
+        List<String> keys = new ArrayList<>();
+        keys.add(EVERYONE);
+        keys.add(audienceKey(user.getRole(), null, null));
+        if (departmentId != null) {
+            keys.add(audienceKey(user.getRole(), departmentId, null));
+        }
+        if (organizationId != null) {
+            keys.add(audienceKey(user.getRole(), null, organizationId));
+        }
+        if (departmentId != null && organizationId != null) {
+            keys.add(audienceKey(user.getRole(), departmentId, organizationId));
+        }
+        return keys;
+    }
+
+    private static String audienceKey(String role, Long departmentId, Long organizationId) {
+        return role + "|" + (departmentId != null ? departmentId : "") + "|" + (organizationId != null ? organizationId : "");
+    }
+}
@@ -148,6 +148,34 @@ CREATE INDEX IF NOT EXISTS idx_notifications_recipient_department_id ON notifica
 CREATE INDEX IF NOT EXISTS idx_notifications_recipient_organization_id ON notifications(recipient_organization_id);
 CREATE INDEX IF NOT EXISTS idx_notifications_is_read ON notifications(is_read);
 CREATE INDEX IF NOT EXISTS idx_notifications_created_at ON notifications(created_at);
+CREATE INDEX IF NOT EXISTS idx_notifications_feed ON notifications(created_at DESC, id DESC);
+
+-- Per-user inbox: one row per notification and user it was targeted at, filled when the notification is created
+CREATE TABLE IF NOT EXISTS notification_recipients (
+    id BIGSERIAL PRIMARY KEY,
+    notification_id BIGINT NOT NULL REFERENCES notifications(id) ON DELETE CASCADE,
+    user_id BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    is_read BOOLEAN NOT NULL DEFAULT FALSE,
+    read_at TIMESTAMP,
+    created_at TIMESTAMP NOT NULL,
+    CONSTRAINT uk_notification_recipients_user_notification UNIQUE (user_id, notification_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_notification_recipients_inbox ON notification_recipients(user_id, created_at DESC, notification_id DESC);
+CREATE INDEX IF NOT EXISTS idx_notification_recipients_unread ON notification_recipients(user_id, is_read, created_at DESC);
+
+-- One-time backfill of existing notifications, using the same targeting rules as the old per-user queries
+INSERT INTO notification_recipients (notification_id, user_id, is_read, created_at)
+SELECT n.id, u.id, COALESCE(n.is_read, FALSE), COALESCE(n.created_at, CURRENT_TIMESTAMP)
+FROM notifications n JOIN users u ON (
+    u.id = n.recipient_user_id OR
+    (u.role = n.recipient_role
+        AND (n.recipient_department_id IS NULL OR n.recipient_department_id = u.department_id)
+        AND (n.recipient_organization_id IS NULL OR n.recipient_organization_id = u.organization_id)) OR
+    (n.recipient_user_id IS NULL AND n.recipient_role IS NULL
+        AND n.recipient_department_id IS NULL AND n.recipient_organization_id IS NULL))
+WHERE NOT EXISTS (SELECT 1 FROM notification_recipients)
+ON CONFLICT (user_id, notification_id) DO NOTHING;
 
 -- Update invited_by column type in invitations table if it exists as bigint
 -- This will convert the column from bigint to varchar(255)
@@ -179,4 +207,98 @@ CREATE TABLE IF NOT EXISTS invitations (
 CREATE INDEX IF NOT EXISTS idx_invitations_email ON invitations(email);
 CREATE INDEX IF NOT EXISTS idx_invitations_token ON invitations(token);
 CREATE INDEX IF NOT EXISTS idx_invitations_used ON invitations(used);
-CREATE INDEX IF NOT EXISTS idx_invitations_created_at ON invitations(created_at);
\ No newline at end of file
+CREATE INDEX IF NOT EXISTS idx_invitations_created_at ON invitations(created_at);
+
+-- Local mirror of Request Management issues, filled incrementally from Jira
+CREATE TABLE IF NOT EXISTS jira_issues (
+    id BIGSERIAL PRIMARY KEY,
+    issue_id VARCHAR(255) UNIQUE,
+    key VARCHAR(255) UNIQUE,
+    summary VARCHAR(255),
+    description TEXT,
+    issue_type VARCHAR(255),
+    project_key VARCHAR(255),
+    reporter VARCHAR(255),
+    assignee VARCHAR(255),
+    status VARCHAR(255),
+    priority VARCHAR(255),
+    due_date DATE
+);
+
+ALTER TABLE jira_issues ADD COLUMN IF NOT EXISTS organization VARCHAR(255);
+ALTER TABLE jira_issues ADD COLUMN IF NOT EXISTS department VARCHAR(255);
+ALTER TABLE jira_issues ADD COLUMN IF NOT EXISTS requester_email VARCHAR(255);
+ALTER TABLE jira_issues ADD COLUMN IF NOT EXISTS jira_updated TIMESTAMP WITH TIME ZONE;
+ALTER TABLE jira_issues ADD COLUMN IF NOT EXISTS synced_at TIMESTAMP WITH TIME ZONE;
+ALTER TABLE jira_issues ADD COLUMN IF NOT EXISTS payload TEXT;
+
+CREATE INDEX IF NOT EXISTS idx_jira_issues_jira_updated ON jira_issues(jira_updated);
+CREATE INDEX IF NOT EXISTS idx_jira_issues_org_dept ON jira_issues(LOWER(organization), LOWER(department));
+CREATE INDEX IF NOT EXISTS idx_jira_issues_requester_email ON jira_issues(LOWER(requester_email));
+
+-- Incremental sync cursors, advanced only by completed sync runs
+CREATE TABLE IF NOT EXISTS jira_sync_state (
+    name VARCHAR(255) PRIMARY KEY,
+    cursor_updated TIMESTAMP WITH TIME ZONE,
+    last_completed_at TIMESTAMP WITH TIME ZONE
+);
+
+-- Jira webhook deliveries, processed in batches; event_id makes redeliveries idempotent
+CREATE TABLE IF NOT EXISTS jira_webhook_events (
+    id BIGSERIAL PRIMARY KEY,
+    event_id VARCHAR(255) NOT NULL UNIQUE,
+    event_type VARCHAR(255),
+    issue_key VARCHAR(255),
+    payload TEXT NOT NULL,
+    status VARCHAR(255) NOT NULL DEFAULT 'PENDING',
+    attempts INTEGER NOT NULL DEFAULT 0,
+    last_error TEXT,
+    received_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    processed_at TIMESTAMP WITH TIME ZONE
+);
+
+ALTER TABLE jira_webhook_events ADD COLUMN IF NOT EXISTS side_effects_applied_at TIMESTAMP WITH TIME ZONE;
+
+CREATE INDEX IF NOT EXISTS idx_jira_webhook_events_status ON jira_webhook_events(status, id);
+
+-- Durable outbox of Jira writes; operations with the same ordering_key are applied in id order
+CREATE TABLE IF NOT EXISTS jira_outbox (
+    id BIGSERIAL PRIMARY KEY,
+    operation_id VARCHAR(255) NOT NULL UNIQUE,
+    operation_type VARCHAR(255) NOT NULL,
+    ordering_key VARCHAR(255) NOT NULL,
+    issue_key VARCHAR(255),
+    payload TEXT,
+    attachment_name VARCHAR(255),
+    requested_by BIGINT,
+    status VARCHAR(255) NOT NULL DEFAULT 'PENDING',
+    attempts INTEGER NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    locked_at TIMESTAMP WITH TIME ZONE,
+    last_error TEXT,
+    result TEXT,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    completed_at TIMESTAMP WITH TIME ZONE
+);
+
+CREATE INDEX IF NOT EXISTS idx_jira_outbox_status ON jira_outbox(status, next_attempt_at, id);
+CREATE INDEX IF NOT EXISTS idx_jira_outbox_ordering_key ON jira_outbox(ordering_key, id);
+
+-- Content of queued attachment uploads, loaded only when the upload is applied
+CREATE TABLE IF NOT EXISTS jira_outbox_attachments (
+    operation_id BIGINT PRIMARY KEY REFERENCES jira_outbox(id) ON DELETE CASCADE,
+    content BYTEA NOT NULL
+);
+
+-- Move content queued before it had a table of its own
+DO $$
+BEGIN
+  IF EXISTS (SELECT FROM information_schema.columns
+      WHERE table_name = 'jira_outbox' AND column_name = 'attachment_content')
+  THEN
+    INSERT INTO jira_outbox_attachments (operation_id, content)
+    SELECT id, attachment_content FROM jira_outbox WHERE attachment_content IS NOT NULL
+    ON CONFLICT (operation_id) DO NOTHING;
+    ALTER TABLE jira_outbox DROP COLUMN attachment_content;
+  END IF;
+END $$;
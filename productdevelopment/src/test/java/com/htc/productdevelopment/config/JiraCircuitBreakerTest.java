@@ -0,0 +1,153 @@
+package com.htc.productdevelopment.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.net.SocketTimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * State machine of the breaker: closed, open after too many failures, one half-open probe
+ */
+class JiraCircuitBreakerTest {
+
+    private JiraCircuitBreaker breaker;
+
+    @BeforeEach
+    void setUp() {
+        breaker = new JiraCircuitBreaker();
+        ReflectionTestUtils.setField(breaker, "windowSize", 10);
+        ReflectionTestUtils.setField(breaker, "minCalls", 4);
+        ReflectionTestUtils.setField(breaker, "failureRateThreshold", 0.5);
+        ReflectionTestUtils.setField(breaker, "slowCallMillis", 1000L);
+        ReflectionTestUtils.setField(breaker, "openDurationMillis", 100L);
+    }
+
+    @Test
+    void staysClosedUntilTheMinimumNumberOfCalls() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            call(true);
+        }
+        assertEquals(JiraCircuitBreaker.State.CLOSED, breaker.getState());
+
+        call(true);
+        assertEquals(JiraCircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    @Test
+    void opensAtTheFailureRateThreshold() throws Exception {
+        call(false);
+        call(false);
+        call(false);
+        call(true);
+        call(true);
+        assertEquals(JiraCircuitBreaker.State.CLOSED, breaker.getState());
+
+        call(true);
+        assertEquals(JiraCircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    @Test
+    void slowCallsCountAsFailures() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            breaker.beforeCall();
+            breaker.afterCall(false, 1500);
+        }
+        assertEquals(JiraCircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    @Test
+    void failureRateIsMeasuredOverTheLastCalls() throws Exception {
+        for (int i = 0; i < 16; i++) {
+            call(false);
+        }
+        for (int i = 0; i < 4; i++) {
+            call(true);
+        }
+        assertEquals(JiraCircuitBreaker.State.CLOSED, breaker.getState());
+
+        // Five failures among the last ten calls, though fewer than a quarter of all calls failed
+        call(true);
+        assertEquals(JiraCircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    @Test
+    void openCircuitRejectsCallsWithoutReachingJira() throws Exception {
+        trip();
+
+        assertThrows(JiraCircuitBreaker.CircuitOpenException.class, () -> breaker.beforeCall());
+        assertEquals(1L, breaker.getStats().get("rejectedCalls"));
+        assertEquals(1L, breaker.getStats().get("timesOpened"));
+        assertTrue(breaker.isOpen());
+        assertTrue(breaker.getRetryAfterSeconds() >= 1);
+    }
+
+    @Test
+    void halfOpenLetsOneProbeThroughAndClosesOnSuccess() throws Exception {
+        trip();
+        Thread.sleep(150);
+
+        breaker.beforeCall();
+        assertEquals(JiraCircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertThrows(JiraCircuitBreaker.CircuitOpenException.class, () -> breaker.beforeCall());
+
+        breaker.afterCall(false, 10);
+        assertEquals(JiraCircuitBreaker.State.CLOSED, breaker.getState());
+        assertEquals(0, breaker.getStats().get("callsInWindow"));
+    }
+
+    @Test
+    void failedProbeReopensTheCircuit() throws Exception {
+        trip();
+        Thread.sleep(150);
+
+        breaker.beforeCall();
+        breaker.afterCall(true, 10);
+
+        assertEquals(JiraCircuitBreaker.State.OPEN, breaker.getState());
+        assertEquals(2L, breaker.getStats().get("timesOpened"));
+        assertThrows(JiraCircuitBreaker.CircuitOpenException.class, () -> breaker.beforeCall());
+    }
+
+    @Test
+    void abandonedProbeFreesTheSlotForTheNextOne() throws Exception {
+        trip();
+        Thread.sleep(150);
+
+        breaker.beforeCall();
+        breaker.abandonCall();
+
+        breaker.beforeCall();
+        assertEquals(JiraCircuitBreaker.State.HALF_OPEN, breaker.getState());
+    }
+
+    @Test
+    void unavailableMeansJiraCouldNotBeReached() {
+        assertTrue(JiraCircuitBreaker.isUnavailable(new JiraCircuitBreaker.CircuitOpenException("open")));
+        assertTrue(JiraCircuitBreaker.isUnavailable(new ResourceAccessException("I/O error", new SocketTimeoutException())));
+        assertTrue(JiraCircuitBreaker.isUnavailable(new RuntimeException(new HttpServerErrorException(HttpStatus.BAD_GATEWAY))));
+        assertTrue(JiraCircuitBreaker.isUnavailable(new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE)));
+
+        assertFalse(JiraCircuitBreaker.isUnavailable(new HttpServerErrorException(HttpStatus.INTERNAL_SERVER_ERROR)));
+        assertFalse(JiraCircuitBreaker.isUnavailable(new HttpClientErrorException(HttpStatus.NOT_FOUND)));
+        assertFalse(JiraCircuitBreaker.isUnavailable(new IllegalStateException("bad payload")));
+    }
+
+    private void call(boolean failed) throws Exception {
+        breaker.beforeCall();
+        breaker.afterCall(failed, 10);
+    }
+
+    private void trip() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            call(true);
+        }
+        assertEquals(JiraCircuitBreaker.State.OPEN, breaker.getState());
+    }
+}
@@ -0,0 +1,163 @@
+package com.htc.productdevelopment.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Token bucket, lanes and rate adaptation of the governor, without any Jira calls
+ */
+class JiraRateGovernorTest {
+
+    private JiraRateGovernor governor;
+
+    @BeforeEach
+    void setUp() {
+        // A refill slow enough that no token comes back during a test
+        governor = governor(4, 0.5, 0.001, 0.001);
+    }
+
+    @Test
+    void burstIsServedImmediatelyThenCallsTimeOut() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            governor.acquire(JiraRateGovernor.Lane.INTERACTIVE);
+        }
+
+        assertThrows(JiraRateGovernor.PermitTimeoutException.class,
+                () -> governor.acquire(JiraRateGovernor.Lane.INTERACTIVE));
+        assertEquals(1L, governor.getStats().get("rejected"));
+    }
+
+    @Test
+    void backgroundLeavesTheReserveToInteractiveCalls() throws Exception {
+        governor.acquire(JiraRateGovernor.Lane.BACKGROUND);
+        governor.acquire(JiraRateGovernor.Lane.BACKGROUND);
+        assertThrows(JiraRateGovernor.PermitTimeoutException.class,
+                () -> governor.acquire(JiraRateGovernor.Lane.BACKGROUND));
+
+        governor.acquire(JiraRateGovernor.Lane.INTERACTIVE);
+        governor.acquire(JiraRateGovernor.Lane.INTERACTIVE);
+    }
+
+    @Test
+    void throttlingHalvesTheRateDownToTheMinimum() {
+        JiraRateGovernor adaptive = governor(20, 0.25, 10, 1);
+
+        adaptive.onResponse(429, new HttpHeaders());
+        assertEquals(5.0, rate(adaptive), 1e-9);
+        assertEquals(1L, adaptive.getStats().get("throttledResponses"));
+
+        for (int i = 0; i < 10; i++) {
+            adaptive.onResponse(429, new HttpHeaders());
+        }
+        assertEquals(1.0, rate(adaptive), 1e-9);
+    }
+
+    @Test
+    void nearLimitSlowsDownAndHeadroomRecoversAdditively() {
+        JiraRateGovernor adaptive = governor(20, 0.25, 10, 1);
+
+        HttpHeaders nearLimit = new HttpHeaders();
+        nearLimit.add("X-RateLimit-NearLimit", "true");
+        adaptive.onResponse(200, nearLimit);
+        assertEquals(7.5, rate(adaptive), 1e-9);
+
+        // Less than a fifth of the quota left counts as near the limit too
+        HttpHeaders lowRemaining = new HttpHeaders();
+        lowRemaining.add("X-RateLimit-Limit", "100");
+        lowRemaining.add("X-RateLimit-Remaining", "19");
+        adaptive.onResponse(200, lowRemaining);
+        assertEquals(5.625, rate(adaptive), 1e-9);
+
+        adaptive.onResponse(200, new HttpHeaders());
+        assertEquals(5.725, rate(adaptive), 1e-9);
+
+        for (int i = 0; i < 100; i++) {
+            adaptive.onResponse(200, new HttpHeaders());
+        }
+        assertEquals(10.0, rate(adaptive), 1e-9);
+    }
+
+    @Test
+    void remainingQuotaCapsLocalTokens() throws Exception {
+        HttpHeaders headers = new HttpHeaders();
+        headers.add("X-RateLimit-Limit", "100");
+        headers.add("X-RateLimit-Remaining", "1");
+        governor.onResponse(200, headers);
+
+        governor.acquire(JiraRateGovernor.Lane.INTERACTIVE);
+        assertThrows(JiraRateGovernor.PermitTimeoutException.class,
+                () -> governor.acquire(JiraRateGovernor.Lane.INTERACTIVE));
+    }
+
+    @Test
+    void pauseHoldsEveryLane() throws Exception {
+        ReflectionTestUtils.setField(governor, "interactiveMaxWaitMs", 2000L);
+        governor.pause(300);
+
+        long started = System.currentTimeMillis();
+        governor.acquire(JiraRateGovernor.Lane.INTERACTIVE);
+        assertTrue(System.currentTimeMillis() - started >= 250);
+    }
+
+    @Test
+    void pauseThatOutlastsTheWaitIsRejected() {
+        governor.pause(5000);
+
+        assertThrows(JiraRateGovernor.PermitTimeoutException.class,
+                () -> governor.acquire(JiraRateGovernor.Lane.INTERACTIVE));
+    }
+
+    @Test
+    void callInLaneRestoresThePreviousLane() throws Exception {
+        assertEquals(JiraRateGovernor.Lane.INTERACTIVE, JiraRateGovernor.currentLane());
+
+        JiraRateGovernor.Lane inside = JiraRateGovernor.callInLane(JiraRateGovernor.Lane.BACKGROUND,
+                JiraRateGovernor::currentLane);
+
+        assertEquals(JiraRateGovernor.Lane.BACKGROUND, inside);
+        assertEquals(JiraRateGovernor.Lane.INTERACTIVE, JiraRateGovernor.currentLane());
+    }
+
+    @Test
+    void propagateLaneCarriesTheSubmittersLaneToPoolThreads() throws Exception {
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            CompletableFuture<JiraRateGovernor.Lane> seen = new CompletableFuture<>();
+            JiraRateGovernor.runInLane(JiraRateGovernor.Lane.BACKGROUND, () ->
+                    pool.execute(JiraRateGovernor.propagateLane(() -> seen.complete(JiraRateGovernor.currentLane()))));
+            assertEquals(JiraRateGovernor.Lane.BACKGROUND, seen.get());
+
+            // The pool thread is back in its own lane afterwards
+            assertEquals(JiraRateGovernor.Lane.INTERACTIVE,
+                    CompletableFuture.supplyAsync(JiraRateGovernor::currentLane, pool).get());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    static JiraRateGovernor governor(int burst, double backgroundReserve, double maxPerSecond, double minPerSecond) {
+        JiraRateGovernor governor = new JiraRateGovernor();
+        ReflectionTestUtils.setField(governor, "burst", burst);
+        ReflectionTestUtils.setField(governor, "backgroundReserve", backgroundReserve);
+        ReflectionTestUtils.setField(governor, "maxPerSecond", maxPerSecond);
+        ReflectionTestUtils.setField(governor, "minPerSecond", minPerSecond);
+        ReflectionTestUtils.setField(governor, "interactiveMaxWaitMs", 50L);
+        ReflectionTestUtils.setField(governor, "backgroundMaxWaitMs", 50L);
+        governor.init();
+        return governor;
+    }
+
+    private static double rate(JiraRateGovernor governor) {
+        Map<String, Object> stats = governor.getStats();
+        return (double) stats.get("ratePerSecond");
+    }
+}
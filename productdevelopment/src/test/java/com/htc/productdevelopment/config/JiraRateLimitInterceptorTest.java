@@ -0,0 +1,130 @@
+package com.htc.productdevelopment.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Retry and backoff decisions of the interceptor, with a stubbed HTTP execution
+ */
+class JiraRateLimitInterceptorTest {
+
+    private static final byte[] BODY = new byte[0];
+
+    private JiraRateGovernor governor;
+    private JiraRateLimitInterceptor interceptor;
+    private ClientHttpRequestExecution execution;
+
+    @BeforeEach
+    void setUp() {
+        governor = JiraRateGovernorTest.governor(100, 0.25, 100, 1);
+        interceptor = new JiraRateLimitInterceptor(governor, 2, 10, 40);
+        execution = mock(ClientHttpRequestExecution.class);
+    }
+
+    @Test
+    void throttledRequestIsRetriedAndPausesAllLanes() throws Exception {
+        when(execution.execute(any(), any()))
+                .thenReturn(response(HttpStatus.TOO_MANY_REQUESTS))
+                .thenReturn(response(HttpStatus.OK));
+
+        ClientHttpResponse response = interceptor.intercept(request(HttpMethod.POST), BODY, execution);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        verify(execution, times(2)).execute(any(), any());
+        assertEquals(1L, governor.getStats().get("retries"));
+        assertEquals(1L, governor.getStats().get("throttledResponses"));
+    }
+
+    @Test
+    void retryAfterOverridesAShorterBackoff() throws Exception {
+        MockClientHttpResponse throttled = response(HttpStatus.TOO_MANY_REQUESTS);
+        throttled.getHeaders().add("Retry-After", "1");
+        when(execution.execute(any(), any()))
+                .thenReturn(throttled)
+                .thenReturn(response(HttpStatus.OK));
+        // The retry waits out a pause longer than the default test wait
+        ReflectionTestUtils.setField(governor, "interactiveMaxWaitMs", 5000L);
+
+        long started = System.currentTimeMillis();
+        interceptor.intercept(request(HttpMethod.GET), BODY, execution);
+
+        assertTrue(System.currentTimeMillis() - started >= 900);
+    }
+
+    @Test
+    void givesUpAfterMaxRetriesAndReturnsTheLastAnswer() throws Exception {
+        when(execution.execute(any(), any())).thenAnswer(invocation -> response(HttpStatus.TOO_MANY_REQUESTS));
+
+        ClientHttpResponse response = interceptor.intercept(request(HttpMethod.GET), BODY, execution);
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, response.getStatusCode());
+        verify(execution, times(3)).execute(any(), any());
+    }
+
+    @Test
+    void unavailableIsRetriedOnlyForIdempotentMethods() throws Exception {
+        when(execution.execute(any(), any()))
+                .thenReturn(response(HttpStatus.SERVICE_UNAVAILABLE))
+                .thenReturn(response(HttpStatus.OK));
+        assertEquals(HttpStatus.OK, interceptor.intercept(request(HttpMethod.PUT), BODY, execution).getStatusCode());
+
+        reset(execution);
+        when(execution.execute(any(), any())).thenReturn(response(HttpStatus.SERVICE_UNAVAILABLE));
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE,
+                interceptor.intercept(request(HttpMethod.POST), BODY, execution).getStatusCode());
+        verify(execution, times(1)).execute(any(), any());
+    }
+
+    @Test
+    void ioErrorsAreRetriedOnlyForIdempotentMethods() throws Exception {
+        when(execution.execute(any(), any()))
+                .thenThrow(new IOException("connection reset"))
+                .thenReturn(response(HttpStatus.OK));
+        assertEquals(HttpStatus.OK, interceptor.intercept(request(HttpMethod.GET), BODY, execution).getStatusCode());
+
+        reset(execution);
+        when(execution.execute(any(), any())).thenThrow(new IOException("connection reset"));
+        assertThrows(IOException.class, () -> interceptor.intercept(request(HttpMethod.POST), BODY, execution));
+        verify(execution, times(1)).execute(any(), any());
+    }
+
+    @Test
+    void readTimeoutsAreNotRetried() throws Exception {
+        when(execution.execute(any(), any())).thenThrow(new SocketTimeoutException("Read timed out"));
+
+        assertThrows(SocketTimeoutException.class, () -> interceptor.intercept(request(HttpMethod.GET), BODY, execution));
+        verify(execution, times(1)).execute(any(), any());
+    }
+
+    @Test
+    void clientErrorsAreReturnedAsIs() throws Exception {
+        when(execution.execute(any(), any())).thenReturn(response(HttpStatus.BAD_REQUEST));
+
+        assertEquals(HttpStatus.BAD_REQUEST, interceptor.intercept(request(HttpMethod.GET), BODY, execution).getStatusCode());
+        verify(execution, times(1)).execute(any(), any());
+        assertEquals(0L, governor.getStats().get("retries"));
+    }
+
+    private static MockClientHttpRequest request(HttpMethod method) {
+        return new MockClientHttpRequest(method, URI.create("https://jira.example.com/rest/api/3/issue/RM-1"));
+    }
+
+    private static MockClientHttpResponse response(HttpStatus status) {
+        return new MockClientHttpResponse(BODY, status);
+    }
+}
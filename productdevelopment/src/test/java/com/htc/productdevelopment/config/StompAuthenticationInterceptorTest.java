@@ -0,0 +1,90 @@
+package com.htc.productdevelopment.config;
+
+import com.htc.productdevelopment.dto.StompUser;
+import com.htc.productdevelopment.model.JiraOutboxOperation;
+import com.htc.productdevelopment.model.User;
+import com.htc.productdevelopment.repository.JiraOutboxRepository;
+import com.htc.productdevelopment.service.FirebaseTokenService;
+import com.htc.productdevelopment.service.WebSocketSessionRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Which destinations STOMP clients may subscribe to
+ */
+class StompAuthenticationInterceptorTest {
+
+    private JiraOutboxRepository outboxRepository;
+    private StompAuthenticationInterceptor interceptor;
+    private StompUser user;
+
+    @BeforeEach
+    void setUp() {
+        outboxRepository = mock(JiraOutboxRepository.class);
+        interceptor = new StompAuthenticationInterceptor(mock(FirebaseTokenService.class),
+                mock(WebSocketSessionRegistry.class), outboxRepository);
+        user = stompUser(1L);
+    }
+
+    @Test
+    void usersMaySubscribeToTheirOwnQueues() {
+        assertTrue(interceptor.canSubscribe(user, "/user/queue/notifications"));
+        assertTrue(interceptor.canSubscribe(user, "/user/queue/unread-count"));
+        assertFalse(interceptor.canSubscribe(user, "/user/queue/"));
+    }
+
+    @Test
+    void anonymousSessionsMayNotSubscribe() {
+        assertFalse(interceptor.canSubscribe(null, "/user/queue/notifications"));
+        assertFalse(interceptor.canSubscribe(user, null));
+    }
+
+    @Test
+    void brokerDestinationsAreOffLimits() {
+        for (String destination : List.of("/queue/notifications-user1a2b3c", "/queue", "/topic/notification-routing",
+                "/topic/unresolved-user-destination", "/topic/simp-user-registry", "/topic/anything")) {
+            assertFalse(interceptor.canSubscribe(user, destination), destination);
+        }
+    }
+
+    @Test
+    void patternsAndPathTricksAreRejected() {
+        for (String destination : List.of("/topic/**", "/queue/**", "/topic/#", "/topic/*", "/user/queue/*",
+                "/user/queue/{name}", "/user/queue/../../topic/notification-routing", "/topic/jira-operations/*")) {
+            assertFalse(interceptor.canSubscribe(user, destination), destination);
+        }
+        verifyNoInteractions(outboxRepository);
+    }
+
+    @Test
+    void operationStatusIsOnlyForTheUserWhoQueuedIt() {
+        when(outboxRepository.findByOperationId("op-1")).thenReturn(Optional.of(operation(1L)));
+        when(outboxRepository.findByOperationId("op-2")).thenReturn(Optional.of(operation(2L)));
+        when(outboxRepository.findByOperationId("op-3")).thenReturn(Optional.of(operation(null)));
+
+        assertTrue(interceptor.canSubscribe(user, "/topic/jira-operations/op-1"));
+        assertFalse(interceptor.canSubscribe(user, "/topic/jira-operations/op-2"));
+        assertFalse(interceptor.canSubscribe(user, "/topic/jira-operations/op-3"));
+        assertFalse(interceptor.canSubscribe(user, "/topic/jira-operations/unknown"));
+        assertFalse(interceptor.canSubscribe(user, "/topic/jira-operations/"));
+        assertFalse(interceptor.canSubscribe(user, "/topic/jira-operations/op-1/more"));
+    }
+
+    private static StompUser stompUser(Long id) {
+        User user = new User();
+        user.setId(id);
+        return new StompUser(user);
+    }
+
+    private static JiraOutboxOperation operation(Long requestedBy) {
+        JiraOutboxOperation operation = new JiraOutboxOperation();
+        operation.setRequestedBy(requestedBy);
+        return operation;
+    }
+}
@@ -0,0 +1,180 @@
+package com.htc.productdevelopment.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.htc.productdevelopment.config.JiraFieldConfig;
+import com.htc.productdevelopment.model.JiraIssue;
+import com.htc.productdevelopment.model.JiraSyncState;
+import com.htc.productdevelopment.repository.JiraIssueRepository;
+import com.htc.productdevelopment.repository.JiraSyncStateRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Cursor and staleness handling of the issue mirror, against mocked Jira and repositories
+ */
+class JiraIssueSyncServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private JiraService jiraService;
+    private JiraIssueRepository jiraIssueRepository;
+    private JiraSyncStateRepository jiraSyncStateRepository;
+    private JiraIssueSyncService syncService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        jiraService = mock(JiraService.class);
+        jiraIssueRepository = mock(JiraIssueRepository.class);
+        jiraSyncStateRepository = mock(JiraSyncStateRepository.class);
+        syncService = new JiraIssueSyncService(jiraService, jiraIssueRepository, jiraSyncStateRepository,
+                mock(JiraFieldConfig.class), objectMapper);
+        ReflectionTestUtils.setField(syncService, "syncEnabled", true);
+        ReflectionTestUtils.setField(syncService, "pageSize", 100);
+        when(jiraService.getCurrentUser()).thenReturn(objectMapper.createObjectNode().put("timeZone", "UTC"));
+    }
+
+    @Test
+    void parseTimestampReadsJiraFormat() {
+        assertEquals(Instant.parse("2024-03-01T09:15:30.123Z"),
+                JiraIssueSyncService.parseTimestamp("2024-03-01T10:15:30.123+0100"));
+        assertNull(JiraIssueSyncService.parseTimestamp(null));
+        assertNull(JiraIssueSyncService.parseTimestamp(""));
+        assertNull(JiraIssueSyncService.parseTimestamp("yesterday"));
+    }
+
+    @Test
+    void laterKeepsTheNewestAndIgnoresMissingValues() {
+        Instant older = Instant.parse("2024-03-01T09:00:00Z");
+        Instant newer = Instant.parse("2024-03-01T10:00:00Z");
+        assertEquals(newer, JiraIssueSyncService.later(older, newer));
+        assertEquals(newer, JiraIssueSyncService.later(newer, older));
+        assertEquals(older, JiraIssueSyncService.later(null, older));
+        assertEquals(older, JiraIssueSyncService.later(older, null));
+        assertNull(JiraIssueSyncService.later(null, null));
+    }
+
+    @Test
+    void onlyStrictlyOlderPayloadsAreStale() {
+        Instant stored = Instant.parse("2024-03-01T10:00:00Z");
+        assertTrue(JiraIssueSyncService.isStale(stored.minusMillis(1), stored));
+        assertFalse(JiraIssueSyncService.isStale(stored, stored));
+        assertFalse(JiraIssueSyncService.isStale(stored.plusMillis(1), stored));
+        assertFalse(JiraIssueSyncService.isStale(null, stored));
+        assertFalse(JiraIssueSyncService.isStale(stored, null));
+    }
+
+    @Test
+    void firstSyncFetchesEverythingAndStoresTheNewestUpdated() throws Exception {
+        when(jiraSyncStateRepository.findById("request-management")).thenReturn(Optional.empty());
+        servePages(page(issue("1", "RM-1", "2024-03-01T10:00:00.000+0000"), issue("2", "RM-2", "2024-03-02T10:00:00.000+0000")),
+                page(issue("3", "RM-3", "2024-03-01T12:00:00.000+0000")));
+
+        assertEquals(3, syncService.syncNow());
+
+        ArgumentCaptor<String> jql = ArgumentCaptor.forClass(String.class);
+        verify(jiraService).searchAllIssues(jql.capture(), anyList(), anyInt(), any());
+        assertFalse(jql.getValue().contains("updated >="));
+
+        JiraSyncState saved = savedState();
+        assertEquals(Instant.parse("2024-03-02T10:00:00Z"), saved.getCursorUpdated());
+        assertNotNull(saved.getLastCompletedAt());
+        assertTrue(syncService.isReady());
+    }
+
+    @Test
+    void incrementalSyncStartsOneMinuteBeforeTheCursor() throws Exception {
+        JiraSyncState state = new JiraSyncState("request-management");
+        state.setCursorUpdated(Instant.parse("2024-03-02T10:00:30Z"));
+        when(jiraSyncStateRepository.findById("request-management")).thenReturn(Optional.of(state));
+        servePages();
+
+        assertEquals(0, syncService.syncNow());
+
+        ArgumentCaptor<String> jql = ArgumentCaptor.forClass(String.class);
+        verify(jiraService).searchAllIssues(jql.capture(), anyList(), anyInt(), any());
+        assertTrue(jql.getValue().contains("updated >= \"2024/03/02 09:59\""), jql.getValue());
+        assertTrue(jql.getValue().endsWith("ORDER BY updated ASC"));
+        // Nothing newer came in, so the cursor stays where it was
+        assertEquals(Instant.parse("2024-03-02T10:00:30Z"), savedState().getCursorUpdated());
+    }
+
+    @Test
+    void failedSyncLeavesTheCursorAlone() throws Exception {
+        when(jiraSyncStateRepository.findById("request-management")).thenReturn(Optional.empty());
+        when(jiraService.searchAllIssues(anyString(), anyList(), anyInt(), any())).thenAnswer(invocation -> {
+            JiraService.IssuePageHandler handler = invocation.getArgument(3);
+            handler.handle(page(issue("1", "RM-1", "2024-03-05T10:00:00.000+0000")));
+            throw new IOException("page 2 failed");
+        });
+
+        assertThrows(IOException.class, () -> syncService.syncNow());
+
+        verify(jiraSyncStateRepository, never()).save(any());
+        assertFalse(syncService.isReady());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void olderPayloadDoesNotReplaceANewerRow() throws Exception {
+        JiraIssue mirrored = new JiraIssue();
+        mirrored.setIssueId("1");
+        mirrored.setKey("RM-1");
+        mirrored.setSummary("newer");
+        mirrored.setJiraUpdated(Instant.parse("2024-03-02T10:00:00Z"));
+        when(jiraIssueRepository.findByIssueIdIn(anyList())).thenReturn(List.of(mirrored));
+
+        syncService.storeIssue(issue("1", "RM-1", "2024-03-01T10:00:00.000+0000"));
+        syncService.storeIssue(issue("1", "RM-1", "2024-03-03T10:00:00.000+0000"));
+
+        ArgumentCaptor<List<JiraIssue>> saved = ArgumentCaptor.forClass(List.class);
+        verify(jiraIssueRepository, times(2)).saveAll(saved.capture());
+        assertTrue(saved.getAllValues().get(0).isEmpty());
+        assertEquals(Instant.parse("2024-03-03T10:00:00Z"), saved.getAllValues().get(1).get(0).getJiraUpdated());
+    }
+
+    private void servePages(ArrayNode... pages) throws Exception {
+        when(jiraService.searchAllIssues(anyString(), anyList(), anyInt(), any())).thenAnswer(invocation -> {
+            JiraService.IssuePageHandler handler = invocation.getArgument(3);
+            int total = 0;
+            for (ArrayNode page : pages) {
+                handler.handle(page);
+                total += page.size();
+            }
+            return total;
+        });
+    }
+
+    private JiraSyncState savedState() {
+        ArgumentCaptor<JiraSyncState> state = ArgumentCaptor.forClass(JiraSyncState.class);
+        verify(jiraSyncStateRepository).save(state.capture());
+        return state.getValue();
+    }
+
+    private ArrayNode page(JsonNode... issues) {
+        ArrayNode page = objectMapper.createArrayNode();
+        for (JsonNode issue : issues) {
+            page.add(issue);
+        }
+        return page;
+    }
+
+    private ObjectNode issue(String id, String key, String updated) {
+        ObjectNode issue = objectMapper.createObjectNode().put("id", id).put("key", key);
+        issue.putObject("fields").put("summary", key).put("updated", updated);
+        return issue;
+    }
+}
@@ -0,0 +1,373 @@
+package com.htc.productdevelopment.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.htc.productdevelopment.config.JiraCircuitBreaker;
+import com.htc.productdevelopment.config.JiraRateGovernor;
+import com.htc.productdevelopment.model.JiraOutboxAttachment;
+import com.htc.productdevelopment.model.JiraOutboxOperation;
+import com.htc.productdevelopment.repository.ContractDetailsRepository;
+import com.htc.productdevelopment.repository.JiraOutboxAttachmentRepository;
+import com.htc.productdevelopment.repository.JiraOutboxRepository;
+import com.htc.productdevelopment.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+
+import java.net.ConnectException;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Ordering keys, retries and dead-lettering of the outbox, against mocked Jira and repositories
+ */
+class JiraOutboxServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private JiraOutboxRepository outboxRepository;
+    private JiraOutboxAttachmentRepository attachmentRepository;
+    private JiraService jiraService;
+    private WebSocketNotificationService webSocketNotificationService;
+    private ThreadPoolTaskExecutor outboxExecutor;
+    private JiraOutboxService outboxService;
+
+    @BeforeEach
+    void setUp() {
+        outboxRepository = mock(JiraOutboxRepository.class);
+        attachmentRepository = mock(JiraOutboxAttachmentRepository.class);
+        jiraService = mock(JiraService.class);
+        webSocketNotificationService = mock(WebSocketNotificationService.class);
+        outboxExecutor = new ThreadPoolTaskExecutor();
+        outboxExecutor.setCorePoolSize(2);
+        outboxExecutor.initialize();
+
+        outboxService = new JiraOutboxService(outboxRepository, attachmentRepository, jiraService,
+                mock(JiraIssueSyncService.class), mock(NotificationService.class), webSocketNotificationService,
+                mock(ContractDetailsRepository.class), mock(ContractAttachmentService.class), mock(UserRepository.class),
+                objectMapper, outboxExecutor);
+        ReflectionTestUtils.setField(outboxService, "batchSize", 20);
+        ReflectionTestUtils.setField(outboxService, "maxAttempts", 3);
+        ReflectionTestUtils.setField(outboxService, "baseBackoffMs", 1000L);
+        ReflectionTestUtils.setField(outboxService, "maxBackoffMs", 4000L);
+        ReflectionTestUtils.setField(outboxService, "leaseMs", 600000L);
+
+        when(outboxRepository.save(any(JiraOutboxOperation.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(outboxRepository.claim(anyLong(), any())).thenReturn(1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        outboxExecutor.shutdown();
+    }
+
+    @Test
+    void operationsOnAnIssueShareOneOrderingKey() throws Exception {
+        JiraOutboxOperation update = outboxService.enqueueUpdateIssue(" rm-7", Map.of("summary", "x"), 1L);
+        JiraOutboxOperation comment = outboxService.enqueueComment("RM-7", "hello", 1L);
+        JiraOutboxOperation create = outboxService.enqueueCreateIssue(Map.of("summary", "new"), 1L);
+        JiraOutboxOperation otherCreate = outboxService.enqueueCreateIssue(Map.of("summary", "new"), 1L);
+
+        assertEquals("RM-7", update.getOrderingKey());
+        assertEquals("RM-7", comment.getOrderingKey());
+        assertNotEquals(create.getOrderingKey(), otherCreate.getOrderingKey());
+        assertEquals(JiraOutboxOperation.STATUS_PENDING, update.getStatus());
+    }
+
+    @Test
+    void attachmentContentIsStoredBesideTheOperation() throws Exception {
+        when(outboxRepository.save(any(JiraOutboxOperation.class))).thenAnswer(invocation -> {
+            JiraOutboxOperation operation = invocation.getArgument(0);
+            operation.setId(42L);
+            return operation;
+        });
+
+        outboxService.enqueueAttachment("RM-7", "quote.pdf", new byte[] {1, 2, 3}, 1L);
+
+        ArgumentCaptor<JiraOutboxAttachment> attachment = ArgumentCaptor.forClass(JiraOutboxAttachment.class);
+        verify(attachmentRepository).save(attachment.capture());
+        assertEquals(42L, attachment.getValue().getOperationId());
+        assertArrayEquals(new byte[] {1, 2, 3}, attachment.getValue().getContent());
+    }
+
+    @Test
+    void successfulOperationIsMarkedSucceeded() throws Exception {
+        JiraOutboxOperation operation = ready(1L, JiraOutboxOperation.TYPE_ADD_COMMENT, 0);
+        when(jiraService.addComment("RM-7", "hello")).thenReturn(objectMapper.createObjectNode().put("id", "100"));
+
+        process(operation);
+
+        assertEquals(JiraOutboxOperation.STATUS_SUCCEEDED, operation.getStatus());
+        assertEquals(1, operation.getAttempts());
+        assertNotNull(operation.getCompletedAt());
+        assertTrue(operation.getResult().contains("100"));
+        verify(webSocketNotificationService).sendJiraOperationUpdate(eq(operation.getOperationId()), any());
+    }
+
+    @Test
+    void requestThatNeverReachedJiraIsRetriedWithBackoff() throws Exception {
+        JiraOutboxOperation operation = ready(1L, JiraOutboxOperation.TYPE_ADD_COMMENT, 0);
+        when(jiraService.addComment(anyString(), anyString())).thenThrow(new RuntimeException(new ConnectException("refused")));
+
+        Instant before = Instant.now();
+        process(operation);
+
+        assertEquals(JiraOutboxOperation.STATUS_PENDING, operation.getStatus());
+        assertEquals(1, operation.getAttempts());
+        // First retry waits between half and all of the base backoff
+        assertFalse(operation.getNextAttemptAt().isBefore(before.plusMillis(500)));
+        assertFalse(operation.getNextAttemptAt().isAfter(Instant.now().plusMillis(1000)));
+    }
+
+    @Test
+    void backoffGrowsUpToTheCap() throws Exception {
+        ReflectionTestUtils.setField(outboxService, "maxAttempts", 10);
+        JiraOutboxOperation operation = ready(1L, JiraOutboxOperation.TYPE_UPDATE_ISSUE, 5);
+        when(jiraService.updateIssue(anyString(), anyMap())).thenThrow(new HttpServerErrorException(HttpStatus.BAD_GATEWAY));
+
+        Instant before = Instant.now();
+        process(operation);
+
+        assertEquals(JiraOutboxOperation.STATUS_PENDING, operation.getStatus());
+        assertFalse(operation.getNextAttemptAt().isBefore(before.plusMillis(2000)));
+        assertFalse(operation.getNextAttemptAt().isAfter(Instant.now().plusMillis(4000)));
+    }
+
+    @Test
+    void serverErrorOnANonIdempotentWriteIsDeadLettered() throws Exception {
+        JiraOutboxOperation operation = ready(1L, JiraOutboxOperation.TYPE_ADD_COMMENT, 0);
+        when(jiraService.addComment(anyString(), anyString())).thenThrow(new HttpServerErrorException(HttpStatus.INTERNAL_SERVER_ERROR));
+
+        process(operation);
+
+        // Jira may have stored the comment, so it is not replayed
+        assertEquals(JiraOutboxOperation.STATUS_DEAD, operation.getStatus());
+    }
+
+    @Test
+    void serverErrorOnAnIdempotentWriteIsRetried() throws Exception {
+        JiraOutboxOperation operation = ready(1L, JiraOutboxOperation.TYPE_UPDATE_ISSUE, 0);
+        when(jiraService.updateIssue(anyString(), anyMap())).thenThrow(new HttpServerErrorException(HttpStatus.INTERNAL_SERVER_ERROR));
+
+        process(operation);
+
+        assertEquals(JiraOutboxOperation.STATUS_PENDING, operation.getStatus());
+    }
+
+    @Test
+    void rejectedWriteIsDeadLetteredAtOnce() throws Exception {
+        JiraOutboxOperation operation = ready(1L, JiraOutboxOperation.TYPE_UPDATE_ISSUE, 0);
+        when(jiraService.updateIssue(anyString(), anyMap())).thenThrow(new HttpClientErrorException(HttpStatus.BAD_REQUEST));
+
+        process(operation);
+
+        assertEquals(JiraOutboxOperation.STATUS_DEAD, operation.getStatus());
+        assertEquals(1, operation.getAttempts());
+    }
+
+    @Test
+    void operationIsDeadLetteredWhenAttemptsRunOut() throws Exception {
+        JiraOutboxOperation operation = ready(1L, JiraOutboxOperation.TYPE_UPDATE_ISSUE, 2);
+        when(jiraService.updateIssue(anyString(), anyMap())).thenThrow(new JiraCircuitBreaker.CircuitOpenException("open"));
+
+        process(operation);
+
+        assertEquals(JiraOutboxOperation.STATUS_DEAD, operation.getStatus());
+        assertEquals(3, operation.getAttempts());
+        assertNotNull(operation.getCompletedAt());
+    }
+
+    @Test
+    void transitionRecordsItsTargetBeforeSending() throws Exception {
+        JiraOutboxOperation operation = ready(1L, JiraOutboxOperation.TYPE_TRANSITION_ISSUE, 0);
+        when(jiraService.performTransition(eq("RM-7"), eq("6"), any())).thenAnswer(invocation -> {
+            JiraService.TransitionSendHandler beforeSend = invocation.getArgument(2);
+            beforeSend.beforeSend("Request Review", "Declined");
+            throw new HttpServerErrorException(HttpStatus.GATEWAY_TIMEOUT);
+        });
+
+        process(operation);
+
+        assertEquals(JiraOutboxOperation.STATUS_PENDING, operation.getStatus());
+        assertEquals("Declined", objectMapper.readTree(operation.getPayload()).path("toStatus").asText());
+    }
+
+    @Test
+    void retriedTransitionThatAlreadyWentThroughIsNotSentAgain() throws Exception {
+        JiraOutboxOperation operation = ready(1L, JiraOutboxOperation.TYPE_TRANSITION_ISSUE, 1);
+        operation.setPayload("{\"transitionId\":\"6\",\"fromStatus\":\"Request Review\",\"toStatus\":\"Declined\"}");
+        when(jiraService.getIssue(eq("RM-7"), any())).thenReturn(issueInStatus("Declined"));
+
+        process(operation);
+
+        assertEquals(JiraOutboxOperation.STATUS_SUCCEEDED, operation.getStatus());
+        verify(jiraService, never()).performTransition(anyString(), anyString(), any());
+        assertTrue(operation.getResult().contains("Declined"));
+    }
+
+    @Test
+    void retriedTransitionIsSentWhenTheIssueHasNotMoved() throws Exception {
+        JiraOutboxOperation operation = ready(1L, JiraOutboxOperation.TYPE_TRANSITION_ISSUE, 1);
+        operation.setPayload("{\"transitionId\":\"6\",\"fromStatus\":\"Request Review\",\"toStatus\":\"Declined\"}");
+        when(jiraService.getIssue(eq("RM-7"), any())).thenReturn(issueInStatus("Request Review"));
+        when(jiraService.performTransition(eq("RM-7"), eq("6"), any()))
+                .thenReturn(new JiraService.TransitionResult("RM-7", "Request Review", "Declined", issueInStatus("Declined")));
+
+        process(operation);
+
+        assertEquals(JiraOutboxOperation.STATUS_SUCCEEDED, operation.getStatus());
+        verify(jiraService).performTransition(eq("RM-7"), eq("6"), any());
+    }
+
+    @Test
+    void firstTransitionAttemptDoesNotCheckTheStatus() throws Exception {
+        JiraOutboxOperation operation = ready(1L, JiraOutboxOperation.TYPE_TRANSITION_ISSUE, 0);
+        when(jiraService.performTransition(eq("RM-7"), eq("6"), any()))
+                .thenReturn(new JiraService.TransitionResult("RM-7", "Request Review", "Declined", issueInStatus("Declined")));
+
+        process(operation);
+
+        assertEquals(JiraOutboxOperation.STATUS_SUCCEEDED, operation.getStatus());
+        verify(jiraService, never()).getIssue(anyString(), any());
+    }
+
+    @Test
+    void operationClaimedByAnotherWorkerIsLeftAlone() throws Exception {
+        JiraOutboxOperation operation = ready(1L, JiraOutboxOperation.TYPE_ADD_COMMENT, 0);
+        when(outboxRepository.claim(eq(1L), any())).thenReturn(0);
+
+        process(operation);
+
+        verifyNoInteractions(jiraService);
+        assertEquals(JiraOutboxOperation.STATUS_PENDING, operation.getStatus());
+    }
+
+    @Test
+    void operationsRunInTheBackgroundLane() throws Exception {
+        JiraOutboxOperation operation = ready(1L, JiraOutboxOperation.TYPE_ADD_COMMENT, 0);
+        when(jiraService.addComment(anyString(), anyString())).thenAnswer(invocation -> {
+            assertEquals(JiraRateGovernor.Lane.BACKGROUND, JiraRateGovernor.currentLane());
+            return objectMapper.createObjectNode();
+        });
+
+        process(operation);
+
+        assertEquals(JiraOutboxOperation.STATUS_SUCCEEDED, operation.getStatus());
+    }
+
+    @Test
+    void uploadedAttachmentContentIsDeleted() throws Exception {
+        JiraOutboxOperation operation = ready(7L, JiraOutboxOperation.TYPE_ADD_ATTACHMENT, 0);
+        operation.setAttachmentName("quote.pdf");
+        when(attachmentRepository.findById(7L)).thenReturn(Optional.of(new JiraOutboxAttachment(7L, new byte[] {1})));
+        when(jiraService.addAttachmentToIssue(eq("RM-7"), any(byte[].class), eq("quote.pdf")))
+                .thenReturn(objectMapper.createArrayNode());
+
+        process(operation);
+
+        assertEquals(JiraOutboxOperation.STATUS_SUCCEEDED, operation.getStatus());
+        verify(attachmentRepository).deleteById(7L);
+    }
+
+    @Test
+    void attachmentWithoutContentIsDeadLettered() throws Exception {
+        JiraOutboxOperation operation = ready(7L, JiraOutboxOperation.TYPE_ADD_ATTACHMENT, 0);
+        when(attachmentRepository.findById(7L)).thenReturn(Optional.empty());
+
+        process(operation);
+
+        assertEquals(JiraOutboxOperation.STATUS_DEAD, operation.getStatus());
+        verifyNoInteractions(jiraService);
+    }
+
+    @Test
+    void onlyDeadOperationsCanBeRetriedOrDiscarded() {
+        JiraOutboxOperation pending = ready(1L, JiraOutboxOperation.TYPE_ADD_COMMENT, 1);
+        when(outboxRepository.findByOperationId(pending.getOperationId())).thenReturn(Optional.of(pending));
+
+        assertFalse(outboxService.retryDeadOperation(pending.getOperationId()));
+        assertFalse(outboxService.discardDeadOperation(pending.getOperationId()));
+        assertFalse(outboxService.retryDeadOperation("unknown"));
+        assertEquals(JiraOutboxOperation.STATUS_PENDING, pending.getStatus());
+    }
+
+    @Test
+    void retriedDeadOperationGetsAFreshAttemptBudget() {
+        JiraOutboxOperation dead = ready(1L, JiraOutboxOperation.TYPE_ADD_COMMENT, 3);
+        dead.setStatus(JiraOutboxOperation.STATUS_DEAD);
+        dead.setCompletedAt(Instant.now());
+        when(outboxRepository.findByOperationId(dead.getOperationId())).thenReturn(Optional.of(dead));
+
+        assertTrue(outboxService.retryDeadOperation(dead.getOperationId()));
+
+        assertEquals(JiraOutboxOperation.STATUS_PENDING, dead.getStatus());
+        assertEquals(0, dead.getAttempts());
+        assertNull(dead.getCompletedAt());
+    }
+
+    @Test
+    void discardedDeadOperationReleasesItsContent() {
+        JiraOutboxOperation dead = ready(7L, JiraOutboxOperation.TYPE_ADD_ATTACHMENT, 3);
+        dead.setStatus(JiraOutboxOperation.STATUS_DEAD);
+        when(outboxRepository.findByOperationId(dead.getOperationId())).thenReturn(Optional.of(dead));
+
+        assertTrue(outboxService.discardDeadOperation(dead.getOperationId()));
+
+        assertEquals(JiraOutboxOperation.STATUS_DISCARDED, dead.getStatus());
+        verify(attachmentRepository).deleteById(7L);
+    }
+
+    @Test
+    void onlyRequestsJiraNeverProcessedCountAsNotSent() {
+        assertTrue(JiraOutboxService.wasNotSent(new JiraCircuitBreaker.CircuitOpenException("open")));
+        assertTrue(JiraOutboxService.wasNotSent(new JiraRateGovernor.PermitTimeoutException("no permit")));
+        assertTrue(JiraOutboxService.wasNotSent(new RuntimeException(new ConnectException("refused"))));
+        assertTrue(JiraOutboxService.wasNotSent(new HttpClientErrorException(HttpStatus.TOO_MANY_REQUESTS)));
+        assertTrue(JiraOutboxService.wasNotSent(new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE)));
+
+        assertFalse(JiraOutboxService.wasNotSent(new HttpServerErrorException(HttpStatus.GATEWAY_TIMEOUT)));
+        assertFalse(JiraOutboxService.wasNotSent(new HttpClientErrorException(HttpStatus.BAD_REQUEST)));
+    }
+
+    private void process(JiraOutboxOperation operation) {
+        when(outboxRepository.findReady(any(), any())).thenReturn(List.of(operation)).thenReturn(List.of());
+        outboxService.processPending();
+    }
+
+    private JsonNode issueInStatus(String status) {
+        ObjectNode issue = objectMapper.createObjectNode().put("key", "RM-7");
+        issue.putObject("fields").putObject("status").put("name", status);
+        return issue;
+    }
+
+    private JiraOutboxOperation ready(Long id, String type, int attempts) {
+        JiraOutboxOperation operation = new JiraOutboxOperation();
+        operation.setId(id);
+        operation.setOperationId("op-" + id);
+        operation.setOperationType(type);
+        operation.setIssueKey("RM-7");
+        operation.setOrderingKey("RM-7");
+        operation.setAttempts(attempts);
+        operation.setNextAttemptAt(Instant.now());
+        switch (type) {
+            case JiraOutboxOperation.TYPE_ADD_COMMENT -> operation.setPayload("{\"body\":\"hello\"}");
+            case JiraOutboxOperation.TYPE_UPDATE_ISSUE -> operation.setPayload("{\"summary\":\"x\"}");
+            case JiraOutboxOperation.TYPE_TRANSITION_ISSUE -> operation.setPayload("{\"transitionId\":\"6\"}");
+            default -> { }
+        }
+        return operation;
+    }
+}
@@ -0,0 +1,154 @@
+package com.htc.productdevelopment.service;
+
+import com.htc.productdevelopment.repository.NotificationRecipientRepository;
+import com.htc.productdevelopment.repository.NotificationRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Latency of the first and of a deep inbox page as the notification tables grow from 10k to 10M rows.
+ * Needs a scratch Postgres database with the application schema (start the app once against it with
+ * the local profile), so it only runs when pointed at one:
+ * <pre>
+ * mvn test -Dtest=NotificationFeedBenchmarkTest -Dfeed.benchmark.url=jdbc:postgresql://localhost:5432/feed_bench \
+ *     -Dfeed.benchmark.username=postgres -Dfeed.benchmark.password=... [-Dfeed.benchmark.sizes=10000,100000]
+ * </pre>
+ * The generated users, notifications and inbox rows are removed afterwards.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@EnabledIfSystemProperty(named = "feed.benchmark.url", matches = ".+")
+class NotificationFeedBenchmarkTest {
+
+    private static final String MARKER = "feed-benchmark";
+    private static final int USERS = 10;
+    private static final int INSERT_BATCH = 1_000_000;
+    private static final int PAGE_SIZE = 20;
+    private static final int WARMUP_CALLS = 20;
+    private static final int TIMED_CALLS = 200;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> System.getProperty("feed.benchmark.url"));
+        registry.add("spring.datasource.username", () -> System.getProperty("feed.benchmark.username", "postgres"));
+        registry.add("spring.datasource.password", () -> System.getProperty("feed.benchmark.password", ""));
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+        registry.add("spring.sql.init.mode", () -> "never");
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private NotificationRecipientRepository notificationRecipientRepository;
+
+    private NotificationService notificationService;
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        notificationService = new NotificationService();
+        ReflectionTestUtils.setField(notificationService, "notificationRepository", notificationRepository);
+        ReflectionTestUtils.setField(notificationService, "notificationRecipientRepository", notificationRecipientRepository);
+
+        cleanUp();
+        for (int i = 0; i < USERS; i++) {
+            jdbcTemplate.update("INSERT INTO users (email, name, active) VALUES (?, ?, TRUE)",
+                    MARKER + "-" + i + "@example.invalid", MARKER);
+        }
+        userId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM users WHERE name = ?", Long.class, MARKER);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        // Inbox rows go with their notifications and users
+        jdbcTemplate.update("DELETE FROM notifications WHERE title = ?", MARKER);
+        jdbcTemplate.update("DELETE FROM users WHERE name = ?", MARKER);
+    }
+
+    @Test
+    void pageLatencyDoesNotGrowWithTheTables() {
+        long[] sizes = Arrays.stream(System.getProperty("feed.benchmark.sizes", "10000,100000,1000000,10000000").split(","))
+                .map(String::trim).mapToLong(Long::parseLong).sorted().toArray();
+        List<double[]> results = new ArrayList<>();
+        long rows = 0;
+
+        System.out.printf("%12s %14s %14s %14s%n", "rows", "inbox depth", "first page ms", "deep page ms");
+        for (long size : sizes) {
+            rows = grow(rows, size);
+            jdbcTemplate.execute("ANALYZE notifications");
+            jdbcTemplate.execute("ANALYZE notification_recipients");
+
+            // Cursor 90% of the way down the measured user's inbox
+            int inboxSize = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM notification_recipients WHERE user_id = ?", Integer.class, userId);
+            NotificationService.FeedCursor deep = jdbcTemplate.queryForObject("SELECT created_at, notification_id " +
+                    "FROM notification_recipients WHERE user_id = ? ORDER BY created_at DESC, notification_id DESC OFFSET ? LIMIT 1",
+                    (rs, i) -> new NotificationService.FeedCursor(rs.getTimestamp(1).toLocalDateTime(), rs.getLong(2)),
+                    userId, inboxSize * 9 / 10);
+
+            double first = medianMillis(null);
+            double deepPage = medianMillis(deep);
+            results.add(new double[] {first, deepPage});
+            System.out.printf("%12d %14d %14.3f %14.3f%n", size, inboxSize, first, deepPage);
+        }
+
+        // A plan that scans the inbox instead of seeking into the index grows with the rows; allow for noise only
+        double[] smallest = results.get(0);
+        double[] largest = results.get(results.size() - 1);
+        assertTrue(largest[0] < smallest[0] * 5 + 5, "first page slowed from " + smallest[0] + " to " + largest[0] + " ms");
+        assertTrue(largest[1] < smallest[1] * 5 + 5, "deep page slowed from " + smallest[1] + " to " + largest[1] + " ms");
+    }
+
+    // Adds notifications one second apart, each in the inbox of one of the generated users
+    private long grow(long from, long to) {
+        for (long start = from + 1; start <= to; start += INSERT_BATCH) {
+            long end = Math.min(to, start + INSERT_BATCH - 1);
+            jdbcTemplate.update(
+                    "WITH u AS (SELECT array_agg(id ORDER BY id) AS ids FROM users WHERE name = ?), " +
+                    "n AS (INSERT INTO notifications (title, message, created_at, is_read) " +
+                    "SELECT ?, 'Generated notification ' || g, TIMESTAMP '2020-01-01' + g * INTERVAL '1 second', FALSE " +
+                    "FROM generate_series(?::bigint, ?::bigint) g RETURNING id, created_at) " +
+                    "INSERT INTO notification_recipients (notification_id, user_id, is_read, created_at) " +
+                    "SELECT n.id, u.ids[1 + n.id % " + USERS + "], FALSE, n.created_at FROM n, u",
+                    MARKER, MARKER, start, end);
+        }
+        return to;
+    }
+
+    private double medianMillis(NotificationService.FeedCursor before) {
+        for (int i = 0; i < WARMUP_CALLS; i++) {
+            notificationService.getFeedForUser(userId, before, PAGE_SIZE);
+        }
+        long[] nanos = new long[TIMED_CALLS];
+        for (int i = 0; i < TIMED_CALLS; i++) {
+            long start = System.nanoTime();
+            NotificationService.FeedPage page = notificationService.getFeedForUser(userId, before, PAGE_SIZE);
+            nanos[i] = System.nanoTime() - start;
+            assertEquals(PAGE_SIZE, page.getNotifications().size());
+        }
+        Arrays.sort(nanos);
+        return nanos[TIMED_CALLS / 2] / 1_000_000.0;
+    }
+}
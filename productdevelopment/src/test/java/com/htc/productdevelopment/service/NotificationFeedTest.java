@@ -0,0 +1,138 @@
+package com.htc.productdevelopment.service;
+
+import com.htc.productdevelopment.model.Notification;
+import com.htc.productdevelopment.model.NotificationRecipient;
+import com.htc.productdevelopment.repository.NotificationRecipientRepository;
+import com.htc.productdevelopment.repository.NotificationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Keyset cursors and page assembly of the notification feed, against mocked repositories
+ */
+class NotificationFeedTest {
+
+    private static final LocalDateTime NOON = LocalDateTime.of(2024, 3, 1, 12, 0);
+
+    private NotificationRepository notificationRepository;
+    private NotificationRecipientRepository notificationRecipientRepository;
+    private NotificationService notificationService;
+
+    @BeforeEach
+    void setUp() {
+        notificationRepository = mock(NotificationRepository.class);
+        notificationRecipientRepository = mock(NotificationRecipientRepository.class);
+        notificationService = new NotificationService();
+        ReflectionTestUtils.setField(notificationService, "notificationRepository", notificationRepository);
+        ReflectionTestUtils.setField(notificationService, "notificationRecipientRepository", notificationRecipientRepository);
+    }
+
+    @Test
+    void cursorSurvivesARoundTripWithFullPrecision() {
+        NotificationService.FeedCursor cursor = new NotificationService.FeedCursor(NOON.withNano(123456789), 42L);
+
+        NotificationService.FeedCursor parsed = NotificationService.FeedCursor.parse(cursor.toString());
+
+        assertEquals("2024-03-01T12:00:00.123456789,42", parsed.toString());
+    }
+
+    @Test
+    void cursorToleratesSpacesAroundItsParts() {
+        assertEquals("2024-03-01T12:00,7", NotificationService.FeedCursor.parse(" 2024-03-01T12:00:00 , 7 ").toString());
+    }
+
+    @Test
+    void malformedCursorsAreRejected() {
+        for (String value : List.of("", "42", "2024-03-01T12:00:00", "2024-03-01T12:00:00,", ",42",
+                "yesterday,42", "2024-03-01T12:00:00,abc", "2024-03-01T12:00:00Z,42")) {
+            assertThrows(IllegalArgumentException.class, () -> NotificationService.FeedCursor.parse(value), value);
+        }
+    }
+
+    @Test
+    void fullPageCarriesTheCursorOfItsLastNotification() {
+        when(notificationRecipientRepository.findInboxPage(eq(1L), any())).thenReturn(inbox(4));
+
+        NotificationService.FeedPage page = notificationService.getFeedForUser(1L, null, 3);
+
+        assertEquals(List.of(1L, 2L, 3L), ids(page.getNotifications()));
+        assertEquals(NOON.minusMinutes(3) + ",3", page.getNext().toString());
+    }
+
+    @Test
+    void lastPageHasNoCursor() {
+        when(notificationRecipientRepository.findInboxPage(eq(1L), any())).thenReturn(inbox(3));
+
+        NotificationService.FeedPage page = notificationService.getFeedForUser(1L, null, 3);
+
+        assertEquals(3, page.getNotifications().size());
+        assertNull(page.getNext());
+    }
+
+    @Test
+    void nextPageStartsAfterTheCursor() {
+        when(notificationRecipientRepository.findInboxPageBefore(anyLong(), any(), anyLong(), any())).thenReturn(List.of());
+        NotificationService.FeedCursor cursor = NotificationService.FeedCursor.parse("2024-03-01T11:57,3");
+
+        notificationService.getFeedForUser(1L, cursor, 3);
+
+        verify(notificationRecipientRepository).findInboxPageBefore(eq(1L), eq(NOON.minusMinutes(3)), eq(3L), any());
+    }
+
+    @Test
+    void pageSizeIsClampedAndFetchesOneExtraRow() {
+        when(notificationRepository.findAllByOrderByCreatedAtDescIdDesc(any())).thenReturn(List.of());
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+
+        notificationService.getFeed(null, 10_000);
+        notificationService.getFeed(null, 0);
+
+        verify(notificationRepository, times(2)).findAllByOrderByCreatedAtDescIdDesc(pageable.capture());
+        assertEquals(NotificationService.FEED_MAX_LIMIT + 1, pageable.getAllValues().get(0).getPageSize());
+        assertEquals(2, pageable.getAllValues().get(1).getPageSize());
+    }
+
+    @Test
+    void inboxPagesShowTheUsersOwnReadState() {
+        List<NotificationRecipient> rows = inbox(1);
+        rows.get(0).setIsRead(true);
+        rows.get(0).getNotification().setIsRead(false);
+        when(notificationRecipientRepository.findInboxPage(eq(1L), any())).thenReturn(rows);
+
+        NotificationService.FeedPage page = notificationService.getFeedForUser(1L, null, 10);
+
+        assertTrue(page.getNotifications().get(0).getIsRead());
+    }
+
+    // Newest first, one minute apart
+    private static List<NotificationRecipient> inbox(int count) {
+        List<NotificationRecipient> rows = new ArrayList<>();
+        for (long id = 1; id <= count; id++) {
+            Notification notification = new Notification();
+            notification.setId(id);
+            notification.setCreatedAt(NOON.minusMinutes(id));
+            NotificationRecipient recipient = new NotificationRecipient();
+            recipient.setUserId(1L);
+            recipient.setNotification(notification);
+            recipient.setCreatedAt(notification.getCreatedAt());
+            recipient.setIsRead(false);
+            rows.add(recipient);
+        }
+        return rows;
+    }
+
+    private static List<Long> ids(List<Notification> notifications) {
+        return notifications.stream().map(Notification::getId).toList();
+    }
+}
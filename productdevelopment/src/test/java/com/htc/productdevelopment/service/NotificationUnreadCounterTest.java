@@ -0,0 +1,140 @@
+package com.htc.productdevelopment.service;
+
+import com.htc.productdevelopment.repository.NotificationRecipientRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Loading, moving and reconciling the in-memory unread counts, against a mocked repository
+ */
+class NotificationUnreadCounterTest {
+
+    private NotificationRecipientRepository repository;
+    private NotificationUnreadCounter counter;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(NotificationRecipientRepository.class);
+        counter = new NotificationUnreadCounter(repository);
+        ReflectionTestUtils.setField(counter, "maxUsers", 3);
+    }
+
+    @Test
+    void countIsLoadedOnceThenServedFromMemory() {
+        when(repository.countByUserIdAndIsReadFalse(1L)).thenReturn(4);
+
+        assertEquals(4, counter.get(1L));
+        assertEquals(4, counter.get(1L));
+        verify(repository, times(1)).countByUserIdAndIsReadFalse(1L);
+    }
+
+    @Test
+    void onlyLoadedCountersMove() {
+        when(repository.countByUserIdAndIsReadFalse(1L)).thenReturn(2);
+        counter.get(1L);
+
+        Map<Long, Integer> updated = counter.increment(List.of(1L, 2L));
+
+        assertEquals(Map.of(1L, 3), updated);
+        counter.decrement(2L);
+        verify(repository, never()).countByUserIdAndIsReadFalse(2L);
+    }
+
+    @Test
+    void decrementStopsAtZeroAndResetClears() {
+        when(repository.countByUserIdAndIsReadFalse(1L)).thenReturn(1);
+        counter.get(1L);
+
+        counter.decrement(1L);
+        counter.decrement(1L);
+        assertEquals(0, counter.get(1L));
+
+        counter.increment(List.of(1L, 1L));
+        counter.reset(1L);
+        assertEquals(0, counter.get(1L));
+    }
+
+    @Test
+    void usersBeyondTheLimitAreCountedInTheDatabase() {
+        when(repository.countByUserIdAndIsReadFalse(anyLong())).thenReturn(5);
+        for (long userId = 1; userId <= 4; userId++) {
+            counter.get(userId);
+        }
+
+        counter.get(4L);
+
+        verify(repository, times(2)).countByUserIdAndIsReadFalse(4L);
+        assertTrue(counter.increment(List.of(4L)).isEmpty());
+    }
+
+    @Test
+    void reconcileCorrectsDriftedCounters() {
+        when(repository.countByUserIdAndIsReadFalse(anyLong())).thenReturn(3);
+        counter.get(1L);
+        counter.get(2L);
+        counter.get(3L);
+        // Everything of user 3 has been read since
+        when(repository.countUnreadByUserIds(anyCollection())).thenReturn(rows(new Object[] {1L, 3L}, new Object[] {2L, 7L}));
+
+        counter.reconcile();
+
+        assertEquals(3, counter.get(1L));
+        assertEquals(7, counter.get(2L));
+        assertEquals(0, counter.get(3L));
+    }
+
+    @Test
+    void reconcileWorksInBatches() {
+        ReflectionTestUtils.setField(counter, "maxUsers", 1200);
+        when(repository.countByUserIdAndIsReadFalse(anyLong())).thenReturn(1);
+        for (long userId = 1; userId <= 1200; userId++) {
+            counter.get(userId);
+        }
+        List<Integer> batchSizes = new ArrayList<>();
+        when(repository.countUnreadByUserIds(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> userIds = invocation.getArgument(0);
+            batchSizes.add(userIds.size());
+            return List.of();
+        });
+
+        counter.reconcile();
+
+        assertEquals(List.of(500, 500, 200), batchSizes);
+        assertEquals(0, counter.get(1200L));
+    }
+
+    @Test
+    void failedReconcileKeepsTheCounters() {
+        when(repository.countByUserIdAndIsReadFalse(1L)).thenReturn(2);
+        counter.get(1L);
+        when(repository.countUnreadByUserIds(anyCollection())).thenThrow(new RuntimeException("database down"));
+
+        counter.reconcile();
+
+        assertEquals(2, counter.get(1L));
+    }
+
+    @Test
+    void clearForgetsEveryCounter() {
+        when(repository.countByUserIdAndIsReadFalse(1L)).thenReturn(2, 6);
+        counter.get(1L);
+
+        counter.clear();
+
+        assertEquals(6, counter.get(1L));
+    }
+
+    private static List<Object[]> rows(Object[]... rows) {
+        return List.of(rows);
+    }
+}
@@ -44,6 +44,16 @@ async function jiraApiCall(endpoint: string, options: RequestInit = {}, useCache
     headers["Content-Type"] = "application/json";
   }
 
+  // Identify the caller; issue listings are scoped to the user behind the token
+  const user = auth.currentUser;
+  if (user && !headers["Authorization"]) {
+    try {
+      headers["Authorization"] = `Bearer ${await user.getIdToken()}`;
+    } catch (error) {
+      console.error("Error getting ID token:", error);
+    }
+  }
+
   // Add timeout to prevent hanging requests
   const controller = new AbortController();
   const timeoutId = setTimeout(() => controller.abort(), 15000); // 15 second timeout
@@ -1,16 +1,35 @@
 import { Client } from '@stomp/stompjs';
+import { onAuthStateChanged } from "firebase/auth";
+import { auth } from "../firebase";
 import { AppNotification } from "../context/NotificationContext";
 
 class StompWebSocketService {
   private stompClient: Client;
   private onNotificationCallback: ((notification: AppNotification) => void) | null = null;
   private onUnreadCountCallback: ((count: number) => void) | null = null;
+  // Whether connect() was called and disconnect() was not
+  private wanted = false;
 
   constructor() {
     this.stompClient = new Client({
       // Determine WebSocket URL based on current host
       brokerURL: this.getWebSocketUrl(),
       connectHeaders: {},
+      // The backend identifies the session from the Firebase ID token sent with CONNECT;
+      // it is fetched before every (re)connect so an expired token is never reused
+      beforeConnect: async () => {
+        const user = auth.currentUser;
+        if (!user) {
+          // Anonymous sessions may not subscribe to anything, so don't connect at all
+          await this.stompClient.deactivate();
+          return;
+        }
+        try {
+          this.stompClient.connectHeaders = { Authorization: `Bearer ${await user.getIdToken()}` };
+        } catch (error) {
+          console.error("Error getting ID token:", error);
+        }
+      },
       debug: (str) => {
         console.log('STOMP: ' + str);
       },
@@ -24,8 +43,8 @@ class StompWebSocketService {
     this.stompClient.onConnect = (frame) => {
       console.log('Connected to STOMP broker:', frame);
       
-      // Subscribe to notifications topic
-      this.stompClient.subscribe('/topic/notifications', (message) => {
+      // Subscribe to this user's notifications
+      this.stompClient.subscribe('/user/queue/notifications', (message) => {
         try {
           const notification: AppNotification = JSON.parse(message.body);
           console.log('%cNOTIFICATION_LOG: Received notification:', 'color: #0066cc; font-weight: bold; background: #f0f8ff; padding: 4px; border-radius: 3px;');
@@ -45,8 +64,8 @@ class StompWebSocketService {
         }
       });
 
-      // Subscribe to unread count topic
-      this.stompClient.subscribe('/topic/unread-count', (message) => {
+      // Subscribe to this user's unread count
+      this.stompClient.subscribe('/user/queue/unread-count', (message) => {
         try {
           const data = JSON.parse(message.body);
           if (this.onUnreadCountCallback && data.unreadCount !== undefined) {
@@ -78,6 +97,18 @@ class StompWebSocketService {
         console.log('Attempting to reconnect...');
       }
     };
+
+    // Connect once a user signs in and drop the session when they sign out
+    onAuthStateChanged(auth, (user) => {
+      if (!this.wanted) {
+        return;
+      }
+      if (user && !this.stompClient.active) {
+        this.stompClient.activate();
+      } else if (!user && this.stompClient.active) {
+        this.stompClient.deactivate();
+      }
+    });
   }
 
   private getWebSocketUrl(): string {
@@ -112,13 +143,15 @@ class StompWebSocketService {
     // Store callbacks
     this.onNotificationCallback = onNotification;
     this.onUnreadCountCallback = onUnreadCount;
+    this.wanted = true;
 
-    if (!this.stompClient.active) {
+    if (auth.currentUser && !this.stompClient.active) {
       this.stompClient.activate();
     }
   }
 
   disconnect() {
+    this.wanted = false;
     if (this.stompClient.active) {
       this.stompClient.deactivate();
     }